@@ -0,0 +1,124 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for the throughput of a {@link ManyToManyConcurrentFetchAndAddArrayQueue} compared to a
+ * {@link ManyToManyConcurrentArrayQueue} with groups of producers offering and consumers polling, at producer to
+ * consumer ratios of 1:1, 4:4, and 16:16 when run by {@link #main(String[])}.
+ */
+@Fork(value = 3, jvmArgsPrepend = "-Dagrona.disable.bounds.checks=true")
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@State(Scope.Group)
+public class ManyToManyConcurrentFetchAndAddArrayQueueBenchmark
+{
+    private static final Integer ELEMENT = 777;
+    private static final int CAPACITY = 64 * 1024;
+
+    /**
+     * Type of queue shared by the producers and consumers.
+     */
+    public enum QueueType
+    {
+        /**
+         * {@link ManyToManyConcurrentArrayQueue} which claims slots with a CAS.
+         */
+        MANY_TO_MANY,
+
+        /**
+         * {@link ManyToManyConcurrentFetchAndAddArrayQueue} which claims slots with a fetch-and-add.
+         */
+        FETCH_AND_ADD
+    }
+
+    @Param({ "MANY_TO_MANY", "FETCH_AND_ADD" })
+    private QueueType queueType;
+
+    private QueuedPipe<Integer> queue;
+
+    /**
+     * Default constructor.
+     */
+    public ManyToManyConcurrentFetchAndAddArrayQueueBenchmark()
+    {
+    }
+
+    /**
+     * Setup the queue.
+     */
+    @Setup
+    public void setup()
+    {
+        queue = switch (queueType)
+        {
+            case MANY_TO_MANY -> new ManyToManyConcurrentArrayQueue<>(CAPACITY);
+            case FETCH_AND_ADD -> new ManyToManyConcurrentFetchAndAddArrayQueue<>(CAPACITY);
+        };
+    }
+
+    /**
+     * Offer an element.
+     *
+     * @return true if the element was offered or false if the queue was full.
+     */
+    @Benchmark
+    @Group("exchange")
+    public boolean offer()
+    {
+        return queue.offer(ELEMENT);
+    }
+
+    /**
+     * Poll an element.
+     *
+     * @return the element polled or null if none was available.
+     */
+    @Benchmark
+    @Group("exchange")
+    public Integer poll()
+    {
+        return queue.poll();
+    }
+
+    /**
+     * Main method which runs the benchmark with 1:1, 4:4, and 16:16 producers to consumers.
+     *
+     * @param args for the benchmark.
+     * @throws RunnerException if an error occurs.
+     */
+    public static void main(final String[] args) throws RunnerException
+    {
+        for (final int threads : new int[]{ 1, 4, 16 })
+        {
+            new Runner(new OptionsBuilder()
+                .include(ManyToManyConcurrentFetchAndAddArrayQueueBenchmark.class.getName())
+                .threadGroups(threads, threads)
+                .shouldFailOnError(true)
+                .build())
+                .run();
+        }
+    }
+}
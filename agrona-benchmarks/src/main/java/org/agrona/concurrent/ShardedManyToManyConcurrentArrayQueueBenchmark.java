@@ -0,0 +1,117 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for the throughput of a {@link ShardedManyToManyConcurrentArrayQueue} compared to a
+ * {@link ManyToManyConcurrentArrayQueue} as the number of threads, each of which offers then polls an element, is
+ * scaled from 1 to 32 by {@link #main(String[])}.
+ */
+@Fork(value = 3, jvmArgsPrepend = "-Dagrona.disable.bounds.checks=true")
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@State(Scope.Benchmark)
+public class ShardedManyToManyConcurrentArrayQueueBenchmark
+{
+    private static final Integer ELEMENT = 777;
+    private static final int CAPACITY = 64 * 1024;
+
+    /**
+     * Type of queue shared by the threads.
+     */
+    public enum QueueType
+    {
+        /**
+         * {@link ManyToManyConcurrentArrayQueue} with a single head and tail.
+         */
+        MANY_TO_MANY,
+
+        /**
+         * {@link ShardedManyToManyConcurrentArrayQueue} with 16 shards.
+         */
+        SHARDED
+    }
+
+    @Param({ "MANY_TO_MANY", "SHARDED" })
+    private QueueType queueType;
+
+    private QueuedPipe<Integer> queue;
+
+    /**
+     * Default constructor.
+     */
+    public ShardedManyToManyConcurrentArrayQueueBenchmark()
+    {
+    }
+
+    /**
+     * Setup the queue.
+     */
+    @Setup
+    public void setup()
+    {
+        queue = switch (queueType)
+        {
+            case MANY_TO_MANY -> new ManyToManyConcurrentArrayQueue<>(CAPACITY);
+            case SHARDED -> new ShardedManyToManyConcurrentArrayQueue<>(16, CAPACITY / 16);
+        };
+    }
+
+    /**
+     * Offer an element then poll an element.
+     *
+     * @return the element polled or null if none was available.
+     */
+    @Benchmark
+    public Integer offerAndPoll()
+    {
+        final QueuedPipe<Integer> queue = this.queue;
+        while (!queue.offer(ELEMENT))
+        {
+            Thread.onSpinWait();
+        }
+
+        return queue.poll();
+    }
+
+    /**
+     * Main method which runs the benchmark with 1, 2, 4, 8, 16, and 32 threads.
+     *
+     * @param args for the benchmark.
+     * @throws RunnerException if an error occurs.
+     */
+    public static void main(final String[] args) throws RunnerException
+    {
+        for (int threads = 1; threads <= 32; threads <<= 1)
+        {
+            new Runner(new OptionsBuilder()
+                .include(ShardedManyToManyConcurrentArrayQueueBenchmark.class.getName())
+                .threads(threads)
+                .shouldFailOnError(true)
+                .build())
+                .run();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmark for the latency to complete a burst of small tasks all offered to the same worker of a
+ * {@link WorkStealingAgentPool}, as when one agent is hot. A pool with a single worker is equivalent to the tasks
+ * being pinned to one thread, as in a {@link CompositeAgent}, whereas with more workers idle ones steal the tasks.
+ */
+@Fork(value = 3, jvmArgsPrepend = "-Dagrona.disable.bounds.checks=true")
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@State(Scope.Benchmark)
+public class WorkStealingAgentPoolBenchmark
+{
+    @Param({ "1", "4" })
+    private int workerCount;
+
+    @Param({ "32" })
+    private int burstLength;
+
+    @Param({ "1000" })
+    private long taskWorkNs;
+
+    private final AtomicInteger completedCount = new AtomicInteger();
+    private WorkStealingAgentPool pool;
+    private WorkStealingAgentPool.Worker hotWorker;
+    private Runnable task;
+
+    /**
+     * Default constructor.
+     */
+    public WorkStealingAgentPoolBenchmark()
+    {
+    }
+
+    /**
+     * Setup the pool and start the workers.
+     */
+    @Setup
+    public void setup()
+    {
+        pool = new WorkStealingAgentPool(
+            workerCount, 1024, 1024, BusySpinIdleStrategy::new, Throwable::printStackTrace, null);
+        hotWorker = pool.worker(0);
+        task = () ->
+        {
+            final long deadlineNs = System.nanoTime() + taskWorkNs;
+            while (System.nanoTime() < deadlineNs)
+            {
+                Thread.onSpinWait();
+            }
+
+            completedCount.incrementAndGet();
+        };
+
+        pool.start();
+    }
+
+    /**
+     * Stop the workers.
+     */
+    @TearDown
+    public void tearDown()
+    {
+        pool.close();
+    }
+
+    /**
+     * Offer a burst of tasks to one worker and wait for them all to complete.
+     *
+     * @return the number of tasks completed.
+     */
+    @Benchmark
+    public int burst()
+    {
+        final int burstLength = this.burstLength;
+        completedCount.set(0);
+
+        for (int i = 0; i < burstLength; i++)
+        {
+            while (!hotWorker.offer(task))
+            {
+                Thread.onSpinWait();
+            }
+        }
+
+        int completed;
+        while ((completed = completedCount.get()) < burstLength)
+        {
+            Thread.onSpinWait();
+        }
+
+        return completed;
+    }
+
+    /**
+     * Main method.
+     *
+     * @param args for the benchmark.
+     * @throws RunnerException if an error occurs.
+     */
+    public static void main(final String[] args) throws RunnerException
+    {
+        new Runner(new OptionsBuilder()
+            .include(WorkStealingAgentPoolBenchmark.class.getName())
+            .shouldFailOnError(true)
+            .build())
+            .run();
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.broadcast;
+
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.agrona.BufferUtil.allocateDirectAligned;
+
+/**
+ * Benchmark of the cost of transmitting and then receiving a message with a {@link CopyBroadcastReceiver} compared
+ * to an {@link AdaptiveBroadcastReceiver} which handles messages up to its copy threshold in place.
+ */
+@Fork(value = 3, jvmArgsPrepend = "-Dagrona.disable.bounds.checks=true")
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@State(Scope.Benchmark)
+public class BroadcastReceiverBenchmark implements DiscardableMessageHandler
+{
+    private static final int MSG_TYPE_ID = 1;
+    private static final int CAPACITY = 64 * 1024;
+
+    @Param({ "32", "256", "1024" })
+    private int messageLength;
+
+    private UnsafeBuffer srcBuffer;
+    private BroadcastTransmitter transmitter;
+    private CopyBroadcastReceiver copyReceiver;
+    private AdaptiveBroadcastReceiver adaptiveReceiver;
+    private long sum;
+
+    /**
+     * Default constructor.
+     */
+    public BroadcastReceiverBenchmark()
+    {
+    }
+
+    /**
+     * Setup the broadcast buffer and receivers.
+     */
+    @Setup
+    public void setup()
+    {
+        final UnsafeBuffer buffer = new UnsafeBuffer(
+            allocateDirectAligned(CAPACITY + BroadcastBufferDescriptor.TRAILER_LENGTH, 64));
+        srcBuffer = new UnsafeBuffer(new byte[messageLength]);
+        transmitter = new BroadcastTransmitter(buffer);
+        copyReceiver = new CopyBroadcastReceiver(new BroadcastReceiver(buffer));
+        adaptiveReceiver = new AdaptiveBroadcastReceiver(new BroadcastReceiver(buffer));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onMessage(final int msgTypeId, final MutableDirectBuffer buffer, final int index, final int length)
+    {
+        sum += buffer.getLong(index) + buffer.getLong(index + length - 8);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onDiscard()
+    {
+    }
+
+    /**
+     * Transmit a message and receive it with a {@link CopyBroadcastReceiver}.
+     *
+     * @return the number of messages received.
+     */
+    @Benchmark
+    public int copy()
+    {
+        transmitter.transmit(MSG_TYPE_ID, srcBuffer, 0, messageLength);
+        return copyReceiver.receive(this);
+    }
+
+    /**
+     * Transmit a message and receive it with an {@link AdaptiveBroadcastReceiver}.
+     *
+     * @return the number of messages received.
+     */
+    @Benchmark
+    public int adaptive()
+    {
+        transmitter.transmit(MSG_TYPE_ID, srcBuffer, 0, messageLength);
+        return adaptiveReceiver.receive(this);
+    }
+
+    /**
+     * Main method.
+     *
+     * @param args for the benchmark.
+     * @throws RunnerException if an error occurs.
+     */
+    public static void main(final String[] args) throws RunnerException
+    {
+        new Runner(new OptionsBuilder()
+            .include(BroadcastReceiverBenchmark.class.getName())
+            .shouldFailOnError(true)
+            .build())
+            .run();
+    }
+}
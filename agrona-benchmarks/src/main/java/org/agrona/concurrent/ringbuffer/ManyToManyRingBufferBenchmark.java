@@ -0,0 +1,166 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.MessageHandler;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+import static org.agrona.BufferUtil.allocateDirectAligned;
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.TRAILER_LENGTH;
+
+/**
+ * Benchmark for the throughput of a {@link ManyToManyRingBuffer} with a single producer and a varying number of
+ * consumers which can be set via the {@code -tg} option, e.g. {@code -tg 1,4}, or which are iterated from
+ * {@code 1} to {@code 8} when run via {@link #main(String[])}.
+ */
+@Fork(value = 3, jvmArgsPrepend = "-Dagrona.disable.bounds.checks=true")
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@State(Scope.Group)
+public class ManyToManyRingBufferBenchmark
+{
+    private static final int MSG_TYPE_ID = 1;
+
+    @Param({ "65536" })
+    private int capacity;
+
+    private ManyToManyRingBuffer ringBuffer;
+
+    /**
+     * Default constructor.
+     */
+    public ManyToManyRingBufferBenchmark()
+    {
+    }
+
+    /**
+     * Per-thread state for the producer.
+     */
+    @State(Scope.Thread)
+    public static class ProducerState
+    {
+        private final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[SIZE_OF_LONG]);
+
+        /**
+         * Default constructor.
+         */
+        public ProducerState()
+        {
+        }
+    }
+
+    /**
+     * Per-thread state for a consumer.
+     */
+    @State(Scope.Thread)
+    public static class ConsumerState implements MessageHandler
+    {
+        private Blackhole bh;
+
+        /**
+         * Default constructor.
+         */
+        public ConsumerState()
+        {
+        }
+
+        /**
+         * Setup.
+         *
+         * @param bh black hole to consume messages.
+         */
+        @Setup
+        public void setup(final Blackhole bh)
+        {
+            this.bh = bh;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onMessage(final int msgTypeId, final MutableDirectBuffer buffer, final int index, final int length)
+        {
+            bh.consume(buffer.getLong(index));
+        }
+    }
+
+    /**
+     * Setup.
+     */
+    @Setup
+    public void setup()
+    {
+        ringBuffer = new ManyToManyRingBuffer(
+            new UnsafeBuffer(allocateDirectAligned(capacity + TRAILER_LENGTH, 64)));
+    }
+
+    /**
+     * Write a message into the ring-buffer.
+     *
+     * @param state of the producer.
+     * @return true if the message was written.
+     */
+    @Benchmark
+    @Group("manyToMany")
+    public boolean write(final ProducerState state)
+    {
+        return ringBuffer.write(MSG_TYPE_ID, state.srcBuffer, 0, SIZE_OF_LONG);
+    }
+
+    /**
+     * Read a single message from the ring-buffer.
+     *
+     * @param state of the consumer.
+     * @return number of messages read.
+     */
+    @Benchmark
+    @Group("manyToMany")
+    public int read(final ConsumerState state)
+    {
+        return ringBuffer.read(state, 1);
+    }
+
+    /**
+     * Runner method that allows starting benchmark directly.
+     *
+     * @param args for the main method.
+     * @throws RunnerException in case if JMH throws while starting the benchmark.
+     */
+    public static void main(final String[] args) throws RunnerException
+    {
+        for (final int consumers : new int[]{ 1, 2, 4, 8 })
+        {
+            new Runner(new OptionsBuilder()
+                .include(ManyToManyRingBufferBenchmark.class.getName())
+                .threadGroups(1, consumers)
+                .shouldFailOnError(true)
+                .build())
+                .run();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.BackoffIdleStrategy;
+import org.agrona.concurrent.IdleStrategy;
+import org.agrona.concurrent.MessageHandler;
+import org.agrona.concurrent.SleepingIdleStrategy;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+import static org.agrona.BufferUtil.allocateDirectAligned;
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.TRAILER_LENGTH;
+
+/**
+ * Benchmark for the latency with which the consumer of a low traffic {@link OneToOneRingBuffer} receives a message
+ * when idling with a {@link ParkingIdleStrategy} compared to a {@link BackoffIdleStrategy} and a
+ * {@link SleepingIdleStrategy}. A pause between messages, which is excluded from the measurement, allows the consumer
+ * to become idle.
+ */
+@Fork(value = 3, jvmArgsPrepend = "-Dagrona.disable.bounds.checks=true")
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@State(Scope.Benchmark)
+public class ParkingIdleStrategyBenchmark implements MessageHandler
+{
+    private static final int MSG_TYPE_ID = 1;
+
+    /**
+     * Idle strategy used by the consumer.
+     */
+    public enum IdleType
+    {
+        /**
+         * {@link ParkingIdleStrategy} which is unparked by the producer.
+         */
+        PARKING,
+
+        /**
+         * {@link BackoffIdleStrategy} with default configuration.
+         */
+        BACKOFF,
+
+        /**
+         * {@link SleepingIdleStrategy} with default configuration.
+         */
+        SLEEPING
+    }
+
+    @Param({ "PARKING", "BACKOFF", "SLEEPING" })
+    private IdleType idleType;
+
+    @Param({ "100" })
+    private long pauseUs;
+
+    private final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[SIZE_OF_LONG]);
+    private OneToOneRingBuffer ringBuffer;
+    private ParkingIdleStrategy parkingIdleStrategy;
+    private Thread consumerThread;
+    private long sequence;
+    private volatile long receivedSequence;
+    private volatile boolean running;
+
+    /**
+     * Default constructor.
+     */
+    public ParkingIdleStrategyBenchmark()
+    {
+    }
+
+    /**
+     * Setup the ring-buffer and start the consumer.
+     */
+    @Setup
+    public void setup()
+    {
+        ringBuffer = new OneToOneRingBuffer(new UnsafeBuffer(allocateDirectAligned(65536 + TRAILER_LENGTH, 64)));
+        parkingIdleStrategy = new ParkingIdleStrategy(ringBuffer);
+        sequence = 0;
+        receivedSequence = 0;
+        running = true;
+
+        final IdleStrategy idleStrategy = switch (idleType)
+        {
+            case PARKING -> parkingIdleStrategy;
+            case BACKOFF -> new BackoffIdleStrategy();
+            case SLEEPING -> new SleepingIdleStrategy();
+        };
+
+        consumerThread = new Thread(() ->
+        {
+            while (running)
+            {
+                idleStrategy.idle(ringBuffer.read(this));
+            }
+        });
+        consumerThread.start();
+    }
+
+    /**
+     * Stop the consumer.
+     *
+     * @throws InterruptedException if interrupted while waiting for the consumer to stop.
+     */
+    @TearDown
+    public void tearDown() throws InterruptedException
+    {
+        running = false;
+        LockSupport.unpark(consumerThread);
+        consumerThread.join();
+    }
+
+    /**
+     * Pause before each message to allow the consumer to become idle.
+     */
+    @Setup(Level.Invocation)
+    public void pause()
+    {
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(pauseUs));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onMessage(final int msgTypeId, final MutableDirectBuffer buffer, final int index, final int length)
+    {
+        receivedSequence = buffer.getLong(index);
+    }
+
+    /**
+     * Write a message and wait for the consumer to receive it.
+     *
+     * @return the sequence of the message.
+     */
+    @Benchmark
+    public long latency()
+    {
+        final long sequence = ++this.sequence;
+        srcBuffer.putLong(0, sequence);
+        while (!ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, SIZE_OF_LONG))
+        {
+            Thread.onSpinWait();
+        }
+
+        if (IdleType.PARKING == idleType)
+        {
+            parkingIdleStrategy.signal();
+        }
+
+        while (receivedSequence != sequence)
+        {
+            Thread.onSpinWait();
+        }
+
+        return sequence;
+    }
+
+    /**
+     * Main method.
+     *
+     * @param args for the benchmark.
+     * @throws RunnerException if an error occurs.
+     */
+    public static void main(final String[] args) throws RunnerException
+    {
+        new Runner(new OptionsBuilder()
+            .include(ParkingIdleStrategyBenchmark.class.getName())
+            .shouldFailOnError(true)
+            .build())
+            .run();
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.MessageHandler;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.agrona.BitUtil.findNextPositivePowerOfTwo;
+import static org.agrona.BufferUtil.allocateDirectAligned;
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.TRAILER_LENGTH;
+
+/**
+ * Benchmark comparing the throughput of a {@link ManyToOneSlotRingBuffer} against a {@link ManyToOneRingBuffer} for
+ * messages of a fixed length. The number of producers can be set via the {@code -tg} option, e.g. {@code -tg 4,1},
+ * or are iterated over {@code 1}, {@code 2} and {@code 4} when run via {@link #main(String[])}.
+ */
+@Fork(value = 3, jvmArgsPrepend = "-Dagrona.disable.bounds.checks=true")
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@State(Scope.Group)
+public class SlotRingBufferBenchmark
+{
+    private static final int MSG_TYPE_ID = 1;
+    private static final int SLOT_COUNT = 4096;
+
+    /**
+     * Type of ring-buffer to benchmark.
+     */
+    public enum Type
+    {
+        /**
+         * {@link ManyToOneRingBuffer} with a record header per message.
+         */
+        MANY_TO_ONE,
+        /**
+         * {@link ManyToOneSlotRingBuffer} with fixed length slots.
+         */
+        SLOT
+    }
+
+    @Param
+    private Type type;
+
+    @Param({ "32", "64" })
+    private int messageLength;
+
+    private ManyToOneRingBuffer ringBuffer;
+    private ManyToOneSlotRingBuffer slotRingBuffer;
+
+    /**
+     * Default constructor.
+     */
+    public SlotRingBufferBenchmark()
+    {
+    }
+
+    /**
+     * Per-thread state for a producer.
+     */
+    @State(Scope.Thread)
+    public static class ProducerState
+    {
+        private UnsafeBuffer srcBuffer;
+
+        /**
+         * Default constructor.
+         */
+        public ProducerState()
+        {
+        }
+
+        /**
+         * Setup.
+         *
+         * @param benchmark shared state of the group.
+         */
+        @Setup
+        public void setup(final SlotRingBufferBenchmark benchmark)
+        {
+            srcBuffer = new UnsafeBuffer(new byte[benchmark.messageLength]);
+        }
+    }
+
+    /**
+     * Per-thread state for the consumer.
+     */
+    @State(Scope.Thread)
+    public static class ConsumerState implements MessageHandler, SlotHandler
+    {
+        private Blackhole bh;
+
+        /**
+         * Default constructor.
+         */
+        public ConsumerState()
+        {
+        }
+
+        /**
+         * Setup.
+         *
+         * @param bh black hole to consume messages.
+         */
+        @Setup
+        public void setup(final Blackhole bh)
+        {
+            this.bh = bh;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onMessage(final int msgTypeId, final MutableDirectBuffer buffer, final int index, final int length)
+        {
+            bh.consume(buffer.getLong(index));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onSlot(final MutableDirectBuffer buffer, final int index)
+        {
+            bh.consume(buffer.getLong(index));
+        }
+    }
+
+    /**
+     * Setup with both ring-buffers able to hold at least {@code SLOT_COUNT} messages.
+     */
+    @Setup
+    public void setup()
+    {
+        if (Type.SLOT == type)
+        {
+            slotRingBuffer = new ManyToOneSlotRingBuffer(new UnsafeBuffer(allocateDirectAligned(
+                SlotRingBufferDescriptor.bufferLength(SLOT_COUNT, messageLength), 64)), messageLength);
+        }
+        else
+        {
+            final int capacity = SLOT_COUNT * (messageLength + RecordDescriptor.HEADER_LENGTH);
+            ringBuffer = new ManyToOneRingBuffer(new UnsafeBuffer(allocateDirectAligned(
+                findNextPositivePowerOfTwo(capacity) + TRAILER_LENGTH, 64)));
+        }
+    }
+
+    /**
+     * Write a message into the ring-buffer.
+     *
+     * @param state of the producer.
+     * @return true if the message was written.
+     */
+    @Benchmark
+    @Group("manyToOne")
+    public boolean write(final ProducerState state)
+    {
+        return Type.SLOT == type ?
+            slotRingBuffer.write(state.srcBuffer, 0) :
+            ringBuffer.write(MSG_TYPE_ID, state.srcBuffer, 0, messageLength);
+    }
+
+    /**
+     * Read available messages from the ring-buffer.
+     *
+     * @param state of the consumer.
+     * @return number of messages read.
+     */
+    @Benchmark
+    @Group("manyToOne")
+    public int read(final ConsumerState state)
+    {
+        return Type.SLOT == type ? slotRingBuffer.read(state) : ringBuffer.read(state);
+    }
+
+    /**
+     * Runner method that allows starting benchmark directly.
+     *
+     * @param args for the main method.
+     * @throws RunnerException in case if JMH throws while starting the benchmark.
+     */
+    public static void main(final String[] args) throws RunnerException
+    {
+        for (final int producers : new int[]{ 1, 2, 4 })
+        {
+            new Runner(new OptionsBuilder()
+                .include(SlotRingBufferBenchmark.class.getName())
+                .threadGroups(producers, 1)
+                .shouldFailOnError(true)
+                .build())
+                .run();
+        }
+    }
+}
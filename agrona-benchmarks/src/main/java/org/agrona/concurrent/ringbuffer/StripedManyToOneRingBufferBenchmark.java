@@ -0,0 +1,211 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.MessageHandler;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+import static org.agrona.BufferUtil.allocateDirectAligned;
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.TRAILER_LENGTH;
+
+/**
+ * Benchmark comparing the throughput of a {@link StripedManyToOneRingBuffer}, with a lane per producer, against a
+ * {@link ManyToOneRingBuffer} of the same total capacity. The number of producers can be set via the {@code -tg}
+ * option, e.g. {@code -tg 4,1}, or are iterated over {@code 2}, {@code 4}, {@code 8} and {@code 16} when run via
+ * {@link #main(String[])}.
+ */
+@Fork(value = 3, jvmArgsPrepend = "-Dagrona.disable.bounds.checks=true")
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@State(Scope.Group)
+public class StripedManyToOneRingBufferBenchmark
+{
+    private static final int MSG_TYPE_ID = 1;
+    private static final int MAX_PRODUCERS = 16;
+    private static final int LANE_CAPACITY = 64 * 1024;
+
+    /**
+     * Type of ring-buffer to benchmark.
+     */
+    public enum Type
+    {
+        /**
+         * {@link ManyToOneRingBuffer} with a single tail shared by all producers.
+         */
+        MANY_TO_ONE,
+        /**
+         * {@link StripedManyToOneRingBuffer} with a lane per producer.
+         */
+        STRIPED
+    }
+
+    @Param
+    private Type type;
+
+    private final AtomicInteger producerIdGenerator = new AtomicInteger();
+    private RingBuffer ringBuffer;
+    private StripedManyToOneRingBuffer stripedRingBuffer;
+
+    /**
+     * Default constructor.
+     */
+    public StripedManyToOneRingBufferBenchmark()
+    {
+    }
+
+    /**
+     * Per-thread state for a producer.
+     */
+    @State(Scope.Thread)
+    public static class ProducerState
+    {
+        private final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[SIZE_OF_LONG]);
+        private RingBuffer ringBuffer;
+
+        /**
+         * Default constructor.
+         */
+        public ProducerState()
+        {
+        }
+
+        /**
+         * Setup.
+         *
+         * @param benchmark shared state of the group.
+         */
+        @Setup
+        public void setup(final StripedManyToOneRingBufferBenchmark benchmark)
+        {
+            ringBuffer = Type.STRIPED == benchmark.type ?
+                benchmark.stripedRingBuffer.lane(benchmark.producerIdGenerator.getAndIncrement()) :
+                benchmark.ringBuffer;
+        }
+    }
+
+    /**
+     * Per-thread state for the consumer.
+     */
+    @State(Scope.Thread)
+    public static class ConsumerState implements MessageHandler
+    {
+        private Blackhole bh;
+
+        /**
+         * Default constructor.
+         */
+        public ConsumerState()
+        {
+        }
+
+        /**
+         * Setup.
+         *
+         * @param bh black hole to consume messages.
+         */
+        @Setup
+        public void setup(final Blackhole bh)
+        {
+            this.bh = bh;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onMessage(final int msgTypeId, final MutableDirectBuffer buffer, final int index, final int length)
+        {
+            bh.consume(buffer.getLong(index));
+        }
+    }
+
+    /**
+     * Setup.
+     */
+    @Setup
+    public void setup()
+    {
+        producerIdGenerator.set(0);
+        if (Type.STRIPED == type)
+        {
+            stripedRingBuffer = new StripedManyToOneRingBuffer(new UnsafeBuffer(allocateDirectAligned(
+                StripedManyToOneRingBuffer.bufferLength(MAX_PRODUCERS, LANE_CAPACITY), 64)), MAX_PRODUCERS);
+            ringBuffer = stripedRingBuffer;
+        }
+        else
+        {
+            ringBuffer = new ManyToOneRingBuffer(
+                new UnsafeBuffer(allocateDirectAligned(MAX_PRODUCERS * LANE_CAPACITY + TRAILER_LENGTH, 64)));
+        }
+    }
+
+    /**
+     * Write a message into the ring-buffer.
+     *
+     * @param state of the producer.
+     * @return true if the message was written.
+     */
+    @Benchmark
+    @Group("manyToOne")
+    public boolean write(final ProducerState state)
+    {
+        return state.ringBuffer.write(MSG_TYPE_ID, state.srcBuffer, 0, SIZE_OF_LONG);
+    }
+
+    /**
+     * Read available messages from the ring-buffer.
+     *
+     * @param state of the consumer.
+     * @return number of messages read.
+     */
+    @Benchmark
+    @Group("manyToOne")
+    public int read(final ConsumerState state)
+    {
+        return ringBuffer.read(state);
+    }
+
+    /**
+     * Runner method that allows starting benchmark directly.
+     *
+     * @param args for the main method.
+     * @throws RunnerException in case if JMH throws while starting the benchmark.
+     */
+    public static void main(final String[] args) throws RunnerException
+    {
+        for (final int producers : new int[]{ 2, 4, 8, 16 })
+        {
+            new Runner(new OptionsBuilder()
+                .include(StripedManyToOneRingBufferBenchmark.class.getName())
+                .threadGroups(producers, 1)
+                .shouldFailOnError(true)
+                .build())
+                .run();
+        }
+    }
+}
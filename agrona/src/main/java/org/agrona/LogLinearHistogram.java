@@ -0,0 +1,402 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona;
+
+import java.util.Arrays;
+
+import static org.agrona.BitUtil.SIZE_OF_INT;
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+
+/**
+ * Histogram of non-negative long values, such as latencies in nanoseconds, with buckets which are linear within each
+ * power of 2 and so have a bounded relative error. The memory used is fixed at construction and recording does not
+ * allocate.
+ * <p>
+ * Values below {@code 2^subBucketBits} are recorded exactly. Larger values are recorded in one of
+ * {@code 2^(subBucketBits - 1)} linear buckets for their power of 2, giving a relative error of at most
+ * {@code 2^-(subBucketBits - 1)}. Values greater than the highest trackable value are recorded in the last bucket
+ * but are still reflected in {@link #maxValue()}.
+ * <p>
+ * The histogram can be exported to a buffer via {@link #encode(MutableDirectBuffer, int)} and imported into another
+ * histogram of the same configuration via {@link #decode(DirectBuffer, int)}.
+ * <p>
+ * <b>Note:</b> This class is not threadsafe.
+ */
+public final class LogLinearHistogram
+{
+    /**
+     * Default number of bits of linear precision which gives a relative error of less than 1%.
+     */
+    public static final int DEFAULT_SUB_BUCKET_BITS = 8;
+
+    private static final int SUB_BUCKET_BITS_OFFSET = 0;
+    private static final int BUCKET_COUNT_OFFSET = SUB_BUCKET_BITS_OFFSET + SIZE_OF_INT;
+    private static final int TOTAL_COUNT_OFFSET = BUCKET_COUNT_OFFSET + SIZE_OF_INT;
+    private static final int MIN_VALUE_OFFSET = TOTAL_COUNT_OFFSET + SIZE_OF_LONG;
+    private static final int MAX_VALUE_OFFSET = MIN_VALUE_OFFSET + SIZE_OF_LONG;
+    private static final int COUNTS_OFFSET = MAX_VALUE_OFFSET + SIZE_OF_LONG;
+    private static final int MAX_BUCKET_COUNT = (Integer.MAX_VALUE - COUNTS_OFFSET) / SIZE_OF_LONG;
+
+    private final int subBucketBits;
+    private final int subBucketHalfCountBits;
+    private final long subBucketCount;
+    private final long[] counts;
+    private long totalCount;
+    private long minValue = Long.MAX_VALUE;
+    private long maxValue;
+
+    /**
+     * Construct a histogram with {@link #DEFAULT_SUB_BUCKET_BITS} of linear precision.
+     *
+     * @param highestTrackableValue highest value which can be recorded without being clamped.
+     */
+    public LogLinearHistogram(final long highestTrackableValue)
+    {
+        this(highestTrackableValue, DEFAULT_SUB_BUCKET_BITS);
+    }
+
+    /**
+     * Construct a histogram.
+     *
+     * @param highestTrackableValue highest value which can be recorded without being clamped.
+     * @param subBucketBits         number of bits of linear precision in the range 1 to 30.
+     * @throws IllegalArgumentException if the {@code highestTrackableValue} is less than 1, the
+     *                                  {@code subBucketBits} is out of range, or they require more buckets than
+     *                                  can be encoded in a buffer.
+     */
+    public LogLinearHistogram(final long highestTrackableValue, final int subBucketBits)
+    {
+        if (highestTrackableValue < 1)
+        {
+            throw new IllegalArgumentException(
+                "highestTrackableValue must be positive: highestTrackableValue=" + highestTrackableValue);
+        }
+
+        if (subBucketBits < 1 || subBucketBits > 30)
+        {
+            throw new IllegalArgumentException("subBucketBits must be in the range 1..30: subBucketBits=" +
+                subBucketBits);
+        }
+
+        this.subBucketBits = subBucketBits;
+        subBucketHalfCountBits = subBucketBits - 1;
+        subBucketCount = 1L << subBucketBits;
+
+        final long bucketCount = bucketIndex(highestTrackableValue) + 1;
+        if (bucketCount > MAX_BUCKET_COUNT)
+        {
+            throw new IllegalArgumentException("bucketCount must be <= " + MAX_BUCKET_COUNT +
+                ": bucketCount=" + bucketCount + ", highestTrackableValue=" + highestTrackableValue +
+                ", subBucketBits=" + subBucketBits);
+        }
+
+        counts = new long[(int)bucketCount];
+    }
+
+    /**
+     * Number of bits of linear precision.
+     *
+     * @return number of bits of linear precision.
+     */
+    public int subBucketBits()
+    {
+        return subBucketBits;
+    }
+
+    /**
+     * Number of buckets in the histogram.
+     *
+     * @return number of buckets in the histogram.
+     */
+    public int bucketCount()
+    {
+        return counts.length;
+    }
+
+    /**
+     * Highest value which can be recorded without being clamped to the last bucket.
+     *
+     * @return highest value which can be recorded without being clamped to the last bucket.
+     */
+    public long highestTrackableValue()
+    {
+        return highestValueInBucket(counts.length - 1);
+    }
+
+    /**
+     * Record a value.
+     *
+     * @param value to be recorded which is treated as 0 if negative.
+     */
+    public void record(final long value)
+    {
+        final long v = Math.max(0, value);
+        counts[(int)Math.min(bucketIndex(v), counts.length - 1)]++;
+        totalCount++;
+
+        if (v < minValue)
+        {
+            minValue = v;
+        }
+
+        if (v > maxValue)
+        {
+            maxValue = v;
+        }
+    }
+
+    /**
+     * Total number of values recorded.
+     *
+     * @return total number of values recorded.
+     */
+    public long totalCount()
+    {
+        return totalCount;
+    }
+
+    /**
+     * Minimum value recorded or 0 if no values have been recorded.
+     *
+     * @return minimum value recorded.
+     */
+    public long minValue()
+    {
+        return 0 == totalCount ? 0 : minValue;
+    }
+
+    /**
+     * Maximum value recorded or 0 if no values have been recorded.
+     *
+     * @return maximum value recorded.
+     */
+    public long maxValue()
+    {
+        return maxValue;
+    }
+
+    /**
+     * Count of values recorded in a bucket.
+     *
+     * @param bucketIndex of the bucket.
+     * @return count of values recorded in the bucket.
+     */
+    public long countInBucket(final int bucketIndex)
+    {
+        return counts[bucketIndex];
+    }
+
+    /**
+     * Lowest value which is recorded in a bucket.
+     *
+     * @param bucketIndex of the bucket.
+     * @return lowest value which is recorded in the bucket.
+     */
+    public long lowestValueInBucket(final int bucketIndex)
+    {
+        if (bucketIndex < subBucketCount)
+        {
+            return bucketIndex;
+        }
+
+        final int shift = (bucketIndex >>> subBucketHalfCountBits) - 1;
+        final long subBucketIndex = bucketIndex - ((long)shift << subBucketHalfCountBits);
+
+        return subBucketIndex << shift;
+    }
+
+    /**
+     * Highest value which is recorded in a bucket.
+     *
+     * @param bucketIndex of the bucket.
+     * @return highest value which is recorded in the bucket.
+     */
+    public long highestValueInBucket(final int bucketIndex)
+    {
+        if (bucketIndex < subBucketCount)
+        {
+            return bucketIndex;
+        }
+
+        final int shift = (bucketIndex >>> subBucketHalfCountBits) - 1;
+
+        return lowestValueInBucket(bucketIndex) + (1L << shift) - 1;
+    }
+
+    /**
+     * Value at a percentile of the values recorded, given as the highest value of the bucket in which the percentile
+     * falls but no more than the {@link #maxValue()}.
+     *
+     * @param percentile in the range 0.0 to 100.0.
+     * @return value at the percentile or 0 if no values have been recorded.
+     */
+    public long valueAtPercentile(final double percentile)
+    {
+        if (0 == totalCount)
+        {
+            return 0;
+        }
+
+        final double boundedPercentile = Math.min(Math.max(percentile, 0.0), 100.0);
+        final long countAtPercentile = Math.max(1, (long)Math.ceil((boundedPercentile / 100.0) * totalCount));
+        final long[] counts = this.counts;
+
+        long cumulativeCount = 0;
+        int i = 0;
+        for (; i < counts.length - 1; i++)
+        {
+            cumulativeCount += counts[i];
+            if (cumulativeCount >= countAtPercentile)
+            {
+                break;
+            }
+        }
+
+        // the last bucket also holds clamped values so only the max value bounds it
+        return i == counts.length - 1 ? maxValue : Math.min(highestValueInBucket(i), maxValue);
+    }
+
+    /**
+     * Mean of the values recorded based on the mid-point of each bucket.
+     *
+     * @return mean of the values recorded or 0 if no values have been recorded.
+     */
+    public double mean()
+    {
+        if (0 == totalCount)
+        {
+            return 0.0;
+        }
+
+        final long[] counts = this.counts;
+        double total = 0.0;
+        for (int i = 0; i < counts.length; i++)
+        {
+            final long count = counts[i];
+            if (0 != count)
+            {
+                total += count * ((lowestValueInBucket(i) + (double)highestValueInBucket(i)) / 2.0);
+            }
+        }
+
+        return total / totalCount;
+    }
+
+    /**
+     * Reset the histogram so no values are recorded.
+     */
+    public void reset()
+    {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        minValue = Long.MAX_VALUE;
+        maxValue = 0;
+    }
+
+    /**
+     * Length in bytes required to encode the histogram.
+     *
+     * @return length in bytes required to encode the histogram.
+     */
+    public int encodedLength()
+    {
+        return COUNTS_OFFSET + (counts.length * SIZE_OF_LONG);
+    }
+
+    /**
+     * Encode the histogram into a buffer so it can be exported.
+     *
+     * @param buffer into which the histogram is encoded.
+     * @param offset in the buffer at which the encoding begins.
+     * @return the length of the encoding which is {@link #encodedLength()}.
+     */
+    public int encode(final MutableDirectBuffer buffer, final int offset)
+    {
+        buffer.putInt(offset + SUB_BUCKET_BITS_OFFSET, subBucketBits);
+        buffer.putInt(offset + BUCKET_COUNT_OFFSET, counts.length);
+        buffer.putLong(offset + TOTAL_COUNT_OFFSET, totalCount);
+        buffer.putLong(offset + MIN_VALUE_OFFSET, minValue());
+        buffer.putLong(offset + MAX_VALUE_OFFSET, maxValue);
+
+        final long[] counts = this.counts;
+        for (int i = 0, index = offset + COUNTS_OFFSET; i < counts.length; i++, index += SIZE_OF_LONG)
+        {
+            buffer.putLong(index, counts[i]);
+        }
+
+        return encodedLength();
+    }
+
+    /**
+     * Decode a histogram from a buffer, as encoded by {@link #encode(MutableDirectBuffer, int)}, replacing the values
+     * recorded by this histogram.
+     *
+     * @param buffer from which the histogram is decoded.
+     * @param offset in the buffer at which the encoding begins.
+     * @return the length of the encoding which is {@link #encodedLength()}.
+     * @throws IllegalArgumentException if the encoded histogram does not have the same configuration.
+     */
+    public int decode(final DirectBuffer buffer, final int offset)
+    {
+        final int subBucketBits = buffer.getInt(offset + SUB_BUCKET_BITS_OFFSET);
+        final int bucketCount = buffer.getInt(offset + BUCKET_COUNT_OFFSET);
+        if (subBucketBits != this.subBucketBits || bucketCount != counts.length)
+        {
+            throw new IllegalArgumentException("histogram configuration mismatch: subBucketBits=" + subBucketBits +
+                ", bucketCount=" + bucketCount + ", expected subBucketBits=" + this.subBucketBits +
+                ", bucketCount=" + counts.length);
+        }
+
+        totalCount = buffer.getLong(offset + TOTAL_COUNT_OFFSET);
+        minValue = 0 == totalCount ? Long.MAX_VALUE : buffer.getLong(offset + MIN_VALUE_OFFSET);
+        maxValue = buffer.getLong(offset + MAX_VALUE_OFFSET);
+
+        final long[] counts = this.counts;
+        for (int i = 0, index = offset + COUNTS_OFFSET; i < counts.length; i++, index += SIZE_OF_LONG)
+        {
+            counts[i] = buffer.getLong(index);
+        }
+
+        return encodedLength();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString()
+    {
+        return "LogLinearHistogram{" +
+            "subBucketBits=" + subBucketBits +
+            ", bucketCount=" + counts.length +
+            ", totalCount=" + totalCount +
+            ", minValue=" + minValue() +
+            ", maxValue=" + maxValue +
+            '}';
+    }
+
+    private long bucketIndex(final long value)
+    {
+        if (value < subBucketCount)
+        {
+            return value;
+        }
+
+        final int shift = (63 - Long.numberOfLeadingZeros(value)) - subBucketBits + 1;
+
+        return ((long)shift << subBucketHalfCountBits) + (value >>> shift);
+    }
+}
@@ -21,6 +21,7 @@ import org.agrona.UnsafeApi;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 
 /**
  * Pad out a cacheline to the left of a producer fields to prevent false sharing.
@@ -414,6 +415,19 @@ public abstract class AbstractConcurrentArrayQueue<E>
         return (int)size;
     }
 
+    static void checkElements(final Object[] elements, final int offset, final int length)
+    {
+        Objects.checkFromIndexSize(offset, length, elements.length);
+
+        for (int i = offset, end = offset + length; i < end; i++)
+        {
+            if (null == elements[i])
+            {
+                throw new NullPointerException("Null is not a valid element: index=" + i);
+            }
+        }
+    }
+
     /**
      * Compute buffer offset based on the given sequence and the mask.
      *
@@ -0,0 +1,338 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent;
+
+import org.agrona.BitUtil;
+import org.agrona.UnsafeApi;
+import org.agrona.generation.DoNotSub;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Pad out a cacheline to the left of a producer fields to prevent false sharing.
+ */
+@SuppressWarnings("unused")
+abstract class AbstractConcurrentIntArrayQueuePadding1
+{
+    byte p000, p001, p002, p003, p004, p005, p006, p007, p008, p009, p010, p011, p012, p013, p014, p015;
+    byte p016, p017, p018, p019, p020, p021, p022, p023, p024, p025, p026, p027, p028, p029, p030, p031;
+    byte p032, p033, p034, p035, p036, p037, p038, p039, p040, p041, p042, p043, p044, p045, p046, p047;
+    byte p048, p049, p050, p051, p052, p053, p054, p055, p056, p057, p058, p059, p060, p061, p062, p063;
+}
+
+/**
+ * Value for the producer that are expected to be padded.
+ */
+abstract class AbstractConcurrentIntArrayQueueProducer extends AbstractConcurrentIntArrayQueuePadding1
+{
+    /**
+     * Tail index.
+     */
+    protected volatile long tail;
+    /**
+     * Cached head index.
+     */
+    protected long headCache;
+    /**
+     * Shared cached head index.
+     */
+    protected volatile long sharedHeadCache;
+}
+
+/**
+ * Pad out a cacheline between the producer and consumer fields to prevent false sharing.
+ */
+@SuppressWarnings("unused")
+abstract class AbstractConcurrentIntArrayQueuePadding2 extends AbstractConcurrentIntArrayQueueProducer
+{
+    byte p064, p065, p066, p067, p068, p069, p070, p071, p072, p073, p074, p075, p076, p077, p078, p079;
+    byte p080, p081, p082, p083, p084, p085, p086, p087, p088, p089, p090, p091, p092, p093, p094, p095;
+    byte p096, p097, p098, p099, p100, p101, p102, p103, p104, p105, p106, p107, p108, p109, p110, p111;
+    byte p112, p113, p114, p115, p116, p117, p118, p119, p120, p121, p122, p123, p124, p125, p126, p127;
+}
+
+/**
+ * Values for the consumer that are expected to be padded.
+ */
+abstract class AbstractConcurrentIntArrayQueueConsumer extends AbstractConcurrentIntArrayQueuePadding2
+{
+    /**
+     * Head index.
+     */
+    protected volatile long head;
+}
+
+/**
+ * Pad out a cacheline between the producer and consumer fields to prevent false sharing.
+ */
+@SuppressWarnings("unused")
+abstract class AbstractConcurrentIntArrayQueuePadding3 extends AbstractConcurrentIntArrayQueueConsumer
+{
+    byte p128, p129, p130, p131, p132, p133, p134, p135, p136, p137, p138, p139, p140, p142, p143, p144;
+    byte p145, p146, p147, p148, p149, p150, p151, p152, p153, p154, p155, p156, p157, p158, p159, p160;
+    byte p161, p162, p163, p164, p165, p166, p167, p168, p169, p170, p171, p172, p173, p174, p175, p176;
+    byte p177, p178, p179, p180, p181, p182, p183, p184, p185, p186, p187, p189, p190, p191, p192, p193;
+}
+
+/**
+ * Base class for concurrent array backed queues of primitive int values, padded as for
+ * {@link AbstractConcurrentArrayQueue}, which avoid the allocation and indirection of boxing. Empty slots are marked
+ * with a null value which cannot be offered and which is returned from {@link #poll()} and {@link #peek()} when the
+ * queue is empty.
+ */
+@SuppressWarnings("removal")
+public abstract class AbstractConcurrentIntArrayQueue extends AbstractConcurrentIntArrayQueuePadding3
+{
+    /**
+     * Offset of the {@code tail} field.
+     */
+    protected static final long TAIL_OFFSET;
+
+    /**
+     * Offset of the {@code sharedHeadCache} field.
+     */
+    protected static final long SHARED_HEAD_CACHE_OFFSET;
+
+    /**
+     * Offset of the {@code head} field.
+     */
+    protected static final long HEAD_OFFSET;
+
+    /**
+     * Array base.
+     */
+    @DoNotSub protected static final int BUFFER_ARRAY_BASE;
+
+    /**
+     * Shift for scale.
+     */
+    @DoNotSub protected static final int SHIFT_FOR_SCALE;
+
+    static
+    {
+        try
+        {
+            BUFFER_ARRAY_BASE = UnsafeApi.arrayBaseOffset(int[].class);
+            SHIFT_FOR_SCALE = BitUtil.calculateShiftForScale(UnsafeApi.arrayIndexScale(int[].class));
+            TAIL_OFFSET =
+                UnsafeApi.objectFieldOffset(AbstractConcurrentIntArrayQueueProducer.class.getDeclaredField("tail"));
+            SHARED_HEAD_CACHE_OFFSET = UnsafeApi.objectFieldOffset(
+                AbstractConcurrentIntArrayQueueProducer.class.getDeclaredField("sharedHeadCache"));
+            HEAD_OFFSET =
+                UnsafeApi.objectFieldOffset(AbstractConcurrentIntArrayQueueConsumer.class.getDeclaredField("head"));
+        }
+        catch (final Exception ex)
+        {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    /**
+     * Queue capacity.
+     */
+    @DoNotSub protected final int capacity;
+
+    /**
+     * Value used to mark an empty slot and returned when the queue is empty.
+     */
+    protected final int nullValue;
+
+    /**
+     * Backing array.
+     */
+    protected final int[] buffer;
+
+    /**
+     * Constructs a queue with the requested capacity.
+     *
+     * @param requestedCapacity of the queue.
+     * @param nullValue         which marks an empty slot and cannot be offered.
+     */
+    public AbstractConcurrentIntArrayQueue(
+        @DoNotSub final int requestedCapacity,
+        final int nullValue)
+    {
+        capacity = BitUtil.findNextPositivePowerOfTwo(requestedCapacity);
+        this.nullValue = nullValue;
+        buffer = new int[capacity];
+        Arrays.fill(buffer, nullValue);
+    }
+
+    /**
+     * Add a value to the tail of the queue.
+     *
+     * @param value to be added.
+     * @return true if added, or false if the queue is full.
+     * @throws IllegalArgumentException if the value is the {@link #nullValue()}.
+     */
+    public abstract boolean offer(int value);
+
+    /**
+     * Remove the value at the head of the queue.
+     *
+     * @return the value at the head of the queue or the {@link #nullValue()} if the queue is empty.
+     */
+    public abstract int poll();
+
+    /**
+     * Get the value at the head of the queue without removing it.
+     *
+     * @return the value at the head of the queue or the {@link #nullValue()} if the queue is empty.
+     */
+    public abstract int peek();
+
+    /**
+     * Drain the number of values present in the queue at the start of the operation.
+     *
+     * @param elementConsumer called for each value removed.
+     * @return the number of values removed.
+     */
+    @DoNotSub public int drain(
+        final IntConsumer elementConsumer)
+    {
+        return drain(elementConsumer, (int)(tail - head)); // @DoNotSub
+    }
+
+    /**
+     * Drain up to a limit of values from the queue.
+     *
+     * @param elementConsumer called for each value removed.
+     * @param limit           maximum number of values to be removed.
+     * @return the number of values removed.
+     */
+    @DoNotSub public abstract int drain(
+        IntConsumer elementConsumer,
+        @DoNotSub int limit);
+
+    /**
+     * Value used to mark an empty slot and returned when the queue is empty.
+     *
+     * @return value used to mark an empty slot and returned when the queue is empty.
+     */
+    public int nullValue()
+    {
+        return nullValue;
+    }
+
+    /**
+     * The number of values added to this queue since creation.
+     *
+     * @return the number of values added to this queue since creation.
+     */
+    public long addedCount()
+    {
+        return tail;
+    }
+
+    /**
+     * The number of values removed from this queue since creation.
+     *
+     * @return the number of values removed from this queue since creation.
+     */
+    public long removedCount()
+    {
+        return head;
+    }
+
+    /**
+     * The maximum capacity of this queue.
+     *
+     * @return the maximum capacity of this queue.
+     */
+    @DoNotSub public int capacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * Get the remaining capacity for values in the queue given the current size.
+     *
+     * @return remaining capacity of the queue.
+     */
+    @DoNotSub public int remainingCapacity()
+    {
+        return capacity - size();
+    }
+
+    /**
+     * Is the queue empty.
+     *
+     * @return true if the queue is empty.
+     */
+    public boolean isEmpty()
+    {
+        return head >= tail;
+    }
+
+    /**
+     * Get the number of values in the queue.
+     *
+     * @return the number of values in the queue.
+     */
+    @DoNotSub public int size()
+    {
+        long currentHeadBefore;
+        long currentTail;
+        long currentHeadAfter = head;
+
+        do
+        {
+            currentHeadBefore = currentHeadAfter;
+            currentTail = tail;
+            currentHeadAfter = head;
+        }
+        while (currentHeadAfter != currentHeadBefore);
+
+        final long size = currentTail - currentHeadAfter;
+        if (size < 0)
+        {
+            return 0;
+        }
+        else if (size > capacity)
+        {
+            return capacity;
+        }
+
+        return (int)size; // @DoNotSub
+    }
+
+    /**
+     * Compute buffer offset based on the given sequence and the mask.
+     *
+     * @param sequence to compute the offset from.
+     * @param mask     to apply.
+     * @return buffer offset.
+     */
+    public static long sequenceToBufferOffset(final long sequence, final long mask)
+    {
+        return BUFFER_ARRAY_BASE + ((sequence & mask) << SHIFT_FOR_SCALE);
+    }
+
+    /**
+     * Check the value is not the {@link #nullValue()}.
+     *
+     * @param value to be checked.
+     * @throws IllegalArgumentException if the value is the {@link #nullValue()}.
+     */
+    protected final void checkValue(final int value)
+    {
+        if (nullValue == value)
+        {
+            throw new IllegalArgumentException("cannot offer nullValue=" + value);
+        }
+    }
+}
@@ -40,6 +40,7 @@ public class AgentInvoker implements AutoCloseable
     private final AtomicCounter errorCounter;
     private final ErrorHandler errorHandler;
     private final Agent agent;
+    private final DutyCycleTracker dutyCycleTracker;
 
     /**
      * Create an agent and initialise it.
@@ -49,6 +50,23 @@ public class AgentInvoker implements AutoCloseable
      * @param agent        to be run in this thread.
      */
     public AgentInvoker(final ErrorHandler errorHandler, final AtomicCounter errorCounter, final Agent agent)
+    {
+        this(errorHandler, errorCounter, agent, null);
+    }
+
+    /**
+     * Create an agent, which tracks the duty cycle of the agent between calls to {@link #invoke()}, and initialise it.
+     *
+     * @param errorHandler     to be called if an {@link Throwable} is encountered
+     * @param errorCounter     to be incremented each time an exception is encountered. This may be null.
+     * @param agent            to be run in this thread.
+     * @param dutyCycleTracker to track the duty cycle of the agent. This may be null.
+     */
+    public AgentInvoker(
+        final ErrorHandler errorHandler,
+        final AtomicCounter errorCounter,
+        final Agent agent,
+        final DutyCycleTracker dutyCycleTracker)
     {
         Objects.requireNonNull(errorHandler, "errorHandler");
         Objects.requireNonNull(agent, "agent");
@@ -56,6 +74,7 @@ public class AgentInvoker implements AutoCloseable
         this.errorHandler = errorHandler;
         this.errorCounter = errorCounter;
         this.agent = agent;
+        this.dutyCycleTracker = dutyCycleTracker;
     }
 
     /**
@@ -98,6 +117,16 @@ public class AgentInvoker implements AutoCloseable
         return agent;
     }
 
+    /**
+     * The {@link DutyCycleTracker} which tracks the duty cycle of the {@link Agent}.
+     *
+     * @return the {@link DutyCycleTracker} or null if the duty cycle is not tracked.
+     */
+    public DutyCycleTracker dutyCycleTracker()
+    {
+        return dutyCycleTracker;
+    }
+
     /**
      * Mark the invoker as started and call the {@link Agent#onStart()} method.
      * <p>
@@ -112,6 +141,10 @@ public class AgentInvoker implements AutoCloseable
                 isStarted = true;
                 agent.onStart();
                 isRunning = true;
+                if (null != dutyCycleTracker)
+                {
+                    dutyCycleTracker.reset();
+                }
             }
         }
         catch (final Throwable t)
@@ -144,7 +177,24 @@ public class AgentInvoker implements AutoCloseable
         {
             try
             {
-                workCount = agent.doWork();
+                final DutyCycleTracker dutyCycleTracker = this.dutyCycleTracker;
+                if (null == dutyCycleTracker)
+                {
+                    workCount = agent.doWork();
+                }
+                else
+                {
+                    dutyCycleTracker.onWorkStart();
+                    try
+                    {
+                        workCount = agent.doWork();
+                    }
+                    finally
+                    {
+                        dutyCycleTracker.onWorkEnd();
+                    }
+                }
+
                 if (workCount <= 0 && Thread.currentThread().isInterrupted())
                 {
                     isRunning = false;
@@ -49,6 +49,7 @@ public class AgentRunner implements Runnable, AutoCloseable
     private final ErrorHandler errorHandler;
     private final IdleStrategy idleStrategy;
     private final Agent agent;
+    private final DutyCycleTracker dutyCycleTracker;
     private final AtomicReference<Thread> thread = new AtomicReference<>();
 
     /**
@@ -64,6 +65,25 @@ public class AgentRunner implements Runnable, AutoCloseable
         final ErrorHandler errorHandler,
         final AtomicCounter errorCounter,
         final Agent agent)
+    {
+        this(idleStrategy, errorHandler, errorCounter, agent, null);
+    }
+
+    /**
+     * Create an agent runner, which tracks the duty cycle of the agent, and initialise it.
+     *
+     * @param idleStrategy     to use for Agent run loop
+     * @param errorHandler     to be called if an {@link Throwable} is encountered
+     * @param errorCounter     to be incremented each time an exception is encountered. This may be null.
+     * @param agent            to be run in this thread.
+     * @param dutyCycleTracker to track the duty cycle of the agent. This may be null.
+     */
+    public AgentRunner(
+        final IdleStrategy idleStrategy,
+        final ErrorHandler errorHandler,
+        final AtomicCounter errorCounter,
+        final Agent agent,
+        final DutyCycleTracker dutyCycleTracker)
     {
         Objects.requireNonNull(idleStrategy, "idleStrategy");
         Objects.requireNonNull(errorHandler, "errorHandler");
@@ -73,6 +93,7 @@ public class AgentRunner implements Runnable, AutoCloseable
         this.errorHandler = errorHandler;
         this.errorCounter = errorCounter;
         this.agent = agent;
+        this.dutyCycleTracker = dutyCycleTracker;
     }
 
     /**
@@ -112,6 +133,16 @@ public class AgentRunner implements Runnable, AutoCloseable
         return agent;
     }
 
+    /**
+     * The {@link DutyCycleTracker} which tracks the duty cycle of the {@link Agent}.
+     *
+     * @return the {@link DutyCycleTracker} or null if the duty cycle is not tracked.
+     */
+    public DutyCycleTracker dutyCycleTracker()
+    {
+        return dutyCycleTracker;
+    }
+
     /**
      * Has the {@link Agent} been closed?
      *
@@ -159,7 +190,7 @@ public class AgentRunner implements Runnable, AutoCloseable
                     }
                 }
 
-                workLoop(idleStrategy, agent);
+                workLoop(idleStrategy, agent, dutyCycleTracker);
 
                 try
                 {
@@ -297,19 +328,41 @@ public class AgentRunner implements Runnable, AutoCloseable
         }
     }
 
-    private void workLoop(final IdleStrategy idleStrategy, final Agent agent)
+    private void workLoop(final IdleStrategy idleStrategy, final Agent agent, final DutyCycleTracker dutyCycleTracker)
     {
+        if (null != dutyCycleTracker)
+        {
+            dutyCycleTracker.reset();
+        }
+
         while (isRunning)
         {
-            doWork(idleStrategy, agent);
+            doWork(idleStrategy, agent, dutyCycleTracker);
         }
     }
 
-    private void doWork(final IdleStrategy idleStrategy, final Agent agent)
+    private void doWork(final IdleStrategy idleStrategy, final Agent agent, final DutyCycleTracker dutyCycleTracker)
     {
         try
         {
-            final int workCount = agent.doWork();
+            final int workCount;
+            if (null == dutyCycleTracker)
+            {
+                workCount = agent.doWork();
+            }
+            else
+            {
+                dutyCycleTracker.onWorkStart();
+                try
+                {
+                    workCount = agent.doWork();
+                }
+                finally
+                {
+                    dutyCycleTracker.onWorkEnd();
+                }
+            }
+
             idleStrategy.idle(workCount);
             if (workCount <= 0 && Thread.currentThread().isInterrupted())
             {
@@ -0,0 +1,407 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent;
+
+import org.agrona.CloseHelper;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.agrona.concurrent.status.CountersManager;
+
+import java.util.Objects;
+
+/**
+ * Tracker of the duty cycle of an {@link Agent}, run by an {@link AgentRunner} or {@link AgentInvoker}, which
+ * publishes how the agent spends its time to {@link AtomicCounter}s so it can be observed externally, e.g. by tools
+ * reading a counters file.
+ * <p>
+ * A cycle is the time from the start of one call to {@link Agent#doWork()} to the start of the next, so includes any
+ * idling. The following are tracked:
+ * <ul>
+ *     <li>Cycle count: number of cycles completed.</li>
+ *     <li>Total cycle time: sum of the time taken by the cycles in nanoseconds.</li>
+ *     <li>Max cycle time: maximum time taken by a cycle in nanoseconds.</li>
+ *     <li>Work time: sum of the time taken by {@link Agent#doWork()} in nanoseconds, so the ratio of work to idle
+ *     time is {@code workTime / (totalCycleTime - workTime)}.</li>
+ *     <li>Stall count: number of cycles which took longer than the stall threshold.</li>
+ *     <li>Work start time: clock time at which the call to {@link Agent#doWork()} in progress started, or
+ *     {@link #NULL_WORK_START_TIME} when not in a call.</li>
+ *     <li>Work time histogram: count of calls to {@link Agent#doWork()} in buckets which double in width, the first
+ *     being for durations below {@link #HISTOGRAM_LOWEST_BOUND_NS} and the last for all longer durations.</li>
+ * </ul>
+ * The clock is read twice per cycle, around {@link Agent#doWork()}, and nothing is allocated.
+ * <p>
+ * A call to {@link Agent#doWork()} which blocks does not complete a cycle so is detected by another thread, e.g. a
+ * watchdog, periodically calling {@link #checkStall(long)} which compares the published work start time to its own
+ * reading of the clock and calls the {@link StallHandler} once for each call which exceeds the stall threshold.
+ * <p>
+ * The counters are updated with release semantics as the agent thread is the single writer of them.
+ * <p>
+ * <b>Note:</b> This class is not threadsafe and an instance must only be used by a single agent, apart from
+ * {@link #checkStall(long)} which is to be called by a single other thread.
+ */
+public final class DutyCycleTracker implements AutoCloseable
+{
+    /**
+     * Default number of buckets in the work time histogram which gives a last bucket for durations of 16.8 ms and
+     * above.
+     */
+    public static final int DEFAULT_HISTOGRAM_BUCKET_COUNT = 16;
+
+    /**
+     * Upper bound in nanoseconds, exclusive, of the first bucket in the work time histogram.
+     */
+    public static final long HISTOGRAM_LOWEST_BOUND_NS = 1024;
+
+    /**
+     * Value of the work start time counter when the agent is not in a call to {@link Agent#doWork()}.
+     */
+    public static final long NULL_WORK_START_TIME = Long.MIN_VALUE;
+
+    private static final int HISTOGRAM_LOWEST_BOUND_BITS = 10;
+
+    /**
+     * Handler for calls to {@link Agent#doWork()} which take longer than the stall threshold.
+     */
+    @FunctionalInterface
+    public interface StallHandler
+    {
+        /**
+         * Called by the thread checking for stalls via {@link #checkStall(long)}, while the agent is still in the
+         * call to {@link Agent#doWork()} which stalled.
+         *
+         * @param stallTimeNs time for which the call has been in progress in nanoseconds.
+         */
+        void onStall(long stallTimeNs);
+    }
+
+    private final NanoClock clock;
+    private final long stallThresholdNs;
+    private final StallHandler stallHandler;
+    private final AtomicCounter cycleCountCounter;
+    private final AtomicCounter totalCycleTimeCounter;
+    private final AtomicCounter maxCycleTimeCounter;
+    private final AtomicCounter workTimeCounter;
+    private final AtomicCounter stallCountCounter;
+    private final AtomicCounter workStartTimeCounter;
+    private final AtomicCounter[] histogramCounters;
+    private long cycleStartNs;
+    private boolean isCycleStarted;
+    private long stalledWorkStartNs = NULL_WORK_START_TIME;
+
+    /**
+     * Construct a tracker which allocates its counters, with {@link #DEFAULT_HISTOGRAM_BUCKET_COUNT} buckets in the
+     * work time histogram, from a {@link CountersManager}. The counters are labelled with the name of the agent and
+     * freed on {@link #close()}.
+     *
+     * @param clock            to time the cycles.
+     * @param countersManager  from which the counters are allocated.
+     * @param name             of the agent to include in the counter labels.
+     * @param stallThresholdNs time in nanoseconds above which a cycle is considered to have stalled.
+     * @param stallHandler     to be called when a call to {@link Agent#doWork()} stalls. This may be null.
+     */
+    public DutyCycleTracker(
+        final NanoClock clock,
+        final CountersManager countersManager,
+        final String name,
+        final long stallThresholdNs,
+        final StallHandler stallHandler)
+    {
+        this(
+            clock,
+            stallThresholdNs,
+            stallHandler,
+            countersManager.newCounter("duty cycle count: " + name),
+            countersManager.newCounter("duty cycle total time ns: " + name),
+            countersManager.newCounter("duty cycle max time ns: " + name),
+            countersManager.newCounter("duty cycle work time ns: " + name),
+            countersManager.newCounter("duty cycle stall count: " + name),
+            countersManager.newCounter("duty cycle work start time ns: " + name),
+            newHistogramCounters(countersManager, name, DEFAULT_HISTOGRAM_BUCKET_COUNT));
+    }
+
+    /**
+     * Construct a tracker which publishes to the provided counters.
+     *
+     * @param clock                 to time the cycles.
+     * @param stallThresholdNs      time in nanoseconds above which a cycle is considered to have stalled.
+     * @param stallHandler          to be called when a call to {@link Agent#doWork()} stalls. This may be null.
+     * @param cycleCountCounter     incremented for each cycle.
+     * @param totalCycleTimeCounter incremented by the time taken by each cycle in nanoseconds.
+     * @param maxCycleTimeCounter   set to the maximum time taken by a cycle in nanoseconds.
+     * @param workTimeCounter       incremented by the time taken by each call to {@link Agent#doWork()} in
+     *                              nanoseconds.
+     * @param stallCountCounter     incremented for each cycle which stalls.
+     * @param workStartTimeCounter  set to the time at which each call to {@link Agent#doWork()} starts and to
+     *                              {@link #NULL_WORK_START_TIME} when it ends.
+     * @param histogramCounters     buckets, which double in width, of the time taken by {@link Agent#doWork()}.
+     * @throws IllegalArgumentException if the {@code stallThresholdNs} is not positive or there are no histogram
+     *                                  counters.
+     */
+    public DutyCycleTracker(
+        final NanoClock clock,
+        final long stallThresholdNs,
+        final StallHandler stallHandler,
+        final AtomicCounter cycleCountCounter,
+        final AtomicCounter totalCycleTimeCounter,
+        final AtomicCounter maxCycleTimeCounter,
+        final AtomicCounter workTimeCounter,
+        final AtomicCounter stallCountCounter,
+        final AtomicCounter workStartTimeCounter,
+        final AtomicCounter[] histogramCounters)
+    {
+        Objects.requireNonNull(clock, "clock");
+
+        if (stallThresholdNs <= 0)
+        {
+            throw new IllegalArgumentException(
+                "stallThresholdNs must be positive: stallThresholdNs=" + stallThresholdNs);
+        }
+
+        if (histogramCounters.length < 1)
+        {
+            throw new IllegalArgumentException("histogramCounters must not be empty");
+        }
+
+        this.clock = clock;
+        this.stallThresholdNs = stallThresholdNs;
+        this.stallHandler = stallHandler;
+        this.cycleCountCounter = cycleCountCounter;
+        this.totalCycleTimeCounter = totalCycleTimeCounter;
+        this.maxCycleTimeCounter = maxCycleTimeCounter;
+        this.workTimeCounter = workTimeCounter;
+        this.stallCountCounter = stallCountCounter;
+        this.workStartTimeCounter = workStartTimeCounter;
+        this.histogramCounters = histogramCounters.clone();
+
+        workStartTimeCounter.setRelease(NULL_WORK_START_TIME);
+    }
+
+    /**
+     * Allocate the counters for a work time histogram from a {@link CountersManager}, labelled with the bounds of
+     * their buckets.
+     *
+     * @param countersManager from which the counters are allocated.
+     * @param name            of the agent to include in the counter labels.
+     * @param bucketCount     number of buckets in the histogram.
+     * @return the counters for the histogram.
+     * @throws IllegalArgumentException if the {@code bucketCount} is not in the range 1 to 54.
+     */
+    public static AtomicCounter[] newHistogramCounters(
+        final CountersManager countersManager, final String name, final int bucketCount)
+    {
+        if (bucketCount < 1 || bucketCount > 64 - HISTOGRAM_LOWEST_BOUND_BITS)
+        {
+            throw new IllegalArgumentException("bucketCount must be in the range 1..54: bucketCount=" + bucketCount);
+        }
+
+        final AtomicCounter[] counters = new AtomicCounter[bucketCount];
+        for (int i = 0; i < bucketCount - 1; i++)
+        {
+            counters[i] = countersManager.newCounter(
+                "duty cycle work time < " + (HISTOGRAM_LOWEST_BOUND_NS << i) + " ns: " + name);
+        }
+
+        counters[bucketCount - 1] = countersManager.newCounter(
+            "duty cycle work time >= " + (HISTOGRAM_LOWEST_BOUND_NS << (bucketCount - 2)) + " ns: " + name);
+
+        return counters;
+    }
+
+    /**
+     * Reset tracking so the first cycle is measured from the next call to {@link #onWorkStart()}. Called when the
+     * agent is started.
+     */
+    public void reset()
+    {
+        isCycleStarted = false;
+    }
+
+    /**
+     * Record the start of a call to {@link Agent#doWork()}, which ends the previous cycle.
+     */
+    public void onWorkStart()
+    {
+        final long nowNs = clock.nanoTime();
+
+        if (isCycleStarted)
+        {
+            final long cycleTimeNs = nowNs - cycleStartNs;
+            cycleCountCounter.incrementRelease();
+            totalCycleTimeCounter.getAndAddRelease(cycleTimeNs);
+            maxCycleTimeCounter.proposeMaxRelease(cycleTimeNs);
+
+            if (cycleTimeNs > stallThresholdNs)
+            {
+                stallCountCounter.incrementRelease();
+            }
+        }
+
+        cycleStartNs = nowNs;
+        isCycleStarted = true;
+        workStartTimeCounter.setRelease(nowNs);
+    }
+
+    /**
+     * Record the end of a call to {@link Agent#doWork()}, including when it throws.
+     */
+    public void onWorkEnd()
+    {
+        final long workTimeNs = clock.nanoTime() - cycleStartNs;
+        workStartTimeCounter.setRelease(NULL_WORK_START_TIME);
+        workTimeCounter.getAndAddRelease(workTimeNs);
+        histogramCounters[histogramIndex(workTimeNs, histogramCounters.length)].incrementRelease();
+    }
+
+    /**
+     * Check if the agent has been in the current call to {@link Agent#doWork()} for longer than the stall threshold
+     * and if so call the {@link StallHandler}, once per call. This is intended to be called periodically by a single
+     * thread other than the agent thread, with a clock comparable to the one used by the agent.
+     *
+     * @param nowNs current time in nanoseconds.
+     * @return true if a stall was detected by this check.
+     */
+    public boolean checkStall(final long nowNs)
+    {
+        final long workStartNs = workStartTimeCounter.getAcquire();
+        if (NULL_WORK_START_TIME == workStartNs ||
+            stalledWorkStartNs == workStartNs ||
+            nowNs - workStartNs <= stallThresholdNs)
+        {
+            return false;
+        }
+
+        stalledWorkStartNs = workStartNs;
+        if (null != stallHandler)
+        {
+            stallHandler.onStall(nowNs - workStartNs);
+        }
+
+        return true;
+    }
+
+    /**
+     * Time in nanoseconds above which a cycle is considered to have stalled.
+     *
+     * @return time in nanoseconds above which a cycle is considered to have stalled.
+     */
+    public long stallThresholdNs()
+    {
+        return stallThresholdNs;
+    }
+
+    /**
+     * Counter of the number of cycles completed.
+     *
+     * @return counter of the number of cycles completed.
+     */
+    public AtomicCounter cycleCountCounter()
+    {
+        return cycleCountCounter;
+    }
+
+    /**
+     * Counter of the sum of the time taken by the cycles in nanoseconds.
+     *
+     * @return counter of the sum of the time taken by the cycles in nanoseconds.
+     */
+    public AtomicCounter totalCycleTimeCounter()
+    {
+        return totalCycleTimeCounter;
+    }
+
+    /**
+     * Counter of the maximum time taken by a cycle in nanoseconds.
+     *
+     * @return counter of the maximum time taken by a cycle in nanoseconds.
+     */
+    public AtomicCounter maxCycleTimeCounter()
+    {
+        return maxCycleTimeCounter;
+    }
+
+    /**
+     * Counter of the sum of the time taken by {@link Agent#doWork()} in nanoseconds.
+     *
+     * @return counter of the sum of the time taken by {@link Agent#doWork()} in nanoseconds.
+     */
+    public AtomicCounter workTimeCounter()
+    {
+        return workTimeCounter;
+    }
+
+    /**
+     * Counter of the number of cycles which took longer than the stall threshold.
+     *
+     * @return counter of the number of cycles which took longer than the stall threshold.
+     */
+    public AtomicCounter stallCountCounter()
+    {
+        return stallCountCounter;
+    }
+
+    /**
+     * Counter of the time at which the call to {@link Agent#doWork()} in progress started, or
+     * {@link #NULL_WORK_START_TIME} when not in a call.
+     *
+     * @return counter of the time at which the call to {@link Agent#doWork()} in progress started.
+     */
+    public AtomicCounter workStartTimeCounter()
+    {
+        return workStartTimeCounter;
+    }
+
+    /**
+     * Number of buckets in the work time histogram.
+     *
+     * @return number of buckets in the work time histogram.
+     */
+    public int histogramBucketCount()
+    {
+        return histogramCounters.length;
+    }
+
+    /**
+     * Counter for a bucket of the work time histogram.
+     *
+     * @param bucketIndex of the bucket.
+     * @return counter for the bucket of the work time histogram.
+     */
+    public AtomicCounter histogramCounter(final int bucketIndex)
+    {
+        return histogramCounters[bucketIndex];
+    }
+
+    /**
+     * Close the counters.
+     */
+    public void close()
+    {
+        CloseHelper.closeAll(
+            cycleCountCounter,
+            totalCycleTimeCounter,
+            maxCycleTimeCounter,
+            workTimeCounter,
+            stallCountCounter,
+            workStartTimeCounter);
+        CloseHelper.closeAll(histogramCounters);
+    }
+
+    static int histogramIndex(final long durationNs, final int bucketCount)
+    {
+        final int index = (64 - Long.numberOfLeadingZeros(durationNs)) - HISTOGRAM_LOWEST_BOUND_BITS;
+
+        return Math.min(Math.max(index, 0), bucketCount - 1);
+    }
+}
@@ -19,6 +19,7 @@ import org.agrona.UnsafeApi;
 
 import java.util.Collection;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Many producer to many consumer concurrent queue that is array backed.
@@ -113,6 +114,26 @@ public class ManyToManyConcurrentArrayQueue<E> extends AbstractConcurrentArrayQu
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int fill(final Supplier<E> supplier, final int limit)
+    {
+        return offerBatch(supplier, null, 0, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int offerAll(final E[] elements, final int offset, final int length)
+    {
+        checkElements(elements, offset, length);
+
+        return offerBatch(null, elements, offset, length);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -143,7 +164,12 @@ public class ManyToManyConcurrentArrayQueue<E> extends AbstractConcurrentArrayQu
                 UnsafeApi.putReference(buffer, elementOffset, null);
                 UnsafeApi.putLongRelease(sequences, sequenceOffset, attemptedHead + mask);
 
-                return (E)e;
+                if (null != e)
+                {
+                    return (E)e;
+                }
+
+                continue;
             }
 
             Thread.onSpinWait();
@@ -180,7 +206,18 @@ public class ManyToManyConcurrentArrayQueue<E> extends AbstractConcurrentArrayQu
 
                 if (currentHead == head)
                 {
-                    return (E)e;
+                    if (null != e)
+                    {
+                        return (E)e;
+                    }
+
+                    // step over a slot left empty by a failed fill in the same way as poll
+                    if (UnsafeApi.compareAndSetLong(this, HEAD_OFFSET, currentHead, attemptedHead))
+                    {
+                        UnsafeApi.putLongRelease(sequences, sequenceOffset, attemptedHead + mask);
+                    }
+
+                    continue;
                 }
             }
 
@@ -242,4 +279,77 @@ public class ManyToManyConcurrentArrayQueue<E> extends AbstractConcurrentArrayQu
     {
         return SEQUENCES_ARRAY_BASE + ((sequence & mask) << 3);
     }
+
+    private int offerBatch(final Supplier<E> supplier, final E[] elements, final int offset, final int limit)
+    {
+        if (limit <= 0)
+        {
+            return 0;
+        }
+
+        final long mask = this.capacity - 1;
+        final long[] sequences = this.sequences;
+        final E[] buffer = this.buffer;
+
+        while (true)
+        {
+            final long currentTail = tail;
+            final long sequence = UnsafeApi.getLongVolatile(sequences, sequenceArrayOffset(currentTail, mask));
+
+            if (sequence < currentTail)
+            {
+                return 0;
+            }
+
+            if (sequence == currentTail)
+            {
+                int count = 1;
+                while (count < limit)
+                {
+                    final long nextSequence = currentTail + count;
+                    if (UnsafeApi.getLongVolatile(sequences, sequenceArrayOffset(nextSequence, mask)) != nextSequence)
+                    {
+                        break;
+                    }
+
+                    count++;
+                }
+
+                if (UnsafeApi.compareAndSetLong(this, TAIL_OFFSET, currentTail, currentTail + count))
+                {
+                    int i = 0;
+                    try
+                    {
+                        for (; i < count; i++)
+                        {
+                            final long sequenceNumber = currentTail + i;
+                            final E e = null == supplier ? elements[offset + i] : supplier.get();
+                            if (null == e)
+                            {
+                                throw new NullPointerException("supplier returned null: index=" + i);
+                            }
+
+                            UnsafeApi.putReference(buffer, sequenceToBufferOffset(sequenceNumber, mask), e);
+                            UnsafeApi.putLongRelease(
+                                sequences, sequenceArrayOffset(sequenceNumber, mask), sequenceNumber + 1L);
+                        }
+                    }
+                    finally
+                    {
+                        // publish any slots left empty by a failed supplier so consumers skip rather than block
+                        for (; i < count; i++)
+                        {
+                            final long sequenceNumber = currentTail + i;
+                            UnsafeApi.putLongRelease(
+                                sequences, sequenceArrayOffset(sequenceNumber, mask), sequenceNumber + 1L);
+                        }
+                    }
+
+                    return count;
+                }
+            }
+
+            Thread.onSpinWait();
+        }
+    }
 }
@@ -0,0 +1,455 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent;
+
+import org.agrona.UnsafeApi;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Pad out a cache line between the queue fields and the permits to prevent false sharing.
+ *
+ * @param <E> type of the elements stored in the {@link java.util.Queue}.
+ */
+@SuppressWarnings("unused")
+abstract class ManyToManyConcurrentFetchAndAddArrayQueuePadding4<E> extends AbstractConcurrentArrayQueue<E>
+{
+    byte p000, p001, p002, p003, p004, p005, p006, p007, p008, p009, p010, p011, p012, p013, p014, p015;
+    byte p016, p017, p018, p019, p020, p021, p022, p023, p024, p025, p026, p027, p028, p029, p030, p031;
+    byte p032, p033, p034, p035, p036, p037, p038, p039, p040, p041, p042, p043, p044, p045, p046, p047;
+    byte p048, p049, p050, p051, p052, p053, p054, p055, p056, p057, p058, p059, p060, p061, p062, p063;
+
+    ManyToManyConcurrentFetchAndAddArrayQueuePadding4(final int requestedCapacity)
+    {
+        super(requestedCapacity);
+    }
+}
+
+/**
+ * Values for the permits that are expected to be padded.
+ *
+ * @param <E> type of the elements stored in the {@link java.util.Queue}.
+ */
+abstract class ManyToManyConcurrentFetchAndAddArrayQueuePermits<E>
+    extends ManyToManyConcurrentFetchAndAddArrayQueuePadding4<E>
+{
+    /**
+     * Number of slots which producers can claim.
+     */
+    protected volatile long permits;
+    /**
+     * Number of tickets skipped by consumers which found no element.
+     */
+    protected volatile long skippedCount;
+
+    ManyToManyConcurrentFetchAndAddArrayQueuePermits(final int requestedCapacity)
+    {
+        super(requestedCapacity);
+    }
+}
+
+/**
+ * Pad out a cache line after the permits to prevent false sharing.
+ *
+ * @param <E> type of the elements stored in the {@link java.util.Queue}.
+ */
+@SuppressWarnings("unused")
+abstract class ManyToManyConcurrentFetchAndAddArrayQueuePadding5<E>
+    extends ManyToManyConcurrentFetchAndAddArrayQueuePermits<E>
+{
+    byte p064, p065, p066, p067, p068, p069, p070, p071, p072, p073, p074, p075, p076, p077, p078, p079;
+    byte p080, p081, p082, p083, p084, p085, p086, p087, p088, p089, p090, p091, p092, p093, p094, p095;
+    byte p096, p097, p098, p099, p100, p101, p102, p103, p104, p105, p106, p107, p108, p109, p110, p111;
+    byte p112, p113, p114, p115, p116, p117, p118, p119, p120, p121, p122, p123, p124, p125, p126, p127;
+
+    ManyToManyConcurrentFetchAndAddArrayQueuePadding5(final int requestedCapacity)
+    {
+        super(requestedCapacity);
+    }
+}
+
+/**
+ * Many producer to many consumer concurrent queue that is array backed and allocates slots to threads with a
+ * fetch-and-add on the tail and head, in the style of the LCRQ of Morrison and Afek, rather than the CAS retry loop of
+ * {@link ManyToManyConcurrentArrayQueue}, so contended threads each get a ticket without retrying.
+ * <p>
+ * A producer first takes a permit, from a count of the free slots, so a full queue is detected before a ticket is
+ * taken. Each slot has a sequence, as for {@link ManyToManyConcurrentArrayQueue}, which a producer with a ticket for the
+ * slot claims with a CAS that is only contended by a consumer, writes its element, and releases. A consumer only takes
+ * a ticket when the queue does not appear to be empty. If racing consumers overshoot the tail, a consumer whose
+ * producer has not yet taken the ticket skips it, so the producer will take another, and returns null.
+ * <p>
+ * A thread may wait for a producer or consumer which has already taken a ticket to complete, as tickets are claimed
+ * before slots, but never for an operation which has not yet started.
+ * <p>
+ * Batch operations take the permits for all elements at once, then a ticket per element so the elements of a producer
+ * are consumed in the order they were offered. Each element is taken from a supplier before its ticket so a supplier
+ * which fails leaves no empty slots and only returns the unused permits.
+ * <p>
+ * <b>Note:</b> Ordering is FIFO by ticket so elements offered by different producers at the same time may be consumed
+ * in a different order to that in which the offers started. As for {@link ManyToManyConcurrentArrayQueue} poll can
+ * return null while an offer is in progress.
+ *
+ * @param <E> type of the elements stored in the {@link java.util.Queue}.
+ */
+@SuppressWarnings("removal")
+public class ManyToManyConcurrentFetchAndAddArrayQueue<E> extends ManyToManyConcurrentFetchAndAddArrayQueuePadding5<E>
+{
+    private static final long PERMITS_OFFSET;
+    private static final long SKIPPED_COUNT_OFFSET;
+    private static final int SEQUENCES_ARRAY_BASE = UnsafeApi.arrayBaseOffset(long[].class);
+
+    static
+    {
+        try
+        {
+            PERMITS_OFFSET = UnsafeApi.objectFieldOffset(
+                ManyToManyConcurrentFetchAndAddArrayQueuePermits.class.getDeclaredField("permits"));
+            SKIPPED_COUNT_OFFSET = UnsafeApi.objectFieldOffset(
+                ManyToManyConcurrentFetchAndAddArrayQueuePermits.class.getDeclaredField("skippedCount"));
+        }
+        catch (final Exception ex)
+        {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    private final long[] sequences;
+
+    /**
+     * Create a new queue with a bounded capacity. The requested capacity will be rounded up to the next positive
+     * power-of-two in size.
+     *
+     * @param requestedCapacity of the queue which must be &gt;= 2.
+     * @throws IllegalArgumentException if the requestedCapacity &lt; 2.
+     */
+    public ManyToManyConcurrentFetchAndAddArrayQueue(final int requestedCapacity)
+    {
+        super(requestedCapacity);
+
+        if (requestedCapacity < 2)
+        {
+            throw new IllegalArgumentException(
+                "requestedCapacity must be >= 2: requestedCapacity=" + requestedCapacity);
+        }
+
+        final long[] sequences = new long[capacity];
+
+        for (int i = 0; i < capacity; i++)
+        {
+            sequences[i] = i;
+        }
+
+        this.sequences = sequences;
+        UnsafeApi.putLongVolatile(this, PERMITS_OFFSET, capacity);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean offer(final E e)
+    {
+        if (null == e)
+        {
+            throw new NullPointerException("element cannot be null");
+        }
+
+        if (0 == acquirePermits(1))
+        {
+            return false;
+        }
+
+        while (!publish(UnsafeApi.getAndAddLong(this, TAIL_OFFSET, 1), e))
+        {
+            Thread.onSpinWait();
+        }
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int fill(final Supplier<E> supplier, final int limit)
+    {
+        return offerBatch(supplier, null, 0, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int offerAll(final E[] elements, final int offset, final int length)
+    {
+        checkElements(elements, offset, length);
+
+        return offerBatch(null, elements, offset, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll()
+    {
+        if (head >= tail)
+        {
+            return null;
+        }
+
+        final long ticket = UnsafeApi.getAndAddLong(this, HEAD_OFFSET, 1);
+        final long sequenceOffset = sequenceArrayOffset(ticket, capacity - 1);
+        final long[] sequences = this.sequences;
+
+        while (true)
+        {
+            final long sequence = UnsafeApi.getLongVolatile(sequences, sequenceOffset);
+            if (sequence == ticket + 1)
+            {
+                final long elementOffset = sequenceToBufferOffset(ticket, capacity - 1);
+                final Object e = UnsafeApi.getReference(buffer, elementOffset);
+                UnsafeApi.putReference(buffer, elementOffset, null);
+                UnsafeApi.putLongRelease(sequences, sequenceOffset, ticket + capacity);
+                UnsafeApi.getAndAddLong(this, PERMITS_OFFSET, 1);
+
+                return (E)e;
+            }
+
+            if (sequence == ticket && tail <= ticket &&
+                UnsafeApi.compareAndSetLong(sequences, sequenceOffset, ticket, ticket + capacity))
+            {
+                UnsafeApi.getAndAddLong(this, SKIPPED_COUNT_OFFSET, 1);
+                return null;
+            }
+
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peek()
+    {
+        final long[] sequences = this.sequences;
+        final long mask = capacity - 1;
+
+        while (true)
+        {
+            final long currentHead = head;
+            final long sequence = UnsafeApi.getLongVolatile(sequences, sequenceArrayOffset(currentHead, mask));
+
+            if (sequence != currentHead + 1)
+            {
+                return null;
+            }
+
+            final Object e = UnsafeApi.getReference(buffer, sequenceToBufferOffset(currentHead, mask));
+            if (currentHead == head)
+            {
+                return (E)e;
+            }
+
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int drain(final Consumer<E> elementConsumer)
+    {
+        return drain(elementConsumer, size());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int drain(final Consumer<E> elementConsumer, final int limit)
+    {
+        int count = 0;
+
+        E e;
+        while (count < limit && null != (e = poll()))
+        {
+            elementConsumer.accept(e);
+            ++count;
+        }
+
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int drainTo(final Collection<? super E> target, final int limit)
+    {
+        int count = 0;
+
+        while (count < limit)
+        {
+            final E e = poll();
+            if (null == e)
+            {
+                break;
+            }
+
+            target.add(e);
+            ++count;
+        }
+
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long addedCount()
+    {
+        return tail - skippedCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long removedCount()
+    {
+        return head - skippedCount;
+    }
+
+    /**
+     * Number of tickets skipped by consumers which overshot the tail, each of which caused a producer to take another
+     * ticket.
+     *
+     * @return number of tickets skipped by consumers.
+     */
+    public long skippedCount()
+    {
+        return skippedCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size()
+    {
+        final long size = capacity - permits;
+        if (size < 0)
+        {
+            return 0;
+        }
+        else if (size > capacity)
+        {
+            return capacity;
+        }
+
+        return (int)size;
+    }
+
+    private int acquirePermits(final int limit)
+    {
+        if (limit <= 0 || permits <= 0)
+        {
+            return 0;
+        }
+
+        final long available = UnsafeApi.getAndAddLong(this, PERMITS_OFFSET, -limit);
+        final int acquired = (int)Math.max(0, Math.min(available, limit));
+        if (acquired < limit)
+        {
+            UnsafeApi.getAndAddLong(this, PERMITS_OFFSET, limit - acquired);
+        }
+
+        return acquired;
+    }
+
+    private boolean publish(final long ticket, final E e)
+    {
+        final long[] sequences = this.sequences;
+        final long sequenceOffset = sequenceArrayOffset(ticket, capacity - 1);
+
+        while (true)
+        {
+            final long sequence = UnsafeApi.getLongVolatile(sequences, sequenceOffset);
+            if (sequence == ticket)
+            {
+                if (UnsafeApi.compareAndSetLong(sequences, sequenceOffset, ticket, ~ticket))
+                {
+                    UnsafeApi.putReference(buffer, sequenceToBufferOffset(ticket, capacity - 1), e);
+                    UnsafeApi.putLongRelease(sequences, sequenceOffset, ticket + 1);
+                    return true;
+                }
+            }
+            else if (sequence > ticket)
+            {
+                return false;
+            }
+
+            Thread.onSpinWait();
+        }
+    }
+
+    private int offerBatch(final Supplier<E> supplier, final E[] elements, final int offset, final int limit)
+    {
+        final int count = acquirePermits(limit);
+
+        int i = 0;
+        try
+        {
+            for (; i < count; i++)
+            {
+                // take the element before a ticket so a failed supplier only needs to return its permits
+                final E e = null == supplier ? elements[offset + i] : supplier.get();
+                if (null == e)
+                {
+                    throw new NullPointerException("supplier returned null: index=" + i);
+                }
+
+                while (!publish(UnsafeApi.getAndAddLong(this, TAIL_OFFSET, 1), e))
+                {
+                    Thread.onSpinWait();
+                }
+            }
+        }
+        finally
+        {
+            if (i < count)
+            {
+                UnsafeApi.getAndAddLong(this, PERMITS_OFFSET, count - i);
+            }
+        }
+
+        return count;
+    }
+
+    private static long sequenceArrayOffset(final long sequence, final long mask)
+    {
+        return SEQUENCES_ARRAY_BASE + ((sequence & mask) << 3);
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent;
+
+import org.agrona.UnsafeApi;
+import org.agrona.generation.DoNotSub;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Many producer to many consumer concurrent queue of primitive int values that is array backed. The algorithm is the
+ * same as for {@link ManyToManyConcurrentArrayQueue} with a sequence per slot so the {@link #nullValue()} is only
+ * returned to mark an empty queue.
+ */
+@SuppressWarnings("removal")
+public class ManyToManyConcurrentIntArrayQueue extends AbstractConcurrentIntArrayQueue
+{
+    @DoNotSub private static final int SEQUENCES_ARRAY_BASE = UnsafeApi.arrayBaseOffset(long[].class);
+
+    private final long[] sequences;
+
+    /**
+     * Constructs a queue with the requested capacity.
+     *
+     * @param requestedCapacity of the queue which must be &gt;= 2 and will be rounded up to the next power of two.
+     * @param nullValue         which is returned when the queue is empty and cannot be offered.
+     * @throws IllegalArgumentException if the requestedCapacity &lt; 2.
+     */
+    public ManyToManyConcurrentIntArrayQueue(
+        @DoNotSub final int requestedCapacity,
+        final int nullValue)
+    {
+        super(requestedCapacity, nullValue);
+
+        if (requestedCapacity < 2)
+        {
+            throw new IllegalArgumentException(
+                "requestedCapacity must be >= 2: requestedCapacity=" + requestedCapacity);
+        }
+
+        final long[] sequences = new long[capacity];
+
+        for (@DoNotSub int i = 0; i < capacity; i++)
+        {
+            sequences[i] = i;
+        }
+
+        UnsafeApi.putLongVolatile(sequences, sequenceArrayOffset(0, sequences.length - 1), 0);
+        this.sequences = sequences;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean offer(final int value)
+    {
+        checkValue(value);
+
+        final long mask = this.capacity - 1;
+        final long[] sequences = this.sequences;
+        final int[] buffer = this.buffer;
+
+        while (true)
+        {
+            final long currentTail = tail;
+            final long sequenceOffset = sequenceArrayOffset(currentTail, mask);
+            final long sequence = UnsafeApi.getLongVolatile(sequences, sequenceOffset);
+
+            if (sequence < currentTail)
+            {
+                return false;
+            }
+
+            if (UnsafeApi.compareAndSetLong(this, TAIL_OFFSET, currentTail, currentTail + 1L))
+            {
+                UnsafeApi.putInt(buffer, sequenceToBufferOffset(currentTail, mask), value);
+                UnsafeApi.putLongRelease(sequences, sequenceOffset, currentTail + 1L);
+
+                return true;
+            }
+
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int poll()
+    {
+        final long[] sequences = this.sequences;
+        final int[] buffer = this.buffer;
+        final long mask = this.capacity - 1;
+
+        while (true)
+        {
+            final long currentHead = head;
+            final long sequenceOffset = sequenceArrayOffset(currentHead, mask);
+            final long sequence = UnsafeApi.getLongVolatile(sequences, sequenceOffset);
+            final long attemptedHead = currentHead + 1L;
+
+            if (sequence < attemptedHead)
+            {
+                return nullValue;
+            }
+
+            if (UnsafeApi.compareAndSetLong(this, HEAD_OFFSET, currentHead, attemptedHead))
+            {
+                final int value = UnsafeApi.getInt(buffer, sequenceToBufferOffset(currentHead, mask));
+                UnsafeApi.putLongRelease(sequences, sequenceOffset, attemptedHead + mask);
+
+                return value;
+            }
+
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int peek()
+    {
+        final long[] sequences = this.sequences;
+        final int[] buffer = this.buffer;
+        final long mask = this.capacity - 1;
+
+        while (true)
+        {
+            final long currentHead = head;
+            final long sequenceOffset = sequenceArrayOffset(currentHead, mask);
+            final long sequence = UnsafeApi.getLongVolatile(sequences, sequenceOffset);
+            final long attemptedHead = currentHead + 1L;
+
+            if (sequence < attemptedHead)
+            {
+                return nullValue;
+            }
+
+            if (sequence == attemptedHead)
+            {
+                final int value = UnsafeApi.getInt(buffer, sequenceToBufferOffset(currentHead, mask));
+
+                if (currentHead == head)
+                {
+                    return value;
+                }
+            }
+
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @DoNotSub public int drain(
+        final IntConsumer elementConsumer,
+        @DoNotSub final int limit)
+    {
+        final int nullValue = this.nullValue;
+        @DoNotSub int count = 0;
+
+        int value;
+        while (count < limit && nullValue != (value = poll()))
+        {
+            elementConsumer.accept(value);
+            ++count;
+        }
+
+        return count;
+    }
+
+    private static long sequenceArrayOffset(final long sequence, final long mask)
+    {
+        return SEQUENCES_ARRAY_BASE + ((sequence & mask) << 3);
+    }
+}
@@ -19,6 +19,7 @@ import org.agrona.UnsafeApi;
 
 import java.util.Collection;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Many producer to one consumer concurrent queue that is array backed. The algorithm is a variation of Fast Flow
@@ -33,12 +34,17 @@ import java.util.function.Consumer;
  * avoid this a more relaxed approach is taken in that an in-progress offer is not waited on to complete.
  * <p>
  * If you wish to check for empty then call {@link #isEmpty()} rather than {@link #size()} checking for zero.
+ * <p>
+ * Should the supplier to {@link #fill(Supplier, int)} fail after slots have been claimed then the slots it did not
+ * fill are marked to be skipped by the consumer, and are counted by {@link #size()} until then.
  *
  * @param <E> type of the elements stored in the {@link java.util.Queue}.
  */
 @SuppressWarnings("removal")
 public class ManyToOneConcurrentArrayQueue<E> extends AbstractConcurrentArrayQueue<E>
 {
+    private static final Object SKIP = new Object();
+
     /**
      * Constructs a queue with the requested capacity.
      *
@@ -86,6 +92,26 @@ public class ManyToOneConcurrentArrayQueue<E> extends AbstractConcurrentArrayQue
         return true;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int fill(final Supplier<E> supplier, final int limit)
+    {
+        return offerBatch(supplier, null, 0, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int offerAll(final E[] elements, final int offset, final int length)
+    {
+        checkElements(elements, offset, length);
+
+        return offerBatch(null, elements, offset, length);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -93,18 +119,52 @@ public class ManyToOneConcurrentArrayQueue<E> extends AbstractConcurrentArrayQue
     @SuppressWarnings("unchecked")
     public E poll()
     {
-        final long currentHead = head;
-        final long elementOffset = sequenceToBufferOffset(currentHead, capacity - 1);
         final Object[] buffer = this.buffer;
-        final Object e = UnsafeApi.getReferenceVolatile(buffer, elementOffset);
+        final long mask = capacity - 1;
+        long currentHead = head;
 
-        if (null != e)
+        while (true)
         {
+            final long elementOffset = sequenceToBufferOffset(currentHead, mask);
+            final Object e = UnsafeApi.getReferenceVolatile(buffer, elementOffset);
+            if (null == e)
+            {
+                return null;
+            }
+
             UnsafeApi.putReference(buffer, elementOffset, null);
-            UnsafeApi.putLongRelease(this, HEAD_OFFSET, currentHead + 1);
+            UnsafeApi.putLongRelease(this, HEAD_OFFSET, ++currentHead);
+
+            if (SKIP != e)
+            {
+                return (E)e;
+            }
         }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peek()
+    {
+        final Object[] buffer = this.buffer;
+        final long mask = capacity - 1;
+        long currentHead = head;
+
+        while (true)
+        {
+            final long elementOffset = sequenceToBufferOffset(currentHead, mask);
+            final Object e = UnsafeApi.getReferenceVolatile(buffer, elementOffset);
+            if (SKIP != e)
+            {
+                return (E)e;
+            }
 
-        return (E)e;
+            UnsafeApi.putReference(buffer, elementOffset, null);
+            UnsafeApi.putLongRelease(this, HEAD_OFFSET, ++currentHead);
+        }
     }
 
     /**
@@ -125,11 +185,10 @@ public class ManyToOneConcurrentArrayQueue<E> extends AbstractConcurrentArrayQue
     {
         final Object[] buffer = this.buffer;
         final long mask = this.capacity - 1;
-        final long currentHead = head;
-        long nextSequence = currentHead;
-        final long limitSequence = nextSequence + limit;
+        long nextSequence = head;
+        int count = 0;
 
-        while (nextSequence < limitSequence)
+        while (count < limit)
         {
             final long elementOffset = sequenceToBufferOffset(nextSequence, mask);
             final Object item = UnsafeApi.getReferenceVolatile(buffer, elementOffset);
@@ -142,10 +201,15 @@ public class ManyToOneConcurrentArrayQueue<E> extends AbstractConcurrentArrayQue
             UnsafeApi.putReferenceRelease(buffer, elementOffset, null);
             nextSequence++;
             UnsafeApi.putLongRelease(this, HEAD_OFFSET, nextSequence);
-            elementConsumer.accept((E)item);
+
+            if (SKIP != item)
+            {
+                count++;
+                elementConsumer.accept((E)item);
+            }
         }
 
-        return (int)(nextSequence - currentHead);
+        return count;
     }
 
     /**
@@ -172,8 +236,72 @@ public class ManyToOneConcurrentArrayQueue<E> extends AbstractConcurrentArrayQue
             UnsafeApi.putReferenceRelease(buffer, elementOffset, null);
             nextSequence++;
             UnsafeApi.putLongRelease(this, HEAD_OFFSET, nextSequence);
-            count++;
-            target.add((E)e);
+
+            if (SKIP != e)
+            {
+                count++;
+                target.add((E)e);
+            }
+        }
+
+        return count;
+    }
+
+    private int offerBatch(final Supplier<E> supplier, final E[] elements, final int offset, final int limit)
+    {
+        if (limit <= 0)
+        {
+            return 0;
+        }
+
+        final int capacity = this.capacity;
+        long currentHead = sharedHeadCache;
+        long currentTail;
+        int count;
+        do
+        {
+            currentTail = tail;
+            long available = currentHead + capacity - currentTail;
+            if (available < limit)
+            {
+                currentHead = head;
+                available = currentHead + capacity - currentTail;
+                if (available <= 0)
+                {
+                    return 0;
+                }
+
+                UnsafeApi.putLongRelease(this, SHARED_HEAD_CACHE_OFFSET, currentHead);
+            }
+
+            count = (int)Math.min(available, limit);
+        }
+        while (!UnsafeApi.compareAndSetLong(this, TAIL_OFFSET, currentTail, currentTail + count));
+
+        final E[] buffer = this.buffer;
+        final long mask = capacity - 1;
+
+        int i = 0;
+        try
+        {
+            for (; i < count; i++)
+            {
+                final E e = null == supplier ? elements[offset + i] : supplier.get();
+                if (null == e)
+                {
+                    throw new NullPointerException("supplier returned null: index=" + i);
+                }
+
+                UnsafeApi.putReferenceRelease(buffer, sequenceToBufferOffset(currentTail + i, mask), e);
+            }
+        }
+        finally
+        {
+            // mark the slots left empty by a failed supplier so the consumer steps over rather than waits on them
+            for (; i < count; i++)
+            {
+                UnsafeApi.putReferenceRelease(buffer, sequenceToBufferOffset(currentTail + i, mask), SKIP);
+            }
         }
 
         return count;
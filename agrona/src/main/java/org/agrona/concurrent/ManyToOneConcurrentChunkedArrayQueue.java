@@ -0,0 +1,794 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent;
+
+import org.agrona.BitUtil;
+import org.agrona.UnsafeApi;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.agrona.concurrent.AbstractConcurrentArrayQueue.checkElements;
+import static org.agrona.concurrent.AbstractConcurrentArrayQueue.sequenceToBufferOffset;
+
+/**
+ * Pad out a cache line to the left of the producer fields to prevent false sharing.
+ */
+@SuppressWarnings({ "deprecation", "removal" })
+abstract class ManyToOneConcurrentChunkedArrayQueuePadding1
+{
+    /**
+     * Offset of the {@code producerIndex} field.
+     */
+    protected static final long PRODUCER_INDEX_OFFSET;
+    /**
+     * Offset of the {@code head} field.
+     */
+    protected static final long HEAD_OFFSET;
+
+    static final class Chunk
+    {
+        final Object[] elements;
+        volatile Chunk next;
+
+        Chunk(final int chunkSize)
+        {
+            elements = new Object[chunkSize];
+        }
+    }
+
+    static
+    {
+        try
+        {
+            PRODUCER_INDEX_OFFSET = UnsafeApi.objectFieldOffset(
+                ManyToOneConcurrentChunkedArrayQueueProducer.class.getDeclaredField("producerIndex"));
+            HEAD_OFFSET = UnsafeApi.objectFieldOffset(
+                ManyToOneConcurrentChunkedArrayQueueConsumer.class.getDeclaredField("head"));
+        }
+        catch (final Exception ex)
+        {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    byte p000, p001, p002, p003, p004, p005, p006, p007, p008, p009, p010, p011, p012, p013, p014, p015;
+    byte p016, p017, p018, p019, p020, p021, p022, p023, p024, p025, p026, p027, p028, p029, p030, p031;
+    byte p032, p033, p034, p035, p036, p037, p038, p039, p040, p041, p042, p043, p044, p045, p046, p047;
+    byte p048, p049, p050, p051, p052, p053, p054, p055, p056, p057, p058, p059, p060, p061, p062, p063;
+}
+
+/**
+ * Values for the producers that are expected to be padded.
+ */
+abstract class ManyToOneConcurrentChunkedArrayQueueProducer extends ManyToOneConcurrentChunkedArrayQueuePadding1
+{
+    /**
+     * Twice the sequence of the next element to be offered, odd while a producer is linking a new chunk.
+     */
+    protected volatile long producerIndex;
+    /**
+     * Sequence at which the chunk being filled by producers ends.
+     */
+    protected long producerLimit;
+    /**
+     * Chunk being filled by producers.
+     */
+    protected Chunk producerChunk;
+}
+
+/**
+ * Pad out a cache line between the producer and consumer fields to prevent false sharing.
+ */
+@SuppressWarnings("unused")
+abstract class ManyToOneConcurrentChunkedArrayQueuePadding2 extends ManyToOneConcurrentChunkedArrayQueueProducer
+{
+    byte p064, p065, p066, p067, p068, p069, p070, p071, p072, p073, p074, p075, p076, p077, p078, p079;
+    byte p080, p081, p082, p083, p084, p085, p086, p087, p088, p089, p090, p091, p092, p093, p094, p095;
+    byte p096, p097, p098, p099, p100, p101, p102, p103, p104, p105, p106, p107, p108, p109, p110, p111;
+    byte p112, p113, p114, p115, p116, p117, p118, p119, p120, p121, p122, p123, p124, p125, p126, p127;
+}
+
+/**
+ * Values for the consumer that are expected to be padded.
+ */
+abstract class ManyToOneConcurrentChunkedArrayQueueConsumer extends ManyToOneConcurrentChunkedArrayQueuePadding2
+{
+    /**
+     * Sequence of the next element to be consumed.
+     */
+    protected volatile long head;
+    /**
+     * Sequence at which the chunk being consumed ends.
+     */
+    protected long consumerLimit;
+    /**
+     * Chunk being consumed.
+     */
+    protected Chunk consumerChunk;
+}
+
+/**
+ * Unbounded concurrent {@link java.util.Queue} that can be used from many producers and a single consumer which
+ * stores elements in a linked list of fixed size array chunks.
+ * <p>
+ * Unlike {@link ManyToOneConcurrentLinkedQueue}, which allocates a node per offer, a chunk is only needed every
+ * {@code chunkSize} offers. Chunks are returned to a bounded pool once drained by the consumer and taken from the
+ * pool by the producer which links the next chunk so a queue with a stable backlog does not allocate. An offer
+ * never fails.
+ * <p>
+ * Producers claim a sequence by a CAS on the producer index which is doubled so it can be made odd by the single
+ * producer linking the next chunk when the current one is full. Other producers wait while the index is odd which
+ * also means a producer can never write into a chunk after it has been recycled.
+ * <p>
+ * <b>Note:</b> As for {@link ManyToOneConcurrentLinkedQueue}, poll and peek can return null while an offer is in
+ * progress even though size is greater than zero. Use {@link #isEmpty()} to check for empty.
+ *
+ * @param <E> element type in the queue.
+ */
+@SuppressWarnings("removal")
+public class ManyToOneConcurrentChunkedArrayQueue<E>
+    extends ManyToOneConcurrentChunkedArrayQueueConsumer
+    implements QueuedPipe<E>
+{
+    /**
+     * Default maximum number of drained chunks to keep for reuse.
+     */
+    public static final int DEFAULT_MAX_POOLED_CHUNKS = 4;
+
+    private static final Object SKIP = new Object();
+
+    byte p128, p129, p130, p131, p132, p133, p134, p135, p136, p137, p138, p139, p140, p142, p143, p144;
+    byte p145, p146, p147, p148, p149, p150, p151, p152, p153, p154, p155, p156, p157, p158, p159, p160;
+    byte p161, p162, p163, p164, p165, p166, p167, p168, p169, p170, p171, p172, p173, p174, p175, p176;
+    byte p177, p178, p179, p180, p181, p182, p183, p184, p185, p186, p187, p189, p190, p191, p192, p193;
+
+    private final int chunkSize;
+    private final OneToOneConcurrentArrayQueue<Chunk> chunkPool;
+
+    /**
+     * Constructs an empty queue which keeps up to {@link #DEFAULT_MAX_POOLED_CHUNKS} drained chunks for reuse.
+     *
+     * @param requestedChunkSize number of elements in a chunk which will be rounded up to the next power of two.
+     */
+    public ManyToOneConcurrentChunkedArrayQueue(final int requestedChunkSize)
+    {
+        this(requestedChunkSize, DEFAULT_MAX_POOLED_CHUNKS);
+    }
+
+    /**
+     * Constructs an empty queue.
+     *
+     * @param requestedChunkSize number of elements in a chunk which will be rounded up to the next power of two.
+     * @param maxPooledChunks    maximum number of drained chunks to keep for reuse which will be rounded up to the
+     *                           next power of two, or 0 to not reuse chunks.
+     * @throws IllegalArgumentException if requestedChunkSize &lt; 2 or maxPooledChunks is negative.
+     */
+    @SuppressWarnings("this-escape")
+    public ManyToOneConcurrentChunkedArrayQueue(final int requestedChunkSize, final int maxPooledChunks)
+    {
+        if (requestedChunkSize < 2)
+        {
+            throw new IllegalArgumentException(
+                "requestedChunkSize must be >= 2: requestedChunkSize=" + requestedChunkSize);
+        }
+
+        if (maxPooledChunks < 0)
+        {
+            throw new IllegalArgumentException("maxPooledChunks must not be negative: maxPooledChunks=" +
+                maxPooledChunks);
+        }
+
+        chunkSize = BitUtil.findNextPositivePowerOfTwo(requestedChunkSize);
+        chunkPool = 0 == maxPooledChunks ? null : new OneToOneConcurrentArrayQueue<>(maxPooledChunks);
+
+        final Chunk chunk = new Chunk(chunkSize);
+        producerChunk = chunk;
+        producerLimit = chunkSize;
+        consumerChunk = chunk;
+        consumerLimit = chunkSize;
+        UnsafeApi.putLongVolatile(this, PRODUCER_INDEX_OFFSET, 0);
+    }
+
+    /**
+     * Number of elements in a chunk.
+     *
+     * @return number of elements in a chunk.
+     */
+    public int chunkSize()
+    {
+        return chunkSize;
+    }
+
+    /**
+     * Number of drained chunks currently held for reuse.
+     *
+     * @return number of drained chunks currently held for reuse.
+     */
+    public int pooledChunkCount()
+    {
+        return null == chunkPool ? 0 : chunkPool.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean add(final E e)
+    {
+        return offer(e);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean offer(final E e)
+    {
+        if (null == e)
+        {
+            throw new NullPointerException("element cannot be null");
+        }
+
+        while (true)
+        {
+            final long index = producerIndex;
+            if (1 == (index & 1))
+            {
+                Thread.onSpinWait();
+                continue;
+            }
+
+            final Chunk chunk = producerChunk;
+            final long limit = producerLimit;
+            final long sequence = index >> 1;
+
+            if (sequence < limit)
+            {
+                if (UnsafeApi.compareAndSetLong(this, PRODUCER_INDEX_OFFSET, index, index + 2))
+                {
+                    UnsafeApi.putReferenceRelease(
+                        chunk.elements, sequenceToBufferOffset(sequence, chunkSize - 1), e);
+                    return true;
+                }
+            }
+            else if (UnsafeApi.compareAndSetLong(this, PRODUCER_INDEX_OFFSET, index, index + 1))
+            {
+                final Chunk nextChunk = nextChunk();
+                UnsafeApi.putReference(nextChunk.elements, sequenceToBufferOffset(sequence, chunkSize - 1), e);
+                producerChunk = nextChunk;
+                producerLimit = limit + chunkSize;
+                chunk.next = nextChunk;
+                UnsafeApi.putLongRelease(this, PRODUCER_INDEX_OFFSET, index + 2);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Fill the queue with elements from a {@link Supplier} up to a limit. As the queue is unbounded all the elements
+     * are added with one claim of the producer index per chunk.
+     * <p>
+     * The supplier is called once for each element. The first element of a new chunk is taken before the chunk is
+     * linked, and other elements after their slots are claimed, so should the supplier throw or return null the
+     * claimed slots it did not fill are marked to be skipped by the consumer. They are counted by {@link #size()}
+     * until then.
+     *
+     * @param supplier of the elements to be added which must not return null.
+     * @param limit    number of elements to be added.
+     * @return the number of elements added which is the limit.
+     * @throws NullPointerException if the supplier returns null.
+     */
+    @Override
+    public int fill(final Supplier<E> supplier, final int limit)
+    {
+        return offerBatch(supplier, null, 0, limit);
+    }
+
+    /**
+     * Add elements from a range of an array in order. As the queue is unbounded all the elements are added with one
+     * claim of the producer index per chunk.
+     *
+     * @param elements to be added.
+     * @param offset   in the array of the first element to be added.
+     * @param length   of the range of elements to be added.
+     * @return the number of elements added which is the length.
+     * @throws IndexOutOfBoundsException if the range is outside the array.
+     * @throws NullPointerException      if an element in the range is null.
+     */
+    @Override
+    public int offerAll(final E[] elements, final int offset, final int length)
+    {
+        checkElements(elements, offset, length);
+
+        return offerBatch(null, elements, offset, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E remove()
+    {
+        final E e = poll();
+        if (null == e)
+        {
+            throw new NoSuchElementException("Queue is empty");
+        }
+
+        return e;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll()
+    {
+        final long mask = chunkSize - 1;
+        long head = this.head;
+
+        while (true)
+        {
+            final Chunk chunk = consumerChunk(head);
+            if (null == chunk)
+            {
+                return null;
+            }
+
+            final long elementOffset = sequenceToBufferOffset(head, mask);
+            final Object e = UnsafeApi.getReferenceVolatile(chunk.elements, elementOffset);
+            if (null == e)
+            {
+                return null;
+            }
+
+            UnsafeApi.putReference(chunk.elements, elementOffset, null);
+            UnsafeApi.putLongRelease(this, HEAD_OFFSET, ++head);
+
+            if (SKIP != e)
+            {
+                return (E)e;
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E element()
+    {
+        final E e = peek();
+        if (null == e)
+        {
+            throw new NoSuchElementException("Queue is empty");
+        }
+
+        return e;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peek()
+    {
+        final long mask = chunkSize - 1;
+        long head = this.head;
+
+        while (true)
+        {
+            final Chunk chunk = consumerChunk(head);
+            if (null == chunk)
+            {
+                return null;
+            }
+
+            final long elementOffset = sequenceToBufferOffset(head, mask);
+            final Object e = UnsafeApi.getReferenceVolatile(chunk.elements, elementOffset);
+            if (SKIP != e)
+            {
+                return (E)e;
+            }
+
+            UnsafeApi.putReference(chunk.elements, elementOffset, null);
+            UnsafeApi.putLongRelease(this, HEAD_OFFSET, ++head);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int drain(final Consumer<E> elementConsumer)
+    {
+        return drain(elementConsumer, Integer.MAX_VALUE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public int drain(final Consumer<E> elementConsumer, final int limit)
+    {
+        final long mask = chunkSize - 1;
+        long nextSequence = head;
+        int count = 0;
+
+        while (count < limit)
+        {
+            final Chunk chunk = consumerChunk(nextSequence);
+            if (null == chunk)
+            {
+                break;
+            }
+
+            final long elementOffset = sequenceToBufferOffset(nextSequence, mask);
+            final Object e = UnsafeApi.getReferenceVolatile(chunk.elements, elementOffset);
+            if (null == e)
+            {
+                break;
+            }
+
+            UnsafeApi.putReference(chunk.elements, elementOffset, null);
+            nextSequence++;
+            UnsafeApi.putLongRelease(this, HEAD_OFFSET, nextSequence);
+
+            if (SKIP != e)
+            {
+                count++;
+                elementConsumer.accept((E)e);
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int drainTo(final Collection<? super E> target, final int limit)
+    {
+        return drain(target::add, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long addedCount()
+    {
+        return producerIndex >> 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long removedCount()
+    {
+        return head;
+    }
+
+    /**
+     * The queue is unbounded so capacity is {@link Integer#MAX_VALUE}.
+     *
+     * @return {@link Integer#MAX_VALUE}.
+     */
+    @Override
+    public int capacity()
+    {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int remainingCapacity()
+    {
+        return capacity() - size();
+    }
+
+    /**
+     * Size can be considered an approximation on a moving queue.
+     * It is only really stable when the consumer is inactive.
+     * If you want to check for {@code queue.size() == 0} then {@link #isEmpty()} is a better alternative.
+     *
+     * @return an approximation for the size of the queue.
+     */
+    @Override
+    public int size()
+    {
+        long currentHeadBefore;
+        long currentTail;
+        long currentHeadAfter = head;
+
+        do
+        {
+            currentHeadBefore = currentHeadAfter;
+            currentTail = producerIndex >> 1;
+            currentHeadAfter = head;
+        }
+        while (currentHeadAfter != currentHeadBefore);
+
+        final long size = currentTail - currentHeadAfter;
+        if (size > Integer.MAX_VALUE)
+        {
+            return Integer.MAX_VALUE;
+        }
+
+        return (int)size;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty()
+    {
+        return (producerIndex >> 1) == head;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(final Object o)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<E> iterator()
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object[] toArray()
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T[] toArray(final T[] a)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean remove(final Object o)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsAll(final Collection<?> c)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addAll(final Collection<? extends E> c)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeAll(final Collection<?> c)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean retainAll(final Collection<?> c)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear()
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString()
+    {
+        return "ManyToOneConcurrentChunkedArrayQueue{" +
+            "chunkSize=" + chunkSize +
+            ", addedCount=" + addedCount() +
+            ", removedCount=" + removedCount() +
+            '}';
+    }
+
+    private int offerBatch(final Supplier<E> supplier, final E[] elements, final int offset, final int limit)
+    {
+        final long mask = chunkSize - 1;
+        E pending = null;
+        int count = 0;
+
+        while (count < limit)
+        {
+            final long index = producerIndex;
+            if (1 == (index & 1))
+            {
+                Thread.onSpinWait();
+                continue;
+            }
+
+            final Chunk chunk = producerChunk;
+            final long chunkLimit = producerLimit;
+            final long sequence = index >> 1;
+
+            if (sequence < chunkLimit)
+            {
+                final int claimed = (int)Math.min(chunkLimit - sequence, limit - count);
+                if (UnsafeApi.compareAndSetLong(this, PRODUCER_INDEX_OFFSET, index, index + (2L * claimed)))
+                {
+                    int i = 0;
+                    try
+                    {
+                        for (; i < claimed; i++)
+                        {
+                            final E e;
+                            if (null != pending)
+                            {
+                                e = pending;
+                                pending = null;
+                            }
+                            else
+                            {
+                                e = element(supplier, elements, offset + count + i);
+                            }
+
+                            UnsafeApi.putReferenceRelease(
+                                chunk.elements, sequenceToBufferOffset(sequence + i, mask), e);
+                        }
+                    }
+                    finally
+                    {
+                        // mark the slots left empty by a failed supplier so the consumer steps over rather than
+                        // waits on them
+                        for (; i < claimed; i++)
+                        {
+                            UnsafeApi.putReferenceRelease(
+                                chunk.elements, sequenceToBufferOffset(sequence + i, mask), SKIP);
+                        }
+                    }
+
+                    count += claimed;
+                }
+            }
+            else
+            {
+                // take the element before locking the producer index so nothing user supplied runs while it is held
+                if (null == pending)
+                {
+                    pending = element(supplier, elements, offset + count);
+                }
+
+                if (UnsafeApi.compareAndSetLong(this, PRODUCER_INDEX_OFFSET, index, index + 1))
+                {
+                    final Chunk nextChunk = nextChunk();
+                    UnsafeApi.putReference(nextChunk.elements, sequenceToBufferOffset(sequence, mask), pending);
+                    producerChunk = nextChunk;
+                    producerLimit = chunkLimit + chunkSize;
+                    chunk.next = nextChunk;
+                    UnsafeApi.putLongRelease(this, PRODUCER_INDEX_OFFSET, index + 2);
+                    pending = null;
+                    count++;
+                }
+            }
+        }
+
+        return count;
+    }
+
+    private E element(final Supplier<E> supplier, final E[] elements, final int index)
+    {
+        if (null == supplier)
+        {
+            return elements[index];
+        }
+
+        final E e = supplier.get();
+        if (null == e)
+        {
+            throw new NullPointerException("supplier returned null: index=" + index);
+        }
+
+        return e;
+    }
+
+    private Chunk consumerChunk(final long sequence)
+    {
+        Chunk chunk = consumerChunk;
+        if (sequence == consumerLimit)
+        {
+            final Chunk nextChunk = chunk.next;
+            if (null == nextChunk)
+            {
+                return null;
+            }
+
+            chunk.next = null;
+            if (null != chunkPool)
+            {
+                chunkPool.offer(chunk);
+            }
+
+            chunk = nextChunk;
+            consumerChunk = nextChunk;
+            consumerLimit = sequence + chunkSize;
+        }
+
+        return chunk;
+    }
+
+    private Chunk nextChunk()
+    {
+        if (null != chunkPool)
+        {
+            final Chunk chunk = chunkPool.poll();
+            if (null != chunk)
+            {
+                return chunk;
+            }
+        }
+
+        return new Chunk(chunkSize);
+    }
+}
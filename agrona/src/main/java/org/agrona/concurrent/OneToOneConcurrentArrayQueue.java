@@ -19,6 +19,7 @@ import org.agrona.UnsafeApi;
 
 import java.util.Collection;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * One producer to one consumer concurrent queue that is array backed. The algorithm is a variation of Fast Flow
@@ -74,6 +75,26 @@ public class OneToOneConcurrentArrayQueue<E> extends AbstractConcurrentArrayQueu
         return true;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int fill(final Supplier<E> supplier, final int limit)
+    {
+        return offerBatch(supplier, null, 0, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int offerAll(final E[] elements, final int offset, final int length)
+    {
+        checkElements(elements, offset, length);
+
+        return offerBatch(null, elements, offset, length);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -166,4 +187,51 @@ public class OneToOneConcurrentArrayQueue<E> extends AbstractConcurrentArrayQueu
 
         return count;
     }
+
+    private int offerBatch(final Supplier<E> supplier, final E[] elements, final int offset, final int limit)
+    {
+        if (limit <= 0)
+        {
+            return 0;
+        }
+
+        final int capacity = this.capacity;
+        final long currentTail = tail;
+        long available = headCache + capacity - currentTail;
+        if (available < limit)
+        {
+            final long currentHead = head;
+            headCache = currentHead;
+            available = currentHead + capacity - currentTail;
+            if (available <= 0)
+            {
+                return 0;
+            }
+        }
+
+        final int count = (int)Math.min(available, limit);
+        final E[] buffer = this.buffer;
+        final long mask = capacity - 1;
+
+        int i = 0;
+        try
+        {
+            for (; i < count; i++)
+            {
+                final E e = null == supplier ? elements[offset + i] : supplier.get();
+                if (null == e)
+                {
+                    throw new NullPointerException("supplier returned null: index=" + i);
+                }
+
+                UnsafeApi.putReferenceRelease(buffer, sequenceToBufferOffset(currentTail + i, mask), e);
+            }
+        }
+        finally
+        {
+            UnsafeApi.putLongRelease(this, TAIL_OFFSET, currentTail + i);
+        }
+
+        return count;
+    }
 }
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent;
+
+import org.agrona.UnsafeApi;
+import org.agrona.generation.DoNotSub;
+
+import java.util.function.IntConsumer;
+
+/**
+ * One producer to one consumer concurrent queue of primitive int values that is array backed. The algorithm is the
+ * same as for {@link OneToOneConcurrentArrayQueue} with the {@link #nullValue()} marking empty slots.
+ */
+@SuppressWarnings("removal")
+public class OneToOneConcurrentIntArrayQueue extends AbstractConcurrentIntArrayQueue
+{
+    /**
+     * Constructs a queue with the requested capacity.
+     *
+     * @param requestedCapacity of the queue which will be rounded up to the next power of two.
+     * @param nullValue         which marks an empty slot and cannot be offered.
+     */
+    public OneToOneConcurrentIntArrayQueue(
+        @DoNotSub final int requestedCapacity,
+        final int nullValue)
+    {
+        super(requestedCapacity, nullValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean offer(final int value)
+    {
+        checkValue(value);
+
+        @DoNotSub final int capacity = this.capacity;
+        final long currentTail = tail;
+        long currentHead = headCache;
+        long bufferLimit = currentHead + capacity;
+
+        if (currentTail >= bufferLimit)
+        {
+            currentHead = head;
+            bufferLimit = currentHead + capacity;
+            if (currentTail >= bufferLimit)
+            {
+                return false;
+            }
+
+            headCache = currentHead;
+        }
+
+        UnsafeApi.putIntRelease(buffer, sequenceToBufferOffset(currentTail, capacity - 1), value);
+        UnsafeApi.putLongRelease(this, TAIL_OFFSET, currentTail + 1);
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int poll()
+    {
+        final int[] buffer = this.buffer;
+        final long currentHead = head;
+        final long elementOffset = sequenceToBufferOffset(currentHead, capacity - 1);
+
+        final int value = UnsafeApi.getIntVolatile(buffer, elementOffset);
+        if (nullValue != value)
+        {
+            UnsafeApi.putIntRelease(buffer, elementOffset, nullValue);
+            UnsafeApi.putLongRelease(this, HEAD_OFFSET, currentHead + 1);
+        }
+
+        return value;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int peek()
+    {
+        return UnsafeApi.getIntVolatile(buffer, sequenceToBufferOffset(head, capacity - 1));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @DoNotSub public int drain(
+        final IntConsumer elementConsumer,
+        @DoNotSub final int limit)
+    {
+        final int[] buffer = this.buffer;
+        final int nullValue = this.nullValue;
+        final long mask = this.capacity - 1;
+        final long currentHead = head;
+        long nextSequence = currentHead;
+        final long limitSequence = nextSequence + limit;
+
+        while (nextSequence < limitSequence)
+        {
+            final long elementOffset = sequenceToBufferOffset(nextSequence, mask);
+            final int value = UnsafeApi.getIntVolatile(buffer, elementOffset);
+
+            if (nullValue == value)
+            {
+                break;
+            }
+
+            UnsafeApi.putIntRelease(buffer, elementOffset, nullValue);
+            nextSequence++;
+            UnsafeApi.putLongRelease(this, HEAD_OFFSET, nextSequence);
+            elementConsumer.accept(value);
+        }
+
+        return (int)(nextSequence - currentHead); // @DoNotSub
+    }
+}
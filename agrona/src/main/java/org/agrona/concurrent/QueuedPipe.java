@@ -16,6 +16,7 @@
 package org.agrona.concurrent;
 
 import java.util.Queue;
+import java.util.function.Supplier;
 
 /**
  * Composed interface for concurrent {@link Queue} and {@link Pipe}.
@@ -24,4 +25,60 @@ import java.util.Queue;
  */
 public interface QueuedPipe<E> extends Queue<E>, Pipe<E>
 {
+    /**
+     * Fill the container with elements from a {@link Supplier} up to the minimum of a limit and the remaining capacity
+     * at the time the operation starts.
+     * <p>
+     * The default implementation offers the elements one at a time and stops when an offer fails, in which case the
+     * last element taken from the supplier is not added. Implementations should override it to reserve space for the
+     * elements in one operation and publish them in order.
+     * <p>
+     * The supplier is called once for each element to be added. Should it throw or return null then the elements
+     * taken before are added and the exception is propagated, or a {@link NullPointerException} thrown for null,
+     * leaving the container usable. Implementations which reserve space before calling the supplier release it or
+     * mark it to be skipped by consumers.
+     *
+     * @param supplier of the elements to be added.
+     * @param limit    maximum number of elements to be added.
+     * @return the number of elements added.
+     * @throws NullPointerException if the supplier returns null.
+     */
+    default int fill(final Supplier<E> supplier, final int limit)
+    {
+        final int available = Math.min(limit, remainingCapacity());
+        int count = 0;
+
+        while (count < available && offer(supplier.get()))
+        {
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Add elements from a range of an array, in order, up to the remaining capacity at the time the operation starts.
+     * <p>
+     * The default implementation offers the elements one at a time and stops when an offer fails. Implementations
+     * should override it to reserve space for the elements in one operation and publish them in order.
+     *
+     * @param elements to be added.
+     * @param offset   in the array of the first element to be added.
+     * @param length   of the range of elements to be added.
+     * @return the number of elements added from the start of the range.
+     * @throws IndexOutOfBoundsException if the range is outside the array.
+     * @throws NullPointerException      if an element in the range is null.
+     */
+    default int offerAll(final E[] elements, final int offset, final int length)
+    {
+        AbstractConcurrentArrayQueue.checkElements(elements, offset, length);
+
+        int count = 0;
+        while (count < length && offer(elements[offset + count]))
+        {
+            count++;
+        }
+
+        return count;
+    }
 }
@@ -0,0 +1,505 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent;
+
+import org.agrona.BitUtil;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static org.agrona.concurrent.AbstractConcurrentArrayQueue.checkElements;
+
+/**
+ * Many producer to many consumer concurrent queue which is sharded over a number of
+ * {@link ManyToManyConcurrentArrayQueue}s to spread the contention on the head and tail counters as the number of
+ * threads grows.
+ * <p>
+ * A thread starts with the shard selected by its thread id, which is cheaper to get than a thread local or identity
+ * hash code, and only moves on to scan the other shards when its shard is full, for an offer, or empty, for a poll.
+ * Threads spread over shards so mostly do not contend with each other, at the cost of ordering: elements are FIFO
+ * within a shard but not across shards, so elements offered by the same thread are only consumed in order when the
+ * thread has not overflowed its shard. Use {@link ManyToManyConcurrentArrayQueue} when strict FIFO is required.
+ * <p>
+ * {@link #size()}, {@link #addedCount()} and {@link #removedCount()} are the sum over the shards so are an
+ * approximation when the queue is in use.
+ *
+ * @param <E> type of the elements stored in the {@link java.util.Queue}.
+ */
+public class ShardedManyToManyConcurrentArrayQueue<E> implements QueuedPipe<E>
+{
+    private final int shardMask;
+    private final ManyToManyConcurrentArrayQueue<E>[] shards;
+
+    /**
+     * Create a new queue with a number of shards of bounded capacity.
+     *
+     * @param requestedShardCount    number of shards which will be rounded up to the next power of two.
+     * @param requestedShardCapacity capacity of each shard which must be &gt;= 2 and will be rounded up to the next
+     *                               power of two.
+     * @throws IllegalArgumentException if the requestedShardCount &lt; 1 or requestedShardCapacity &lt; 2.
+     */
+    @SuppressWarnings("unchecked")
+    public ShardedManyToManyConcurrentArrayQueue(final int requestedShardCount, final int requestedShardCapacity)
+    {
+        if (requestedShardCount < 1)
+        {
+            throw new IllegalArgumentException(
+                "requestedShardCount must be >= 1: requestedShardCount=" + requestedShardCount);
+        }
+
+        final int shardCount = BitUtil.findNextPositivePowerOfTwo(requestedShardCount);
+        shardMask = shardCount - 1;
+        shards = (ManyToManyConcurrentArrayQueue<E>[])new ManyToManyConcurrentArrayQueue<?>[shardCount];
+
+        for (int i = 0; i < shardCount; i++)
+        {
+            shards[i] = new ManyToManyConcurrentArrayQueue<>(requestedShardCapacity);
+        }
+    }
+
+    /**
+     * Number of shards in the queue.
+     *
+     * @return number of shards in the queue.
+     */
+    public int shardCount()
+    {
+        return shards.length;
+    }
+
+    /**
+     * Get a shard of the queue.
+     *
+     * @param index of the shard.
+     * @return the shard at the index.
+     */
+    public ManyToManyConcurrentArrayQueue<E> shard(final int index)
+    {
+        return shards[index];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean add(final E e)
+    {
+        if (offer(e))
+        {
+            return true;
+        }
+
+        throw new IllegalStateException("Queue is full");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean offer(final E e)
+    {
+        final ManyToManyConcurrentArrayQueue<E>[] shards = this.shards;
+        final int mask = shardMask;
+        final int probe = probe();
+
+        for (int i = 0; i <= mask; i++)
+        {
+            if (shards[(probe + i) & mask].offer(e))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E poll()
+    {
+        final ManyToManyConcurrentArrayQueue<E>[] shards = this.shards;
+        final int mask = shardMask;
+        final int probe = probe();
+
+        for (int i = 0; i <= mask; i++)
+        {
+            final E e = shards[(probe + i) & mask].poll();
+            if (null != e)
+            {
+                return e;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E remove()
+    {
+        final E e = poll();
+        if (null == e)
+        {
+            throw new NoSuchElementException("Queue is empty");
+        }
+
+        return e;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E peek()
+    {
+        final ManyToManyConcurrentArrayQueue<E>[] shards = this.shards;
+        final int mask = shardMask;
+        final int probe = probe();
+
+        for (int i = 0; i <= mask; i++)
+        {
+            final E e = shards[(probe + i) & mask].peek();
+            if (null != e)
+            {
+                return e;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public E element()
+    {
+        final E e = peek();
+        if (null == e)
+        {
+            throw new NoSuchElementException("Queue is empty");
+        }
+
+        return e;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int fill(final Supplier<E> supplier, final int limit)
+    {
+        final ManyToManyConcurrentArrayQueue<E>[] shards = this.shards;
+        final int mask = shardMask;
+        final int probe = probe();
+        int count = 0;
+
+        for (int i = 0; i <= mask && count < limit; i++)
+        {
+            count += shards[(probe + i) & mask].fill(supplier, limit - count);
+        }
+
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int offerAll(final E[] elements, final int offset, final int length)
+    {
+        checkElements(elements, offset, length);
+
+        final ManyToManyConcurrentArrayQueue<E>[] shards = this.shards;
+        final int mask = shardMask;
+        final int probe = probe();
+        int count = 0;
+
+        for (int i = 0; i <= mask && count < length; i++)
+        {
+            count += shards[(probe + i) & mask].offerAll(elements, offset + count, length - count);
+        }
+
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int drain(final Consumer<E> elementConsumer)
+    {
+        return drain(elementConsumer, size());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int drain(final Consumer<E> elementConsumer, final int limit)
+    {
+        final ManyToManyConcurrentArrayQueue<E>[] shards = this.shards;
+        final int mask = shardMask;
+        final int probe = probe();
+        int count = 0;
+
+        for (int i = 0; i <= mask && count < limit; i++)
+        {
+            count += shards[(probe + i) & mask].drain(elementConsumer, limit - count);
+        }
+
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int drainTo(final Collection<? super E> target, final int limit)
+    {
+        final ManyToManyConcurrentArrayQueue<E>[] shards = this.shards;
+        final int mask = shardMask;
+        final int probe = probe();
+        int count = 0;
+
+        for (int i = 0; i <= mask && count < limit; i++)
+        {
+            count += shards[(probe + i) & mask].drainTo(target, limit - count);
+        }
+
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long addedCount()
+    {
+        long count = 0;
+        for (final ManyToManyConcurrentArrayQueue<E> shard : shards)
+        {
+            count += shard.addedCount();
+        }
+
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long removedCount()
+    {
+        long count = 0;
+        for (final ManyToManyConcurrentArrayQueue<E> shard : shards)
+        {
+            count += shard.removedCount();
+        }
+
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int capacity()
+    {
+        return shards.length * shards[0].capacity();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int remainingCapacity()
+    {
+        return capacity() - size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size()
+    {
+        long size = 0;
+        for (final ManyToManyConcurrentArrayQueue<E> shard : shards)
+        {
+            size += shard.size();
+        }
+
+        return (int)Math.min(size, Integer.MAX_VALUE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEmpty()
+    {
+        for (final ManyToManyConcurrentArrayQueue<E> shard : shards)
+        {
+            if (!shard.isEmpty())
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(final Object o)
+    {
+        for (final ManyToManyConcurrentArrayQueue<E> shard : shards)
+        {
+            if (shard.contains(o))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsAll(final Collection<?> c)
+    {
+        for (final Object o : c)
+        {
+            if (!contains(o))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean addAll(final Collection<? extends E> c)
+    {
+        for (final E e : c)
+        {
+            add(e);
+        }
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void clear()
+    {
+        for (final ManyToManyConcurrentArrayQueue<E> shard : shards)
+        {
+            shard.clear();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<E> iterator()
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object[] toArray()
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T[] toArray(final T[] a)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean remove(final Object o)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean removeAll(final Collection<?> c)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean retainAll(final Collection<?> c)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString()
+    {
+        return "ShardedManyToManyConcurrentArrayQueue{" +
+            "shardCount=" + shards.length +
+            ", capacity=" + capacity() +
+            ", size=" + size() +
+            '}';
+    }
+
+    @SuppressWarnings("deprecation")
+    private int probe()
+    {
+        return (int)Thread.currentThread().getId() & shardMask;
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent;
+
+import org.agrona.CloseHelper;
+import org.agrona.ErrorHandler;
+import org.agrona.concurrent.status.AtomicCounter;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Pool of {@link AgentRunner}s which run fine-grained {@link Runnable} tasks and balance load by work-stealing, so a
+ * burst of tasks offered to one worker does not wait behind each other while other workers are idle as it would with
+ * the tasks pinned to a thread in a {@link CompositeAgent} or {@link DynamicCompositeAgent}.
+ * <p>
+ * Each {@link Worker} is an {@link Agent} with a {@link ManyToManyConcurrentArrayQueue} inbox, to which any thread can
+ * offer tasks, and a {@link WorkStealingDeque} which it fills from the inbox and runs tasks from. A worker with no
+ * tasks of its own steals the oldest task from the deque, or failing that the inbox, of the other workers so tasks
+ * offered to a worker busy running a long task are not stranded. Only when stealing finds nothing does its duty
+ * cycle return no work so its runner idles with the configured {@link IdleStrategy}.
+ * <p>
+ * A task which throws is reported to the {@link ErrorHandler} of the runner and the worker carries on with the next
+ * task on the following duty cycle. The pool does not allocate once constructed.
+ */
+public final class WorkStealingAgentPool implements AutoCloseable
+{
+    /**
+     * Default maximum number of tasks a worker will run in a duty cycle.
+     */
+    public static final int DEFAULT_TASK_LIMIT = 64;
+
+    private final Worker[] workers;
+    private final AgentRunner[] runners;
+    private final AtomicInteger nextWorker = new AtomicInteger();
+
+    /**
+     * Construct a pool of workers and their runners which must then be started with {@link #start()}.
+     *
+     * @param workerCount          number of workers, each of which is run on its own thread.
+     * @param dequeCapacity        capacity of the deque of tasks for each worker.
+     * @param inboxCapacity        capacity of the inbox of tasks offered to each worker which must be &gt;= 2.
+     * @param idleStrategySupplier to supply an {@link IdleStrategy} for each runner.
+     * @param errorHandler         to be called if a task throws.
+     * @param errorCounter         to be incremented each time a task throws. This may be null.
+     * @throws IllegalArgumentException if the workerCount is less than 1.
+     */
+    public WorkStealingAgentPool(
+        final int workerCount,
+        final int dequeCapacity,
+        final int inboxCapacity,
+        final Supplier<IdleStrategy> idleStrategySupplier,
+        final ErrorHandler errorHandler,
+        final AtomicCounter errorCounter)
+    {
+        if (workerCount < 1)
+        {
+            throw new IllegalArgumentException("workerCount must be >= 1: workerCount=" + workerCount);
+        }
+
+        workers = new Worker[workerCount];
+        runners = new AgentRunner[workerCount];
+
+        for (int i = 0; i < workerCount; i++)
+        {
+            workers[i] = new Worker(i, workers, dequeCapacity, inboxCapacity);
+            runners[i] = new AgentRunner(idleStrategySupplier.get(), errorHandler, errorCounter, workers[i]);
+        }
+    }
+
+    /**
+     * Start each runner on a new thread.
+     */
+    public void start()
+    {
+        start(Thread::new);
+    }
+
+    /**
+     * Start each runner on a new thread created by a {@link ThreadFactory}.
+     *
+     * @param threadFactory to create the threads for the runners.
+     */
+    public void start(final ThreadFactory threadFactory)
+    {
+        for (final AgentRunner runner : runners)
+        {
+            AgentRunner.startOnThread(runner, threadFactory);
+        }
+    }
+
+    /**
+     * Number of workers in the pool.
+     *
+     * @return number of workers in the pool.
+     */
+    public int workerCount()
+    {
+        return workers.length;
+    }
+
+    /**
+     * Get a worker to offer tasks to directly.
+     *
+     * @param index of the worker.
+     * @return the worker at the index.
+     */
+    public Worker worker(final int index)
+    {
+        return workers[index];
+    }
+
+    /**
+     * Offer a task to the inbox of the workers in round-robin order, trying each worker once if inboxes are full.
+     *
+     * @param task to be run.
+     * @return true if the task was accepted or false if all inboxes are full.
+     */
+    public boolean offer(final Runnable task)
+    {
+        final Worker[] workers = this.workers;
+        final int workerCount = workers.length;
+        final int start = nextWorker.getAndIncrement() & Integer.MAX_VALUE;
+
+        for (int i = 0; i < workerCount; i++)
+        {
+            if (workers[(start + i) % workerCount].offer(task))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Close the runners which stops the workers and waits for their threads to exit.
+     */
+    public void close()
+    {
+        CloseHelper.closeAll(runners);
+    }
+
+    /**
+     * Worker {@link Agent} which runs tasks from its own deque, filled from its inbox, and steals from the other
+     * workers when it has none.
+     */
+    public static final class Worker implements Agent
+    {
+        private final int index;
+        private final Worker[] workers;
+        private final ManyToManyConcurrentArrayQueue<Runnable> inbox;
+        private final WorkStealingDeque<Runnable> deque;
+        private final Consumer<Runnable> pushOrRun = this::pushOrRun;
+        private final String roleName;
+        private int taskLimit = DEFAULT_TASK_LIMIT;
+        private long tasksRun;
+        private long tasksStolen;
+
+        Worker(final int index, final Worker[] workers, final int dequeCapacity, final int inboxCapacity)
+        {
+            this.index = index;
+            this.workers = workers;
+            inbox = new ManyToManyConcurrentArrayQueue<>(inboxCapacity);
+            deque = new WorkStealingDeque<>(dequeCapacity);
+            roleName = "work-stealing-worker-" + index;
+        }
+
+        /**
+         * Offer a task to the inbox of this worker. Can be called from any thread.
+         *
+         * @param task to be run.
+         * @return true if the task was accepted or false if the inbox is full.
+         */
+        public boolean offer(final Runnable task)
+        {
+            return inbox.offer(task);
+        }
+
+        /**
+         * Set the maximum number of tasks the worker will run in a duty cycle before returning to its runner.
+         *
+         * @param taskLimit maximum number of tasks to run in a duty cycle.
+         * @return this for a fluent API.
+         * @throws IllegalArgumentException if the taskLimit is less than 1.
+         */
+        public Worker taskLimit(final int taskLimit)
+        {
+            if (taskLimit < 1)
+            {
+                throw new IllegalArgumentException("taskLimit must be >= 1: taskLimit=" + taskLimit);
+            }
+
+            this.taskLimit = taskLimit;
+            return this;
+        }
+
+        /**
+         * Count of tasks run by this worker, including stolen tasks, which should only be read by the worker thread.
+         *
+         * @return count of tasks run by this worker.
+         */
+        public long tasksRun()
+        {
+            return tasksRun;
+        }
+
+        /**
+         * Count of tasks this worker has stolen from other workers, which should only be read by the worker thread.
+         *
+         * @return count of tasks this worker has stolen from other workers.
+         */
+        public long tasksStolen()
+        {
+            return tasksStolen;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int doWork()
+        {
+            final WorkStealingDeque<Runnable> deque = this.deque;
+            int workCount = inbox.drain(pushOrRun, deque.capacity() - deque.size());
+
+            for (int i = 0, limit = taskLimit; i < limit; i++)
+            {
+                Runnable task = deque.pop();
+                if (null == task)
+                {
+                    task = steal();
+                    if (null == task)
+                    {
+                        break;
+                    }
+                }
+
+                workCount++;
+                tasksRun++;
+                task.run();
+            }
+
+            return workCount;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String roleName()
+        {
+            return roleName;
+        }
+
+        private Runnable steal()
+        {
+            final Worker[] workers = this.workers;
+            final int workerCount = workers.length;
+
+            for (int i = 1; i < workerCount; i++)
+            {
+                final Worker victim = workers[(index + i) % workerCount];
+                Runnable task = victim.deque.steal();
+                if (null == task)
+                {
+                    task = victim.inbox.poll();
+                }
+
+                if (null != task)
+                {
+                    tasksStolen++;
+                    return task;
+                }
+            }
+
+            return null;
+        }
+
+        private void pushOrRun(final Runnable task)
+        {
+            if (!deque.push(task))
+            {
+                tasksRun++;
+                task.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent;
+
+import org.agrona.BitUtil;
+import org.agrona.UnsafeApi;
+
+import static org.agrona.concurrent.AbstractConcurrentArrayQueue.sequenceToBufferOffset;
+
+/**
+ * Pad out a cache line to the left of the top field to prevent false sharing.
+ */
+@SuppressWarnings({ "deprecation", "removal", "unused" })
+abstract class WorkStealingDequePadding1
+{
+    /**
+     * Offset of the {@code top} field.
+     */
+    protected static final long TOP_OFFSET;
+    /**
+     * Offset of the {@code bottom} field.
+     */
+    protected static final long BOTTOM_OFFSET;
+
+    static
+    {
+        try
+        {
+            TOP_OFFSET = UnsafeApi.objectFieldOffset(WorkStealingDequeTop.class.getDeclaredField("top"));
+            BOTTOM_OFFSET = UnsafeApi.objectFieldOffset(WorkStealingDequeBottom.class.getDeclaredField("bottom"));
+        }
+        catch (final Exception ex)
+        {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    byte p000, p001, p002, p003, p004, p005, p006, p007, p008, p009, p010, p011, p012, p013, p014, p015;
+    byte p016, p017, p018, p019, p020, p021, p022, p023, p024, p025, p026, p027, p028, p029, p030, p031;
+    byte p032, p033, p034, p035, p036, p037, p038, p039, p040, p041, p042, p043, p044, p045, p046, p047;
+    byte p048, p049, p050, p051, p052, p053, p054, p055, p056, p057, p058, p059, p060, p061, p062, p063;
+}
+
+/**
+ * Value for the top, from which thieves steal, that is expected to be padded.
+ */
+abstract class WorkStealingDequeTop extends WorkStealingDequePadding1
+{
+    /**
+     * Sequence of the oldest element which is the next to be stolen.
+     */
+    protected volatile long top;
+}
+
+/**
+ * Pad out a cache line between the top and bottom fields to prevent false sharing.
+ */
+@SuppressWarnings("unused")
+abstract class WorkStealingDequePadding2 extends WorkStealingDequeTop
+{
+    byte p064, p065, p066, p067, p068, p069, p070, p071, p072, p073, p074, p075, p076, p077, p078, p079;
+    byte p080, p081, p082, p083, p084, p085, p086, p087, p088, p089, p090, p091, p092, p093, p094, p095;
+    byte p096, p097, p098, p099, p100, p101, p102, p103, p104, p105, p106, p107, p108, p109, p110, p111;
+    byte p112, p113, p114, p115, p116, p117, p118, p119, p120, p121, p122, p123, p124, p125, p126, p127;
+}
+
+/**
+ * Value for the bottom, at which the owner pushes and pops, that is expected to be padded.
+ */
+abstract class WorkStealingDequeBottom extends WorkStealingDequePadding2
+{
+    /**
+     * Sequence after the newest element at which the owner will push the next element.
+     */
+    protected volatile long bottom;
+}
+
+/**
+ * Bounded work-stealing deque after Chase and Lev, as described in "Correct and Efficient Work-Stealing for Weak
+ * Memory Models" by Lê, Pop, Cohen and Zappa Nardelli.
+ * <p>
+ * A single owner thread calls {@link #push(Object)} and {@link #pop()} at the bottom of the deque, newest first,
+ * while any thread can {@link #steal()} from the top, oldest first. Only a steal, or a pop racing a steal for the
+ * last element, needs a CAS. The deque does not grow so never allocates after construction, instead a push fails
+ * when full.
+ * <p>
+ * Slots are cleared by the owner on pop but not on steal, as the owner may already be reusing the slot, so a stolen
+ * element can remain reachable until its slot is overwritten.
+ *
+ * @param <E> type of the elements in the deque.
+ */
+@SuppressWarnings("removal")
+public class WorkStealingDeque<E> extends WorkStealingDequeBottom
+{
+    byte p128, p129, p130, p131, p132, p133, p134, p135, p136, p137, p138, p139, p140, p142, p143, p144;
+    byte p145, p146, p147, p148, p149, p150, p151, p152, p153, p154, p155, p156, p157, p158, p159, p160;
+    byte p161, p162, p163, p164, p165, p166, p167, p168, p169, p170, p171, p172, p173, p174, p175, p176;
+    byte p177, p178, p179, p180, p181, p182, p183, p184, p185, p186, p187, p189, p190, p191, p192, p193;
+
+    private final int capacity;
+    private final Object[] buffer;
+
+    /**
+     * Constructs a deque with the requested capacity.
+     *
+     * @param requestedCapacity of the deque which will be rounded up to the next power of two.
+     */
+    public WorkStealingDeque(final int requestedCapacity)
+    {
+        capacity = BitUtil.findNextPositivePowerOfTwo(requestedCapacity);
+        buffer = new Object[capacity];
+    }
+
+    /**
+     * Maximum number of elements the deque can hold.
+     *
+     * @return maximum number of elements the deque can hold.
+     */
+    public int capacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * Number of elements in the deque which is an approximation when other threads are stealing.
+     *
+     * @return number of elements in the deque.
+     */
+    public int size()
+    {
+        final long size = bottom - top;
+
+        return size <= 0 ? 0 : (int)Math.min(size, capacity);
+    }
+
+    /**
+     * Is the deque empty.
+     *
+     * @return true if the deque is empty.
+     */
+    public boolean isEmpty()
+    {
+        return bottom <= top;
+    }
+
+    /**
+     * Push an element onto the bottom of the deque. Must only be called by the owner thread.
+     *
+     * @param e element to be pushed.
+     * @return true if pushed or false if the deque is full.
+     * @throws NullPointerException if the element is null.
+     */
+    public boolean push(final E e)
+    {
+        if (null == e)
+        {
+            throw new NullPointerException("element cannot be null");
+        }
+
+        final long currentBottom = UnsafeApi.getLong(this, BOTTOM_OFFSET);
+        final long currentTop = top;
+        if (currentBottom - currentTop >= capacity)
+        {
+            return false;
+        }
+
+        UnsafeApi.putReferenceRelease(buffer, sequenceToBufferOffset(currentBottom, capacity - 1), e);
+        UnsafeApi.putLongRelease(this, BOTTOM_OFFSET, currentBottom + 1);
+
+        return true;
+    }
+
+    /**
+     * Pop the newest element from the bottom of the deque. Must only be called by the owner thread.
+     *
+     * @return the newest element or null if the deque is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public E pop()
+    {
+        final long currentBottom = UnsafeApi.getLong(this, BOTTOM_OFFSET) - 1;
+        bottom = currentBottom;
+        final long currentTop = top;
+
+        if (currentTop > currentBottom)
+        {
+            UnsafeApi.putLongRelease(this, BOTTOM_OFFSET, currentBottom + 1);
+            return null;
+        }
+
+        final long elementOffset = sequenceToBufferOffset(currentBottom, capacity - 1);
+        final Object e = UnsafeApi.getReference(buffer, elementOffset);
+
+        if (currentTop == currentBottom)
+        {
+            final boolean won = UnsafeApi.compareAndSetLong(this, TOP_OFFSET, currentTop, currentTop + 1);
+            UnsafeApi.putLongRelease(this, BOTTOM_OFFSET, currentBottom + 1);
+            if (!won)
+            {
+                return null;
+            }
+        }
+
+        UnsafeApi.putReference(buffer, elementOffset, null);
+
+        return (E)e;
+    }
+
+    /**
+     * Steal the oldest element from the top of the deque. Can be called by any thread.
+     *
+     * @return the oldest element or null if the deque is empty or the element was taken by a racing pop or steal.
+     */
+    @SuppressWarnings("unchecked")
+    public E steal()
+    {
+        final long currentTop = top;
+        final long currentBottom = bottom;
+
+        if (currentTop < currentBottom)
+        {
+            final Object e = UnsafeApi.getReferenceVolatile(buffer, sequenceToBufferOffset(currentTop, capacity - 1));
+            if (UnsafeApi.compareAndSetLong(this, TOP_OFFSET, currentTop, currentTop + 1))
+            {
+                return (E)e;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString()
+    {
+        return "WorkStealingDeque{" +
+            "capacity=" + capacity +
+            ", size=" + size() +
+            '}';
+    }
+}
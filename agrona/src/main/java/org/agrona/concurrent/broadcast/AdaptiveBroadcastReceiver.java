@@ -0,0 +1,158 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.broadcast;
+
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Receiver of broadcast messages which avoids the copy of a {@link CopyBroadcastReceiver} for small messages.
+ * <p>
+ * Messages with a length up to the copy threshold are handed to the handler in place in the broadcast buffer and
+ * validated afterwards, with {@link DiscardableMessageHandler#onDiscard()} called if the message was overwritten
+ * while being handled. Longer messages, for which a handler is more likely to be lapped and the cost of the copy is
+ * relatively lower, are copied into a scratch buffer and validated before being handled as for a
+ * {@link CopyBroadcastReceiver}.
+ */
+public class AdaptiveBroadcastReceiver
+{
+    /**
+     * Default length of message up to which messages are handled in place.
+     */
+    public static final int DEFAULT_COPY_THRESHOLD = 256;
+
+    private final int copyThreshold;
+    private final BroadcastReceiver receiver;
+    private final MutableDirectBuffer scratchBuffer;
+
+    /**
+     * Wrap a {@link BroadcastReceiver} with a {@link #DEFAULT_COPY_THRESHOLD} and a scratch buffer of
+     * {@link CopyBroadcastReceiver#SCRATCH_BUFFER_LENGTH}.
+     *
+     * @param receiver to be wrapped.
+     */
+    public AdaptiveBroadcastReceiver(final BroadcastReceiver receiver)
+    {
+        this(
+            receiver,
+            DEFAULT_COPY_THRESHOLD,
+            new UnsafeBuffer(ByteBuffer.allocateDirect(CopyBroadcastReceiver.SCRATCH_BUFFER_LENGTH)));
+    }
+
+    /**
+     * Wrap a {@link BroadcastReceiver}.
+     *
+     * @param receiver      to be wrapped.
+     * @param copyThreshold length of message up to which messages are handled in place.
+     * @param scratchBuffer to be used for copying messages longer than the copy threshold.
+     * @throws IllegalArgumentException if the copy threshold is negative.
+     */
+    public AdaptiveBroadcastReceiver(
+        final BroadcastReceiver receiver, final int copyThreshold, final MutableDirectBuffer scratchBuffer)
+    {
+        if (copyThreshold < 0)
+        {
+            throw new IllegalArgumentException("copyThreshold must not be negative: copyThreshold=" + copyThreshold);
+        }
+
+        this.receiver = receiver;
+        this.copyThreshold = copyThreshold;
+        this.scratchBuffer = scratchBuffer;
+    }
+
+    /**
+     * Get the underlying {@link BroadcastReceiver} which this is wrapping.
+     *
+     * @return the underlying {@link BroadcastReceiver} which this is wrapping.
+     */
+    public BroadcastReceiver broadcastReceiver()
+    {
+        return receiver;
+    }
+
+    /**
+     * Length of message up to which messages are handled in place.
+     *
+     * @return length of message up to which messages are handled in place.
+     */
+    public int copyThreshold()
+    {
+        return copyThreshold;
+    }
+
+    /**
+     * Receive one message from the broadcast buffer.
+     *
+     * @param handler to be called for each message received.
+     * @return the number of messages that have been received.
+     * @throws IllegalStateException if this receiver has been lapped, in which case
+     *                               {@link DiscardableMessageHandler#onDiscard()} will have been called if the
+     *                               message was handled in place.
+     */
+    public int receive(final DiscardableMessageHandler handler)
+    {
+        int messagesReceived = 0;
+        final BroadcastReceiver receiver = this.receiver;
+        final long lastSeenLappedCount = receiver.lappedCount();
+
+        if (receiver.receiveNext())
+        {
+            if (lastSeenLappedCount != receiver.lappedCount())
+            {
+                throw new IllegalStateException("unable to keep up with broadcast");
+            }
+
+            final int length = receiver.length();
+            final int msgTypeId = receiver.typeId();
+
+            if (length <= copyThreshold)
+            {
+                handler.onMessage(msgTypeId, receiver.buffer(), receiver.offset(), length);
+
+                if (!receiver.validate())
+                {
+                    handler.onDiscard();
+                    throw new IllegalStateException("unable to keep up with broadcast");
+                }
+            }
+            else
+            {
+                final MutableDirectBuffer scratchBuffer = this.scratchBuffer;
+                final int capacity = scratchBuffer.capacity();
+                if (length > capacity && !scratchBuffer.isExpandable())
+                {
+                    throw new IllegalStateException(
+                        "buffer required length of " + length + " but only has " + capacity);
+                }
+
+                scratchBuffer.putBytes(0, receiver.buffer(), receiver.offset(), length);
+
+                if (!receiver.validate())
+                {
+                    throw new IllegalStateException("unable to keep up with broadcast");
+                }
+
+                handler.onMessage(msgTypeId, scratchBuffer, 0, length);
+            }
+
+            messagesReceived = 1;
+        }
+
+        return messagesReceived;
+    }
+}
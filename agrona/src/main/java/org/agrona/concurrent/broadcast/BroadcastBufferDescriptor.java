@@ -38,6 +38,11 @@ public final class BroadcastBufferDescriptor
      */
     public static final int LATEST_COUNTER_OFFSET;
 
+    /**
+     * Offset within the trailer for where the oldest intact record position is stored.
+     */
+    public static final int OLDEST_COUNTER_OFFSET;
+
     /**
      * Total size of the trailer.
      */
@@ -54,6 +59,9 @@ public final class BroadcastBufferDescriptor
         offset += SIZE_OF_LONG;
         LATEST_COUNTER_OFFSET = offset;
 
+        offset += SIZE_OF_LONG;
+        OLDEST_COUNTER_OFFSET = offset;
+
         TRAILER_LENGTH = CACHE_LINE_LENGTH * 2;
     }
 
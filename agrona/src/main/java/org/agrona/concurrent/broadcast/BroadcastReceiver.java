@@ -27,7 +27,8 @@ import static org.agrona.concurrent.broadcast.RecordDescriptor.*;
 
 /**
  * Receive messages broadcast from a {@link BroadcastTransmitter} via an underlying buffer. Receivers can join
- * a transmission stream at any point by consuming the latest message at the point of joining and forward.
+ * a transmission stream at any point by consuming the latest message at the point of joining and forward, or
+ * by consuming the history still intact in the buffer after calling {@link #seekToOldest()}.
  * <p>
  * If a Receiver cannot keep up with the transmission stream then loss will be experienced. Loss is not an
  * error condition.
@@ -45,6 +46,7 @@ public class BroadcastReceiver
     private final int tailCounterIndex;
 
     private final int latestCounterIndex;
+    private final int oldestCounterIndex;
     private final AtomicBuffer buffer;
 
     // The lapped counter is accessed using 'opaque' access which is a great for performance
@@ -72,6 +74,7 @@ public class BroadcastReceiver
         tailIntentCounterIndex = capacity + TAIL_INTENT_COUNTER_OFFSET;
         tailCounterIndex = capacity + TAIL_COUNTER_OFFSET;
         latestCounterIndex = capacity + LATEST_COUNTER_OFFSET;
+        oldestCounterIndex = capacity + OLDEST_COUNTER_OFFSET;
 
         cursor = nextRecord = buffer.getLongVolatile(latestCounterIndex);
         recordOffset = (int)cursor & (capacity - 1);
@@ -141,6 +144,19 @@ public class BroadcastReceiver
         return buffer;
     }
 
+    /**
+     * Move to the oldest record which is still intact in the buffer so that a receiver joining late can rebuild
+     * state from up to a buffer's worth of history. Each message received must then be checked with
+     * {@link #validate()} as the transmitter may overwrite the history while it is being received, in which case
+     * the receiver is lapped and continues from the latest message.
+     */
+    public void seekToOldest()
+    {
+        final long oldest = buffer.getLongVolatile(oldestCounterIndex);
+        cursor = nextRecord = oldest;
+        recordOffset = (int)oldest & (capacity - 1);
+    }
+
     /**
      * Non-blocking receive of next message from the transmission stream.
      * <p>
@@ -27,16 +27,26 @@ import static org.agrona.concurrent.broadcast.RecordDescriptor.*;
 /**
  * Transmit messages via an underlying broadcast buffer to zero or more {@link BroadcastReceiver}s.
  * <p>
+ * A batch of messages can be transmitted by claiming space for each with {@link #claim(int, int)}, writing it into
+ * the {@link #buffer()}, and then making the batch visible to receivers with a single publication of the tail
+ * counters via {@link #commit()}.
+ * <p>
  * <b>Note:</b> This class is not threadsafe. Only one transmitter is allowed per broadcast buffer.
  */
 public class BroadcastTransmitter
 {
+    private static final long NO_BATCH = -1;
+
     private final AtomicBuffer buffer;
     private final int capacity;
     private final int maxMsgLength;
     private final int tailIntentCountIndex;
     private final int tailCounterIndex;
     private final int latestCounterIndex;
+    private final int oldestCounterIndex;
+    private long batchStartTail = NO_BATCH;
+    private long batchLatest;
+    private long batchTail;
 
     /**
      * Construct a new broadcast transmitter based on an underlying {@link org.agrona.concurrent.AtomicBuffer}.
@@ -59,6 +69,7 @@ public class BroadcastTransmitter
         this.tailIntentCountIndex = capacity + TAIL_INTENT_COUNTER_OFFSET;
         this.tailCounterIndex = capacity + TAIL_COUNTER_OFFSET;
         this.latestCounterIndex = capacity + LATEST_COUNTER_OFFSET;
+        this.oldestCounterIndex = capacity + OLDEST_COUNTER_OFFSET;
     }
 
     /**
@@ -82,7 +93,18 @@ public class BroadcastTransmitter
     }
 
     /**
-     * Transmit a message to {@link BroadcastReceiver}s via the broadcast buffer.
+     * Get the underlying buffer into which claimed messages are written.
+     *
+     * @return the underlying buffer into which claimed messages are written.
+     */
+    public AtomicBuffer buffer()
+    {
+        return buffer;
+    }
+
+    /**
+     * Transmit a message to {@link BroadcastReceiver}s via the broadcast buffer. Any messages which have been claimed
+     * are also committed.
      *
      * @param msgTypeId type of the message to be transmitted.
      * @param srcBuffer containing the encoded message to be transmitted.
@@ -92,38 +114,105 @@ public class BroadcastTransmitter
      * or if the message length is greater than {@link #maxMsgLength()}.
      */
     public void transmit(final int msgTypeId, final DirectBuffer srcBuffer, final int srcIndex, final int length)
+    {
+        final int msgOffset = claim(msgTypeId, length);
+        buffer.putBytes(msgOffset, srcBuffer, srcIndex, length);
+        commit();
+    }
+
+    /**
+     * Claim space for a message in the current batch which is to be written into the {@link #buffer()} at the
+     * offset returned. The message will not be visible to {@link BroadcastReceiver}s until {@link #commit()}.
+     *
+     * @param msgTypeId type of the message to be transmitted.
+     * @param length    in bytes of the encoded message.
+     * @return the offset in the {@link #buffer()} at which the encoded message is to be written.
+     * @throws IllegalArgumentException of the msgTypeId is not valid,
+     * or if the message length is greater than {@link #maxMsgLength()}.
+     * @throws IllegalStateException if the batch would exceed the {@link #capacity()}.
+     */
+    public int claim(final int msgTypeId, final int length)
     {
         checkTypeId(msgTypeId);
         checkMessageLength(length);
 
         final AtomicBuffer buffer = this.buffer;
-        long currentTail = buffer.getLong(tailCounterIndex);
+        final boolean isNewBatch = NO_BATCH == batchStartTail;
+        long currentTail = isNewBatch ? buffer.getLong(tailCounterIndex) : batchTail;
         int recordOffset = (int)currentTail & (capacity - 1);
         final int recordLength = HEADER_LENGTH + length;
         final int recordLengthAligned = BitUtil.align(recordLength, RECORD_ALIGNMENT);
         final long newTail = currentTail + recordLengthAligned;
 
         final int toEndOfBuffer = capacity - recordOffset;
-        if (toEndOfBuffer < recordLengthAligned)
+        final boolean requiresPadding = toEndOfBuffer < recordLengthAligned;
+        final long newTailIntent = requiresPadding ? newTail + toEndOfBuffer : newTail;
+        if (!isNewBatch && newTailIntent - batchStartTail > capacity)
+        {
+            throw new IllegalStateException("batch exceeds capacity=" + capacity + ", length=" + length);
+        }
+
+        advanceOldest(buffer, currentTail, newTailIntent);
+        signalTailIntent(buffer, newTailIntent);
+
+        if (isNewBatch)
+        {
+            batchStartTail = currentTail;
+        }
+
+        if (requiresPadding)
         {
-            signalTailIntent(buffer, newTail + toEndOfBuffer);
             insertPaddingRecord(buffer, recordOffset, toEndOfBuffer);
 
             currentTail += toEndOfBuffer;
             recordOffset = 0;
         }
-        else
-        {
-            signalTailIntent(buffer, newTail);
-        }
 
         buffer.putInt(lengthOffset(recordOffset), recordLength);
         buffer.putInt(typeOffset(recordOffset), msgTypeId);
 
-        buffer.putBytes(msgOffset(recordOffset), srcBuffer, srcIndex, length);
+        batchLatest = currentTail;
+        batchTail = currentTail + recordLengthAligned;
 
-        buffer.putLongRelease(latestCounterIndex, currentTail);
-        buffer.putLongRelease(tailCounterIndex, currentTail + recordLengthAligned);
+        return msgOffset(recordOffset);
+    }
+
+    /**
+     * Commit the messages claimed since the last commit making them visible to {@link BroadcastReceiver}s with a
+     * single update of the tail counters. Has no effect if no messages have been claimed.
+     */
+    public void commit()
+    {
+        if (NO_BATCH != batchStartTail)
+        {
+            final AtomicBuffer buffer = this.buffer;
+            buffer.putLongRelease(latestCounterIndex, batchLatest);
+            buffer.putLongRelease(tailCounterIndex, batchTail);
+            batchStartTail = NO_BATCH;
+        }
+    }
+
+    private void advanceOldest(final AtomicBuffer buffer, final long tail, final long newTailIntent)
+    {
+        final long oldest = buffer.getLong(oldestCounterIndex);
+        long position = oldest;
+
+        while (position + capacity <= newTailIntent)
+        {
+            final int recordLength = buffer.getInt(lengthOffset((int)position & (capacity - 1)));
+            if (recordLength <= 0)
+            {
+                position = tail;
+                break;
+            }
+
+            position += BitUtil.align(recordLength, RECORD_ALIGNMENT);
+        }
+
+        if (position != oldest)
+        {
+            buffer.putLongRelease(oldestCounterIndex, position);
+        }
     }
 
     private void signalTailIntent(final AtomicBuffer buffer, final long newTail)
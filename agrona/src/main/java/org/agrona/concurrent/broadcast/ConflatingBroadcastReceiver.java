@@ -0,0 +1,255 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.broadcast;
+
+import org.agrona.collections.Hashing;
+import org.agrona.concurrent.AtomicBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.lang.invoke.VarHandle;
+
+import static org.agrona.concurrent.broadcast.ConflationTableDescriptor.*;
+
+/**
+ * Receive the latest value for keys transmitted by a {@link ConflatingBroadcastTransmitter}.
+ * <p>
+ * Each update received from the broadcast buffer is delivered as the latest value for its key which is copied from
+ * the table. Updates to a key may therefore be conflated so a value can be delivered more than once. When this
+ * receiver is lapped by the transmitter it recovers by delivering the latest value for every key in the table, so
+ * no state is lost.
+ * <p>
+ * A value is read optimistically and the read is retried if the transmitter updates it concurrently. The retries are
+ * bounded so a receiver cannot hang on a key which is updated faster than it can be copied, or which a transmitter in
+ * another process failed to finish updating. A value which cannot be read within the bound is not delivered and is
+ * counted by {@link #failedReadCount()}.
+ * <p>
+ * <b>Note:</b> Each receiver is not threadsafe but there can be zero or many receivers to a transmission stream.
+ */
+public class ConflatingBroadcastReceiver
+{
+    /**
+     * Default number of attempts to read a value which is being updated concurrently before giving up.
+     */
+    public static final int DEFAULT_MAX_READ_ATTEMPTS = 1000;
+
+    private final int mask;
+    private final int maxReadAttempts;
+    private final int slotLength;
+    private final int tableOffset;
+    private final int maxValueLength;
+    private final AtomicBuffer buffer;
+    private final BroadcastReceiver receiver;
+    private final UnsafeBuffer scratchBuffer;
+    private long failedReadCount;
+
+    /**
+     * Construct a new conflating broadcast receiver based on an underlying {@link AtomicBuffer} with the same
+     * configuration as the {@link ConflatingBroadcastTransmitter}.
+     *
+     * @param buffer         via which values will be exchanged.
+     * @param keyCapacity    number of keys the table can hold which must be a power of 2.
+     * @param maxValueLength maximum length of a value.
+     * @throws IllegalArgumentException if the table configuration is not valid or does not fit in the buffer.
+     * @throws IllegalStateException    if the remainder of the buffer is not a power of 2 plus
+     *                                  {@link BroadcastBufferDescriptor#TRAILER_LENGTH} in capacity.
+     */
+    public ConflatingBroadcastReceiver(final AtomicBuffer buffer, final int keyCapacity, final int maxValueLength)
+    {
+        this(buffer, keyCapacity, maxValueLength, DEFAULT_MAX_READ_ATTEMPTS);
+    }
+
+    /**
+     * Construct a new conflating broadcast receiver based on an underlying {@link AtomicBuffer} with the same
+     * configuration as the {@link ConflatingBroadcastTransmitter}.
+     *
+     * @param buffer          via which values will be exchanged.
+     * @param keyCapacity     number of keys the table can hold which must be a power of 2.
+     * @param maxValueLength  maximum length of a value.
+     * @param maxReadAttempts number of attempts to read a value which is being updated concurrently before giving up.
+     * @throws IllegalArgumentException if the table configuration is not valid or does not fit in the buffer, or the
+     *                                  {@code maxReadAttempts} is not positive.
+     * @throws IllegalStateException    if the remainder of the buffer is not a power of 2 plus
+     *                                  {@link BroadcastBufferDescriptor#TRAILER_LENGTH} in capacity.
+     */
+    public ConflatingBroadcastReceiver(
+        final AtomicBuffer buffer, final int keyCapacity, final int maxValueLength, final int maxReadAttempts)
+    {
+        checkConfiguration(keyCapacity, maxValueLength);
+
+        if (maxReadAttempts <= 0)
+        {
+            throw new IllegalArgumentException("maxReadAttempts must be positive: maxReadAttempts=" + maxReadAttempts);
+        }
+
+        final int tableLength = tableLength(keyCapacity, maxValueLength);
+        if (tableLength >= buffer.capacity())
+        {
+            throw new IllegalArgumentException(
+                "buffer too short for table: capacity=" + buffer.capacity() + ", tableLength=" + tableLength);
+        }
+
+        this.buffer = buffer;
+        this.maxValueLength = maxValueLength;
+        this.maxReadAttempts = maxReadAttempts;
+        tableOffset = buffer.capacity() - tableLength;
+        slotLength = slotLength(maxValueLength);
+        mask = keyCapacity - 1;
+        receiver = new BroadcastReceiver(new UnsafeBuffer(buffer, 0, tableOffset));
+        scratchBuffer = new UnsafeBuffer(new byte[maxValueLength]);
+    }
+
+    /**
+     * Get the underlying {@link BroadcastReceiver} of key updates.
+     *
+     * @return the underlying {@link BroadcastReceiver} of key updates.
+     */
+    public BroadcastReceiver broadcastReceiver()
+    {
+        return receiver;
+    }
+
+    /**
+     * Number of values which could not be read within the maximum number of attempts and so were not delivered.
+     *
+     * @return number of values which could not be read within the maximum number of attempts.
+     */
+    public long failedReadCount()
+    {
+        return failedReadCount;
+    }
+
+    /**
+     * Receive the next update from the broadcast buffer and deliver the latest value for its key. If this receiver
+     * has been lapped then the latest value of every key is delivered instead.
+     *
+     * @param handler to be called for each value delivered.
+     * @return the number of values delivered.
+     */
+    public int receive(final KeyedMessageHandler handler)
+    {
+        final BroadcastReceiver receiver = this.receiver;
+        final long lastSeenLappedCount = receiver.lappedCount();
+
+        if (!receiver.receiveNext())
+        {
+            return 0;
+        }
+
+        if (lastSeenLappedCount != receiver.lappedCount())
+        {
+            return forEachLatest(handler);
+        }
+
+        final long key = receiver.buffer().getLong(receiver.offset());
+        if (!receiver.validate())
+        {
+            return forEachLatest(handler);
+        }
+
+        return latest(key, handler) ? 1 : 0;
+    }
+
+    /**
+     * Deliver the latest value for a key from the table.
+     *
+     * @param key     to look up.
+     * @param handler to be called with the value.
+     * @return true if the value was delivered, or false if no value has been transmitted for the key or it could not
+     * be read within the maximum number of attempts.
+     */
+    public boolean latest(final long key, final KeyedMessageHandler handler)
+    {
+        final AtomicBuffer buffer = this.buffer;
+        int slotIndex = Hashing.hash(key, mask);
+
+        for (int i = 0; i <= mask; i++)
+        {
+            final int slotOffset = tableOffset + (slotIndex * slotLength);
+            if (0 == buffer.getLongVolatile(slotOffset + VERSION_OFFSET))
+            {
+                return false;
+            }
+
+            if (key == buffer.getLong(slotOffset + KEY_OFFSET))
+            {
+                return deliver(slotOffset, key, handler);
+            }
+
+            slotIndex = (slotIndex + 1) & mask;
+        }
+
+        return false;
+    }
+
+    /**
+     * Deliver the latest value for every key in the table, skipping any value which could not be read within the
+     * maximum number of attempts.
+     *
+     * @param handler to be called with each value.
+     * @return the number of values delivered.
+     */
+    public int forEachLatest(final KeyedMessageHandler handler)
+    {
+        final AtomicBuffer buffer = this.buffer;
+        int count = 0;
+
+        for (int i = 0; i <= mask; i++)
+        {
+            final int slotOffset = tableOffset + (i * slotLength);
+            if (0 != buffer.getLongVolatile(slotOffset + VERSION_OFFSET) &&
+                deliver(slotOffset, buffer.getLong(slotOffset + KEY_OFFSET), handler))
+            {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    private boolean deliver(final int slotOffset, final long key, final KeyedMessageHandler handler)
+    {
+        final AtomicBuffer buffer = this.buffer;
+        final UnsafeBuffer scratchBuffer = this.scratchBuffer;
+        final int versionIndex = slotOffset + VERSION_OFFSET;
+
+        for (int attempts = maxReadAttempts; attempts > 0; attempts--)
+        {
+            final long version = buffer.getLongVolatile(versionIndex);
+            if (0 == (version & 1))
+            {
+                final int msgTypeId = buffer.getInt(slotOffset + TYPE_ID_OFFSET);
+                final int length = buffer.getInt(slotOffset + VALUE_LENGTH_OFFSET);
+                if (length >= 0 && length <= maxValueLength)
+                {
+                    scratchBuffer.putBytes(0, buffer, slotOffset + VALUE_OFFSET, length);
+
+                    VarHandle.acquireFence();
+                    if (version == buffer.getLongVolatile(versionIndex))
+                    {
+                        handler.onMessage(key, msgTypeId, scratchBuffer, 0, length);
+                        return true;
+                    }
+                }
+            }
+
+            Thread.onSpinWait();
+        }
+
+        failedReadCount++;
+
+        return false;
+    }
+}
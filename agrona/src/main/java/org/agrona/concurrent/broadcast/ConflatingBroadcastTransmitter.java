@@ -0,0 +1,173 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.broadcast;
+
+import org.agrona.DirectBuffer;
+import org.agrona.collections.Hashing;
+import org.agrona.concurrent.AtomicBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import java.lang.invoke.VarHandle;
+
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+import static org.agrona.concurrent.broadcast.ConflationTableDescriptor.*;
+import static org.agrona.concurrent.broadcast.RecordDescriptor.checkTypeId;
+
+/**
+ * Transmit the latest value for keys, such as the price of an instrument, to zero or more
+ * {@link ConflatingBroadcastReceiver}s.
+ * <p>
+ * Each value is stored in a table of the latest value for each key, laid out as described by
+ * {@link ConflationTableDescriptor}, and only the key is broadcast to notify receivers of the update. This keeps the
+ * records in the broadcast buffer small so receivers are lapped less often, and a receiver which is lapped can
+ * recover the current state from the table rather than losing updates.
+ * <p>
+ * <b>Note:</b> This class is not threadsafe. Only one transmitter is allowed per buffer.
+ */
+public class ConflatingBroadcastTransmitter
+{
+    private final int mask;
+    private final int slotLength;
+    private final int tableOffset;
+    private final int maxValueLength;
+    private final AtomicBuffer buffer;
+    private final BroadcastTransmitter transmitter;
+    private final UnsafeBuffer keyBuffer = new UnsafeBuffer(new byte[SIZE_OF_LONG]);
+
+    /**
+     * Construct a new conflating broadcast transmitter based on an underlying {@link AtomicBuffer} whose required
+     * length can be computed with {@link ConflationTableDescriptor#bufferLength(int, int, int)}.
+     *
+     * @param buffer         via which values will be exchanged.
+     * @param keyCapacity    number of keys the table can hold which must be a power of 2.
+     * @param maxValueLength maximum length of a value.
+     * @throws IllegalArgumentException if the table configuration is not valid or does not fit in the buffer.
+     * @throws IllegalStateException    if the remainder of the buffer is not a power of 2 plus
+     *                                  {@link BroadcastBufferDescriptor#TRAILER_LENGTH} in capacity.
+     */
+    public ConflatingBroadcastTransmitter(final AtomicBuffer buffer, final int keyCapacity, final int maxValueLength)
+    {
+        checkConfiguration(keyCapacity, maxValueLength);
+
+        final int tableLength = tableLength(keyCapacity, maxValueLength);
+        if (tableLength >= buffer.capacity())
+        {
+            throw new IllegalArgumentException(
+                "buffer too short for table: capacity=" + buffer.capacity() + ", tableLength=" + tableLength);
+        }
+
+        this.buffer = buffer;
+        this.maxValueLength = maxValueLength;
+        tableOffset = buffer.capacity() - tableLength;
+        slotLength = slotLength(maxValueLength);
+        mask = keyCapacity - 1;
+        transmitter = new BroadcastTransmitter(new UnsafeBuffer(buffer, 0, tableOffset));
+    }
+
+    /**
+     * Get the capacity of the underlying broadcast buffer.
+     *
+     * @return the capacity of the underlying broadcast buffer.
+     */
+    public int capacity()
+    {
+        return transmitter.capacity();
+    }
+
+    /**
+     * Number of keys the table can hold.
+     *
+     * @return number of keys the table can hold.
+     */
+    public int keyCapacity()
+    {
+        return mask + 1;
+    }
+
+    /**
+     * Maximum length of a value which can be transmitted.
+     *
+     * @return maximum length of a value which can be transmitted.
+     */
+    public int maxValueLength()
+    {
+        return maxValueLength;
+    }
+
+    /**
+     * Transmit the latest value for a key to {@link ConflatingBroadcastReceiver}s.
+     *
+     * @param key       to which the value belongs.
+     * @param msgTypeId type of the value to be transmitted.
+     * @param srcBuffer containing the encoded value to be transmitted.
+     * @param srcIndex  in the source buffer at which the encoded value begins.
+     * @param length    in bytes of the encoded value.
+     * @throws IllegalArgumentException if the msgTypeId is not valid or the length is negative or greater than
+     *                                  {@link #maxValueLength()}.
+     * @throws IllegalStateException    if the key is new and the table is full.
+     */
+    public void transmit(
+        final long key, final int msgTypeId, final DirectBuffer srcBuffer, final int srcIndex, final int length)
+    {
+        checkTypeId(msgTypeId);
+        if (length < 0 || length > maxValueLength)
+        {
+            throw new IllegalArgumentException("invalid value length=" + length + ", maxValueLength=" + maxValueLength);
+        }
+
+        final AtomicBuffer buffer = this.buffer;
+        final int slotOffset = slotOffset(key);
+        final int versionIndex = slotOffset + VERSION_OFFSET;
+        final long version = buffer.getLong(versionIndex);
+
+        buffer.putLongRelease(versionIndex, version + 1);
+        VarHandle.releaseFence();
+
+        buffer.putInt(slotOffset + TYPE_ID_OFFSET, msgTypeId);
+        buffer.putInt(slotOffset + VALUE_LENGTH_OFFSET, length);
+        buffer.putBytes(slotOffset + VALUE_OFFSET, srcBuffer, srcIndex, length);
+
+        buffer.putLongRelease(versionIndex, version + 2);
+
+        keyBuffer.putLong(0, key);
+        transmitter.transmit(msgTypeId, keyBuffer, 0, SIZE_OF_LONG);
+    }
+
+    private int slotOffset(final long key)
+    {
+        final AtomicBuffer buffer = this.buffer;
+        int slotIndex = Hashing.hash(key, mask);
+
+        for (int i = 0; i <= mask; i++)
+        {
+            final int slotOffset = tableOffset + (slotIndex * slotLength);
+            if (0 == buffer.getLong(slotOffset + VERSION_OFFSET))
+            {
+                buffer.putLong(slotOffset + KEY_OFFSET, key);
+                return slotOffset;
+            }
+
+            if (key == buffer.getLong(slotOffset + KEY_OFFSET))
+            {
+                return slotOffset;
+            }
+
+            slotIndex = (slotIndex + 1) & mask;
+        }
+
+        throw new IllegalStateException("key table is full: keyCapacity=" + (mask + 1));
+    }
+}
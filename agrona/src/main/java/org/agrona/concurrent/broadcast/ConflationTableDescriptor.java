@@ -0,0 +1,133 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.broadcast;
+
+import static org.agrona.BitUtil.*;
+
+/**
+ * Layout of a conflating broadcast buffer. The buffer consists of a broadcast buffer, as described by
+ * {@link BroadcastBufferDescriptor}, followed by a table of the latest value for each key transmitted.
+ * <p>
+ * The table is a power of 2 number of slots, each a multiple of {@link org.agrona.BitUtil#CACHE_LINE_LENGTH} in
+ * length, which are assigned to keys by open addressing with linear probing. A slot is empty until its version is
+ * non-zero and its key never changes after that. The version is odd while the value is being updated.
+ * <pre>
+ *   0                   1                   2                   3
+ *   0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1
+ *  +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ *  |                            Version                            |
+ *  |                                                               |
+ *  +---------------------------------------------------------------+
+ *  |                              Key                              |
+ *  |                                                               |
+ *  +---------------------------------------------------------------+
+ *  |                            Type ID                            |
+ *  +---------------------------------------------------------------+
+ *  |                            Length                             |
+ *  +---------------------------------------------------------------+
+ *  |                            Value                             ...
+ * ...                                                              |
+ *  +---------------------------------------------------------------+
+ * </pre>
+ */
+public final class ConflationTableDescriptor
+{
+    /**
+     * Offset within a slot at which the version is stored.
+     */
+    public static final int VERSION_OFFSET = 0;
+
+    /**
+     * Offset within a slot at which the key is stored.
+     */
+    public static final int KEY_OFFSET = VERSION_OFFSET + SIZE_OF_LONG;
+
+    /**
+     * Offset within a slot at which the type of the value is stored.
+     */
+    public static final int TYPE_ID_OFFSET = KEY_OFFSET + SIZE_OF_LONG;
+
+    /**
+     * Offset within a slot at which the length of the value is stored.
+     */
+    public static final int VALUE_LENGTH_OFFSET = TYPE_ID_OFFSET + SIZE_OF_INT;
+
+    /**
+     * Offset within a slot at which the value is stored.
+     */
+    public static final int VALUE_OFFSET = VALUE_LENGTH_OFFSET + SIZE_OF_INT;
+
+    private ConflationTableDescriptor()
+    {
+    }
+
+    /**
+     * Length of a slot in the table for a maximum value length.
+     *
+     * @param maxValueLength maximum length of a value.
+     * @return length of a slot in the table.
+     */
+    public static int slotLength(final int maxValueLength)
+    {
+        return align(VALUE_OFFSET + maxValueLength, CACHE_LINE_LENGTH);
+    }
+
+    /**
+     * Length of the table for a number of keys and maximum value length.
+     *
+     * @param keyCapacity    number of keys the table can hold which must be a power of 2.
+     * @param maxValueLength maximum length of a value.
+     * @return length of the table.
+     */
+    public static int tableLength(final int keyCapacity, final int maxValueLength)
+    {
+        return keyCapacity * slotLength(maxValueLength);
+    }
+
+    /**
+     * Compute the length of buffer required for a conflating broadcast.
+     *
+     * @param capacity       of the broadcast buffer which must be a power of 2.
+     * @param keyCapacity    number of keys the table can hold which must be a power of 2.
+     * @param maxValueLength maximum length of a value.
+     * @return the length of buffer required including the broadcast trailer and table.
+     */
+    public static int bufferLength(final int capacity, final int keyCapacity, final int maxValueLength)
+    {
+        return capacity + BroadcastBufferDescriptor.TRAILER_LENGTH + tableLength(keyCapacity, maxValueLength);
+    }
+
+    /**
+     * Check the configuration of the table is valid.
+     *
+     * @param keyCapacity    number of keys the table can hold.
+     * @param maxValueLength maximum length of a value.
+     * @throws IllegalArgumentException if the key capacity is not a positive power of 2 or the maximum value length
+     *                                  is negative.
+     */
+    public static void checkConfiguration(final int keyCapacity, final int maxValueLength)
+    {
+        if (!isPowerOfTwo(keyCapacity))
+        {
+            throw new IllegalArgumentException("keyCapacity must be a positive power of 2: keyCapacity=" + keyCapacity);
+        }
+
+        if (maxValueLength < 0)
+        {
+            throw new IllegalArgumentException("maxValueLength must not be negative: maxValueLength=" + maxValueLength);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.broadcast;
+
+import org.agrona.concurrent.MessageHandler;
+
+/**
+ * Callback interface for messages which may be handled in place in a broadcast buffer and so can be overwritten
+ * by the transmitter while being handled.
+ *
+ * @see AdaptiveBroadcastReceiver
+ */
+public interface DiscardableMessageHandler extends MessageHandler
+{
+    /**
+     * Called after {@link #onMessage(int, org.agrona.MutableDirectBuffer, int, int)} if the message was overwritten
+     * while being handled so anything read from it must be discarded.
+     */
+    void onDiscard();
+}
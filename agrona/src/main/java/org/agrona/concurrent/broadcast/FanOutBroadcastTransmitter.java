@@ -0,0 +1,184 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.broadcast;
+
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.AtomicBuffer;
+
+/**
+ * Transmit messages to a number of broadcast buffers, which can be of different capacities, in a single call so
+ * that the retention of each buffer can be sized for a different class of {@link BroadcastReceiver}. For example,
+ * a short buffer for fast low latency receivers and a larger one for slower receivers which would otherwise be
+ * lapped.
+ * <p>
+ * A message is encoded once, in place, into the buffer of the first transmitter after a {@link #claim(int, int)} and
+ * then copied to the other buffers on {@link #commit()}.
+ * <p>
+ * <b>Note:</b> This class is not threadsafe. Only one transmitter is allowed per broadcast buffer.
+ */
+public class FanOutBroadcastTransmitter
+{
+    private final int maxMsgLength;
+    private final BroadcastTransmitter[] transmitters;
+    private final AtomicBuffer buffer;
+    private int claimedMsgTypeId;
+    private int claimedOffset = -1;
+    private int claimedLength;
+
+    /**
+     * Construct a fan-out transmitter with a {@link BroadcastTransmitter} for each buffer.
+     *
+     * @param buffers via which messages will be exchanged with the first being the buffer encoded into.
+     * @throws IllegalArgumentException if no buffers are provided.
+     * @throws IllegalStateException    if a buffer capacity is not a power of 2 plus
+     *                                  {@link BroadcastBufferDescriptor#TRAILER_LENGTH} in capacity.
+     */
+    public FanOutBroadcastTransmitter(final AtomicBuffer... buffers)
+    {
+        if (0 == buffers.length)
+        {
+            throw new IllegalArgumentException("at least one buffer is required");
+        }
+
+        transmitters = new BroadcastTransmitter[buffers.length];
+        int maxMsgLength = Integer.MAX_VALUE;
+        for (int i = 0; i < buffers.length; i++)
+        {
+            transmitters[i] = new BroadcastTransmitter(buffers[i]);
+            maxMsgLength = Math.min(maxMsgLength, transmitters[i].maxMsgLength());
+        }
+
+        this.maxMsgLength = maxMsgLength;
+        buffer = transmitters[0].buffer();
+    }
+
+    /**
+     * Number of broadcast buffers transmitted to.
+     *
+     * @return number of broadcast buffers transmitted to.
+     */
+    public int transmitterCount()
+    {
+        return transmitters.length;
+    }
+
+    /**
+     * Get the transmitter for a broadcast buffer in the order the buffers were provided.
+     *
+     * @param index of the transmitter.
+     * @return the transmitter for the broadcast buffer.
+     */
+    public BroadcastTransmitter transmitter(final int index)
+    {
+        return transmitters[index];
+    }
+
+    /**
+     * Get the maximum message length that can be transmitted which is the minimum of all the buffers.
+     *
+     * @return the maximum message length that can be transmitted.
+     */
+    public int maxMsgLength()
+    {
+        return maxMsgLength;
+    }
+
+    /**
+     * Get the buffer of the first transmitter into which claimed messages are encoded.
+     *
+     * @return the buffer of the first transmitter into which claimed messages are encoded.
+     */
+    public AtomicBuffer buffer()
+    {
+        return buffer;
+    }
+
+    /**
+     * Transmit a message to {@link BroadcastReceiver}s via all the broadcast buffers.
+     *
+     * @param msgTypeId type of the message to be transmitted.
+     * @param srcBuffer containing the encoded message to be transmitted.
+     * @param srcIndex  in the source buffer at which the encoded message begins.
+     * @param length    in bytes of the encoded message.
+     * @throws IllegalArgumentException if the msgTypeId is not valid, or if the message length is greater than
+     *                                  {@link #maxMsgLength()}.
+     * @throws IllegalStateException    if a message has been claimed and not committed.
+     */
+    public void transmit(final int msgTypeId, final DirectBuffer srcBuffer, final int srcIndex, final int length)
+    {
+        final int offset = claim(msgTypeId, length);
+        buffer.putBytes(offset, srcBuffer, srcIndex, length);
+        commit();
+    }
+
+    /**
+     * Claim space for a message which is to be encoded into the {@link #buffer()} at the offset returned and then
+     * transmitted to all the broadcast buffers with {@link #commit()}.
+     *
+     * @param msgTypeId type of the message to be transmitted.
+     * @param length    in bytes of the encoded message.
+     * @return the offset in the {@link #buffer()} at which the encoded message is to be written.
+     * @throws IllegalArgumentException if the msgTypeId is not valid, or if the message length is greater than
+     *                                  {@link #maxMsgLength()}.
+     * @throws IllegalStateException    if a message has been claimed and not committed.
+     */
+    public int claim(final int msgTypeId, final int length)
+    {
+        if (-1 != claimedOffset)
+        {
+            throw new IllegalStateException("claimed message not committed");
+        }
+
+        if (length > maxMsgLength)
+        {
+            throw new IllegalArgumentException(
+                "encoded message exceeds maxMsgLength of " + maxMsgLength + ", length=" + length);
+        }
+
+        final int offset = transmitters[0].claim(msgTypeId, length);
+        claimedMsgTypeId = msgTypeId;
+        claimedLength = length;
+        claimedOffset = offset;
+
+        return offset;
+    }
+
+    /**
+     * Copy the claimed message to the other broadcast buffers and commit it to all of them. Has no effect if no
+     * message has been claimed.
+     */
+    public void commit()
+    {
+        final int claimedOffset = this.claimedOffset;
+        if (-1 != claimedOffset)
+        {
+            final BroadcastTransmitter[] transmitters = this.transmitters;
+            final int msgTypeId = claimedMsgTypeId;
+            final int length = claimedLength;
+
+            transmitters[0].commit();
+            for (int i = 1; i < transmitters.length; i++)
+            {
+                final BroadcastTransmitter transmitter = transmitters[i];
+                final int offset = transmitter.claim(msgTypeId, length);
+                transmitter.buffer().putBytes(offset, buffer, claimedOffset, length);
+                transmitter.commit();
+            }
+
+            this.claimedOffset = -1;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.broadcast;
+
+import org.agrona.MutableDirectBuffer;
+
+/**
+ * Callback interface for receiving the latest value of a key from a {@link ConflatingBroadcastReceiver}.
+ */
+@FunctionalInterface
+public interface KeyedMessageHandler
+{
+    /**
+     * Called for the processing of the latest value of a key.
+     *
+     * @param key       to which the value belongs.
+     * @param msgTypeId type of the encoded value.
+     * @param buffer    containing the encoded value.
+     * @param index     at which the encoded value begins.
+     * @param length    in bytes of the encoded value.
+     */
+    void onMessage(long key, int msgTypeId, MutableDirectBuffer buffer, int index, int length);
+}
@@ -0,0 +1,299 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.AtomicBuffer;
+import org.agrona.concurrent.ControlledMessageHandler;
+import org.agrona.concurrent.MessageHandler;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import static org.agrona.concurrent.ControlledMessageHandler.Action.ABORT;
+import static org.agrona.concurrent.ControlledMessageHandler.Action.BREAK;
+import static org.agrona.concurrent.ringbuffer.RecordDescriptor.HEADER_LENGTH;
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.TRAILER_LENGTH;
+
+/**
+ * Base for ring-buffers whose underlying buffer is divided into a number of equal length lanes, each of which is
+ * laid out as a {@link ManyToOneRingBuffer} with its own trailer, leaving subclasses to select the lanes to which
+ * producers write and from which the consumer reads.
+ * <p>
+ * Indexes claimed in a lane are offset by the start of the lane so they are relative to {@link #buffer()}. The
+ * positions and size reported are the sums for all lanes and the heartbeat and correlation counter are those of the
+ * first lane.
+ */
+abstract class AbstractLanedRingBuffer implements RingBuffer
+{
+    final int capacity;
+    final int laneLength;
+    final AtomicBuffer buffer;
+    final ManyToOneRingBuffer[] lanes;
+    final ControlledHandlerAdapter controlledHandlerAdapter = new ControlledHandlerAdapter();
+
+    AbstractLanedRingBuffer(final AtomicBuffer buffer, final int laneCount)
+    {
+        if (laneCount < 1)
+        {
+            throw new IllegalArgumentException("invalid laneCount=" + laneCount);
+        }
+
+        final int bufferLength = buffer.capacity();
+        if (0 != bufferLength % laneCount)
+        {
+            throw new IllegalArgumentException(
+                "capacity must be a multiple of laneCount: capacity=" + bufferLength + ", laneCount=" + laneCount);
+        }
+
+        this.buffer = buffer;
+        laneLength = bufferLength / laneCount;
+        lanes = new ManyToOneRingBuffer[laneCount];
+
+        for (int i = 0; i < laneCount; i++)
+        {
+            lanes[i] = new ManyToOneRingBuffer(new UnsafeBuffer(buffer, i * laneLength, laneLength));
+        }
+
+        capacity = lanes[0].capacity() * laneCount;
+    }
+
+    /**
+     * Compute the length of buffer required for a given number of lanes and capacity of each lane.
+     *
+     * @param laneCount    number of lanes into which the buffer is divided.
+     * @param laneCapacity capacity of each lane which must be a power of 2.
+     * @return the length of buffer required including the trailer for each lane.
+     */
+    static int lanedBufferLength(final int laneCount, final int laneCapacity)
+    {
+        return laneCount * (laneCapacity + TRAILER_LENGTH);
+    }
+
+    /**
+     * Number of lanes into which the buffer is divided.
+     *
+     * @return number of lanes into which the buffer is divided.
+     */
+    public int laneCount()
+    {
+        return lanes.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This is the sum of the capacity of all lanes.
+     */
+    @Override
+    public int capacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void commit(final int index)
+    {
+        final int laneIndex = laneIndex(index);
+        lanes[laneIndex].commit(index - (laneIndex * laneLength));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void abort(final int index)
+    {
+        final int laneIndex = laneIndex(index);
+        lanes[laneIndex].abort(index - (laneIndex * laneLength));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(final MessageHandler handler)
+    {
+        return read(handler, Integer.MAX_VALUE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int controlledRead(final ControlledMessageHandler handler)
+    {
+        return controlledRead(handler, Integer.MAX_VALUE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int maxMsgLength()
+    {
+        return lanes[0].maxMsgLength();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The correlation counter of the first lane is shared by all lanes.
+     */
+    @Override
+    public long nextCorrelationId()
+    {
+        return lanes[0].nextCorrelationId();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AtomicBuffer buffer()
+    {
+        return buffer;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The heartbeat is stored in the trailer of the first lane.
+     */
+    @Override
+    public void consumerHeartbeatTime(final long time)
+    {
+        lanes[0].consumerHeartbeatTime(time);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long consumerHeartbeatTime()
+    {
+        return lanes[0].consumerHeartbeatTime();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This is the sum of the producer positions of all lanes.
+     */
+    @Override
+    public long producerPosition()
+    {
+        long position = 0;
+        for (final ManyToOneRingBuffer lane : lanes)
+        {
+            position += lane.producerPosition();
+        }
+
+        return position;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This is the sum of the consumer positions of all lanes.
+     */
+    @Override
+    public long consumerPosition()
+    {
+        long position = 0;
+        for (final ManyToOneRingBuffer lane : lanes)
+        {
+            position += lane.consumerPosition();
+        }
+
+        return position;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This is the sum of the size of all lanes.
+     */
+    @Override
+    public int size()
+    {
+        int size = 0;
+        for (final ManyToOneRingBuffer lane : lanes)
+        {
+            size += lane.size();
+        }
+
+        return size;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * All lanes are checked.
+     */
+    @Override
+    public boolean unblock()
+    {
+        boolean unblocked = false;
+        for (final ManyToOneRingBuffer lane : lanes)
+        {
+            unblocked |= lane.unblock();
+        }
+
+        return unblocked;
+    }
+
+    final int claimInLane(final int laneIndex, final int msgTypeId, final int length)
+    {
+        final int index = lanes[laneIndex].tryClaim(msgTypeId, length);
+
+        return INSUFFICIENT_CAPACITY == index ? index : (laneIndex * laneLength) + index;
+    }
+
+    final int laneIndex(final int index)
+    {
+        final int laneIndex = index / laneLength;
+        if (index < HEADER_LENGTH || laneIndex >= lanes.length)
+        {
+            throw new IllegalArgumentException("invalid message index " + index);
+        }
+
+        return laneIndex;
+    }
+
+    static final class ControlledHandlerAdapter implements ControlledMessageHandler
+    {
+        ControlledMessageHandler delegate;
+        Action lastAction;
+
+        @Override
+        public Action onMessage(
+            final int msgTypeId, final MutableDirectBuffer buffer, final int index, final int length)
+        {
+            final Action action = delegate.onMessage(msgTypeId, buffer, index, length);
+            lastAction = action;
+
+            return action;
+        }
+
+        boolean isStopped()
+        {
+            final Action lastAction = this.lastAction;
+            return BREAK == lastAction || ABORT == lastAction;
+        }
+    }
+}
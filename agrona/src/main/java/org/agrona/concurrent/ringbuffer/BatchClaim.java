@@ -0,0 +1,259 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.concurrent.AtomicBuffer;
+
+import static org.agrona.BitUtil.align;
+import static org.agrona.concurrent.ringbuffer.RecordDescriptor.*;
+import static org.agrona.concurrent.ringbuffer.RingBuffer.INSUFFICIENT_CAPACITY;
+import static org.agrona.concurrent.ringbuffer.RingBuffer.PADDING_MSG_TYPE_ID;
+
+/**
+ * Cursor over a contiguous block of space claimed from a {@link ManyToOneRingBuffer} via
+ * {@link ManyToOneRingBuffer#tryClaimBatch(BatchClaim, int)} so that multiple records can be written with a single
+ * update of the producer tail.
+ * <p>
+ * Records are written in place, in order, by calling {@link #tryClaim(int, int)} for each one and then writing the
+ * encoded message at the returned index. Once all records have been written the batch is published with
+ * {@link #commit()}, or discarded with {@link #abort()}. Any space not used by records is turned into padding on
+ * commit. The records use the {@link RecordDescriptor} layout so consumers read them like any other record.
+ * <p>
+ * The consumer cannot progress past the start of the batch until it is committed or aborted. A batch claim is
+ * reusable once committed or aborted and is not thread safe.
+ * <p>
+ * An example of writing a batch:
+ * <pre>
+ * {@code
+ *     final ManyToOneRingBuffer ringBuffer = ...;
+ *     final BatchClaim batchClaim = new BatchClaim();
+ *
+ *     if (ringBuffer.tryClaimBatch(batchClaim, BatchClaim.recordLength(messageLength) * count))
+ *     {
+ *         try
+ *         {
+ *             final AtomicBuffer buffer = batchClaim.buffer();
+ *             for (int i = 0; i < count; i++)
+ *             {
+ *                 final int index = batchClaim.tryClaim(msgTypeId, messageLength);
+ *                 // Work with the buffer directly using the index
+ *                 ...
+ *             }
+ *
+ *             batchClaim.commit();
+ *         }
+ *         catch (final Exception ex)
+ *         {
+ *             batchClaim.abort(); // allow consumer to proceed
+ *             ...
+ *         }
+ *     }
+ * }
+ * </pre>
+ */
+public final class BatchClaim
+{
+    private AtomicBuffer buffer;
+    private int startIndex;
+    private int position;
+    private int limit;
+    private int recordCount;
+
+    /**
+     * Construct a batch claim which can be used with {@link ManyToOneRingBuffer#tryClaimBatch(BatchClaim, int)}.
+     */
+    public BatchClaim()
+    {
+    }
+
+    /**
+     * The length of space a record will occupy in a batch, including header and alignment, for a given message length.
+     * This can be used to compute the length to claim for a batch.
+     *
+     * @param length of the encoded message.
+     * @return the length of space the record will occupy in a batch.
+     */
+    public static int recordLength(final int length)
+    {
+        return align(length + HEADER_LENGTH, ALIGNMENT);
+    }
+
+    /**
+     * Is the batch claim currently holding claimed space which has not yet been committed or aborted.
+     *
+     * @return true if the batch claim is holding claimed space.
+     */
+    public boolean isActive()
+    {
+        return null != buffer;
+    }
+
+    /**
+     * The underlying buffer of the ring-buffer into which the records of the batch are written.
+     *
+     * @return the underlying buffer of the ring-buffer or {@code null} if not active.
+     */
+    public AtomicBuffer buffer()
+    {
+        return buffer;
+    }
+
+    /**
+     * Number of records claimed so far within the batch.
+     *
+     * @return number of records claimed so far within the batch.
+     */
+    public int recordCount()
+    {
+        return recordCount;
+    }
+
+    /**
+     * Remaining space in bytes within the batch available for records, including their headers.
+     *
+     * @return remaining space in bytes within the batch available for records.
+     */
+    public int remaining()
+    {
+        return limit - position;
+    }
+
+    /**
+     * Claim the next record within the batch into which a message can be written with zero copy semantics.
+     * The record will not be visible to the consumer until the batch is committed.
+     *
+     * @param msgTypeId type of the message encoding. Will be written into the header.
+     * @param length    of the message in bytes.
+     * @return index into the underlying buffer at which the encoded message begins, otherwise returns
+     * {@link RingBuffer#INSUFFICIENT_CAPACITY} indicating that there is not enough remaining space in the batch.
+     * @throws IllegalArgumentException if the {@code msgTypeId} is less than {@code 1} or {@code length} is negative.
+     * @throws IllegalStateException    if the batch claim is not active.
+     */
+    public int tryClaim(final int msgTypeId, final int length)
+    {
+        checkTypeId(msgTypeId);
+        if (length < 0)
+        {
+            throw new IllegalArgumentException("invalid message length=" + length);
+        }
+
+        final AtomicBuffer buffer = checkActive();
+        final int recordIndex = position;
+        final int recordLength = length + HEADER_LENGTH;
+        final int alignedRecordLength = align(recordLength, ALIGNMENT);
+
+        if (alignedRecordLength > (limit - recordIndex))
+        {
+            return INSUFFICIENT_CAPACITY;
+        }
+
+        buffer.putInt(typeOffset(recordIndex), msgTypeId);
+        buffer.putInt(lengthOffset(recordIndex), -recordLength);
+        position = recordIndex + alignedRecordLength;
+        ++recordCount;
+
+        return encodedMsgOffset(recordIndex);
+    }
+
+    /**
+     * Commit all records claimed within the batch thus making them available to the consumer. Unused space at the
+     * end of the batch is turned into padding.
+     * <p>
+     * The header of the first record is published last so the consumer observes the batch as a whole.
+     *
+     * @throws IllegalStateException if the batch claim is not active.
+     */
+    public void commit()
+    {
+        final AtomicBuffer buffer = checkActive();
+        final int startIndex = this.startIndex;
+        final int position = this.position;
+        final int limit = this.limit;
+
+        if (0 == recordCount)
+        {
+            publishPadding(buffer, startIndex, limit - startIndex);
+        }
+        else
+        {
+            final int firstRecordLength = -buffer.getInt(lengthOffset(startIndex));
+            int recordIndex = startIndex + align(firstRecordLength, ALIGNMENT);
+
+            while (recordIndex < position)
+            {
+                final int recordLength = -buffer.getInt(lengthOffset(recordIndex));
+                buffer.putIntRelease(lengthOffset(recordIndex), recordLength);
+                recordIndex += align(recordLength, ALIGNMENT);
+            }
+
+            if (position < limit)
+            {
+                publishPadding(buffer, position, limit - position);
+            }
+
+            buffer.putIntRelease(lengthOffset(startIndex), firstRecordLength);
+        }
+
+        reset();
+    }
+
+    /**
+     * Abort the batch and allow the consumer to proceed past the claimed space which is turned into padding.
+     *
+     * @throws IllegalStateException if the batch claim is not active.
+     */
+    public void abort()
+    {
+        final AtomicBuffer buffer = checkActive();
+        publishPadding(buffer, startIndex, limit - startIndex);
+        reset();
+    }
+
+    void wrap(final AtomicBuffer buffer, final int index, final int length)
+    {
+        this.buffer = buffer;
+        startIndex = index;
+        position = index;
+        limit = index + length;
+        recordCount = 0;
+    }
+
+    private AtomicBuffer checkActive()
+    {
+        final AtomicBuffer buffer = this.buffer;
+        if (null == buffer)
+        {
+            throw new IllegalStateException("batch claim is not active");
+        }
+
+        return buffer;
+    }
+
+    private void reset()
+    {
+        buffer = null;
+        startIndex = 0;
+        position = 0;
+        limit = 0;
+        recordCount = 0;
+    }
+
+    private static void publishPadding(final AtomicBuffer buffer, final int recordIndex, final int length)
+    {
+        buffer.putInt(typeOffset(recordIndex), PADDING_MSG_TYPE_ID);
+        buffer.putIntRelease(lengthOffset(recordIndex), length);
+    }
+}
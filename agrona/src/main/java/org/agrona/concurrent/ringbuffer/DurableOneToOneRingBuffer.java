@@ -0,0 +1,544 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.checksum.Checksum;
+import org.agrona.concurrent.AtomicBuffer;
+import org.agrona.concurrent.ControlledMessageHandler;
+import org.agrona.concurrent.MessageHandler;
+
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+
+import static org.agrona.BitUtil.SIZE_OF_INT;
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+import static org.agrona.BitUtil.align;
+import static org.agrona.concurrent.ringbuffer.RecordDescriptor.*;
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.HEAD_POSITION_OFFSET;
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.TAIL_POSITION_OFFSET;
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.TRAILER_LENGTH;
+
+/**
+ * A {@link OneToOneRingBuffer} which can be used as a crash-recoverable journal when the underlying buffer is a
+ * memory-mapped file, e.g. created via {@link org.agrona.IoUtil#mapNewFile(java.io.File, long)}.
+ * <p>
+ * Each encoded message is prefixed by {@link #MESSAGE_PREFIX_LENGTH} bytes holding a {@link Checksum} of the message
+ * followed by a copy of the message type id. The prefix is hidden from handlers and claims so the message is
+ * exchanged as for any other {@link RingBuffer}. After a crash {@link #recover()} scans from the consumer position and
+ * truncates any torn or partially written record along with all that follow it.
+ * <p>
+ * Writes can be made durable by calling {@link #force()} from the producer or automatically once a threshold of
+ * bytes has been written since the last force. Forcing is a no-op when the buffer is not a {@link MappedByteBuffer}.
+ * <p>
+ * <b>Note:</b> The consumer position is not forced so messages may be redelivered after recovery from an operating
+ * system crash.
+ */
+public final class DurableOneToOneRingBuffer implements RingBuffer
+{
+    /**
+     * Offset within the encoded message of the checksum of the message.
+     */
+    public static final int CHECKSUM_OFFSET = 0;
+
+    /**
+     * Offset within the encoded message of the copy of the message type id.
+     */
+    public static final int MSG_TYPE_ID_CHECK_OFFSET = CHECKSUM_OFFSET + SIZE_OF_INT;
+
+    /**
+     * Length of the prefix to each message which keeps the message aligned to {@link RecordDescriptor#ALIGNMENT}.
+     */
+    public static final int MESSAGE_PREFIX_LENGTH = SIZE_OF_LONG;
+
+    private final int capacity;
+    private final int maxMsgLength;
+    private final int forceThresholdLength;
+    private final int wrapAdjustment;
+    private final AtomicBuffer buffer;
+    private final OneToOneRingBuffer ringBuffer;
+    private final Checksum checksum;
+    private final MappedByteBuffer mappedByteBuffer;
+    private final HandlerAdapter handlerAdapter = new HandlerAdapter();
+    private final ControlledHandlerAdapter controlledHandlerAdapter = new ControlledHandlerAdapter();
+    private long forcedPosition;
+
+    /**
+     * Construct a new durable ring-buffer which is only forced explicitly via {@link #force()}.
+     *
+     * @param buffer   via which events will be exchanged which must be off-heap.
+     * @param checksum to compute the checksum of each message.
+     * @see #DurableOneToOneRingBuffer(AtomicBuffer, Checksum, int)
+     */
+    public DurableOneToOneRingBuffer(final AtomicBuffer buffer, final Checksum checksum)
+    {
+        this(buffer, checksum, 0);
+    }
+
+    /**
+     * Construct a new durable ring-buffer. The underlying buffer must a power of 2 in size plus sufficient space
+     * for the {@link RingBufferDescriptor#TRAILER_LENGTH}.
+     *
+     * @param buffer               via which events will be exchanged which must be off-heap.
+     * @param checksum             to compute the checksum of each message.
+     * @param forceThresholdLength of bytes written since the last force after which the producer will force, or
+     *                             {@code 0} to only force explicitly.
+     * @throws IllegalArgumentException if the buffer is on-heap, the buffer capacity is not a power of 2 plus
+     *                                  {@link RingBufferDescriptor#TRAILER_LENGTH}, or if the threshold is negative.
+     */
+    public DurableOneToOneRingBuffer(
+        final AtomicBuffer buffer, final Checksum checksum, final int forceThresholdLength)
+    {
+        if (null != buffer.byteArray())
+        {
+            throw new IllegalArgumentException("buffer must be off-heap");
+        }
+
+        if (forceThresholdLength < 0)
+        {
+            throw new IllegalArgumentException("invalid forceThresholdLength=" + forceThresholdLength);
+        }
+
+        ringBuffer = new OneToOneRingBuffer(buffer);
+        this.buffer = buffer;
+        this.checksum = checksum;
+        this.forceThresholdLength = forceThresholdLength;
+        capacity = ringBuffer.capacity();
+        maxMsgLength = Math.max(0, ringBuffer.maxMsgLength() - MESSAGE_PREFIX_LENGTH);
+        forcedPosition = ringBuffer.producerPosition();
+
+        final ByteBuffer byteBuffer = buffer.byteBuffer();
+        mappedByteBuffer = byteBuffer instanceof MappedByteBuffer ? (MappedByteBuffer)byteBuffer : null;
+        wrapAdjustment = buffer.wrapAdjustment();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int capacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean write(final int msgTypeId, final DirectBuffer srcBuffer, final int offset, final int length)
+    {
+        checkMsgLength(length);
+
+        final int prefixIndex = ringBuffer.tryClaim(msgTypeId, length + MESSAGE_PREFIX_LENGTH);
+        if (INSUFFICIENT_CAPACITY == prefixIndex)
+        {
+            return false;
+        }
+
+        buffer.putBytes(prefixIndex + MESSAGE_PREFIX_LENGTH, srcBuffer, offset, length);
+        putPrefix(prefixIndex, msgTypeId, length);
+        ringBuffer.commit(prefixIndex);
+        checkForceThreshold();
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int tryClaim(final int msgTypeId, final int length)
+    {
+        checkMsgLength(length);
+
+        final int prefixIndex = ringBuffer.tryClaim(msgTypeId, length + MESSAGE_PREFIX_LENGTH);
+
+        return INSUFFICIENT_CAPACITY == prefixIndex ? prefixIndex : prefixIndex + MESSAGE_PREFIX_LENGTH;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The checksum of the message is computed on commit.
+     */
+    @Override
+    public void commit(final int index)
+    {
+        final int prefixIndex = computePrefixIndex(index);
+        final AtomicBuffer buffer = this.buffer;
+        final int recordIndex = prefixIndex - HEADER_LENGTH;
+        final int recordLength = buffer.getInt(lengthOffset(recordIndex));
+
+        if (recordLength < 0)
+        {
+            putPrefix(prefixIndex, buffer.getInt(typeOffset(recordIndex)), -recordLength - recordPrefixLength());
+        }
+
+        ringBuffer.commit(prefixIndex);
+        checkForceThreshold();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void abort(final int index)
+    {
+        ringBuffer.abort(computePrefixIndex(index));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(final MessageHandler handler)
+    {
+        return read(handler, Integer.MAX_VALUE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(final MessageHandler handler, final int messageCountLimit)
+    {
+        final HandlerAdapter handlerAdapter = this.handlerAdapter;
+        handlerAdapter.delegate = handler;
+        try
+        {
+            return ringBuffer.read(handlerAdapter, messageCountLimit);
+        }
+        finally
+        {
+            handlerAdapter.delegate = null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int controlledRead(final ControlledMessageHandler handler)
+    {
+        return controlledRead(handler, Integer.MAX_VALUE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int controlledRead(final ControlledMessageHandler handler, final int messageCountLimit)
+    {
+        final ControlledHandlerAdapter controlledHandlerAdapter = this.controlledHandlerAdapter;
+        controlledHandlerAdapter.delegate = handler;
+        try
+        {
+            return ringBuffer.controlledRead(controlledHandlerAdapter, messageCountLimit);
+        }
+        finally
+        {
+            controlledHandlerAdapter.delegate = null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int maxMsgLength()
+    {
+        return maxMsgLength;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long nextCorrelationId()
+    {
+        return ringBuffer.nextCorrelationId();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AtomicBuffer buffer()
+    {
+        return buffer;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void consumerHeartbeatTime(final long time)
+    {
+        ringBuffer.consumerHeartbeatTime(time);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long consumerHeartbeatTime()
+    {
+        return ringBuffer.consumerHeartbeatTime();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long producerPosition()
+    {
+        return ringBuffer.producerPosition();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long consumerPosition()
+    {
+        return ringBuffer.consumerPosition();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size()
+    {
+        return ringBuffer.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean unblock()
+    {
+        return ringBuffer.unblock();
+    }
+
+    /**
+     * The producer position up to which the ring-buffer has been forced to storage by this instance.
+     *
+     * @return the producer position up to which the ring-buffer has been forced to storage.
+     */
+    public long forcedPosition()
+    {
+        return forcedPosition;
+    }
+
+    /**
+     * Force the records written since the last force, and the trailer, to storage when the underlying buffer is a
+     * {@link MappedByteBuffer}. This must only be called from the producer thread and not while a claim is
+     * outstanding.
+     *
+     * @return the producer position up to which the ring-buffer has been forced.
+     */
+    public long force()
+    {
+        final long tail = ringBuffer.producerPosition();
+        final long forcedPosition = this.forcedPosition;
+
+        if (tail > forcedPosition)
+        {
+            final MappedByteBuffer mappedByteBuffer = this.mappedByteBuffer;
+            if (null != mappedByteBuffer)
+            {
+                final int capacity = this.capacity;
+                final int wrapAdjustment = this.wrapAdjustment;
+                final long length = tail - forcedPosition;
+
+                if (length >= capacity)
+                {
+                    mappedByteBuffer.force(wrapAdjustment, capacity);
+                }
+                else
+                {
+                    final int index = (int)forcedPosition & (capacity - 1);
+                    final int toBufferEndLength = capacity - index;
+
+                    if (length <= toBufferEndLength)
+                    {
+                        mappedByteBuffer.force(wrapAdjustment + index, (int)length);
+                    }
+                    else
+                    {
+                        mappedByteBuffer.force(wrapAdjustment + index, toBufferEndLength);
+                        mappedByteBuffer.force(wrapAdjustment, (int)length - toBufferEndLength);
+                    }
+                }
+
+                mappedByteBuffer.force(wrapAdjustment + capacity, TRAILER_LENGTH);
+            }
+
+            this.forcedPosition = tail;
+        }
+
+        return tail;
+    }
+
+    /**
+     * Recover the ring-buffer after a crash by scanning the records from the consumer position to the producer
+     * position, verifying each against its checksum. The producer position is truncated to the end of the last
+     * valid record and the space after it is zeroed. This must only be called when no producer or consumer is active.
+     *
+     * @return the number of bytes truncated from the producer position.
+     */
+    public long recover()
+    {
+        final AtomicBuffer buffer = this.buffer;
+        final int capacity = this.capacity;
+        final int mask = capacity - 1;
+        final int tailPositionIndex = capacity + TAIL_POSITION_OFFSET;
+        final long head = buffer.getLongVolatile(capacity + HEAD_POSITION_OFFSET);
+        final long tail = buffer.getLongVolatile(tailPositionIndex);
+        long position = head;
+
+        while (position < tail)
+        {
+            final int recordIndex = (int)position & mask;
+            final int recordLength = buffer.getInt(lengthOffset(recordIndex));
+            final int alignedLength = align(recordLength, ALIGNMENT);
+
+            if (recordLength < HEADER_LENGTH ||
+                alignedLength > (capacity - recordIndex) ||
+                alignedLength > (tail - position) ||
+                !isValidRecord(buffer, recordIndex, recordLength))
+            {
+                break;
+            }
+
+            position += alignedLength;
+        }
+
+        final long truncatedLength = tail - position;
+        if (truncatedLength > 0)
+        {
+            final int index = (int)position & mask;
+            final int toBufferEndLength = capacity - index;
+            final int length = (int)truncatedLength;
+
+            if (length <= toBufferEndLength)
+            {
+                buffer.setMemory(index, length, (byte)0);
+            }
+            else
+            {
+                buffer.setMemory(index, toBufferEndLength, (byte)0);
+                buffer.setMemory(0, length - toBufferEndLength, (byte)0);
+            }
+
+            buffer.putLongRelease(tailPositionIndex, position);
+        }
+
+        forcedPosition = Math.min(forcedPosition, position);
+
+        return truncatedLength;
+    }
+
+    private boolean isValidRecord(final AtomicBuffer buffer, final int recordIndex, final int recordLength)
+    {
+        final int msgTypeId = buffer.getInt(typeOffset(recordIndex));
+        if (PADDING_MSG_TYPE_ID == msgTypeId)
+        {
+            return true;
+        }
+
+        final int prefixIndex = encodedMsgOffset(recordIndex);
+        final int length = recordLength - recordPrefixLength();
+
+        return length >= 0 &&
+            msgTypeId == buffer.getInt(prefixIndex + MSG_TYPE_ID_CHECK_OFFSET) &&
+            buffer.getInt(prefixIndex + CHECKSUM_OFFSET) ==
+            checksum.compute(buffer.addressOffset(), prefixIndex + MESSAGE_PREFIX_LENGTH, length);
+    }
+
+    private void putPrefix(final int prefixIndex, final int msgTypeId, final int length)
+    {
+        final AtomicBuffer buffer = this.buffer;
+        buffer.putInt(prefixIndex + CHECKSUM_OFFSET, checksum.compute(
+            buffer.addressOffset(), prefixIndex + MESSAGE_PREFIX_LENGTH, length));
+        buffer.putInt(prefixIndex + MSG_TYPE_ID_CHECK_OFFSET, msgTypeId);
+    }
+
+    private void checkForceThreshold()
+    {
+        final int forceThresholdLength = this.forceThresholdLength;
+        if (forceThresholdLength > 0 && (ringBuffer.producerPosition() - forcedPosition) >= forceThresholdLength)
+        {
+            force();
+        }
+    }
+
+    private void checkMsgLength(final int length)
+    {
+        if (length < 0)
+        {
+            throw new IllegalArgumentException("invalid message length=" + length);
+        }
+        else if (length > maxMsgLength)
+        {
+            throw new IllegalArgumentException(
+                "encoded message exceeds maxMsgLength=" + maxMsgLength + ", length=" + length);
+        }
+    }
+
+    private static int computePrefixIndex(final int index)
+    {
+        final int prefixIndex = index - MESSAGE_PREFIX_LENGTH;
+        if (prefixIndex < HEADER_LENGTH)
+        {
+            throw new IllegalArgumentException("invalid message index " + index);
+        }
+
+        return prefixIndex;
+    }
+
+    private static int recordPrefixLength()
+    {
+        return HEADER_LENGTH + MESSAGE_PREFIX_LENGTH;
+    }
+
+    private static final class HandlerAdapter implements MessageHandler
+    {
+        private MessageHandler delegate;
+
+        @Override
+        public void onMessage(final int msgTypeId, final MutableDirectBuffer buffer, final int index, final int length)
+        {
+            delegate.onMessage(msgTypeId, buffer, index + MESSAGE_PREFIX_LENGTH, length - MESSAGE_PREFIX_LENGTH);
+        }
+    }
+
+    private static final class ControlledHandlerAdapter implements ControlledMessageHandler
+    {
+        private ControlledMessageHandler delegate;
+
+        @Override
+        public Action onMessage(
+            final int msgTypeId, final MutableDirectBuffer buffer, final int index, final int length)
+        {
+            return delegate.onMessage(
+                msgTypeId, buffer, index + MESSAGE_PREFIX_LENGTH, length - MESSAGE_PREFIX_LENGTH);
+        }
+    }
+}
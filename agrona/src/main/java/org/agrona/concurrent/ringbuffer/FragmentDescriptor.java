@@ -0,0 +1,116 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import static org.agrona.BitUtil.SIZE_OF_INT;
+
+/**
+ * Description of the structure of fragments written by a {@link FragmentingWriter} for messages which exceed the
+ * {@link RingBuffer#maxMsgLength()} and are reassembled by a {@link ReassemblingMessageHandler}.
+ * <p>
+ * Fragments are identified by flags in the upper bits of the message type id of the record leaving the lower bits
+ * for the message type id of the whole message. Messages which fit in a single record are written without flags or
+ * a fragment header.
+ * <pre>
+ *   0                   1                   2                   3
+ *   0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1
+ *  +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ *  |0|F|B|E|                    Type                               |
+ *  +-+-+-+-+-------------------------------------------------------+
+ * </pre>
+ * The encoded message of a fragment record begins with a header identifying the stream of fragments, so that
+ * fragments from different producers can be interleaved, and the offset of the fragment within the whole message.
+ * <pre>
+ *   0                   1                   2                   3
+ *   0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1
+ *  +-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+-+
+ *  |                          Stream Id                            |
+ *  +---------------------------------------------------------------+
+ *  |                       Fragment Offset                         |
+ *  +---------------------------------------------------------------+
+ *  |                         Fragment                             ...
+ * ...                                                              |
+ *  +---------------------------------------------------------------+
+ * </pre>
+ */
+public final class FragmentDescriptor
+{
+    /**
+     * Flag set in the message type id of a record which is a fragment of a larger message.
+     */
+    public static final int FRAGMENT_FLAG = 0x4000_0000;
+
+    /**
+     * Flag set in the message type id of the first fragment of a message.
+     */
+    public static final int BEGIN_FRAGMENT_FLAG = 0x2000_0000;
+
+    /**
+     * Flag set in the message type id of the last fragment of a message.
+     */
+    public static final int END_FRAGMENT_FLAG = 0x1000_0000;
+
+    /**
+     * Mask for the message type id of the whole message in the message type id of a fragment.
+     */
+    public static final int MSG_TYPE_ID_MASK = 0x0FFF_FFFF;
+
+    /**
+     * Offset within the encoded message of a fragment at which the stream id field begins.
+     */
+    public static final int STREAM_ID_OFFSET = 0;
+
+    /**
+     * Offset within the encoded message of a fragment at which the fragment offset field begins.
+     */
+    public static final int FRAGMENT_OFFSET_OFFSET = STREAM_ID_OFFSET + SIZE_OF_INT;
+
+    /**
+     * Length of the header which begins the encoded message of a fragment.
+     */
+    public static final int FRAGMENT_HEADER_LENGTH = FRAGMENT_OFFSET_OFFSET + SIZE_OF_INT;
+
+    private FragmentDescriptor()
+    {
+    }
+
+    /**
+     * Is the message type id of a record that of a fragment.
+     *
+     * @param msgTypeId of the record.
+     * @return true if the record is a fragment of a larger message.
+     */
+    public static boolean isFragment(final int msgTypeId)
+    {
+        return 0 != (msgTypeId & FRAGMENT_FLAG);
+    }
+
+    /**
+     * Check that a message type id can be used for messages which may be fragmented.
+     *
+     * @param msgTypeId to check.
+     * @throws IllegalArgumentException if the message type id is less than {@code 1} or greater than
+     *                                  {@link #MSG_TYPE_ID_MASK}.
+     */
+    public static void checkMsgTypeId(final int msgTypeId)
+    {
+        if (msgTypeId < 1 || msgTypeId > MSG_TYPE_ID_MASK)
+        {
+            throw new IllegalArgumentException("message type id must be in the range 1.." + MSG_TYPE_ID_MASK +
+                ": msgTypeId=" + msgTypeId);
+        }
+    }
+}
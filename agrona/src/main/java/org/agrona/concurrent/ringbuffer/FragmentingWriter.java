@@ -0,0 +1,181 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.AtomicBuffer;
+
+import static org.agrona.concurrent.ringbuffer.FragmentDescriptor.*;
+import static org.agrona.concurrent.ringbuffer.RingBuffer.INSUFFICIENT_CAPACITY;
+
+/**
+ * Writer of messages to a {@link RingBuffer} which splits messages that exceed the {@link RingBuffer#maxMsgLength()}
+ * into ordered fragments, as described by {@link FragmentDescriptor}, to be reassembled by a
+ * {@link ReassemblingMessageHandler}. Messages which fit in a single record are written as is.
+ * <p>
+ * When the ring-buffer fills part way through writing the fragments of a message then {@link #write(int,
+ * DirectBuffer, int, int)} returns false and must be called again with the same message to continue from the next
+ * fragment, or {@link #abandon()} can be called to give up on the message.
+ * <p>
+ * Each producer must have its own writer with a stream id which is unique amongst the producers of the ring-buffer.
+ * A writer is not thread safe.
+ */
+public final class FragmentingWriter
+{
+    private final int streamId;
+    private final int maxFragmentLength;
+    private final int maxMsgLength;
+    private final RingBuffer ringBuffer;
+    private int pendingMsgTypeId;
+    private int pendingLength;
+    private int pendingOffset;
+
+    /**
+     * Construct a writer for a ring-buffer.
+     *
+     * @param ringBuffer to which messages are written.
+     * @param streamId   unique amongst the producers of the ring-buffer to identify the fragments of this writer.
+     * @throws IllegalArgumentException if the {@link RingBuffer#maxMsgLength()} is not greater than
+     *                                  {@link FragmentDescriptor#FRAGMENT_HEADER_LENGTH}.
+     */
+    public FragmentingWriter(final RingBuffer ringBuffer, final int streamId)
+    {
+        maxMsgLength = ringBuffer.maxMsgLength();
+        if (maxMsgLength <= FRAGMENT_HEADER_LENGTH)
+        {
+            throw new IllegalArgumentException("maxMsgLength too small for fragments: maxMsgLength=" + maxMsgLength);
+        }
+
+        this.ringBuffer = ringBuffer;
+        this.streamId = streamId;
+        maxFragmentLength = maxMsgLength - FRAGMENT_HEADER_LENGTH;
+    }
+
+    /**
+     * Stream id which identifies the fragments of this writer.
+     *
+     * @return stream id which identifies the fragments of this writer.
+     */
+    public int streamId()
+    {
+        return streamId;
+    }
+
+    /**
+     * Maximum length of message data carried by each fragment.
+     *
+     * @return maximum length of message data carried by each fragment.
+     */
+    public int maxFragmentLength()
+    {
+        return maxFragmentLength;
+    }
+
+    /**
+     * Is a message part way through being written because the ring-buffer filled.
+     *
+     * @return true if a message is part way through being written.
+     */
+    public boolean hasPendingFragments()
+    {
+        return pendingOffset > 0;
+    }
+
+    /**
+     * Write a message to the ring-buffer fragmenting it if necessary.
+     *
+     * @param msgTypeId type of the message encoding which must not use the fragment flag bits.
+     * @param srcBuffer containing the encoded binary message.
+     * @param offset    at which the encoded message begins.
+     * @param length    of the encoded message in bytes.
+     * @return true if the whole message has been written otherwise false if the ring-buffer is full in which case
+     * the write must be repeated with the same message to continue.
+     * @throws IllegalArgumentException if the {@code msgTypeId} is out of range or the {@code length} is negative.
+     * @throws IllegalStateException    if a different message is pending.
+     */
+    public boolean write(final int msgTypeId, final DirectBuffer srcBuffer, final int offset, final int length)
+    {
+        checkMsgTypeId(msgTypeId);
+        if (length < 0)
+        {
+            throw new IllegalArgumentException("invalid message length=" + length);
+        }
+
+        int fragmentOffset = pendingOffset;
+        if (fragmentOffset > 0)
+        {
+            if (msgTypeId != pendingMsgTypeId || length != pendingLength)
+            {
+                throw new IllegalStateException("pending message: msgTypeId=" + pendingMsgTypeId +
+                    ", length=" + pendingLength + ", offset=" + fragmentOffset);
+            }
+        }
+        else if (length <= maxMsgLength)
+        {
+            return ringBuffer.write(msgTypeId, srcBuffer, offset, length);
+        }
+
+        final RingBuffer ringBuffer = this.ringBuffer;
+        final AtomicBuffer buffer = ringBuffer.buffer();
+        final int streamId = this.streamId;
+
+        do
+        {
+            final int fragmentLength = Math.min(length - fragmentOffset, maxFragmentLength);
+            int flags = FRAGMENT_FLAG;
+            if (0 == fragmentOffset)
+            {
+                flags |= BEGIN_FRAGMENT_FLAG;
+            }
+            if (fragmentOffset + fragmentLength == length)
+            {
+                flags |= END_FRAGMENT_FLAG;
+            }
+
+            final int index = ringBuffer.tryClaim(flags | msgTypeId, FRAGMENT_HEADER_LENGTH + fragmentLength);
+            if (INSUFFICIENT_CAPACITY == index)
+            {
+                pendingMsgTypeId = msgTypeId;
+                pendingLength = length;
+                pendingOffset = fragmentOffset;
+                return false;
+            }
+
+            buffer.putInt(index + STREAM_ID_OFFSET, streamId);
+            buffer.putInt(index + FRAGMENT_OFFSET_OFFSET, fragmentOffset);
+            buffer.putBytes(index + FRAGMENT_HEADER_LENGTH, srcBuffer, offset + fragmentOffset, fragmentLength);
+            ringBuffer.commit(index);
+
+            fragmentOffset += fragmentLength;
+        }
+        while (fragmentOffset < length);
+
+        abandon();
+
+        return true;
+    }
+
+    /**
+     * Abandon a message which is part way through being written. The fragments already written will be discarded
+     * by the {@link ReassemblingMessageHandler} when the next message from this writer begins.
+     */
+    public void abandon()
+    {
+        pendingMsgTypeId = 0;
+        pendingLength = 0;
+        pendingOffset = 0;
+    }
+}
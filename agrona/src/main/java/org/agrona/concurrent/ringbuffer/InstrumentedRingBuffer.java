@@ -0,0 +1,322 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.CloseHelper;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.AtomicBuffer;
+import org.agrona.concurrent.ControlledMessageHandler;
+import org.agrona.concurrent.MessageHandler;
+import org.agrona.concurrent.status.AtomicCounter;
+import org.agrona.concurrent.status.CountersManager;
+
+/**
+ * Decorator for a {@link RingBuffer} with a single consumer, such as a {@link OneToOneRingBuffer} or
+ * {@link ManyToOneRingBuffer}, which publishes its health to {@link AtomicCounter}s so it can be observed externally,
+ * e.g. by tools reading a counters file.
+ * <p>
+ * The following are tracked:
+ * <ul>
+ *     <li>Insufficient capacity: count of writes and claims which failed because the ring-buffer was full.</li>
+ *     <li>Consumer lag: bytes available to the consumer at the start of its most recent read.</li>
+ *     <li>Peak occupancy: maximum consumer lag observed.</li>
+ * </ul>
+ * Nothing is added to a successful write or claim. The consumer samples the positions once per read, not per
+ * message, and updates its counters with release semantics as it is the single writer of them. The insufficient
+ * capacity counter is only updated after a write or claim fails and atomically so multiple producers can share it.
+ */
+public final class InstrumentedRingBuffer implements RingBuffer, AutoCloseable
+{
+    private final RingBuffer ringBuffer;
+    private final AtomicCounter insufficientCapacityCounter;
+    private final AtomicCounter consumerLagCounter;
+    private final AtomicCounter peakOccupancyCounter;
+
+    /**
+     * Construct an instrumented ring-buffer which allocates its counters from a {@link CountersManager}. The counters
+     * are labelled with the name of the ring-buffer and freed on {@link #close()}.
+     *
+     * @param ringBuffer      to be instrumented.
+     * @param countersManager from which the counters are allocated.
+     * @param name            of the ring-buffer to include in the counter labels.
+     */
+    public InstrumentedRingBuffer(
+        final RingBuffer ringBuffer, final CountersManager countersManager, final String name)
+    {
+        this(
+            ringBuffer,
+            countersManager.newCounter("ring-buffer insufficient capacity: " + name),
+            countersManager.newCounter("ring-buffer consumer lag: " + name),
+            countersManager.newCounter("ring-buffer peak occupancy: " + name));
+    }
+
+    /**
+     * Construct an instrumented ring-buffer which publishes to the provided counters.
+     *
+     * @param ringBuffer                  to be instrumented.
+     * @param insufficientCapacityCounter incremented when a write or claim fails due to insufficient capacity.
+     * @param consumerLagCounter          set to the bytes available to the consumer at the start of each read.
+     * @param peakOccupancyCounter        set to the maximum bytes available to the consumer at the start of a read.
+     */
+    public InstrumentedRingBuffer(
+        final RingBuffer ringBuffer,
+        final AtomicCounter insufficientCapacityCounter,
+        final AtomicCounter consumerLagCounter,
+        final AtomicCounter peakOccupancyCounter)
+    {
+        this.ringBuffer = ringBuffer;
+        this.insufficientCapacityCounter = insufficientCapacityCounter;
+        this.consumerLagCounter = consumerLagCounter;
+        this.peakOccupancyCounter = peakOccupancyCounter;
+    }
+
+    /**
+     * The ring-buffer which is instrumented.
+     *
+     * @return the ring-buffer which is instrumented.
+     */
+    public RingBuffer ringBuffer()
+    {
+        return ringBuffer;
+    }
+
+    /**
+     * Counter of writes and claims which failed because the ring-buffer was full.
+     *
+     * @return counter of writes and claims which failed because the ring-buffer was full.
+     */
+    public AtomicCounter insufficientCapacityCounter()
+    {
+        return insufficientCapacityCounter;
+    }
+
+    /**
+     * Counter of the bytes available to the consumer at the start of its most recent read.
+     *
+     * @return counter of the bytes available to the consumer at the start of its most recent read.
+     */
+    public AtomicCounter consumerLagCounter()
+    {
+        return consumerLagCounter;
+    }
+
+    /**
+     * Counter of the maximum bytes available to the consumer at the start of a read.
+     *
+     * @return counter of the maximum bytes available to the consumer at the start of a read.
+     */
+    public AtomicCounter peakOccupancyCounter()
+    {
+        return peakOccupancyCounter;
+    }
+
+    /**
+     * Close the counters.
+     */
+    public void close()
+    {
+        CloseHelper.closeAll(insufficientCapacityCounter, consumerLagCounter, peakOccupancyCounter);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int capacity()
+    {
+        return ringBuffer.capacity();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean write(final int msgTypeId, final DirectBuffer srcBuffer, final int offset, final int length)
+    {
+        if (ringBuffer.write(msgTypeId, srcBuffer, offset, length))
+        {
+            return true;
+        }
+
+        insufficientCapacityCounter.increment();
+
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int tryClaim(final int msgTypeId, final int length)
+    {
+        final int index = ringBuffer.tryClaim(msgTypeId, length);
+        if (INSUFFICIENT_CAPACITY == index)
+        {
+            insufficientCapacityCounter.increment();
+        }
+
+        return index;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void commit(final int index)
+    {
+        ringBuffer.commit(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void abort(final int index)
+    {
+        ringBuffer.abort(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(final MessageHandler handler)
+    {
+        sampleOccupancy();
+        return ringBuffer.read(handler);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(final MessageHandler handler, final int messageCountLimit)
+    {
+        sampleOccupancy();
+        return ringBuffer.read(handler, messageCountLimit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int controlledRead(final ControlledMessageHandler handler)
+    {
+        sampleOccupancy();
+        return ringBuffer.controlledRead(handler);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int controlledRead(final ControlledMessageHandler handler, final int messageCountLimit)
+    {
+        sampleOccupancy();
+        return ringBuffer.controlledRead(handler, messageCountLimit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int maxMsgLength()
+    {
+        return ringBuffer.maxMsgLength();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long nextCorrelationId()
+    {
+        return ringBuffer.nextCorrelationId();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AtomicBuffer buffer()
+    {
+        return ringBuffer.buffer();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void consumerHeartbeatTime(final long time)
+    {
+        ringBuffer.consumerHeartbeatTime(time);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long consumerHeartbeatTime()
+    {
+        return ringBuffer.consumerHeartbeatTime();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long producerPosition()
+    {
+        return ringBuffer.producerPosition();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long consumerPosition()
+    {
+        return ringBuffer.consumerPosition();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size()
+    {
+        return ringBuffer.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean unblock()
+    {
+        return ringBuffer.unblock();
+    }
+
+    private void sampleOccupancy()
+    {
+        final long occupancy = ringBuffer.producerPosition() - ringBuffer.consumerPosition();
+        if (occupancy != consumerLagCounter.getPlain())
+        {
+            consumerLagCounter.setRelease(occupancy);
+            peakOccupancyCounter.proposeMaxRelease(occupancy);
+        }
+    }
+}
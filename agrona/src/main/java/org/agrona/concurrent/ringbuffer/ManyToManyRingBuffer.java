@@ -0,0 +1,788 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.AtomicBuffer;
+import org.agrona.concurrent.ControlledMessageHandler;
+import org.agrona.concurrent.MessageHandler;
+
+import java.lang.invoke.VarHandle;
+
+import static java.lang.Math.max;
+import static org.agrona.BitUtil.align;
+import static org.agrona.concurrent.ControlledMessageHandler.Action.*;
+import static org.agrona.concurrent.ringbuffer.RecordDescriptor.*;
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.*;
+
+/**
+ * A ring-buffer that supports the exchange of messages from many producers to many consumers with each message
+ * being consumed by exactly one consumer.
+ * <p>
+ * Producers claim space by advancing the tail as for {@link ManyToOneRingBuffer}. Consumers claim whole records
+ * concurrently by advancing a consumer claim position, stored at
+ * {@link RingBufferDescriptor#CONSUMER_CLAIM_POSITION_OFFSET}, and mark each record as consumed by turning it into
+ * padding once handled. Consumed records are released back to producers in order by advancing the head position
+ * under a consumer release lock, stored at {@link RingBufferDescriptor#CONSUMER_RELEASE_LOCK_OFFSET}, which is
+ * only ever tried and never waited upon.
+ * <p>
+ * Messages can be consumed in a different order to which they were produced when multiple consumers are active.
+ * <b>Note:</b> A consumer which dies while handling a message will prevent the space from being released.
+ */
+public final class ManyToManyRingBuffer implements RingBuffer
+{
+    private static final int NO_RECORD = -1;
+    private static final int RELEASE_LOCKED = 1;
+    private static final int ABORTED_RECORD_INCREMENT = 2;
+
+    /**
+     * Minimal required capacity of the ring buffer excluding {@link RingBufferDescriptor#TRAILER_LENGTH}.
+     */
+    public static final int MIN_CAPACITY = HEADER_LENGTH;
+
+    private final int capacity;
+    private final int maxMsgLength;
+    private final int tailPositionIndex;
+    private final int headCachePositionIndex;
+    private final int headPositionIndex;
+    private final int consumerClaimPositionIndex;
+    private final int consumerReleaseLockIndex;
+    private final int correlationIdCounterIndex;
+    private final int consumerHeartbeatIndex;
+    private final AtomicBuffer buffer;
+
+    /**
+     * Construct a new {@link RingBuffer} based on an underlying {@link AtomicBuffer}.
+     * The underlying buffer must a power of 2 in size plus sufficient space
+     * for the {@link RingBufferDescriptor#TRAILER_LENGTH}.
+     *
+     * @param buffer via which events will be exchanged.
+     * @throws IllegalArgumentException if the buffer capacity is not a power of 2 plus
+     *                                  {@link RingBufferDescriptor#TRAILER_LENGTH} or if capacity is less than
+     *                                  {@link #MIN_CAPACITY}.
+     */
+    public ManyToManyRingBuffer(final AtomicBuffer buffer)
+    {
+        capacity = checkCapacity(buffer.capacity(), MIN_CAPACITY);
+
+        buffer.verifyAlignment();
+
+        this.buffer = buffer;
+        maxMsgLength = MIN_CAPACITY == capacity ? 0 : max(HEADER_LENGTH, capacity >> 3);
+        tailPositionIndex = capacity + TAIL_POSITION_OFFSET;
+        headCachePositionIndex = capacity + HEAD_CACHE_POSITION_OFFSET;
+        headPositionIndex = capacity + HEAD_POSITION_OFFSET;
+        consumerClaimPositionIndex = capacity + CONSUMER_CLAIM_POSITION_OFFSET;
+        consumerReleaseLockIndex = capacity + CONSUMER_RELEASE_LOCK_OFFSET;
+        correlationIdCounterIndex = capacity + CORRELATION_COUNTER_OFFSET;
+        consumerHeartbeatIndex = capacity + CONSUMER_HEARTBEAT_OFFSET;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int capacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean write(final int msgTypeId, final DirectBuffer srcBuffer, final int offset, final int length)
+    {
+        checkTypeId(msgTypeId);
+        checkMsgLength(length);
+
+        final AtomicBuffer buffer = this.buffer;
+        final int recordLength = length + HEADER_LENGTH;
+        final int recordIndex = claimCapacity(buffer, recordLength);
+
+        if (INSUFFICIENT_CAPACITY == recordIndex)
+        {
+            return false;
+        }
+
+        buffer.putIntRelease(lengthOffset(recordIndex), -recordLength);
+        VarHandle.releaseFence();
+
+        buffer.putBytes(encodedMsgOffset(recordIndex), srcBuffer, offset, length);
+        buffer.putInt(typeOffset(recordIndex), msgTypeId);
+        buffer.putIntRelease(lengthOffset(recordIndex), recordLength);
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int tryClaim(final int msgTypeId, final int length)
+    {
+        checkTypeId(msgTypeId);
+        checkMsgLength(length);
+
+        final AtomicBuffer buffer = this.buffer;
+        final int recordLength = length + HEADER_LENGTH;
+        final int recordIndex = claimCapacity(buffer, recordLength);
+
+        if (INSUFFICIENT_CAPACITY == recordIndex)
+        {
+            return recordIndex;
+        }
+
+        buffer.putIntRelease(lengthOffset(recordIndex), -recordLength);
+        VarHandle.releaseFence();
+        buffer.putInt(typeOffset(recordIndex), msgTypeId);
+
+        return encodedMsgOffset(recordIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void commit(final int index)
+    {
+        final int recordIndex = computeRecordIndex(index);
+        final AtomicBuffer buffer = this.buffer;
+        final int recordLength = verifyClaimedSpaceNotReleased(buffer, recordIndex);
+
+        buffer.putIntRelease(lengthOffset(recordIndex), -recordLength);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void abort(final int index)
+    {
+        final int recordIndex = computeRecordIndex(index);
+        final AtomicBuffer buffer = this.buffer;
+        final int recordLength = verifyClaimedSpaceNotReleased(buffer, recordIndex);
+
+        buffer.putInt(typeOffset(recordIndex), PADDING_MSG_TYPE_ID);
+        buffer.putIntRelease(lengthOffset(recordIndex), -recordLength);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(final MessageHandler handler)
+    {
+        return read(handler, Integer.MAX_VALUE);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Messages are claimed one at a time so other consumers can read concurrently.
+     */
+    @Override
+    public int read(final MessageHandler handler, final int messageCountLimit)
+    {
+        int messagesRead = 0;
+        boolean claimed = false;
+        final AtomicBuffer buffer = this.buffer;
+
+        try
+        {
+            while (messagesRead < messageCountLimit)
+            {
+                final int recordIndex = claimRecord(buffer);
+                if (NO_RECORD == recordIndex)
+                {
+                    break;
+                }
+
+                claimed = true;
+                final int messageTypeId = buffer.getInt(typeOffset(recordIndex));
+                if (PADDING_MSG_TYPE_ID == messageTypeId)
+                {
+                    continue;
+                }
+
+                try
+                {
+                    handler.onMessage(
+                        messageTypeId,
+                        buffer,
+                        recordIndex + HEADER_LENGTH,
+                        buffer.getInt(lengthOffset(recordIndex)) - HEADER_LENGTH);
+                }
+                finally
+                {
+                    // volatile so it is ordered before the check of the release lock
+                    buffer.putIntVolatile(typeOffset(recordIndex), PADDING_MSG_TYPE_ID);
+                }
+
+                ++messagesRead;
+            }
+        }
+        finally
+        {
+            if (claimed)
+            {
+                releaseConsumedRecords(buffer);
+            }
+        }
+
+        return messagesRead;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int controlledRead(final ControlledMessageHandler handler)
+    {
+        return controlledRead(handler, Integer.MAX_VALUE);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Messages are claimed one at a time so other consumers can read concurrently. A message for which
+     * {@link ControlledMessageHandler.Action#ABORT} is returned is made available again to be claimed by the next
+     * read of any consumer.
+     */
+    @Override
+    public int controlledRead(final ControlledMessageHandler handler, final int messageCountLimit)
+    {
+        int messagesRead = 0;
+        boolean claimed = false;
+        final AtomicBuffer buffer = this.buffer;
+
+        try
+        {
+            while (messagesRead < messageCountLimit)
+            {
+                final int recordIndex = claimRecord(buffer);
+                if (NO_RECORD == recordIndex)
+                {
+                    break;
+                }
+
+                claimed = true;
+                final int messageTypeId = buffer.getInt(typeOffset(recordIndex));
+                if (PADDING_MSG_TYPE_ID == messageTypeId)
+                {
+                    continue;
+                }
+
+                ControlledMessageHandler.Action action = null;
+                try
+                {
+                    action = handler.onMessage(
+                        messageTypeId,
+                        buffer,
+                        recordIndex + HEADER_LENGTH,
+                        buffer.getInt(lengthOffset(recordIndex)) - HEADER_LENGTH);
+                }
+                finally
+                {
+                    if (ABORT == action)
+                    {
+                        abortRecord(buffer, recordIndex, messageTypeId);
+                    }
+                    else
+                    {
+                        buffer.putIntVolatile(typeOffset(recordIndex), PADDING_MSG_TYPE_ID);
+                    }
+                }
+
+                if (ABORT == action)
+                {
+                    break;
+                }
+
+                ++messagesRead;
+
+                if (BREAK == action)
+                {
+                    break;
+                }
+                if (COMMIT == action)
+                {
+                    releaseConsumedRecords(buffer);
+                }
+            }
+        }
+        finally
+        {
+            if (claimed)
+            {
+                releaseConsumedRecords(buffer);
+            }
+        }
+
+        return messagesRead;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int maxMsgLength()
+    {
+        return maxMsgLength;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long nextCorrelationId()
+    {
+        return buffer.getAndAddLong(correlationIdCounterIndex, 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AtomicBuffer buffer()
+    {
+        return buffer;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void consumerHeartbeatTime(final long time)
+    {
+        buffer.putLongRelease(consumerHeartbeatIndex, time);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long consumerHeartbeatTime()
+    {
+        return buffer.getLongVolatile(consumerHeartbeatIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long producerPosition()
+    {
+        return buffer.getLongVolatile(tailPositionIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This is the position up to which consumed space has been released back to producers.
+     */
+    @Override
+    public long consumerPosition()
+    {
+        return buffer.getLongVolatile(headPositionIndex);
+    }
+
+    /**
+     * The position in bytes from start up up to which records have been claimed by consumers. The figure includes
+     * the headers. Records between the {@link #consumerPosition()} and this position are in the process of being
+     * consumed.
+     *
+     * @return the count of bytes claimed by the consumers.
+     */
+    public long consumerClaimPosition()
+    {
+        return buffer.getLongVolatile(consumerClaimPositionIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size()
+    {
+        final AtomicBuffer buffer = this.buffer;
+        final int headPositionIndex = this.headPositionIndex;
+        final int tailPositionIndex = this.tailPositionIndex;
+        long headBefore;
+        long tail;
+        long headAfter = buffer.getLongVolatile(headPositionIndex);
+
+        do
+        {
+            headBefore = headAfter;
+            tail = buffer.getLongVolatile(tailPositionIndex);
+            headAfter = buffer.getLongVolatile(headPositionIndex);
+        }
+        while (headAfter != headBefore);
+
+        final long size = tail - headAfter;
+        if (size < 0)
+        {
+            return 0;
+        }
+        else if (size > capacity)
+        {
+            return capacity;
+        }
+
+        return (int)size;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The scan begins from the {@link #consumerClaimPosition()}.
+     */
+    @Override
+    public boolean unblock()
+    {
+        final AtomicBuffer buffer = this.buffer;
+        final long claimPosition = buffer.getLongVolatile(consumerClaimPositionIndex);
+        final long tailPosition = buffer.getLongVolatile(tailPositionIndex);
+
+        if (claimPosition == tailPosition)
+        {
+            return false;
+        }
+
+        final int mask = capacity - 1;
+        final int consumerIndex = (int)(claimPosition & mask);
+        final int producerIndex = (int)(tailPosition & mask);
+
+        boolean unblocked = false;
+        int length = buffer.getIntVolatile(consumerIndex);
+        if (length < 0)
+        {
+            buffer.putInt(typeOffset(consumerIndex), PADDING_MSG_TYPE_ID);
+            buffer.putIntRelease(lengthOffset(consumerIndex), -length);
+            unblocked = true;
+        }
+        else if (0 == length)
+        {
+            // go from (consumerIndex to producerIndex) or (consumerIndex to capacity)
+            final int limit = producerIndex > consumerIndex ? producerIndex : capacity;
+            int i = consumerIndex + ALIGNMENT;
+
+            do
+            {
+                // read the top int of every long (looking for length aligned to 8=ALIGNMENT)
+                length = buffer.getIntVolatile(i);
+                if (0 != length)
+                {
+                    if (scanBackToConfirmStillZeroed(buffer, i, consumerIndex))
+                    {
+                        buffer.putInt(typeOffset(consumerIndex), PADDING_MSG_TYPE_ID);
+                        buffer.putIntRelease(lengthOffset(consumerIndex), i - consumerIndex);
+                        unblocked = true;
+                    }
+
+                    break;
+                }
+
+                i += ALIGNMENT;
+            }
+            while (i < limit);
+        }
+
+        return unblocked;
+    }
+
+    private static boolean scanBackToConfirmStillZeroed(final AtomicBuffer buffer, final int from, final int limit)
+    {
+        int i = from - ALIGNMENT;
+        boolean allZeros = true;
+        while (i >= limit)
+        {
+            if (0 != buffer.getIntVolatile(i))
+            {
+                allZeros = false;
+                break;
+            }
+
+            i -= ALIGNMENT;
+        }
+
+        return allZeros;
+    }
+
+    private void checkMsgLength(final int length)
+    {
+        if (length < 0)
+        {
+            throw new IllegalArgumentException("invalid message length=" + length);
+        }
+        else if (length > maxMsgLength)
+        {
+            throw new IllegalArgumentException(
+                "encoded message exceeds maxMsgLength=" + maxMsgLength + ", length=" + length);
+        }
+    }
+
+    private int claimRecord(final AtomicBuffer buffer)
+    {
+        if (buffer.getIntVolatile(consumerReleaseLockIndex) >= ABORTED_RECORD_INCREMENT)
+        {
+            final int recordIndex = reclaimAbortedRecord(buffer);
+            if (NO_RECORD != recordIndex)
+            {
+                return recordIndex;
+            }
+        }
+
+        final int mask = capacity - 1;
+        final int consumerClaimPositionIndex = this.consumerClaimPositionIndex;
+        final int tailPositionIndex = this.tailPositionIndex;
+
+        while (true)
+        {
+            final long claimPosition = buffer.getLongVolatile(consumerClaimPositionIndex);
+            // consumed records awaiting release from the previous lap must not be mistaken for new ones
+            if (claimPosition >= buffer.getLongVolatile(tailPositionIndex))
+            {
+                return NO_RECORD;
+            }
+
+            final int recordIndex = (int)claimPosition & mask;
+            final int recordLength = buffer.getIntVolatile(lengthOffset(recordIndex));
+            if (recordLength <= 0)
+            {
+                return NO_RECORD;
+            }
+
+            if (buffer.compareAndSetLong(
+                consumerClaimPositionIndex, claimPosition, claimPosition + align(recordLength, ALIGNMENT)))
+            {
+                return recordIndex;
+            }
+        }
+    }
+
+    private void abortRecord(final AtomicBuffer buffer, final int recordIndex, final int messageTypeId)
+    {
+        buffer.putIntRelease(typeOffset(recordIndex), abortedTypeId(messageTypeId));
+        buffer.getAndAddInt(consumerReleaseLockIndex, ABORTED_RECORD_INCREMENT);
+    }
+
+    private int reclaimAbortedRecord(final AtomicBuffer buffer)
+    {
+        if (!tryLockRelease(buffer))
+        {
+            return NO_RECORD;
+        }
+
+        int abortedRecordIndex = NO_RECORD;
+        try
+        {
+            final int mask = capacity - 1;
+            final long claimPosition = buffer.getLongVolatile(consumerClaimPositionIndex);
+            long position = buffer.getLong(headPositionIndex);
+
+            while (position < claimPosition)
+            {
+                final int recordIndex = (int)position & mask;
+                final int messageTypeId = buffer.getIntVolatile(typeOffset(recordIndex));
+                if (messageTypeId < PADDING_MSG_TYPE_ID)
+                {
+                    buffer.putIntRelease(typeOffset(recordIndex), abortedTypeId(messageTypeId));
+                    buffer.getAndAddInt(consumerReleaseLockIndex, -ABORTED_RECORD_INCREMENT);
+                    abortedRecordIndex = recordIndex;
+                    break;
+                }
+
+                position += align(buffer.getInt(lengthOffset(recordIndex)), ALIGNMENT);
+            }
+        }
+        finally
+        {
+            buffer.getAndAddInt(consumerReleaseLockIndex, -RELEASE_LOCKED);
+        }
+
+        return abortedRecordIndex;
+    }
+
+    private void releaseConsumedRecords(final AtomicBuffer buffer)
+    {
+        final int capacity = this.capacity;
+        final int mask = capacity - 1;
+        final int headPositionIndex = this.headPositionIndex;
+
+        while (tryLockRelease(buffer))
+        {
+            final long claimPosition = buffer.getLongVolatile(consumerClaimPositionIndex);
+            final long head = buffer.getLong(headPositionIndex);
+            long position = head;
+
+            try
+            {
+                while (position < claimPosition)
+                {
+                    final int recordIndex = (int)position & mask;
+                    if (PADDING_MSG_TYPE_ID != buffer.getIntVolatile(typeOffset(recordIndex)))
+                    {
+                        break;
+                    }
+
+                    position += align(buffer.getInt(lengthOffset(recordIndex)), ALIGNMENT);
+                }
+
+                if (position > head)
+                {
+                    final int headIndex = (int)head & mask;
+                    final int length = (int)(position - head);
+                    final int toBufferEndLength = capacity - headIndex;
+
+                    if (length <= toBufferEndLength)
+                    {
+                        buffer.setMemory(headIndex, length, (byte)0);
+                    }
+                    else
+                    {
+                        buffer.setMemory(headIndex, toBufferEndLength, (byte)0);
+                        buffer.setMemory(0, length - toBufferEndLength, (byte)0);
+                    }
+
+                    buffer.putLongRelease(headPositionIndex, position);
+                }
+            }
+            finally
+            {
+                buffer.getAndAddInt(consumerReleaseLockIndex, -RELEASE_LOCKED);
+            }
+
+            // a record consumed while the lock was held may not have been released by its consumer
+            if (position >= buffer.getLongVolatile(consumerClaimPositionIndex) ||
+                PADDING_MSG_TYPE_ID != buffer.getIntVolatile(typeOffset((int)position & mask)))
+            {
+                break;
+            }
+        }
+    }
+
+    private boolean tryLockRelease(final AtomicBuffer buffer)
+    {
+        final int lockValue = buffer.getIntVolatile(consumerReleaseLockIndex);
+
+        return 0 == (lockValue & RELEASE_LOCKED) &&
+            buffer.compareAndSetInt(consumerReleaseLockIndex, lockValue, lockValue | RELEASE_LOCKED);
+    }
+
+    private static int abortedTypeId(final int messageTypeId)
+    {
+        return PADDING_MSG_TYPE_ID - messageTypeId;
+    }
+
+    private int claimCapacity(final AtomicBuffer buffer, final int recordLength)
+    {
+        final int requiredCapacity = align(recordLength, ALIGNMENT);
+        final int capacity = this.capacity;
+        final int tailPositionIndex = this.tailPositionIndex;
+        final int headCachePositionIndex = this.headCachePositionIndex;
+        final int mask = capacity - 1;
+
+        long head = buffer.getLongVolatile(headCachePositionIndex);
+
+        long tail;
+        long newTail;
+        int tailIndex;
+        int padding;
+        int writeIndex;
+        do
+        {
+            tail = buffer.getLongVolatile(tailPositionIndex);
+            final int availableCapacity = capacity - (int)(tail - head);
+
+            if (requiredCapacity > availableCapacity)
+            {
+                head = buffer.getLongVolatile(headPositionIndex);
+
+                if (requiredCapacity > (capacity - (int)(tail - head)))
+                {
+                    return INSUFFICIENT_CAPACITY;
+                }
+
+                buffer.putLongRelease(headCachePositionIndex, head);
+            }
+            newTail = tail + requiredCapacity;
+
+            padding = 0;
+            tailIndex = (int)tail & mask;
+            writeIndex = tailIndex;
+            final int toBufferEndLength = capacity - tailIndex;
+
+            if (requiredCapacity > toBufferEndLength)
+            {
+                int headIndex = (int)head & mask;
+                writeIndex = 0;
+
+                if (requiredCapacity > headIndex)
+                {
+                    head = buffer.getLongVolatile(headPositionIndex);
+                    headIndex = (int)head & mask;
+                    if (requiredCapacity > headIndex)
+                    {
+                        writeIndex = INSUFFICIENT_CAPACITY;
+                        newTail = tail; // Do not claim any actual space, only pad to the buffer end
+                    }
+
+                    buffer.putLongRelease(headCachePositionIndex, head);
+                }
+
+                padding = toBufferEndLength;
+                newTail += padding;
+            }
+        }
+        while (!buffer.compareAndSetLong(tailPositionIndex, tail, newTail));
+
+        if (0 != padding)
+        {
+            buffer.putIntRelease(lengthOffset(tailIndex), -padding);
+            VarHandle.releaseFence();
+
+            buffer.putInt(typeOffset(tailIndex), PADDING_MSG_TYPE_ID);
+            buffer.putIntRelease(lengthOffset(tailIndex), padding);
+        }
+
+        return writeIndex;
+    }
+
+    private int computeRecordIndex(final int index)
+    {
+        final int recordIndex = index - HEADER_LENGTH;
+        if (recordIndex < 0 || recordIndex > (capacity - HEADER_LENGTH))
+        {
+            throw new IllegalArgumentException("invalid message index " + index);
+        }
+
+        return recordIndex;
+    }
+
+    private int verifyClaimedSpaceNotReleased(final AtomicBuffer buffer, final int recordIndex)
+    {
+        final int recordLength = buffer.getInt(lengthOffset(recordIndex));
+        if (recordLength < 0)
+        {
+            return recordLength;
+        }
+
+        throw new IllegalStateException("claimed space previously " +
+            (PADDING_MSG_TYPE_ID == buffer.getInt(typeOffset(recordIndex)) ? "aborted" : "committed"));
+    }
+}
@@ -134,6 +134,56 @@ public final class ManyToOneRingBuffer implements RingBuffer
         return encodedMsgOffset(recordIndex);
     }
 
+    /**
+     * Try to claim a contiguous block of space in the underlying ring-buffer into which multiple records can be
+     * written with zero copy semantics, using a single update of the producer tail. Records are then claimed and
+     * written via the {@link BatchClaim} and made available to the consumer together via {@link BatchClaim#commit()}.
+     * Alternatively the batch can be aborted using {@link BatchClaim#abort()}.
+     * <p>
+     * The length of the batch should be computed by summing {@link BatchClaim#recordLength(int)} for each record.
+     * The consumer will not be able to consume past the batch until it is either committed or aborted.
+     *
+     * @param batchClaim  to be wrapped around the claimed space.
+     * @param batchLength of the space to claim in bytes including record headers and alignment. Cannot be greater
+     *                    than {@link #maxBatchLength()}.
+     * @return true if the space was claimed, or false if insufficient space exists.
+     * @throws IllegalArgumentException if the {@code batchLength} is less than
+     *                                  {@link RecordDescriptor#HEADER_LENGTH} or greater than
+     *                                  {@link #maxBatchLength()}.
+     * @throws IllegalStateException    if the {@code batchClaim} is already active.
+     * @see BatchClaim
+     */
+    public boolean tryClaimBatch(final BatchClaim batchClaim, final int batchLength)
+    {
+        checkBatchLength(batchLength);
+        if (batchClaim.isActive())
+        {
+            throw new IllegalStateException("batch claim is already active");
+        }
+
+        final AtomicBuffer buffer = this.buffer;
+        final int recordIndex = claimCapacity(buffer, batchLength);
+
+        if (INSUFFICIENT_CAPACITY == recordIndex)
+        {
+            return false;
+        }
+
+        batchClaim.wrap(buffer, recordIndex, align(batchLength, ALIGNMENT));
+
+        return true;
+    }
+
+    /**
+     * The maximum length in bytes of a batch which can be claimed via {@link #tryClaimBatch(BatchClaim, int)}.
+     *
+     * @return the maximum length in bytes of a batch.
+     */
+    public int maxBatchLength()
+    {
+        return maxMsgLength + HEADER_LENGTH;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -305,6 +355,45 @@ public final class ManyToOneRingBuffer implements RingBuffer
         return messagesRead;
     }
 
+    /**
+     * Peek at the contiguous block of committed records available to the consumer, up to the point at which the
+     * ring-buffer wraps, and expose them with zero copy semantics via the {@link ReadBatch}. The consumer position is
+     * not advanced until a prefix of the batch is released via {@link ReadBatch#release(int)}.
+     *
+     * @param readBatch to be wrapped around the block of available records.
+     * @return the length in bytes of the block of records available in the batch, which is zero when empty.
+     * @see ReadBatch
+     */
+    public int peekBatch(final ReadBatch readBatch)
+    {
+        return peekBatch(readBatch, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Peek at the contiguous block of committed records available to the consumer, up to the point at which the
+     * ring-buffer wraps or a maximum length, and expose them with zero copy semantics via the {@link ReadBatch}.
+     * The consumer position is not advanced until a prefix of the batch is released via {@link ReadBatch#release(int)}.
+     * <p>
+     * Only whole records are included so the {@code maxLength} should be at least the aligned length of the largest
+     * record for progress to be made.
+     *
+     * @param readBatch to be wrapped around the block of available records.
+     * @param maxLength in bytes of the block of records to include in the batch.
+     * @return the length in bytes of the block of records available in the batch, which is zero when empty.
+     * @see ReadBatch
+     */
+    public int peekBatch(final ReadBatch readBatch, final int maxLength)
+    {
+        final AtomicBuffer buffer = this.buffer;
+        final long head = buffer.getLong(headPositionIndex);
+        final int headIndex = (int)head & (capacity - 1);
+        final int length = ReadBatch.scanCommittedLength(buffer, headIndex, capacity - headIndex, maxLength);
+
+        readBatch.wrap(buffer, true, headPositionIndex, head, headIndex, length);
+
+        return length;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -490,6 +579,19 @@ public final class ManyToOneRingBuffer implements RingBuffer
         }
     }
 
+    private void checkBatchLength(final int batchLength)
+    {
+        if (batchLength < HEADER_LENGTH)
+        {
+            throw new IllegalArgumentException("invalid batch length=" + batchLength);
+        }
+        else if (batchLength > maxBatchLength())
+        {
+            throw new IllegalArgumentException(
+                "batch exceeds maxBatchLength=" + maxBatchLength() + ", length=" + batchLength);
+        }
+    }
+
     private int claimCapacity(final AtomicBuffer buffer, final int recordLength)
     {
         final int requiredCapacity = align(recordLength, ALIGNMENT);
@@ -0,0 +1,603 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.AtomicBuffer;
+import org.agrona.concurrent.ControlledMessageHandler;
+import org.agrona.concurrent.MessageHandler;
+
+import java.lang.invoke.VarHandle;
+
+import static java.lang.Math.max;
+import static org.agrona.BitUtil.align;
+import static org.agrona.concurrent.ControlledMessageHandler.Action.*;
+import static org.agrona.concurrent.ringbuffer.RecordDescriptor.*;
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.*;
+
+/**
+ * A ring-buffer that supports the distribution of messages from a single producer to many consumers with each
+ * message being consumed by exactly one consumer, e.g. to balance work over a pool of worker threads.
+ * <p>
+ * Consumers claim whole records concurrently by a CAS on a consumer claim position, stored at
+ * {@link RingBufferDescriptor#CONSUMER_CLAIM_POSITION_OFFSET}, and mark each record as consumed by turning it into
+ * padding once handled. Unlike the {@link ManyToManyRingBuffer} consumers never release space. Instead the producer
+ * reclaims space, when it runs out, by advancing the head position over the consumed records which follow it, so
+ * space is reclaimed once all earlier claims have completed and consumers need not coordinate.
+ * <p>
+ * As space is reclaimed lazily the {@link #consumerPosition()} can lag the records consumed. Messages can be consumed
+ * in a different order to which they were produced when multiple consumers are active.
+ * <b>Note:</b> A consumer which dies while handling a message will prevent the space from being reclaimed.
+ */
+public final class OneToManyRingBuffer implements RingBuffer
+{
+    private static final int NO_RECORD = -1;
+
+    /**
+     * Minimal required capacity of the ring buffer excluding {@link RingBufferDescriptor#TRAILER_LENGTH}.
+     */
+    public static final int MIN_CAPACITY = HEADER_LENGTH;
+
+    private final int capacity;
+    private final int maxMsgLength;
+    private final int tailPositionIndex;
+    private final int headPositionIndex;
+    private final int consumerClaimPositionIndex;
+    private final int consumerAbortedCountIndex;
+    private final int correlationIdCounterIndex;
+    private final int consumerHeartbeatIndex;
+    private final AtomicBuffer buffer;
+
+    /**
+     * Construct a new {@link RingBuffer} based on an underlying {@link AtomicBuffer}.
+     * The underlying buffer must a power of 2 in size plus sufficient space
+     * for the {@link RingBufferDescriptor#TRAILER_LENGTH}.
+     *
+     * @param buffer via which events will be exchanged.
+     * @throws IllegalArgumentException if the buffer capacity is not a power of 2 plus
+     *                                  {@link RingBufferDescriptor#TRAILER_LENGTH} or if capacity is less than
+     *                                  {@link #MIN_CAPACITY}.
+     */
+    public OneToManyRingBuffer(final AtomicBuffer buffer)
+    {
+        capacity = checkCapacity(buffer.capacity(), MIN_CAPACITY);
+
+        buffer.verifyAlignment();
+
+        this.buffer = buffer;
+        maxMsgLength = MIN_CAPACITY == capacity ? 0 : max(HEADER_LENGTH, capacity >> 3);
+        tailPositionIndex = capacity + TAIL_POSITION_OFFSET;
+        headPositionIndex = capacity + HEAD_POSITION_OFFSET;
+        consumerClaimPositionIndex = capacity + CONSUMER_CLAIM_POSITION_OFFSET;
+        consumerAbortedCountIndex = capacity + CONSUMER_ABORTED_COUNT_OFFSET;
+        correlationIdCounterIndex = capacity + CORRELATION_COUNTER_OFFSET;
+        consumerHeartbeatIndex = capacity + CONSUMER_HEARTBEAT_OFFSET;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int capacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean write(final int msgTypeId, final DirectBuffer srcBuffer, final int offset, final int length)
+    {
+        checkTypeId(msgTypeId);
+        checkMsgLength(length);
+
+        final AtomicBuffer buffer = this.buffer;
+        final int recordLength = length + HEADER_LENGTH;
+        final int recordIndex = claimCapacity(buffer, recordLength);
+
+        if (INSUFFICIENT_CAPACITY == recordIndex)
+        {
+            return false;
+        }
+
+        buffer.putBytes(encodedMsgOffset(recordIndex), srcBuffer, offset, length);
+        buffer.putInt(typeOffset(recordIndex), msgTypeId);
+        buffer.putIntRelease(lengthOffset(recordIndex), recordLength);
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int tryClaim(final int msgTypeId, final int length)
+    {
+        checkTypeId(msgTypeId);
+        checkMsgLength(length);
+
+        final AtomicBuffer buffer = this.buffer;
+        final int recordLength = length + HEADER_LENGTH;
+        final int recordIndex = claimCapacity(buffer, recordLength);
+
+        if (INSUFFICIENT_CAPACITY == recordIndex)
+        {
+            return recordIndex;
+        }
+
+        buffer.putInt(typeOffset(recordIndex), msgTypeId);
+
+        return encodedMsgOffset(recordIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void commit(final int index)
+    {
+        final int recordIndex = computeRecordIndex(index);
+        final AtomicBuffer buffer = this.buffer;
+        final int recordLength = verifyClaimedSpaceNotReleased(buffer, recordIndex);
+
+        buffer.putIntRelease(lengthOffset(recordIndex), -recordLength);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void abort(final int index)
+    {
+        final int recordIndex = computeRecordIndex(index);
+        final AtomicBuffer buffer = this.buffer;
+        final int recordLength = verifyClaimedSpaceNotReleased(buffer, recordIndex);
+
+        buffer.putInt(typeOffset(recordIndex), PADDING_MSG_TYPE_ID);
+        buffer.putIntRelease(lengthOffset(recordIndex), -recordLength);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(final MessageHandler handler)
+    {
+        return read(handler, Integer.MAX_VALUE);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Messages are claimed one at a time so other consumers can read concurrently.
+     */
+    @Override
+    public int read(final MessageHandler handler, final int messageCountLimit)
+    {
+        int messagesRead = 0;
+        final AtomicBuffer buffer = this.buffer;
+
+        while (messagesRead < messageCountLimit)
+        {
+            final int recordIndex = claimRecord(buffer);
+            if (NO_RECORD == recordIndex)
+            {
+                break;
+            }
+
+            final int messageTypeId = buffer.getInt(typeOffset(recordIndex));
+            if (PADDING_MSG_TYPE_ID == messageTypeId)
+            {
+                continue;
+            }
+
+            try
+            {
+                handler.onMessage(
+                    messageTypeId,
+                    buffer,
+                    recordIndex + HEADER_LENGTH,
+                    buffer.getInt(lengthOffset(recordIndex)) - HEADER_LENGTH);
+            }
+            finally
+            {
+                buffer.putIntRelease(typeOffset(recordIndex), PADDING_MSG_TYPE_ID);
+            }
+
+            ++messagesRead;
+        }
+
+        return messagesRead;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int controlledRead(final ControlledMessageHandler handler)
+    {
+        return controlledRead(handler, Integer.MAX_VALUE);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Messages are claimed one at a time so other consumers can read concurrently. A message for which
+     * {@link ControlledMessageHandler.Action#ABORT} is returned is made available again to be claimed by the next
+     * read of any consumer.
+     */
+    @Override
+    public int controlledRead(final ControlledMessageHandler handler, final int messageCountLimit)
+    {
+        int messagesRead = 0;
+        final AtomicBuffer buffer = this.buffer;
+
+        while (messagesRead < messageCountLimit)
+        {
+            final int recordIndex = claimRecord(buffer);
+            if (NO_RECORD == recordIndex)
+            {
+                break;
+            }
+
+            final int messageTypeId = buffer.getInt(typeOffset(recordIndex));
+            if (PADDING_MSG_TYPE_ID == messageTypeId)
+            {
+                continue;
+            }
+
+            ControlledMessageHandler.Action action = null;
+            try
+            {
+                action = handler.onMessage(
+                    messageTypeId,
+                    buffer,
+                    recordIndex + HEADER_LENGTH,
+                    buffer.getInt(lengthOffset(recordIndex)) - HEADER_LENGTH);
+            }
+            finally
+            {
+                if (ABORT == action)
+                {
+                    buffer.putIntRelease(typeOffset(recordIndex), abortedTypeId(messageTypeId));
+                    buffer.getAndAddInt(consumerAbortedCountIndex, 1);
+                }
+                else
+                {
+                    buffer.putIntRelease(typeOffset(recordIndex), PADDING_MSG_TYPE_ID);
+                }
+            }
+
+            if (ABORT == action)
+            {
+                break;
+            }
+
+            ++messagesRead;
+
+            if (BREAK == action)
+            {
+                break;
+            }
+        }
+
+        return messagesRead;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int maxMsgLength()
+    {
+        return maxMsgLength;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long nextCorrelationId()
+    {
+        return buffer.getAndAddLong(correlationIdCounterIndex, 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AtomicBuffer buffer()
+    {
+        return buffer;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void consumerHeartbeatTime(final long time)
+    {
+        buffer.putLongRelease(consumerHeartbeatIndex, time);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long consumerHeartbeatTime()
+    {
+        return buffer.getLongVolatile(consumerHeartbeatIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long producerPosition()
+    {
+        return buffer.getLongVolatile(tailPositionIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This is the position up to which consumed space has been reclaimed by the producer.
+     */
+    @Override
+    public long consumerPosition()
+    {
+        return buffer.getLongVolatile(headPositionIndex);
+    }
+
+    /**
+     * The position in bytes from start up up to which records have been claimed by consumers. The figure includes
+     * the headers. Records between the {@link #consumerPosition()} and this position are in the process of being
+     * consumed or are awaiting being reclaimed by the producer.
+     *
+     * @return the count of bytes claimed by the consumers.
+     */
+    public long consumerClaimPosition()
+    {
+        return buffer.getLongVolatile(consumerClaimPositionIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size()
+    {
+        final AtomicBuffer buffer = this.buffer;
+        final int headPositionIndex = this.headPositionIndex;
+        final int tailPositionIndex = this.tailPositionIndex;
+        long headBefore;
+        long tail;
+        long headAfter = buffer.getLongVolatile(headPositionIndex);
+
+        do
+        {
+            headBefore = headAfter;
+            tail = buffer.getLongVolatile(tailPositionIndex);
+            headAfter = buffer.getLongVolatile(headPositionIndex);
+        }
+        while (headAfter != headBefore);
+
+        final long size = tail - headAfter;
+        if (size < 0)
+        {
+            return 0;
+        }
+        else if (size > capacity)
+        {
+            return capacity;
+        }
+
+        return (int)size;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * With a single producer there is no other producer which can unblock it so this always returns false.
+     */
+    @Override
+    public boolean unblock()
+    {
+        return false;
+    }
+
+    private void checkMsgLength(final int length)
+    {
+        if (length < 0)
+        {
+            throw new IllegalArgumentException("invalid message length=" + length);
+        }
+        else if (length > maxMsgLength)
+        {
+            throw new IllegalArgumentException(
+                "encoded message exceeds maxMsgLength=" + maxMsgLength + ", length=" + length);
+        }
+    }
+
+    private int claimRecord(final AtomicBuffer buffer)
+    {
+        if (buffer.getIntVolatile(consumerAbortedCountIndex) > 0)
+        {
+            final int recordIndex = reclaimAbortedRecord(buffer);
+            if (NO_RECORD != recordIndex)
+            {
+                return recordIndex;
+            }
+        }
+
+        final int mask = capacity - 1;
+        final int consumerClaimPositionIndex = this.consumerClaimPositionIndex;
+        final int tailPositionIndex = this.tailPositionIndex;
+
+        while (true)
+        {
+            final long claimPosition = buffer.getLongVolatile(consumerClaimPositionIndex);
+            if (claimPosition >= buffer.getLongVolatile(tailPositionIndex))
+            {
+                return NO_RECORD;
+            }
+
+            final int recordIndex = (int)claimPosition & mask;
+            final int recordLength = buffer.getIntVolatile(lengthOffset(recordIndex));
+            if (recordLength <= 0)
+            {
+                return NO_RECORD;
+            }
+
+            if (buffer.compareAndSetLong(
+                consumerClaimPositionIndex, claimPosition, claimPosition + align(recordLength, ALIGNMENT)))
+            {
+                return recordIndex;
+            }
+        }
+    }
+
+    private int reclaimAbortedRecord(final AtomicBuffer buffer)
+    {
+        final int mask = capacity - 1;
+        final int headPositionIndex = this.headPositionIndex;
+        final long claimPosition = buffer.getLongVolatile(consumerClaimPositionIndex);
+        long position = buffer.getLongVolatile(headPositionIndex);
+
+        while (position < claimPosition)
+        {
+            final int recordIndex = (int)position & mask;
+            final int messageTypeId = buffer.getIntVolatile(typeOffset(recordIndex));
+            final int recordLength = buffer.getIntVolatile(lengthOffset(recordIndex));
+
+            // space behind the head may have been reused by the producer so the record read must be discarded
+            final long head = buffer.getLongVolatile(headPositionIndex);
+            if (head > position)
+            {
+                position = head;
+                continue;
+            }
+
+            if (recordLength <= 0)
+            {
+                break;
+            }
+
+            if (messageTypeId < PADDING_MSG_TYPE_ID &&
+                buffer.compareAndSetInt(typeOffset(recordIndex), messageTypeId, abortedTypeId(messageTypeId)))
+            {
+                buffer.getAndAddInt(consumerAbortedCountIndex, -1);
+                return recordIndex;
+            }
+
+            position += align(recordLength, ALIGNMENT);
+        }
+
+        return NO_RECORD;
+    }
+
+    private static int abortedTypeId(final int messageTypeId)
+    {
+        return PADDING_MSG_TYPE_ID - messageTypeId;
+    }
+
+    private int claimCapacity(final AtomicBuffer buffer, final int recordLength)
+    {
+        final int alignedRecordLength = align(recordLength, ALIGNMENT);
+        final int capacity = this.capacity;
+        final int tailPositionIndex = this.tailPositionIndex;
+        final int mask = capacity - 1;
+
+        final long tail = buffer.getLong(tailPositionIndex);
+        final int tailIndex = (int)tail & mask;
+        final int toBufferEndLength = capacity - tailIndex;
+        final int padding = alignedRecordLength > toBufferEndLength ? toBufferEndLength : 0;
+        final int requiredCapacity = alignedRecordLength + padding;
+
+        long head = buffer.getLong(headPositionIndex);
+        if (requiredCapacity > (capacity - (int)(tail - head)))
+        {
+            head = reclaimConsumedRecords(buffer, head);
+            if (requiredCapacity > (capacity - (int)(tail - head)))
+            {
+                return INSUFFICIENT_CAPACITY;
+            }
+        }
+
+        int writeIndex = tailIndex;
+        if (0 != padding)
+        {
+            buffer.putInt(typeOffset(tailIndex), PADDING_MSG_TYPE_ID);
+            buffer.putIntRelease(lengthOffset(tailIndex), padding);
+            writeIndex = 0;
+        }
+
+        buffer.putIntRelease(lengthOffset(writeIndex), -recordLength);
+        VarHandle.releaseFence();
+        buffer.putLongRelease(tailPositionIndex, tail + requiredCapacity);
+
+        return writeIndex;
+    }
+
+    private long reclaimConsumedRecords(final AtomicBuffer buffer, final long head)
+    {
+        final int mask = capacity - 1;
+        final long claimPosition = buffer.getLongVolatile(consumerClaimPositionIndex);
+        long position = head;
+
+        while (position < claimPosition)
+        {
+            final int recordIndex = (int)position & mask;
+            if (PADDING_MSG_TYPE_ID != buffer.getIntVolatile(typeOffset(recordIndex)))
+            {
+                break;
+            }
+
+            position += align(buffer.getInt(lengthOffset(recordIndex)), ALIGNMENT);
+        }
+
+        if (position > head)
+        {
+            buffer.putLongRelease(headPositionIndex, position);
+        }
+
+        return position;
+    }
+
+    private int computeRecordIndex(final int index)
+    {
+        final int recordIndex = index - HEADER_LENGTH;
+        if (recordIndex < 0 || recordIndex > (capacity - HEADER_LENGTH))
+        {
+            throw new IllegalArgumentException("invalid message index " + index);
+        }
+
+        return recordIndex;
+    }
+
+    private int verifyClaimedSpaceNotReleased(final AtomicBuffer buffer, final int recordIndex)
+    {
+        final int recordLength = buffer.getInt(lengthOffset(recordIndex));
+        if (recordLength < 0)
+        {
+            return recordLength;
+        }
+
+        throw new IllegalStateException("claimed space previously " +
+            (PADDING_MSG_TYPE_ID == buffer.getInt(typeOffset(recordIndex)) ? "aborted" : "committed"));
+    }
+}
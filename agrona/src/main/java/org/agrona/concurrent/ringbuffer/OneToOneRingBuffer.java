@@ -307,6 +307,45 @@ public final class OneToOneRingBuffer implements RingBuffer
         return messagesRead;
     }
 
+    /**
+     * Peek at the contiguous block of committed records available to the consumer, up to the point at which the
+     * ring-buffer wraps, and expose them with zero copy semantics via the {@link ReadBatch}. The consumer position is
+     * not advanced until a prefix of the batch is released via {@link ReadBatch#release(int)}.
+     *
+     * @param readBatch to be wrapped around the block of available records.
+     * @return the length in bytes of the block of records available in the batch, which is zero when empty.
+     * @see ReadBatch
+     */
+    public int peekBatch(final ReadBatch readBatch)
+    {
+        return peekBatch(readBatch, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Peek at the contiguous block of committed records available to the consumer, up to the point at which the
+     * ring-buffer wraps or a maximum length, and expose them with zero copy semantics via the {@link ReadBatch}.
+     * The consumer position is not advanced until a prefix of the batch is released via {@link ReadBatch#release(int)}.
+     * <p>
+     * Only whole records are included so the {@code maxLength} should be at least the aligned length of the largest
+     * record for progress to be made.
+     *
+     * @param readBatch to be wrapped around the block of available records.
+     * @param maxLength in bytes of the block of records to include in the batch.
+     * @return the length in bytes of the block of records available in the batch, which is zero when empty.
+     * @see ReadBatch
+     */
+    public int peekBatch(final ReadBatch readBatch, final int maxLength)
+    {
+        final AtomicBuffer buffer = this.buffer;
+        final long head = buffer.getLong(headPositionIndex);
+        final int headIndex = (int)head & (capacity - 1);
+        final int length = ReadBatch.scanCommittedLength(buffer, headIndex, capacity - headIndex, maxLength);
+
+        readBatch.wrap(buffer, false, headPositionIndex, head, headIndex, length);
+
+        return length;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,314 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.AtomicBuffer;
+
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.*;
+import static org.agrona.concurrent.ringbuffer.SlotRingBufferDescriptor.*;
+
+/**
+ * A {@link SlotRingBuffer} that supports the exchange of fixed length messages from a single producer to a single
+ * consumer.
+ */
+public final class OneToOneSlotRingBuffer implements SlotRingBuffer
+{
+    private final int slotLength;
+    private final int slotCount;
+    private final int commitWordsIndex;
+    private final int tailPositionIndex;
+    private final int headCachePositionIndex;
+    private final int headPositionIndex;
+    private final int correlationIdCounterIndex;
+    private final int consumerHeartbeatIndex;
+    private final AtomicBuffer buffer;
+
+    /**
+     * Construct a new {@link SlotRingBuffer} based on an underlying {@link AtomicBuffer}. The underlying buffer must
+     * be of {@link SlotRingBufferDescriptor#bufferLength(int, int)} in length.
+     *
+     * @param buffer     via which messages will be exchanged.
+     * @param slotLength in bytes of each slot which is the length of every message.
+     * @throws IllegalArgumentException if the slot length is invalid or the buffer capacity does not match it.
+     */
+    public OneToOneSlotRingBuffer(final AtomicBuffer buffer, final int slotLength)
+    {
+        slotCount = SlotRingBufferDescriptor.checkCapacity(buffer.capacity(), slotLength);
+
+        buffer.verifyAlignment();
+
+        this.buffer = buffer;
+        this.slotLength = slotLength;
+        commitWordsIndex = slotCount * slotLength;
+
+        final int trailerIndex = commitWordsIndex + (slotCount * COMMIT_WORD_LENGTH);
+        tailPositionIndex = trailerIndex + TAIL_POSITION_OFFSET;
+        headCachePositionIndex = trailerIndex + HEAD_CACHE_POSITION_OFFSET;
+        headPositionIndex = trailerIndex + HEAD_POSITION_OFFSET;
+        correlationIdCounterIndex = trailerIndex + CORRELATION_COUNTER_OFFSET;
+        consumerHeartbeatIndex = trailerIndex + CONSUMER_HEARTBEAT_OFFSET;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int slotLength()
+    {
+        return slotLength;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int slotCount()
+    {
+        return slotCount;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AtomicBuffer buffer()
+    {
+        return buffer;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean write(final DirectBuffer srcBuffer, final int offset)
+    {
+        final int slotIndex = claimSlot();
+        if (INSUFFICIENT_CAPACITY == slotIndex)
+        {
+            return false;
+        }
+
+        final AtomicBuffer buffer = this.buffer;
+        buffer.putBytes(slotIndex * slotLength, srcBuffer, offset, slotLength);
+        buffer.putIntRelease(commitWordsIndex + (slotIndex * COMMIT_WORD_LENGTH), COMMITTED);
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int tryClaim()
+    {
+        final int slotIndex = claimSlot();
+
+        return INSUFFICIENT_CAPACITY == slotIndex ? INSUFFICIENT_CAPACITY : slotIndex * slotLength;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void commit(final int index)
+    {
+        complete(index, COMMITTED);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void abort(final int index)
+    {
+        complete(index, ABORTED);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(final SlotHandler handler)
+    {
+        return read(handler, Integer.MAX_VALUE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(final SlotHandler handler, final int messageCountLimit)
+    {
+        int messagesRead = 0;
+
+        final AtomicBuffer buffer = this.buffer;
+        final int headPositionIndex = this.headPositionIndex;
+        final long head = buffer.getLong(headPositionIndex);
+
+        final int slotCount = this.slotCount;
+        final int headSlotIndex = (int)head & (slotCount - 1);
+        final int maxSlots = slotCount - headSlotIndex;
+        int slotsRead = 0;
+
+        try
+        {
+            while ((slotsRead < maxSlots) && (messagesRead < messageCountLimit))
+            {
+                final int slotIndex = headSlotIndex + slotsRead;
+                final int commitWordIndex = commitWordsIndex + (slotIndex * COMMIT_WORD_LENGTH);
+                final int commitWord = buffer.getIntVolatile(commitWordIndex);
+                if (EMPTY == commitWord)
+                {
+                    break;
+                }
+
+                ++slotsRead;
+                buffer.putInt(commitWordIndex, EMPTY);
+
+                if (COMMITTED == commitWord)
+                {
+                    ++messagesRead;
+                    handler.onSlot(buffer, slotIndex * slotLength);
+                }
+            }
+        }
+        finally
+        {
+            if (slotsRead > 0)
+            {
+                buffer.putLongRelease(headPositionIndex, head + slotsRead);
+            }
+        }
+
+        return messagesRead;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long nextCorrelationId()
+    {
+        return buffer.getAndAddLong(correlationIdCounterIndex, 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void consumerHeartbeatTime(final long time)
+    {
+        buffer.putLongRelease(consumerHeartbeatIndex, time);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long consumerHeartbeatTime()
+    {
+        return buffer.getLongVolatile(consumerHeartbeatIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long producerPosition()
+    {
+        return buffer.getLongVolatile(tailPositionIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long consumerPosition()
+    {
+        return buffer.getLongVolatile(headPositionIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size()
+    {
+        final AtomicBuffer buffer = this.buffer;
+        final int headPositionIndex = this.headPositionIndex;
+        final int tailPositionIndex = this.tailPositionIndex;
+        long headBefore;
+        long tail;
+        long headAfter = buffer.getLongVolatile(headPositionIndex);
+
+        do
+        {
+            headBefore = headAfter;
+            tail = buffer.getLongVolatile(tailPositionIndex);
+            headAfter = buffer.getLongVolatile(headPositionIndex);
+        }
+        while (headAfter != headBefore);
+
+        return (int)(tail - headAfter);
+    }
+
+    private int claimSlot()
+    {
+        final AtomicBuffer buffer = this.buffer;
+        final int slotCount = this.slotCount;
+        final int headCachePositionIndex = this.headCachePositionIndex;
+
+        final long tail = buffer.getLong(tailPositionIndex);
+        long head = buffer.getLong(headCachePositionIndex);
+        if (tail - head >= slotCount)
+        {
+            head = buffer.getLongVolatile(headPositionIndex);
+            if (tail - head >= slotCount)
+            {
+                return INSUFFICIENT_CAPACITY;
+            }
+
+            buffer.putLong(headCachePositionIndex, head);
+        }
+
+        buffer.putLongRelease(tailPositionIndex, tail + 1);
+
+        return (int)tail & (slotCount - 1);
+    }
+
+    private void complete(final int index, final int commitWord)
+    {
+        final int slotIndex = checkIndex(index);
+        final int commitWordIndex = commitWordsIndex + (slotIndex * COMMIT_WORD_LENGTH);
+        if (EMPTY != buffer.getInt(commitWordIndex))
+        {
+            throw new IllegalStateException("slot already committed or aborted: index=" + index);
+        }
+
+        buffer.putIntRelease(commitWordIndex, commitWord);
+    }
+
+    private int checkIndex(final int index)
+    {
+        if (index < 0 || index >= commitWordsIndex || 0 != (index % slotLength))
+        {
+            throw new IllegalArgumentException("invalid slot index=" + index);
+        }
+
+        return index / slotLength;
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.concurrent.AtomicBuffer;
+import org.agrona.concurrent.IdleStrategy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.CONSUMER_PARKED_OFFSET;
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.TRAILER_LENGTH;
+
+/**
+ * Idle strategy for the consumer of a {@link OneToOneRingBuffer} or {@link ManyToOneRingBuffer} which parks the
+ * consumer thread when idle until a producer unparks it with {@link #signal()}, so low traffic ring-buffers do not
+ * need a busy spinning core nor suffer the added latency of a backoff.
+ * <p>
+ * When idle the consumer spins for a number of attempts before advertising that it is parked by setting the
+ * {@link RingBufferDescriptor#CONSUMER_PARKED_OFFSET} flag in the trailer, checking again for messages, and parking.
+ * Producers call {@link #signal()} after a write or commit which costs a plain read of the flag unless the consumer
+ * is parked. As the read is not ordered after the publication of the message, a wake-up can be missed so the
+ * consumer never parks for longer than a maximum period which bounds the worst case latency.
+ * <p>
+ * Producers and the consumer must share the same instance so only works within a process. The strategy must only
+ * be used by a single consumer thread.
+ */
+public final class ParkingIdleStrategy implements IdleStrategy
+{
+    /**
+     * Name to be returned from {@link #alias()}.
+     */
+    public static final String ALIAS = "parking";
+
+    /**
+     * Default number of times the strategy will spin without work before parking.
+     */
+    public static final int DEFAULT_MAX_SPINS = 100;
+
+    /**
+     * Default maximum period for which the consumer will park in case a wake-up is missed.
+     */
+    public static final long DEFAULT_MAX_PARK_PERIOD_NS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final int maxSpins;
+    private final int parkedIndex;
+    private final long maxParkPeriodNs;
+    private final RingBuffer ringBuffer;
+    private final AtomicBuffer buffer;
+    private int spins;
+    private volatile Thread consumerThread;
+
+    /**
+     * Construct a strategy for a ring-buffer using {@link #DEFAULT_MAX_SPINS} and
+     * {@link #DEFAULT_MAX_PARK_PERIOD_NS}.
+     *
+     * @param ringBuffer whose consumer will be parked when idle.
+     */
+    public ParkingIdleStrategy(final RingBuffer ringBuffer)
+    {
+        this(ringBuffer, DEFAULT_MAX_SPINS, DEFAULT_MAX_PARK_PERIOD_NS);
+    }
+
+    /**
+     * Construct a strategy for a ring-buffer.
+     *
+     * @param ringBuffer      whose consumer will be parked when idle.
+     * @param maxSpins        number of times the strategy will spin without work before parking.
+     * @param maxParkPeriodNs maximum period for which the consumer will park in case a wake-up is missed.
+     * @throws IllegalArgumentException if the ring-buffer is not followed by a trailer, the {@code maxSpins} is
+     *                                  negative, or the {@code maxParkPeriodNs} is not positive.
+     */
+    public ParkingIdleStrategy(final RingBuffer ringBuffer, final int maxSpins, final long maxParkPeriodNs)
+    {
+        buffer = ringBuffer.buffer();
+        if (buffer.capacity() != ringBuffer.capacity() + TRAILER_LENGTH)
+        {
+            throw new IllegalArgumentException("ring-buffer must be followed by a trailer: capacity=" +
+                ringBuffer.capacity() + ", buffer.capacity=" + buffer.capacity());
+        }
+
+        if (maxSpins < 0)
+        {
+            throw new IllegalArgumentException("maxSpins must not be negative: maxSpins=" + maxSpins);
+        }
+
+        if (maxParkPeriodNs <= 0)
+        {
+            throw new IllegalArgumentException("maxParkPeriodNs must be positive: maxParkPeriodNs=" + maxParkPeriodNs);
+        }
+
+        this.ringBuffer = ringBuffer;
+        this.maxSpins = maxSpins;
+        this.maxParkPeriodNs = maxParkPeriodNs;
+        parkedIndex = ringBuffer.capacity() + CONSUMER_PARKED_OFFSET;
+    }
+
+    /**
+     * Signal the consumer that a message has been published, unparking it if it has advertised that it is parked.
+     * To be called by producers after a write or commit.
+     */
+    public void signal()
+    {
+        if (0 != buffer.getInt(parkedIndex))
+        {
+            final Thread consumerThread = this.consumerThread;
+            if (null != consumerThread)
+            {
+                LockSupport.unpark(consumerThread);
+            }
+        }
+    }
+
+    /**
+     * Has the consumer advertised that it is parked.
+     *
+     * @return true if the consumer has advertised that it is parked.
+     */
+    public boolean isConsumerParked()
+    {
+        return 0 != buffer.getIntVolatile(parkedIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void idle(final int workCount)
+    {
+        if (workCount > 0)
+        {
+            spins = 0;
+        }
+        else
+        {
+            idle();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void idle()
+    {
+        if (spins < maxSpins)
+        {
+            spins++;
+            Thread.onSpinWait();
+            return;
+        }
+
+        final Thread thread = Thread.currentThread();
+        if (consumerThread != thread)
+        {
+            consumerThread = thread;
+        }
+
+        buffer.putIntVolatile(parkedIndex, 1);
+        if (ringBuffer.producerPosition() == ringBuffer.consumerPosition())
+        {
+            LockSupport.parkNanos(this, maxParkPeriodNs);
+        }
+        buffer.putIntRelease(parkedIndex, 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset()
+    {
+        spins = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String alias()
+    {
+        return ALIAS;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString()
+    {
+        return "ParkingIdleStrategy{" +
+            "alias=" + ALIAS +
+            ", maxSpins=" + maxSpins +
+            ", maxParkPeriodNs=" + maxParkPeriodNs +
+            '}';
+    }
+}
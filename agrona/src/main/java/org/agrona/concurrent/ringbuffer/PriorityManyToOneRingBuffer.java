@@ -0,0 +1,293 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.AtomicBuffer;
+import org.agrona.concurrent.ControlledMessageHandler;
+import org.agrona.concurrent.MessageHandler;
+
+/**
+ * A ring-buffer that supports the exchange of messages from many producers to a single consumer with a number of
+ * priority lanes so that urgent messages, such as cancels or heartbeats, do not queue behind bulk data.
+ * <p>
+ * The underlying buffer is divided into a configurable number of equal length lanes, each of which is laid out as a
+ * {@link ManyToOneRingBuffer} with its own trailer. The required length for a layout can be computed with
+ * {@link #bufferLength(int, int)}. Lane {@code 0} has the highest priority and the last lane the lowest. Producers
+ * select a lane with {@link #write(int, int, DirectBuffer, int, int)} or {@link #tryClaim(int, int, int)}, or can
+ * bind to a lane via {@link #lane(int)}. The {@link #write(int, DirectBuffer, int, int)} and
+ * {@link #tryClaim(int, int)} methods of this class use the lowest priority lane.
+ * <p>
+ * The consumer reads a batch of up to the starvation limit of messages from the highest priority lane which is not
+ * empty and then checks the higher priority lanes again. To bound the delay to lower priority lanes, once a lane has
+ * had messages waiting while a starvation limit of messages were read from higher priority lanes since it was last
+ * read it gets to read a single message before them. Messages are ordered within a lane but not across lanes. The
+ * positions and size reported are the sums for all lanes.
+ */
+public final class PriorityManyToOneRingBuffer extends AbstractLanedRingBuffer
+{
+    private final int starvationLimit;
+    private final int[] starvedCounts;
+
+    /**
+     * Construct a new priority ring-buffer based on an underlying {@link AtomicBuffer} divided into a number of lanes.
+     *
+     * @param buffer          via which events will be exchanged.
+     * @param laneCount       number of priority lanes into which the buffer is divided.
+     * @param starvationLimit number of messages which can be read from higher priority lanes before a lower priority
+     *                        lane with messages waiting gets to read one, and the maximum batch read from a lane
+     *                        before higher priority lanes are checked again.
+     * @throws IllegalArgumentException if the lane count or starvation limit is less than {@code 1} or the buffer
+     *                                  cannot be divided into lanes of a power of 2 capacity plus
+     *                                  {@link RingBufferDescriptor#TRAILER_LENGTH}.
+     * @see #bufferLength(int, int)
+     */
+    public PriorityManyToOneRingBuffer(final AtomicBuffer buffer, final int laneCount, final int starvationLimit)
+    {
+        super(buffer, laneCount);
+
+        if (starvationLimit < 1)
+        {
+            throw new IllegalArgumentException("invalid starvationLimit=" + starvationLimit);
+        }
+
+        this.starvationLimit = starvationLimit;
+        starvedCounts = new int[laneCount];
+    }
+
+    /**
+     * Compute the length of buffer required for a given number of lanes and capacity of each lane.
+     *
+     * @param laneCount    number of priority lanes into which the buffer is divided.
+     * @param laneCapacity capacity of each lane which must be a power of 2.
+     * @return the length of buffer required including the trailer for each lane.
+     */
+    public static int bufferLength(final int laneCount, final int laneCapacity)
+    {
+        return lanedBufferLength(laneCount, laneCapacity);
+    }
+
+    /**
+     * Number of messages which can be read from higher priority lanes before a lower priority lane with messages
+     * waiting gets to read one.
+     *
+     * @return number of messages which can be read from higher priority lanes before a lower priority lane gets to
+     * read one.
+     */
+    public int starvationLimit()
+    {
+        return starvationLimit;
+    }
+
+    /**
+     * Get the lane for a priority to which a producer can bind. Indexes returned from
+     * {@link RingBuffer#tryClaim(int, int)} on the lane are relative to the buffer of the lane.
+     *
+     * @param priority of the lane with {@code 0} being the highest.
+     * @return the lane as a ring-buffer.
+     * @throws IllegalArgumentException if the priority is not in the range {@code 0} to {@code laneCount() - 1}.
+     */
+    public ManyToOneRingBuffer lane(final int priority)
+    {
+        return lanes[checkPriority(priority)];
+    }
+
+    /**
+     * Non-blocking write of a message to the lane for a priority.
+     *
+     * @param priority  of the lane with {@code 0} being the highest.
+     * @param msgTypeId type of the message encoding.
+     * @param srcBuffer containing the encoded binary message.
+     * @param offset    at which the encoded message begins.
+     * @param length    of the encoded message in bytes.
+     * @return true if written to the ring-buffer, or false if insufficient space exists.
+     * @throws IllegalArgumentException if the priority is not valid, the length is negative, or is greater than
+     *                                  {@link #maxMsgLength()}.
+     */
+    public boolean write(
+        final int priority, final int msgTypeId, final DirectBuffer srcBuffer, final int offset, final int length)
+    {
+        return lanes[checkPriority(priority)].write(msgTypeId, srcBuffer, offset, length);
+    }
+
+    /**
+     * Try to claim a space in the lane for a priority to be written to. The index returned is relative to
+     * {@link #buffer()} and is to be committed or aborted with this ring-buffer.
+     *
+     * @param priority  of the lane with {@code 0} being the highest.
+     * @param msgTypeId type of the message encoding.
+     * @param length    of the claim in bytes.
+     * @return a non-zero index into the underlying ring-buffer at which encoded message begins, otherwise returns
+     * {@link #INSUFFICIENT_CAPACITY} indicating that there is not enough free space in the lane.
+     * @throws IllegalArgumentException if the priority is not valid, the length is negative, or is greater than
+     *                                  {@link #maxMsgLength()}.
+     * @see #commit(int)
+     * @see #abort(int)
+     */
+    public int tryClaim(final int priority, final int msgTypeId, final int length)
+    {
+        return claimInLane(checkPriority(priority), msgTypeId, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The message is written to the lowest priority lane.
+     */
+    @Override
+    public boolean write(final int msgTypeId, final DirectBuffer srcBuffer, final int offset, final int length)
+    {
+        return lanes[lanes.length - 1].write(msgTypeId, srcBuffer, offset, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The claim is in the lowest priority lane and the index returned is relative to {@link #buffer()}.
+     */
+    @Override
+    public int tryClaim(final int msgTypeId, final int length)
+    {
+        return tryClaim(lanes.length - 1, msgTypeId, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Higher priority lanes are read first subject to the {@link #starvationLimit()}.
+     */
+    @Override
+    public int read(final MessageHandler handler, final int messageCountLimit)
+    {
+        return read(handler, null, messageCountLimit);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Higher priority lanes are read first subject to the {@link #starvationLimit()}. Reading stops at the first
+     * {@link ControlledMessageHandler.Action#BREAK} or {@link ControlledMessageHandler.Action#ABORT}.
+     */
+    @Override
+    public int controlledRead(final ControlledMessageHandler handler, final int messageCountLimit)
+    {
+        final ControlledHandlerAdapter adapter = controlledHandlerAdapter;
+        adapter.delegate = handler;
+        adapter.lastAction = null;
+        try
+        {
+            return read(null, adapter, messageCountLimit);
+        }
+        finally
+        {
+            adapter.delegate = null;
+        }
+    }
+
+    private int read(
+        final MessageHandler handler, final ControlledHandlerAdapter adapter, final int messageCountLimit)
+    {
+        final ManyToOneRingBuffer[] lanes = this.lanes;
+        final int[] starvedCounts = this.starvedCounts;
+        final int laneCount = lanes.length;
+        int messagesRead = 0;
+
+        while (messagesRead < messageCountLimit)
+        {
+            int passRead = 0;
+
+            for (int i = 1; i < laneCount && messagesRead < messageCountLimit; i++)
+            {
+                if (starvedCounts[i] >= starvationLimit)
+                {
+                    starvedCounts[i] = 0;
+                    final int laneRead = readLane(i, handler, adapter, 1);
+                    messagesRead += laneRead;
+                    passRead += laneRead;
+
+                    if (isStopped(adapter))
+                    {
+                        return messagesRead;
+                    }
+                }
+            }
+
+            for (int i = 0; i < laneCount && messagesRead < messageCountLimit; i++)
+            {
+                final int limit = Math.min(messageCountLimit - messagesRead, starvationLimit);
+                final int laneRead = readLane(i, handler, adapter, limit);
+                messagesRead += laneRead;
+                passRead += laneRead;
+
+                if (isStopped(adapter))
+                {
+                    return messagesRead;
+                }
+
+                if (laneRead > 0)
+                {
+                    break;
+                }
+            }
+
+            if (0 == passRead)
+            {
+                break;
+            }
+        }
+
+        return messagesRead;
+    }
+
+    private int readLane(
+        final int laneIndex, final MessageHandler handler, final ControlledHandlerAdapter adapter, final int limit)
+    {
+        final ManyToOneRingBuffer lane = lanes[laneIndex];
+        final int laneRead = null != handler ? lane.read(handler, limit) : lane.controlledRead(adapter, limit);
+
+        if (laneRead > 0)
+        {
+            final ManyToOneRingBuffer[] lanes = this.lanes;
+            final int[] starvedCounts = this.starvedCounts;
+            starvedCounts[laneIndex] = 0;
+
+            for (int i = laneIndex + 1; i < starvedCounts.length; i++)
+            {
+                if (lanes[i].size() > 0)
+                {
+                    starvedCounts[i] += laneRead;
+                }
+            }
+        }
+
+        return laneRead;
+    }
+
+    private int checkPriority(final int priority)
+    {
+        if (priority < 0 || priority >= lanes.length)
+        {
+            throw new IllegalArgumentException("invalid priority=" + priority + ", laneCount=" + lanes.length);
+        }
+
+        return priority;
+    }
+
+    private static boolean isStopped(final ControlledHandlerAdapter adapter)
+    {
+        return null != adapter && adapter.isStopped();
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.AtomicBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+import static org.agrona.BitUtil.align;
+import static org.agrona.concurrent.ringbuffer.RecordDescriptor.*;
+import static org.agrona.concurrent.ringbuffer.RingBuffer.PADDING_MSG_TYPE_ID;
+
+/**
+ * Zero-copy view over the contiguous block of committed records available to the consumer of a
+ * {@link OneToOneRingBuffer} or {@link ManyToOneRingBuffer}, obtained via {@code peekBatch}.
+ * <p>
+ * The block is exposed as a {@link DirectBuffer} containing whole records in the {@link RecordDescriptor} layout,
+ * including any padding records, up to the point at which the ring-buffer wraps. The records can be iterated with
+ * {@link #nextRecord()} which skips padding. Consumed space is given back to producers by releasing a prefix of the
+ * block with {@link #release(int)}.
+ * <p>
+ * An example of draining a batch:
+ * <pre>
+ * {@code
+ *     final OneToOneRingBuffer ringBuffer = ...;
+ *     final ReadBatch readBatch = new ReadBatch();
+ *
+ *     if (ringBuffer.peekBatch(readBatch) > 0)
+ *     {
+ *         final DirectBuffer buffer = readBatch.buffer();
+ *         while (readBatch.nextRecord())
+ *         {
+ *             final int msgTypeId = readBatch.msgTypeId();
+ *             // Work with the buffer directly using readBatch.msgOffset() and readBatch.msgLength()
+ *             ...
+ *         }
+ *
+ *         readBatch.release(readBatch.length());
+ *     }
+ * }
+ * </pre>
+ * <p>
+ * A batch is reusable and is not thread safe. It must only be used by the consumer thread and other read methods of
+ * the ring-buffer must not be called while a batch is outstanding.
+ */
+public final class ReadBatch
+{
+    private final UnsafeBuffer view = new UnsafeBuffer();
+    private AtomicBuffer buffer;
+    private boolean zeroOnRelease;
+    private int headPositionIndex;
+    private long head;
+    private int headIndex;
+    private int length;
+    private int releasedLength;
+    private int recordOffset;
+    private int nextRecordOffset;
+
+    /**
+     * Construct a read batch which can be used with {@code peekBatch} methods on a ring-buffer.
+     */
+    public ReadBatch()
+    {
+    }
+
+    /**
+     * View over the contiguous block of records in the batch which begins at offset {@code 0}.
+     *
+     * @return view over the contiguous block of records in the batch.
+     */
+    public DirectBuffer buffer()
+    {
+        return view;
+    }
+
+    /**
+     * Length in bytes of the block of records in the batch including headers and padding.
+     *
+     * @return length in bytes of the block of records in the batch.
+     */
+    public int length()
+    {
+        return length;
+    }
+
+    /**
+     * The consumer position in the ring-buffer at which the batch begins.
+     *
+     * @return consumer position in the ring-buffer at which the batch begins.
+     */
+    public long position()
+    {
+        return head;
+    }
+
+    /**
+     * Length of the prefix of the batch which has been released back to producers.
+     *
+     * @return length of the prefix of the batch which has been released.
+     */
+    public int releasedLength()
+    {
+        return releasedLength;
+    }
+
+    /**
+     * Advance to the next message record in the batch skipping any padding.
+     *
+     * @return true if positioned on a message record or false if the end of the batch has been reached.
+     */
+    public boolean nextRecord()
+    {
+        final UnsafeBuffer view = this.view;
+        final int length = this.length;
+        int offset = nextRecordOffset;
+
+        while (offset < length)
+        {
+            final int recordLength = view.getInt(lengthOffset(offset));
+            final int recordOffset = offset;
+            offset += align(recordLength, ALIGNMENT);
+
+            if (PADDING_MSG_TYPE_ID != view.getInt(typeOffset(recordOffset)))
+            {
+                this.recordOffset = recordOffset;
+                nextRecordOffset = offset;
+                return true;
+            }
+        }
+
+        recordOffset = length;
+        nextRecordOffset = length;
+
+        return false;
+    }
+
+    /**
+     * Reset iteration of records to the beginning of the batch, or to the first record not yet released.
+     */
+    public void rewind()
+    {
+        recordOffset = releasedLength;
+        nextRecordOffset = releasedLength;
+    }
+
+    /**
+     * Offset in {@link #buffer()} at which the header of the current record begins.
+     *
+     * @return offset in {@link #buffer()} at which the header of the current record begins.
+     */
+    public int recordOffset()
+    {
+        return recordOffset;
+    }
+
+    /**
+     * Offset in {@link #buffer()} at which the record following the current one begins. Releasing up to this offset
+     * releases the current record and all before it.
+     *
+     * @return offset in {@link #buffer()} at which the record following the current one begins.
+     */
+    public int nextRecordOffset()
+    {
+        return nextRecordOffset;
+    }
+
+    /**
+     * Type of the message in the current record.
+     *
+     * @return type of the message in the current record.
+     */
+    public int msgTypeId()
+    {
+        return view.getInt(typeOffset(recordOffset));
+    }
+
+    /**
+     * Offset in {@link #buffer()} at which the encoded message of the current record begins.
+     *
+     * @return offset in {@link #buffer()} at which the encoded message of the current record begins.
+     */
+    public int msgOffset()
+    {
+        return encodedMsgOffset(recordOffset);
+    }
+
+    /**
+     * Length of the encoded message in the current record.
+     *
+     * @return length of the encoded message in the current record.
+     */
+    public int msgLength()
+    {
+        return view.getInt(lengthOffset(recordOffset)) - HEADER_LENGTH;
+    }
+
+    /**
+     * Release a prefix of the batch back to producers thus advancing the consumer position. This can be called
+     * multiple times with increasing lengths to release the batch incrementally. Iteration continues from the end of
+     * the released prefix if it is beyond the current record as released records may have been zeroed.
+     *
+     * @param length of the prefix from the start of the batch. It must fall on a record boundary such as
+     *               {@link #nextRecordOffset()} or {@link #length()}.
+     * @throws IllegalArgumentException if the {@code length} is less than {@link #releasedLength()}, greater than
+     *                                  {@link #length()} or not on a record boundary.
+     */
+    public void release(final int length)
+    {
+        if (length < releasedLength || length > this.length || !isRecordBoundary(length))
+        {
+            throw new IllegalArgumentException(
+                "invalid release length=" + length + ", releasedLength=" + releasedLength +
+                ", batchLength=" + this.length);
+        }
+
+        final int releaseLength = length - releasedLength;
+        if (releaseLength > 0)
+        {
+            final AtomicBuffer buffer = this.buffer;
+            if (zeroOnRelease)
+            {
+                buffer.setMemory(headIndex + releasedLength, releaseLength, (byte)0);
+            }
+
+            buffer.putLongRelease(headPositionIndex, head + length);
+            releasedLength = length;
+
+            if (nextRecordOffset < length)
+            {
+                recordOffset = length;
+                nextRecordOffset = length;
+            }
+        }
+    }
+
+    private boolean isRecordBoundary(final int length)
+    {
+        if (length == this.length || length == nextRecordOffset)
+        {
+            return true;
+        }
+
+        final UnsafeBuffer view = this.view;
+        int offset = releasedLength;
+        while (offset < length)
+        {
+            offset += align(view.getInt(lengthOffset(offset)), ALIGNMENT);
+        }
+
+        return offset == length;
+    }
+
+    void wrap(
+        final AtomicBuffer buffer,
+        final boolean zeroOnRelease,
+        final int headPositionIndex,
+        final long head,
+        final int headIndex,
+        final int length)
+    {
+        this.buffer = buffer;
+        this.zeroOnRelease = zeroOnRelease;
+        this.headPositionIndex = headPositionIndex;
+        this.head = head;
+        this.headIndex = headIndex;
+        this.length = length;
+        releasedLength = 0;
+        recordOffset = 0;
+        nextRecordOffset = 0;
+        view.wrap(buffer, headIndex, length);
+    }
+
+    static int scanCommittedLength(
+        final AtomicBuffer buffer, final int headIndex, final int contiguousBlockLength, final int maxLength)
+    {
+        final int limit = Math.min(contiguousBlockLength, maxLength);
+        int length = 0;
+
+        while (length < limit)
+        {
+            final int recordLength = buffer.getIntVolatile(lengthOffset(headIndex + length));
+            if (recordLength <= 0)
+            {
+                break;
+            }
+
+            final int alignedLength = align(recordLength, ALIGNMENT);
+            if (length + alignedLength > limit)
+            {
+                break;
+            }
+
+            length += alignedLength;
+        }
+
+        return length;
+    }
+}
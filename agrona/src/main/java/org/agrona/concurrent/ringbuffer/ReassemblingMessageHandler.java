@@ -0,0 +1,175 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.ExpandableDirectByteBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.collections.Int2ObjectHashMap;
+import org.agrona.concurrent.MessageHandler;
+
+import static org.agrona.concurrent.ringbuffer.FragmentDescriptor.*;
+
+/**
+ * {@link MessageHandler} adapter which reassembles the fragments written by a {@link FragmentingWriter} into whole
+ * messages before delegating. Messages which are not fragmented are delegated as is.
+ * <p>
+ * Fragments are reassembled into a reusable {@link ExpandableDirectByteBuffer} per stream id so no allocation
+ * occurs in steady state once the buffers have grown to the size of the largest message. The buffer passed to the
+ * delegate for a reassembled message is only valid for the duration of the callback.
+ * <p>
+ * A message which is missing a fragment, such as when a writer abandons a message, is discarded.
+ */
+public final class ReassemblingMessageHandler implements MessageHandler
+{
+    private final int initialBufferLength;
+    private final MessageHandler delegate;
+    private final Int2ObjectHashMap<Reassembly> reassemblyByStreamIdMap = new Int2ObjectHashMap<>();
+
+    /**
+     * Construct an adapter which delegates whole messages to a handler.
+     *
+     * @param delegate to receive whole messages.
+     */
+    public ReassemblingMessageHandler(final MessageHandler delegate)
+    {
+        this(delegate, 4096);
+    }
+
+    /**
+     * Construct an adapter which delegates whole messages to a handler.
+     *
+     * @param delegate            to receive whole messages.
+     * @param initialBufferLength for the buffer of each stream which will expand as required.
+     */
+    public ReassemblingMessageHandler(final MessageHandler delegate, final int initialBufferLength)
+    {
+        this.delegate = delegate;
+        this.initialBufferLength = initialBufferLength;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onMessage(final int msgTypeId, final MutableDirectBuffer buffer, final int index, final int length)
+    {
+        if (!isFragment(msgTypeId))
+        {
+            delegate.onMessage(msgTypeId, buffer, index, length);
+            return;
+        }
+
+        final int streamId = buffer.getInt(index + STREAM_ID_OFFSET);
+        final int fragmentOffset = buffer.getInt(index + FRAGMENT_OFFSET_OFFSET);
+        final int fragmentIndex = index + FRAGMENT_HEADER_LENGTH;
+        final int fragmentLength = length - FRAGMENT_HEADER_LENGTH;
+        final int wholeMsgTypeId = msgTypeId & MSG_TYPE_ID_MASK;
+
+        Reassembly reassembly = reassemblyByStreamIdMap.get(streamId);
+        if (0 != (msgTypeId & BEGIN_FRAGMENT_FLAG))
+        {
+            if (null == reassembly)
+            {
+                reassembly = new Reassembly(initialBufferLength);
+                reassemblyByStreamIdMap.put(streamId, reassembly);
+            }
+
+            reassembly.begin(wholeMsgTypeId);
+        }
+        else if (null == reassembly || !reassembly.isExpected(wholeMsgTypeId, fragmentOffset))
+        {
+            if (null != reassembly)
+            {
+                reassembly.reset();
+            }
+
+            return;
+        }
+
+        reassembly.append(buffer, fragmentIndex, fragmentLength);
+
+        if (0 != (msgTypeId & END_FRAGMENT_FLAG))
+        {
+            try
+            {
+                delegate.onMessage(wholeMsgTypeId, reassembly.buffer, 0, reassembly.length);
+            }
+            finally
+            {
+                reassembly.reset();
+            }
+        }
+    }
+
+    /**
+     * Number of streams for which messages are part way through being reassembled.
+     *
+     * @return number of streams for which messages are part way through being reassembled.
+     */
+    public int pendingStreamCount()
+    {
+        int count = 0;
+        for (final Reassembly reassembly : reassemblyByStreamIdMap.values())
+        {
+            if (reassembly.isActive())
+            {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    private static final class Reassembly
+    {
+        private final ExpandableDirectByteBuffer buffer;
+        private int msgTypeId;
+        private int length;
+
+        Reassembly(final int initialBufferLength)
+        {
+            buffer = new ExpandableDirectByteBuffer(initialBufferLength);
+        }
+
+        void begin(final int msgTypeId)
+        {
+            this.msgTypeId = msgTypeId;
+            length = 0;
+        }
+
+        boolean isActive()
+        {
+            return 0 != msgTypeId;
+        }
+
+        boolean isExpected(final int msgTypeId, final int fragmentOffset)
+        {
+            return 0 != this.msgTypeId && this.msgTypeId == msgTypeId && length == fragmentOffset;
+        }
+
+        void append(final MutableDirectBuffer srcBuffer, final int srcIndex, final int srcLength)
+        {
+            buffer.putBytes(length, srcBuffer, srcIndex, srcLength);
+            length += srcLength;
+        }
+
+        void reset()
+        {
+            msgTypeId = 0;
+            length = 0;
+        }
+    }
+}
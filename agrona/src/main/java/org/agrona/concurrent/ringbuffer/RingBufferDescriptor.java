@@ -39,6 +39,25 @@ public final class RingBufferDescriptor
      */
     public static final int HEAD_POSITION_OFFSET;
 
+    /**
+     * Offset within the trailer for where the consumer claim position is stored by ring-buffers with multiple
+     * consumers. It is located in the padding following the head position so the trailer length is unchanged.
+     */
+    public static final int CONSUMER_CLAIM_POSITION_OFFSET;
+
+    /**
+     * Offset within the trailer for where the consumer release lock is stored by ring-buffers with multiple
+     * consumers. It is located in the padding following the head position so the trailer length is unchanged.
+     */
+    public static final int CONSUMER_RELEASE_LOCK_OFFSET;
+
+    /**
+     * Offset within the trailer for where the count of records aborted by consumers, and awaiting being claimed
+     * again, is stored by ring-buffers with multiple consumers. It is located in the padding following the head
+     * position so the trailer length is unchanged.
+     */
+    public static final int CONSUMER_ABORTED_COUNT_OFFSET;
+
     /**
      * Offset within the trailer for where the correlation counter value is stored.
      */
@@ -49,6 +68,15 @@ public final class RingBufferDescriptor
      */
     public static final int CONSUMER_HEARTBEAT_OFFSET;
 
+    /**
+     * Offset within the trailer for where the flag is stored by which a consumer advertises that it is parked and
+     * should be unparked by producers. It is located in the padding following the consumer heartbeat so the trailer
+     * length is unchanged.
+     *
+     * @see ParkingIdleStrategy
+     */
+    public static final int CONSUMER_PARKED_OFFSET;
+
     /**
      * Total length of the trailer in bytes.
      */
@@ -65,12 +93,16 @@ public final class RingBufferDescriptor
 
         offset += (BitUtil.CACHE_LINE_LENGTH * 2);
         HEAD_POSITION_OFFSET = offset;
+        CONSUMER_CLAIM_POSITION_OFFSET = offset + BitUtil.CACHE_LINE_LENGTH;
+        CONSUMER_RELEASE_LOCK_OFFSET = CONSUMER_CLAIM_POSITION_OFFSET + BitUtil.SIZE_OF_LONG;
+        CONSUMER_ABORTED_COUNT_OFFSET = CONSUMER_RELEASE_LOCK_OFFSET + BitUtil.SIZE_OF_INT;
 
         offset += (BitUtil.CACHE_LINE_LENGTH * 2);
         CORRELATION_COUNTER_OFFSET = offset;
 
         offset += (BitUtil.CACHE_LINE_LENGTH * 2);
         CONSUMER_HEARTBEAT_OFFSET = offset;
+        CONSUMER_PARKED_OFFSET = offset + BitUtil.CACHE_LINE_LENGTH;
 
         offset += (BitUtil.CACHE_LINE_LENGTH * 2);
         TRAILER_LENGTH = offset;
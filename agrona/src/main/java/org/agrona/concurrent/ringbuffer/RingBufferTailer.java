@@ -0,0 +1,232 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.AtomicBuffer;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.agrona.BitUtil.align;
+import static org.agrona.concurrent.ringbuffer.RecordDescriptor.*;
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.HEAD_POSITION_OFFSET;
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.TAIL_POSITION_OFFSET;
+
+/**
+ * Passive, read-only observer of the messages committed to a {@link OneToOneRingBuffer} which follows the stream
+ * using its own private position, so any number of tailers can observe the stream, e.g. for audit or recording,
+ * without slowing the consumer or back-pressuring the producer.
+ * <p>
+ * Messages are accessed in place in the {@link #buffer()}, in the same manner as for a
+ * {@link org.agrona.concurrent.broadcast.BroadcastReceiver}, and so must be checked with {@link #validate()} after
+ * being read. If the producer laps a tailer then loss will be experienced, the {@link #lappedCount()} incremented,
+ * and the tailer resumes from the consumer position, which the producer cannot overwrite. Loss is not an error
+ * condition.
+ * <p>
+ * <b>Note:</b> A tailer is not threadsafe but there can be zero or many tailers of a ring-buffer.
+ */
+public final class RingBufferTailer
+{
+    private long recordPosition;
+    private long nextPosition;
+    private int recordIndex;
+    private int recordLength;
+    private int typeId;
+
+    private final int capacity;
+    private final int tailPositionIndex;
+    private final int headPositionIndex;
+    private final AtomicBuffer buffer;
+    private final AtomicLong lappedCount = new AtomicLong();
+
+    /**
+     * Construct a tailer which begins with the oldest message not yet consumed from the ring-buffer.
+     *
+     * @param ringBuffer to be observed.
+     */
+    public RingBufferTailer(final OneToOneRingBuffer ringBuffer)
+    {
+        this(ringBuffer, ringBuffer.consumerPosition());
+    }
+
+    /**
+     * Construct a tailer which begins at a given position, such as the {@link RingBuffer#producerPosition()} to
+     * observe only new messages or the {@link #position()} of a previous tailer to resume from where it left off.
+     *
+     * @param ringBuffer to be observed.
+     * @param position   at which to begin which must be the beginning of a record.
+     * @throws IllegalArgumentException if the position is beyond the producer position or not aligned.
+     */
+    public RingBufferTailer(final OneToOneRingBuffer ringBuffer, final long position)
+    {
+        buffer = ringBuffer.buffer();
+        capacity = ringBuffer.capacity();
+        tailPositionIndex = capacity + TAIL_POSITION_OFFSET;
+        headPositionIndex = capacity + HEAD_POSITION_OFFSET;
+
+        if (position < 0 || position > ringBuffer.producerPosition() || 0 != (position & (ALIGNMENT - 1)))
+        {
+            throw new IllegalArgumentException("invalid position=" + position);
+        }
+
+        recordPosition = nextPosition = position;
+    }
+
+    /**
+     * Get the number of times the producer has lapped this tailer around the buffer. On each lap loss will be
+     * experienced.
+     * <p>
+     * <b>Note:</b> This method is threadsafe for calling from an external monitoring thread. It will not
+     * provide any ordering guarantees with respect to loads/stores to other addresses.
+     *
+     * @return the number of times the producer has lapped this tailer.
+     */
+    public long lappedCount()
+    {
+        return lappedCount.getOpaque();
+    }
+
+    /**
+     * Position in bytes of the next record to be received.
+     *
+     * @return position in bytes of the next record to be received.
+     */
+    public long position()
+    {
+        return nextPosition;
+    }
+
+    /**
+     * Type of the message received.
+     *
+     * @return typeId of the message received.
+     */
+    public int typeId()
+    {
+        return typeId;
+    }
+
+    /**
+     * The offset for the beginning of the message received.
+     *
+     * @return offset for the beginning of the message received.
+     */
+    public int offset()
+    {
+        return encodedMsgOffset(recordIndex);
+    }
+
+    /**
+     * The length of the message received.
+     *
+     * @return length of the message received.
+     */
+    public int length()
+    {
+        return recordLength - HEADER_LENGTH;
+    }
+
+    /**
+     * The underlying buffer containing the message stream.
+     *
+     * @return the underlying buffer containing the message stream.
+     */
+    public MutableDirectBuffer buffer()
+    {
+        return buffer;
+    }
+
+    /**
+     * Non-blocking receive of next message committed to the ring-buffer.
+     * <p>
+     * If loss has occurred then {@link #lappedCount()} will be incremented.
+     *
+     * @return true if a message is available with {@link #offset()}, {@link #length()} and {@link #typeId()} set for
+     * the message received. If no message is available then false.
+     */
+    public boolean receiveNext()
+    {
+        final AtomicBuffer buffer = this.buffer;
+        final int mask = capacity - 1;
+        final long tail = buffer.getLongVolatile(tailPositionIndex);
+        long position = nextPosition;
+
+        while (position < tail)
+        {
+            if (!validate(position, buffer))
+            {
+                lappedCount.setOpaque(lappedCount.getPlain() + 1);
+                position = buffer.getLongVolatile(headPositionIndex);
+                continue;
+            }
+
+            final int recordIndex = (int)position & mask;
+            final int recordLength = buffer.getIntVolatile(lengthOffset(recordIndex));
+            if (recordLength <= 0)
+            {
+                break;
+            }
+
+            final int typeId = buffer.getInt(typeOffset(recordIndex));
+
+            VarHandle.acquireFence();
+            if (!validate(position, buffer))
+            {
+                continue;
+            }
+
+            if (RingBuffer.PADDING_MSG_TYPE_ID == typeId)
+            {
+                position += align(recordLength, ALIGNMENT);
+                continue;
+            }
+
+            this.recordPosition = position;
+            this.recordIndex = recordIndex;
+            this.recordLength = recordLength;
+            this.typeId = typeId;
+            nextPosition = position + align(recordLength, ALIGNMENT);
+
+            return true;
+        }
+
+        nextPosition = position;
+
+        return false;
+    }
+
+    /**
+     * Validate that the message received is still valid and has not been overwritten.
+     * <p>
+     * If the tailer is not consuming messages fast enough to keep up with the producer then loss can be experienced
+     * resulting in messages being overwritten thus making them no longer valid.
+     *
+     * @return true if still valid otherwise false.
+     */
+    public boolean validate()
+    {
+        VarHandle.acquireFence();
+
+        return validate(recordPosition, buffer);
+    }
+
+    private boolean validate(final long position, final AtomicBuffer buffer)
+    {
+        // the producer claims by advancing the tail before it writes, and writes no further than the next header
+        return (position + capacity) >= (buffer.getLongVolatile(tailPositionIndex) + HEADER_LENGTH);
+    }
+}
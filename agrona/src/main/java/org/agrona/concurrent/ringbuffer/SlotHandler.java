@@ -0,0 +1,33 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.MutableDirectBuffer;
+
+/**
+ * Callback interface for processing of the fixed length messages read from a {@link SlotRingBuffer}.
+ */
+@FunctionalInterface
+public interface SlotHandler
+{
+    /**
+     * Called for the processing of each message read from a slot in turn.
+     *
+     * @param buffer containing the encoded message.
+     * @param index  at which the encoded message begins which is {@link SlotRingBuffer#slotLength()} bytes in length.
+     */
+    void onSlot(MutableDirectBuffer buffer, int index);
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.AtomicBuffer;
+
+/**
+ * Ring-buffer for the exchange of messages which are all the same length between producers and a consumer. Messages
+ * are stored in fixed length slots without a record header as described by {@link SlotRingBufferDescriptor}.
+ * <p>
+ * Positions and sizes are measured in slots rather than bytes.
+ */
+public interface SlotRingBuffer
+{
+    /**
+     * Buffer has insufficient capacity to satisfy a {@link #tryClaim()} request as all slots are in use.
+     */
+    int INSUFFICIENT_CAPACITY = RingBuffer.INSUFFICIENT_CAPACITY;
+
+    /**
+     * Length in bytes of each slot which is the length of every message.
+     *
+     * @return length in bytes of each slot.
+     */
+    int slotLength();
+
+    /**
+     * Number of slots in the ring-buffer.
+     *
+     * @return number of slots in the ring-buffer.
+     */
+    int slotCount();
+
+    /**
+     * Get the underlying buffer used by the ring-buffer for storage.
+     *
+     * @return the underlying buffer used by the ring-buffer for storage.
+     */
+    AtomicBuffer buffer();
+
+    /**
+     * Non-blocking write of a message to the next slot of the ring-buffer.
+     *
+     * @param srcBuffer containing the encoded message which is {@link #slotLength()} bytes in length.
+     * @param offset    at which the encoded message begins.
+     * @return true if written to the ring-buffer, or false if insufficient space exists.
+     */
+    boolean write(DirectBuffer srcBuffer, int offset);
+
+    /**
+     * Try to claim the next slot of the ring-buffer into which a message can be encoded with zero copy semantics.
+     * Once the message has been encoded then either {@link #commit(int)} or {@link #abort(int)} must be called with
+     * the returned index.
+     *
+     * @return index at which the message can be encoded in {@link #buffer()} or {@link #INSUFFICIENT_CAPACITY} if
+     * all slots are in use.
+     */
+    int tryClaim();
+
+    /**
+     * Commit a message encoded into the slot claimed via {@link #tryClaim()} to make it available to the consumer.
+     *
+     * @param index at which the message was encoded as returned by {@link #tryClaim()}.
+     * @throws IllegalArgumentException if the {@code index} is not that of a slot.
+     * @throws IllegalStateException    if the slot has already been committed or aborted.
+     */
+    void commit(int index);
+
+    /**
+     * Abort the claim of a slot claimed via {@link #tryClaim()} so it is skipped by the consumer.
+     *
+     * @param index at which the message was to be encoded as returned by {@link #tryClaim()}.
+     * @throws IllegalArgumentException if the {@code index} is not that of a slot.
+     * @throws IllegalStateException    if the slot has already been committed or aborted.
+     */
+    void abort(int index);
+
+    /**
+     * Read as many messages as are available to the end of the ring-buffer.
+     *
+     * @param handler to be called for processing each message in turn.
+     * @return the number of messages that have been processed.
+     */
+    int read(SlotHandler handler);
+
+    /**
+     * Read as many messages as are available to the end of the ring-buffer up to a provided limit.
+     *
+     * @param handler           to be called for processing each message in turn.
+     * @param messageCountLimit the number of messages will be read in a single invocation.
+     * @return the number of messages that have been processed.
+     */
+    int read(SlotHandler handler, int messageCountLimit);
+
+    /**
+     * Get the next value that can be used for a correlation id on a message when a response needs to be correlated.
+     *
+     * @return the next value in the correlation sequence.
+     */
+    long nextCorrelationId();
+
+    /**
+     * Set the time of the last consumer heartbeat.
+     *
+     * @param time of the last consumer heartbeat.
+     */
+    void consumerHeartbeatTime(long time);
+
+    /**
+     * The time of the last consumer heartbeat.
+     *
+     * @return the time of the last consumer heartbeat.
+     */
+    long consumerHeartbeatTime();
+
+    /**
+     * The position in slots of the producer from the start which is the number of slots claimed.
+     *
+     * @return the position in slots of the producer from the start.
+     */
+    long producerPosition();
+
+    /**
+     * The position in slots of the consumer from the start which is the number of slots consumed.
+     *
+     * @return the position in slots of the consumer from the start.
+     */
+    long consumerPosition();
+
+    /**
+     * Number of slots claimed and not yet consumed.
+     *
+     * @return number of slots claimed and not yet consumed.
+     */
+    int size();
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.BitUtil;
+
+import static org.agrona.BitUtil.SIZE_OF_INT;
+import static org.agrona.concurrent.ringbuffer.RecordDescriptor.ALIGNMENT;
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.TRAILER_LENGTH;
+
+/**
+ * Layout description for the underlying buffer used by a {@link SlotRingBuffer}. The buffer consists of a ring of
+ * fixed length slots, which is a power of 2 in number, followed by an array of commit words with one per slot and
+ * then the trailer as described by {@link RingBufferDescriptor}.
+ * <pre>
+ *  +--------------------------------+
+ *  |     Slots (count x length)    ...
+ * ...                               |
+ *  +--------------------------------+
+ *  |  Commit Words (count x 4 bytes) ...
+ * ...                               |
+ *  +--------------------------------+
+ *  |            Trailer            ...
+ * ...                               |
+ *  +--------------------------------+
+ * </pre>
+ * Keeping the commit words apart from the slots means messages are not preceded by a header so remain aligned to the
+ * slot length, and as every slot is the same length there is never any padding at the wrap. A commit word is
+ * {@link #EMPTY} until the message in the slot is committed or aborted and is reset by the consumer once read.
+ */
+public final class SlotRingBufferDescriptor
+{
+    /**
+     * Length in bytes of the commit word for each slot.
+     */
+    public static final int COMMIT_WORD_LENGTH = SIZE_OF_INT;
+
+    /**
+     * Value of the commit word for a slot which has no message available to the consumer.
+     */
+    public static final int EMPTY = 0;
+
+    /**
+     * Value of the commit word for a slot which contains a committed message.
+     */
+    public static final int COMMITTED = 1;
+
+    /**
+     * Value of the commit word for a slot which was claimed and then aborted so is to be skipped by the consumer.
+     */
+    public static final int ABORTED = -1;
+
+    /**
+     * Minimum number of slots in a ring-buffer.
+     */
+    public static final int MIN_SLOT_COUNT = 2;
+
+    private SlotRingBufferDescriptor()
+    {
+    }
+
+    /**
+     * Length of the buffer required for a ring-buffer including the {@link RingBufferDescriptor#TRAILER_LENGTH}.
+     *
+     * @param slotCount  number of slots which must be a power of 2 and at least {@link #MIN_SLOT_COUNT}.
+     * @param slotLength in bytes of each slot which must be a positive multiple of
+     *                   {@link RecordDescriptor#ALIGNMENT}.
+     * @return length of the buffer required for a ring-buffer.
+     * @throws IllegalArgumentException if the slot count or length is invalid.
+     */
+    public static int bufferLength(final int slotCount, final int slotLength)
+    {
+        checkSlotCount(slotCount);
+        checkSlotLength(slotLength);
+
+        return slotCount * (slotLength + COMMIT_WORD_LENGTH) + TRAILER_LENGTH;
+    }
+
+    /**
+     * Check the buffer capacity is the correct size for the slot length and return the number of slots.
+     *
+     * @param capacity   of the buffer including the {@link RingBufferDescriptor#TRAILER_LENGTH}.
+     * @param slotLength in bytes of each slot.
+     * @return the number of slots in the ring-buffer.
+     * @throws IllegalArgumentException if the slot length is invalid or the capacity does not match
+     *                                  {@link #bufferLength(int, int)} for a valid number of slots.
+     */
+    public static int checkCapacity(final int capacity, final int slotLength)
+    {
+        checkSlotLength(slotLength);
+
+        final int dataLength = capacity - TRAILER_LENGTH;
+        final int slotCount = dataLength / (slotLength + COMMIT_WORD_LENGTH);
+        if (dataLength <= 0 || slotCount * (slotLength + COMMIT_WORD_LENGTH) != dataLength ||
+            !BitUtil.isPowerOfTwo(slotCount) || slotCount < MIN_SLOT_COUNT)
+        {
+            throw new IllegalArgumentException(
+                "capacity must be a power of 2 slots of (slotLength + COMMIT_WORD_LENGTH) + TRAILER_LENGTH: capacity=" +
+                capacity + ", slotLength=" + slotLength);
+        }
+
+        return slotCount;
+    }
+
+    /**
+     * Check the number of slots is a power of 2 and at least {@link #MIN_SLOT_COUNT}.
+     *
+     * @param slotCount to be checked.
+     * @throws IllegalArgumentException if the slot count is invalid.
+     */
+    public static void checkSlotCount(final int slotCount)
+    {
+        if (slotCount < MIN_SLOT_COUNT || !BitUtil.isPowerOfTwo(slotCount))
+        {
+            throw new IllegalArgumentException(
+                "slotCount must be a power of 2 and at least " + MIN_SLOT_COUNT + ": slotCount=" + slotCount);
+        }
+    }
+
+    /**
+     * Check the length of slots is a positive multiple of {@link RecordDescriptor#ALIGNMENT}.
+     *
+     * @param slotLength to be checked.
+     * @throws IllegalArgumentException if the slot length is invalid.
+     */
+    public static void checkSlotLength(final int slotLength)
+    {
+        if (slotLength <= 0 || 0 != (slotLength & (ALIGNMENT - 1)))
+        {
+            throw new IllegalArgumentException(
+                "slotLength must be a positive multiple of " + ALIGNMENT + ": slotLength=" + slotLength);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.AtomicBuffer;
+import org.agrona.concurrent.ControlledMessageHandler;
+import org.agrona.concurrent.MessageHandler;
+
+/**
+ * A ring-buffer that supports the exchange of messages from many producers to a single consumer by striping the
+ * producers across a number of lanes so that they do not contend on a single tail.
+ * <p>
+ * The underlying buffer is divided into a configurable number of equal length lanes, each of which is laid out as a
+ * {@link ManyToOneRingBuffer} with its own trailer. The required length for a layout can be computed with
+ * {@link #bufferLength(int, int)}. Producers should bind to a lane via {@link #lane(int)}, ideally one lane per
+ * producer, so that order is preserved for each producer. The {@link #write(int, DirectBuffer, int, int)} and
+ * {@link #tryClaim(int, int)} methods of this class select a lane by a hash of the calling thread.
+ * <p>
+ * The consumer drains the lanes fairly, starting each read from the next lane in turn and sharing the message
+ * count limit across the lanes. Messages are ordered within a lane but not across lanes. The positions and size
+ * reported are the sums for all lanes.
+ */
+public final class StripedManyToOneRingBuffer extends AbstractLanedRingBuffer
+{
+    private int nextLaneIndex;
+
+    /**
+     * Construct a new striped ring-buffer based on an underlying {@link AtomicBuffer} divided into a number of lanes.
+     *
+     * @param buffer    via which events will be exchanged.
+     * @param laneCount number of lanes into which the buffer is divided.
+     * @throws IllegalArgumentException if the lane count is less than {@code 1} or the buffer cannot be divided into
+     *                                  lanes of a power of 2 capacity plus {@link RingBufferDescriptor#TRAILER_LENGTH}.
+     * @see #bufferLength(int, int)
+     */
+    public StripedManyToOneRingBuffer(final AtomicBuffer buffer, final int laneCount)
+    {
+        super(buffer, laneCount);
+    }
+
+    /**
+     * Compute the length of buffer required for a given number of lanes and capacity of each lane.
+     *
+     * @param laneCount    number of lanes into which the buffer is divided.
+     * @param laneCapacity capacity of each lane which must be a power of 2.
+     * @return the length of buffer required including the trailer for each lane.
+     */
+    public static int bufferLength(final int laneCount, final int laneCapacity)
+    {
+        return lanedBufferLength(laneCount, laneCapacity);
+    }
+
+    /**
+     * Get a lane to which a producer can bind. Indexes returned from {@link RingBuffer#tryClaim(int, int)} on the
+     * lane are relative to the buffer of the lane.
+     *
+     * @param laneIndex of the lane which is taken modulo the {@link #laneCount()}.
+     * @return the lane as a ring-buffer.
+     */
+    public ManyToOneRingBuffer lane(final int laneIndex)
+    {
+        return lanes[(laneIndex & Integer.MAX_VALUE) % lanes.length];
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The lane is selected by a hash of the calling thread.
+     */
+    @Override
+    public boolean write(final int msgTypeId, final DirectBuffer srcBuffer, final int offset, final int length)
+    {
+        return threadLane().write(msgTypeId, srcBuffer, offset, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The lane is selected by a hash of the calling thread and the index returned is relative to {@link #buffer()}.
+     */
+    @Override
+    public int tryClaim(final int msgTypeId, final int length)
+    {
+        return claimInLane(threadLaneIndex(), msgTypeId, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The message count limit is shared fairly across the lanes starting from the next lane in turn.
+     */
+    @Override
+    public int read(final MessageHandler handler, final int messageCountLimit)
+    {
+        final ManyToOneRingBuffer[] lanes = this.lanes;
+        final int laneCount = lanes.length;
+        final int startLaneIndex = nextLaneIndex();
+        int messagesRead = 0;
+
+        for (int i = 0; i < laneCount && messagesRead < messageCountLimit; i++)
+        {
+            final int laneLimit = laneLimit(messageCountLimit - messagesRead, laneCount - i);
+            messagesRead += lanes[(startLaneIndex + i) % laneCount].read(handler, laneLimit);
+        }
+
+        return messagesRead;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The message count limit is shared fairly across the lanes starting from the next lane in turn. Reading stops
+     * at the first {@link ControlledMessageHandler.Action#BREAK} or {@link ControlledMessageHandler.Action#ABORT}.
+     */
+    @Override
+    public int controlledRead(final ControlledMessageHandler handler, final int messageCountLimit)
+    {
+        final ManyToOneRingBuffer[] lanes = this.lanes;
+        final int laneCount = lanes.length;
+        final int startLaneIndex = nextLaneIndex();
+        final ControlledHandlerAdapter adapter = controlledHandlerAdapter;
+        int messagesRead = 0;
+
+        adapter.delegate = handler;
+        adapter.lastAction = null;
+        try
+        {
+            for (int i = 0; i < laneCount && messagesRead < messageCountLimit; i++)
+            {
+                final int laneLimit = laneLimit(messageCountLimit - messagesRead, laneCount - i);
+                messagesRead += lanes[(startLaneIndex + i) % laneCount].controlledRead(adapter, laneLimit);
+
+                if (adapter.isStopped())
+                {
+                    break;
+                }
+            }
+        }
+        finally
+        {
+            adapter.delegate = null;
+        }
+
+        return messagesRead;
+    }
+
+    private int nextLaneIndex()
+    {
+        final int laneIndex = nextLaneIndex;
+        nextLaneIndex = laneIndex + 1 == lanes.length ? 0 : laneIndex + 1;
+
+        return laneIndex;
+    }
+
+    private int threadLaneIndex()
+    {
+        return (System.identityHashCode(Thread.currentThread()) & Integer.MAX_VALUE) % lanes.length;
+    }
+
+    private ManyToOneRingBuffer threadLane()
+    {
+        return lanes[threadLaneIndex()];
+    }
+
+    private static int laneLimit(final int remaining, final int lanesRemaining)
+    {
+        return (int)(((long)remaining + lanesRemaining - 1) / lanesRemaining);
+    }
+}
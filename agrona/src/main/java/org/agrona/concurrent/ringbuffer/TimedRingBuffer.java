@@ -0,0 +1,364 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.DirectBuffer;
+import org.agrona.LogLinearHistogram;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.AtomicBuffer;
+import org.agrona.concurrent.ControlledMessageHandler;
+import org.agrona.concurrent.MessageHandler;
+import org.agrona.concurrent.NanoClock;
+
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+import static org.agrona.concurrent.ControlledMessageHandler.Action.ABORT;
+
+/**
+ * Decorator for a {@link OneToOneRingBuffer} or {@link ManyToOneRingBuffer} which measures the queueing delay of each
+ * message. Each encoded message is prefixed by a {@link NanoClock} timestamp taken when the message is committed and
+ * the delay until the message is read is recorded in a {@link LogLinearHistogram}.
+ * <p>
+ * The prefix is hidden from handlers and claims so the message is exchanged as for any other {@link RingBuffer}.
+ * Timing is opted into per ring-buffer by producers and the consumer all using this decorator, so ring-buffers which
+ * are not timed pay nothing. The clocks of the producers and consumer must be comparable, e.g.
+ * {@link org.agrona.concurrent.SystemNanoClock} on the same machine.
+ * <p>
+ * The histogram is recorded by the consumer thread and so should be read or exported from that thread, e.g. via
+ * {@link LogLinearHistogram#encode(MutableDirectBuffer, int)}.
+ */
+public final class TimedRingBuffer implements RingBuffer
+{
+    /**
+     * Offset within the encoded message of the timestamp taken when the message was committed.
+     */
+    public static final int TIMESTAMP_OFFSET = 0;
+
+    /**
+     * Length of the prefix to each message which keeps the message aligned to {@link RecordDescriptor#ALIGNMENT}.
+     */
+    public static final int MESSAGE_PREFIX_LENGTH = SIZE_OF_LONG;
+
+    private final int maxMsgLength;
+    private final RingBuffer ringBuffer;
+    private final AtomicBuffer buffer;
+    private final NanoClock clock;
+    private final LogLinearHistogram histogram;
+    private final HandlerAdapter handlerAdapter;
+    private final ControlledHandlerAdapter controlledHandlerAdapter;
+
+    /**
+     * Construct a timed ring-buffer which decorates an existing ring-buffer.
+     *
+     * @param ringBuffer to be timed.
+     * @param clock      for timestamps on commit and read.
+     * @param histogram  in which the queueing delay of each message read is recorded in the units of the clock.
+     */
+    public TimedRingBuffer(final RingBuffer ringBuffer, final NanoClock clock, final LogLinearHistogram histogram)
+    {
+        this.ringBuffer = ringBuffer;
+        this.clock = clock;
+        this.histogram = histogram;
+        buffer = ringBuffer.buffer();
+        maxMsgLength = Math.max(0, ringBuffer.maxMsgLength() - MESSAGE_PREFIX_LENGTH);
+        handlerAdapter = new HandlerAdapter(clock, histogram);
+        controlledHandlerAdapter = new ControlledHandlerAdapter(clock, histogram);
+    }
+
+    /**
+     * The ring-buffer which is timed.
+     *
+     * @return the ring-buffer which is timed.
+     */
+    public RingBuffer ringBuffer()
+    {
+        return ringBuffer;
+    }
+
+    /**
+     * Histogram in which the queueing delay of each message read is recorded.
+     *
+     * @return histogram in which the queueing delay of each message read is recorded.
+     */
+    public LogLinearHistogram histogram()
+    {
+        return histogram;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int capacity()
+    {
+        return ringBuffer.capacity();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean write(final int msgTypeId, final DirectBuffer srcBuffer, final int offset, final int length)
+    {
+        checkMsgLength(length);
+
+        final int index = ringBuffer.tryClaim(msgTypeId, length + MESSAGE_PREFIX_LENGTH);
+        if (INSUFFICIENT_CAPACITY == index)
+        {
+            return false;
+        }
+
+        buffer.putBytes(index + MESSAGE_PREFIX_LENGTH, srcBuffer, offset, length);
+        buffer.putLong(index + TIMESTAMP_OFFSET, clock.nanoTime());
+        ringBuffer.commit(index);
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int tryClaim(final int msgTypeId, final int length)
+    {
+        checkMsgLength(length);
+
+        final int index = ringBuffer.tryClaim(msgTypeId, length + MESSAGE_PREFIX_LENGTH);
+
+        return INSUFFICIENT_CAPACITY == index ? index : index + MESSAGE_PREFIX_LENGTH;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The message is timestamped on commit.
+     */
+    @Override
+    public void commit(final int index)
+    {
+        final int prefixIndex = index - MESSAGE_PREFIX_LENGTH;
+        buffer.putLong(prefixIndex + TIMESTAMP_OFFSET, clock.nanoTime());
+        ringBuffer.commit(prefixIndex);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void abort(final int index)
+    {
+        ringBuffer.abort(index - MESSAGE_PREFIX_LENGTH);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(final MessageHandler handler)
+    {
+        return read(handler, Integer.MAX_VALUE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(final MessageHandler handler, final int messageCountLimit)
+    {
+        final HandlerAdapter handlerAdapter = this.handlerAdapter;
+        handlerAdapter.delegate = handler;
+        try
+        {
+            return ringBuffer.read(handlerAdapter, messageCountLimit);
+        }
+        finally
+        {
+            handlerAdapter.delegate = null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int controlledRead(final ControlledMessageHandler handler)
+    {
+        return controlledRead(handler, Integer.MAX_VALUE);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The queueing delay of a message for which {@link ControlledMessageHandler.Action#ABORT} is returned is not
+     * recorded until it is read again.
+     */
+    @Override
+    public int controlledRead(final ControlledMessageHandler handler, final int messageCountLimit)
+    {
+        final ControlledHandlerAdapter controlledHandlerAdapter = this.controlledHandlerAdapter;
+        controlledHandlerAdapter.delegate = handler;
+        try
+        {
+            return ringBuffer.controlledRead(controlledHandlerAdapter, messageCountLimit);
+        }
+        finally
+        {
+            controlledHandlerAdapter.delegate = null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int maxMsgLength()
+    {
+        return maxMsgLength;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long nextCorrelationId()
+    {
+        return ringBuffer.nextCorrelationId();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AtomicBuffer buffer()
+    {
+        return buffer;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void consumerHeartbeatTime(final long time)
+    {
+        ringBuffer.consumerHeartbeatTime(time);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long consumerHeartbeatTime()
+    {
+        return ringBuffer.consumerHeartbeatTime();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long producerPosition()
+    {
+        return ringBuffer.producerPosition();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long consumerPosition()
+    {
+        return ringBuffer.consumerPosition();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size()
+    {
+        return ringBuffer.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean unblock()
+    {
+        return ringBuffer.unblock();
+    }
+
+    private void checkMsgLength(final int length)
+    {
+        if (length < 0)
+        {
+            throw new IllegalArgumentException("invalid message length=" + length);
+        }
+        else if (length > maxMsgLength)
+        {
+            throw new IllegalArgumentException(
+                "encoded message exceeds maxMsgLength=" + maxMsgLength + ", length=" + length);
+        }
+    }
+
+    private static final class HandlerAdapter implements MessageHandler
+    {
+        private final NanoClock clock;
+        private final LogLinearHistogram histogram;
+        private MessageHandler delegate;
+
+        HandlerAdapter(final NanoClock clock, final LogLinearHistogram histogram)
+        {
+            this.clock = clock;
+            this.histogram = histogram;
+        }
+
+        @Override
+        public void onMessage(final int msgTypeId, final MutableDirectBuffer buffer, final int index, final int length)
+        {
+            histogram.record(clock.nanoTime() - buffer.getLong(index + TIMESTAMP_OFFSET));
+            delegate.onMessage(msgTypeId, buffer, index + MESSAGE_PREFIX_LENGTH, length - MESSAGE_PREFIX_LENGTH);
+        }
+    }
+
+    private static final class ControlledHandlerAdapter implements ControlledMessageHandler
+    {
+        private final NanoClock clock;
+        private final LogLinearHistogram histogram;
+        private ControlledMessageHandler delegate;
+
+        ControlledHandlerAdapter(final NanoClock clock, final LogLinearHistogram histogram)
+        {
+            this.clock = clock;
+            this.histogram = histogram;
+        }
+
+        @Override
+        public Action onMessage(
+            final int msgTypeId, final MutableDirectBuffer buffer, final int index, final int length)
+        {
+            final long delay = clock.nanoTime() - buffer.getLong(index + TIMESTAMP_OFFSET);
+            final Action action = delegate.onMessage(
+                msgTypeId, buffer, index + MESSAGE_PREFIX_LENGTH, length - MESSAGE_PREFIX_LENGTH);
+
+            if (ABORT != action)
+            {
+                histogram.record(delay);
+            }
+
+            return action;
+        }
+    }
+}
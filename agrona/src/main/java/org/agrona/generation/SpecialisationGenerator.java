@@ -31,6 +31,7 @@ import static java.util.stream.Collectors.toList;
 public final class SpecialisationGenerator
 {
     private static final String COLLECTIONS_PACKAGE = "org/agrona/collections";
+    private static final String CONCURRENT_PACKAGE = "org/agrona/concurrent";
     private static final String SRC_DIR = "src/main/java/";
     private static final String DST_DIR = "build/generated-src";
     private static final String SUFFIX = ".java";
@@ -73,6 +74,10 @@ public final class SpecialisationGenerator
         specialise(SUBSTITUTIONS, COLLECTIONS_PACKAGE, "Int2NullableObjectHashMap", SRC_DIR, DST_DIR);
         specialise(SUBSTITUTIONS, COLLECTIONS_PACKAGE, "Object2IntHashMap", SRC_DIR, DST_DIR);
         specialise(SUBSTITUTIONS, COLLECTIONS_PACKAGE, "Object2IntCounterMap", SRC_DIR, DST_DIR);
+        specialise(SUBSTITUTIONS, CONCURRENT_PACKAGE, "AbstractConcurrentIntArrayQueue", SRC_DIR, DST_DIR);
+        specialise(SUBSTITUTIONS, CONCURRENT_PACKAGE, "OneToOneConcurrentIntArrayQueue", SRC_DIR, DST_DIR);
+        specialise(SUBSTITUTIONS, CONCURRENT_PACKAGE, "ManyToOneConcurrentIntArrayQueue", SRC_DIR, DST_DIR);
+        specialise(SUBSTITUTIONS, CONCURRENT_PACKAGE, "ManyToManyConcurrentIntArrayQueue", SRC_DIR, DST_DIR);
     }
 
     /**
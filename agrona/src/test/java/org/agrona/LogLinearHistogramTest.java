@@ -0,0 +1,136 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogLinearHistogramTest
+{
+    @Test
+    void shouldRejectInvalidConfiguration()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new LogLinearHistogram(0));
+        assertThrows(IllegalArgumentException.class, () -> new LogLinearHistogram(1000, 0));
+        assertThrows(IllegalArgumentException.class, () -> new LogLinearHistogram(1000, 31));
+        assertThrows(IllegalArgumentException.class, () -> new LogLinearHistogram(Long.MAX_VALUE, 30));
+        assertThrows(IllegalArgumentException.class, () -> new LogLinearHistogram(Long.MAX_VALUE, 28));
+    }
+
+    @Test
+    void shouldRecordSmallValuesExactly()
+    {
+        final LogLinearHistogram histogram = new LogLinearHistogram(1_000_000, 4);
+        for (int i = 0; i < 16; i++)
+        {
+            histogram.record(i);
+            assertEquals(1, histogram.countInBucket(i));
+            assertEquals(i, histogram.lowestValueInBucket(i));
+            assertEquals(i, histogram.highestValueInBucket(i));
+        }
+
+        assertEquals(16, histogram.totalCount());
+        assertEquals(0, histogram.minValue());
+        assertEquals(15, histogram.maxValue());
+        assertEquals(7, histogram.valueAtPercentile(50.0));
+        assertEquals(7.5, histogram.mean());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 2, 5, 8 })
+    void shouldHaveContiguousBucketsWithBoundedError(final int subBucketBits)
+    {
+        final LogLinearHistogram histogram = new LogLinearHistogram(Long.MAX_VALUE, subBucketBits);
+        final double maxRelativeError = 1.0 / (1L << (subBucketBits - 1));
+
+        assertEquals(Long.MAX_VALUE, histogram.highestTrackableValue());
+        assertEquals(0, histogram.lowestValueInBucket(0));
+        for (int i = 1; i < histogram.bucketCount(); i++)
+        {
+            final long lowestValue = histogram.lowestValueInBucket(i);
+            final long highestValue = histogram.highestValueInBucket(i);
+            assertEquals(histogram.highestValueInBucket(i - 1) + 1, lowestValue, "bucket " + i);
+            assertTrue((double)(highestValue - lowestValue) / lowestValue <= maxRelativeError, "bucket " + i);
+        }
+    }
+
+    @Test
+    void shouldClampValuesAboveHighestTrackableValue()
+    {
+        final LogLinearHistogram histogram = new LogLinearHistogram(1000);
+        histogram.record(1_000_000);
+        histogram.record(-5);
+
+        assertEquals(1, histogram.countInBucket(histogram.bucketCount() - 1));
+        assertEquals(1, histogram.countInBucket(0));
+        assertEquals(1_000_000, histogram.maxValue());
+        assertEquals(1_000_000, histogram.valueAtPercentile(100.0));
+        assertEquals(0, histogram.valueAtPercentile(0.0));
+    }
+
+    @Test
+    void shouldReportPercentileWithinRelativeError()
+    {
+        final LogLinearHistogram histogram = new LogLinearHistogram(10_000_000);
+        for (int i = 1; i <= 1_000_000; i++)
+        {
+            histogram.record(i);
+        }
+
+        final long p99 = histogram.valueAtPercentile(99.0);
+        assertEquals(990_000, p99, 990_000 / 128.0);
+        assertEquals(1_000_000, histogram.valueAtPercentile(100.0));
+    }
+
+    @Test
+    void shouldEncodeAndDecode()
+    {
+        final LogLinearHistogram histogram = new LogLinearHistogram(1_000_000);
+        histogram.record(3);
+        histogram.record(300);
+        histogram.record(30_000);
+
+        final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
+        final int offset = 16;
+        assertEquals(histogram.encodedLength(), histogram.encode(buffer, offset));
+
+        final LogLinearHistogram decoded = new LogLinearHistogram(1_000_000);
+        assertEquals(histogram.encodedLength(), decoded.decode(buffer, offset));
+        assertEquals(3, decoded.totalCount());
+        assertEquals(3, decoded.minValue());
+        assertEquals(30_000, decoded.maxValue());
+        assertEquals(histogram.valueAtPercentile(50.0), decoded.valueAtPercentile(50.0));
+
+        assertThrows(IllegalArgumentException.class, () -> new LogLinearHistogram(1_000_000, 4).decode(buffer, offset));
+    }
+
+    @Test
+    void shouldReset()
+    {
+        final LogLinearHistogram histogram = new LogLinearHistogram(1000);
+        histogram.record(10);
+        histogram.reset();
+
+        assertEquals(0, histogram.totalCount());
+        assertEquals(0, histogram.minValue());
+        assertEquals(0, histogram.maxValue());
+        assertEquals(0, histogram.countInBucket(10));
+        assertEquals(0, histogram.valueAtPercentile(50.0));
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent;
+
+import org.agrona.collections.IntArrayList;
+import org.agrona.collections.MutableInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.List;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentIntArrayQueueTest
+{
+    private static final int CAPACITY = 8;
+    private static final int NULL_VALUE = -1;
+
+    static List<IntFunction<AbstractConcurrentIntArrayQueue>> queues()
+    {
+        return List.of(
+            (capacity) -> new OneToOneConcurrentIntArrayQueue(capacity, NULL_VALUE),
+            (capacity) -> new ManyToOneConcurrentIntArrayQueue(capacity, NULL_VALUE),
+            (capacity) -> new ManyToManyConcurrentIntArrayQueue(capacity, NULL_VALUE));
+    }
+
+    @ParameterizedTest
+    @MethodSource("queues")
+    void shouldReturnNullValueWhenEmpty(final IntFunction<AbstractConcurrentIntArrayQueue> factory)
+    {
+        final AbstractConcurrentIntArrayQueue queue = factory.apply(CAPACITY);
+
+        assertTrue(queue.isEmpty());
+        assertEquals(NULL_VALUE, queue.nullValue());
+        assertEquals(NULL_VALUE, queue.peek());
+        assertEquals(NULL_VALUE, queue.poll());
+        assertEquals(CAPACITY, queue.capacity());
+    }
+
+    @ParameterizedTest
+    @MethodSource("queues")
+    void shouldRejectNullValue(final IntFunction<AbstractConcurrentIntArrayQueue> factory)
+    {
+        final AbstractConcurrentIntArrayQueue queue = factory.apply(CAPACITY);
+
+        assertThrows(IllegalArgumentException.class, () -> queue.offer(NULL_VALUE));
+    }
+
+    @ParameterizedTest
+    @MethodSource("queues")
+    void shouldOfferAndPollInOrderUntilFull(final IntFunction<AbstractConcurrentIntArrayQueue> factory)
+    {
+        final AbstractConcurrentIntArrayQueue queue = factory.apply(CAPACITY);
+
+        for (int i = 0; i < CAPACITY; i++)
+        {
+            assertTrue(queue.offer(i));
+        }
+
+        assertFalse(queue.offer(CAPACITY));
+        assertEquals(CAPACITY, queue.size());
+        assertEquals(0, queue.remainingCapacity());
+        assertEquals(0, queue.peek());
+
+        for (int i = 0; i < CAPACITY; i++)
+        {
+            assertEquals(i, queue.poll());
+        }
+
+        assertEquals(NULL_VALUE, queue.poll());
+        assertEquals(CAPACITY, queue.addedCount());
+        assertEquals(CAPACITY, queue.removedCount());
+    }
+
+    @ParameterizedTest
+    @MethodSource("queues")
+    void shouldDrainUpToLimitAcrossWrap(final IntFunction<AbstractConcurrentIntArrayQueue> factory)
+    {
+        final AbstractConcurrentIntArrayQueue queue = factory.apply(CAPACITY);
+        final IntArrayList values = new IntArrayList();
+        int value = 0;
+
+        for (int i = 0; i < CAPACITY - 2; i++)
+        {
+            assertTrue(queue.offer(value++));
+        }
+        assertEquals(CAPACITY - 2, queue.drain(values::addInt));
+
+        for (int i = 0; i < CAPACITY; i++)
+        {
+            assertTrue(queue.offer(value++));
+        }
+
+        assertEquals(3, queue.drain(values::addInt, 3));
+        assertEquals(CAPACITY - 3, queue.drain(values::addInt, CAPACITY));
+        assertEquals(0, queue.drain(values::addInt));
+
+        assertEquals(value, values.size());
+        for (int i = 0; i < value; i++)
+        {
+            assertEquals(i, values.getInt(i));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("queues")
+    void shouldExchangeValuesBetweenThreads(final IntFunction<AbstractConcurrentIntArrayQueue> factory)
+        throws InterruptedException
+    {
+        final AbstractConcurrentIntArrayQueue queue = factory.apply(CAPACITY);
+        final int count = 10_000;
+        final Thread producer = new Thread(() ->
+        {
+            for (int i = 0; i < count; i++)
+            {
+                while (!queue.offer(i))
+                {
+                    Thread.yield();
+                }
+            }
+        });
+        producer.start();
+
+        final MutableInteger expected = new MutableInteger();
+        while (expected.get() < count)
+        {
+            if (0 == queue.drain((v) -> assertEquals(expected.getAndIncrement(), v)))
+            {
+                Thread.yield();
+            }
+        }
+
+        producer.join();
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void shouldSpecialiseForLongValues()
+    {
+        final List<AbstractConcurrentLongArrayQueue> queues = List.of(
+            new OneToOneConcurrentLongArrayQueue(CAPACITY, Long.MIN_VALUE),
+            new ManyToOneConcurrentLongArrayQueue(CAPACITY, Long.MIN_VALUE),
+            new ManyToManyConcurrentLongArrayQueue(CAPACITY, Long.MIN_VALUE));
+
+        for (final AbstractConcurrentLongArrayQueue queue : queues)
+        {
+            assertTrue(queue.offer(Long.MAX_VALUE));
+            assertEquals(Long.MAX_VALUE, queue.peek());
+            assertEquals(Long.MAX_VALUE, queue.poll());
+            assertEquals(Long.MIN_VALUE, queue.poll());
+            assertThrows(IllegalArgumentException.class, () -> queue.offer(Long.MIN_VALUE));
+        }
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent;
+
+import org.agrona.concurrent.status.CountersManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.ByteBuffer.allocateDirect;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.agrona.concurrent.status.CountersReader.COUNTER_LENGTH;
+import static org.agrona.concurrent.status.CountersReader.METADATA_LENGTH;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DutyCycleTrackerTest
+{
+    private static final int NUMBER_OF_COUNTERS = 32;
+    private static final long STALL_THRESHOLD_NS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final CountersManager countersManager = new CountersManager(
+        new UnsafeBuffer(allocateDirect(NUMBER_OF_COUNTERS * METADATA_LENGTH)),
+        new UnsafeBuffer(allocateDirect(NUMBER_OF_COUNTERS * COUNTER_LENGTH)),
+        US_ASCII);
+    private final long[] stalls = new long[2];
+    private int stallCount;
+    private long nowNs;
+
+    @Test
+    void shouldRejectInvalidConfiguration()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new DutyCycleTracker(
+            () -> nowNs, countersManager, "x", 0, null));
+        assertThrows(
+            IllegalArgumentException.class, () -> DutyCycleTracker.newHistogramCounters(countersManager, "x", 0));
+        assertThrows(
+            IllegalArgumentException.class, () -> DutyCycleTracker.newHistogramCounters(countersManager, "x", 55));
+    }
+
+    @Test
+    void shouldAllocateLabelledCounters()
+    {
+        final DutyCycleTracker tracker = newTracker();
+
+        assertEquals("duty cycle count: x", tracker.cycleCountCounter().label());
+        assertEquals("duty cycle max time ns: x", tracker.maxCycleTimeCounter().label());
+        assertEquals(DutyCycleTracker.DEFAULT_HISTOGRAM_BUCKET_COUNT, tracker.histogramBucketCount());
+        assertEquals("duty cycle work time < 1024 ns: x", tracker.histogramCounter(0).label());
+        assertEquals("duty cycle work time < 2048 ns: x", tracker.histogramCounter(1).label());
+        assertEquals("duty cycle work time >= 16777216 ns: x", tracker.histogramCounter(15).label());
+
+        tracker.close();
+
+        assertTrue(tracker.histogramCounter(15).isClosed());
+        assertEquals(0, countersManager.newCounter("reused").id());
+    }
+
+    @Test
+    void shouldTrackCyclesAndWorkTime()
+    {
+        final DutyCycleTracker tracker = newTracker();
+
+        tracker.reset();
+        nowNs = 1500;
+        tracker.onWorkStart();
+        nowNs = 2000;
+        tracker.onWorkEnd();
+        nowNs = 5500;
+        tracker.onWorkStart();
+        nowNs = 10_000;
+        tracker.onWorkEnd();
+
+        assertEquals(1, tracker.cycleCountCounter().get());
+        assertEquals(4000, tracker.totalCycleTimeCounter().get());
+        assertEquals(4000, tracker.maxCycleTimeCounter().get());
+        assertEquals(5000, tracker.workTimeCounter().get());
+        assertEquals(1, tracker.histogramCounter(0).get());
+        assertEquals(1, tracker.histogramCounter(3).get());
+        assertEquals(0, tracker.stallCountCounter().get());
+        assertEquals(0, stallCount);
+    }
+
+    @Test
+    void shouldCountCyclesWhichExceedThreshold()
+    {
+        final DutyCycleTracker tracker = newTracker();
+
+        tracker.reset();
+        nowNs += STALL_THRESHOLD_NS;
+        tracker.onWorkStart();
+        nowNs += STALL_THRESHOLD_NS + 1;
+        tracker.onWorkEnd();
+        tracker.onWorkStart();
+
+        assertEquals(1, tracker.stallCountCounter().get());
+        assertEquals(1, tracker.histogramCounter(10).get());
+    }
+
+    @Test
+    void shouldDetectStallWhileInWork()
+    {
+        final DutyCycleTracker tracker = newTracker();
+        assertEquals(DutyCycleTracker.NULL_WORK_START_TIME, tracker.workStartTimeCounter().get());
+
+        tracker.reset();
+        nowNs = 1000;
+        tracker.onWorkStart();
+        assertEquals(1000, tracker.workStartTimeCounter().get());
+
+        assertFalse(tracker.checkStall(1000 + STALL_THRESHOLD_NS));
+        assertTrue(tracker.checkStall(1001 + STALL_THRESHOLD_NS));
+        assertFalse(tracker.checkStall(2000 + STALL_THRESHOLD_NS));
+        assertEquals(1, stallCount);
+        assertEquals(STALL_THRESHOLD_NS + 1, stalls[0]);
+
+        nowNs = 2000 + STALL_THRESHOLD_NS;
+        tracker.onWorkEnd();
+        assertEquals(DutyCycleTracker.NULL_WORK_START_TIME, tracker.workStartTimeCounter().get());
+        assertFalse(tracker.checkStall(nowNs + 2 * STALL_THRESHOLD_NS));
+
+        tracker.onWorkStart();
+        assertTrue(tracker.checkStall(nowNs + 2 * STALL_THRESHOLD_NS));
+        assertEquals(2, stallCount);
+        assertEquals(2 * STALL_THRESHOLD_NS, stalls[1]);
+    }
+
+    @Test
+    void shouldClampHistogramIndex()
+    {
+        assertEquals(0, DutyCycleTracker.histogramIndex(0, 4));
+        assertEquals(0, DutyCycleTracker.histogramIndex(1023, 4));
+        assertEquals(1, DutyCycleTracker.histogramIndex(1024, 4));
+        assertEquals(2, DutyCycleTracker.histogramIndex(2048, 4));
+        assertEquals(3, DutyCycleTracker.histogramIndex(4096, 4));
+        assertEquals(3, DutyCycleTracker.histogramIndex(Long.MAX_VALUE, 4));
+    }
+
+    @Test
+    void shouldTrackDutyCycleOfInvokedAgent()
+    {
+        final DutyCycleTracker tracker = newTracker();
+        final Agent agent = new Agent()
+        {
+            public int doWork()
+            {
+                nowNs += 100;
+                return 1;
+            }
+
+            public String roleName()
+            {
+                return "test";
+            }
+        };
+        final AgentInvoker invoker = new AgentInvoker(Throwable::printStackTrace, null, agent, tracker);
+
+        assertSame(tracker, invoker.dutyCycleTracker());
+        invoker.start();
+        for (int i = 0; i < 3; i++)
+        {
+            assertEquals(1, invoker.invoke());
+            nowNs += 900;
+        }
+
+        assertEquals(2, tracker.cycleCountCounter().get());
+        assertEquals(2000, tracker.totalCycleTimeCounter().get());
+        assertEquals(300, tracker.workTimeCounter().get());
+        assertEquals(3, tracker.histogramCounter(0).get());
+    }
+
+    @Test
+    @Timeout(10)
+    void shouldTrackDutyCycleOfRunningAgent() throws InterruptedException
+    {
+        final DutyCycleTracker tracker = newTracker();
+        final Agent agent = new Agent()
+        {
+            private int workCount;
+
+            public int doWork()
+            {
+                nowNs += 100;
+                if (++workCount > 3)
+                {
+                    throw new AgentTerminationException();
+                }
+
+                return 1;
+            }
+
+            public String roleName()
+            {
+                return "test";
+            }
+        };
+        final AgentRunner runner = new AgentRunner(
+            new NoOpIdleStrategy(), Throwable::printStackTrace, null, agent, tracker);
+
+        assertSame(tracker, runner.dutyCycleTracker());
+        AgentRunner.startOnThread(runner).join();
+
+        assertEquals(3, tracker.cycleCountCounter().get());
+        assertEquals(300, tracker.totalCycleTimeCounter().get());
+        assertEquals(400, tracker.workTimeCounter().get());
+        assertEquals(4, tracker.histogramCounter(0).get());
+        assertEquals(DutyCycleTracker.NULL_WORK_START_TIME, tracker.workStartTimeCounter().get());
+    }
+
+    private DutyCycleTracker newTracker()
+    {
+        return new DutyCycleTracker(
+            () -> nowNs,
+            countersManager,
+            "x",
+            STALL_THRESHOLD_NS,
+            (stallTimeNs) -> stalls[stallCount++] = stallTimeNs);
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ManyToManyConcurrentFetchAndAddArrayQueueTest
+{
+    @Test
+    void shouldRejectInvalidCapacity()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new ManyToManyConcurrentFetchAndAddArrayQueue<>(1));
+    }
+
+    @Test
+    void shouldReturnPermitsWhenFull()
+    {
+        final ManyToManyConcurrentFetchAndAddArrayQueue<Integer> queue =
+            new ManyToManyConcurrentFetchAndAddArrayQueue<>(4);
+        final int[] next = { 0 };
+
+        assertEquals(3, queue.fill(() -> next[0]++, 3));
+        assertEquals(1, queue.fill(() -> next[0]++, 3));
+        assertFalse(queue.offer(-1));
+        assertEquals(0, queue.offerAll(new Integer[]{ -1 }, 0, 1));
+        assertEquals(4, queue.size());
+
+        assertEquals(0, queue.poll());
+        assertEquals(3, queue.size());
+        assertTrue(queue.offer(4));
+        assertEquals(1, queue.peek());
+
+        for (int i = 1; i <= 4; i++)
+        {
+            assertEquals(i, queue.poll());
+        }
+
+        assertNull(queue.poll());
+        assertEquals(0, queue.size());
+        assertEquals(5, queue.addedCount());
+        assertEquals(5, queue.removedCount());
+        assertEquals(0, queue.skippedCount());
+    }
+
+    @Test
+    void shouldReturnUnusedPermitsWhenSupplierFails()
+    {
+        final ManyToManyConcurrentFetchAndAddArrayQueue<Integer> queue =
+            new ManyToManyConcurrentFetchAndAddArrayQueue<>(4);
+        final int[] next = { 0 };
+
+        assertThrows(NullPointerException.class, () -> queue.fill(() -> next[0] < 2 ? next[0]++ : null, 4));
+        assertEquals(2, queue.size());
+        assertEquals(2, queue.fill(() -> next[0]++, 4));
+
+        for (int i = 0; i < 4; i++)
+        {
+            assertEquals(i, queue.poll());
+        }
+        assertNull(queue.poll());
+    }
+
+    @Test
+    @Timeout(30)
+    void shouldExchangeEachElementExactlyOnceBetweenManyProducersAndConsumers() throws InterruptedException
+    {
+        final ManyToManyConcurrentFetchAndAddArrayQueue<Integer> queue =
+            new ManyToManyConcurrentFetchAndAddArrayQueue<>(16);
+        final int threadCount = 3;
+        final int countPerProducer = 10_000;
+        final int total = threadCount * countPerProducer;
+        final AtomicIntegerArray taken = new AtomicIntegerArray(total);
+        final Thread[] threads = new Thread[threadCount * 2];
+
+        for (int t = 0; t < threadCount; t++)
+        {
+            final int base = t * countPerProducer;
+            threads[t] = new Thread(() ->
+            {
+                for (int i = 0; i < countPerProducer; i++)
+                {
+                    while (!queue.offer(base + i))
+                    {
+                        Thread.yield();
+                    }
+                }
+            });
+
+            threads[threadCount + t] = new Thread(() ->
+            {
+                for (int i = 0; i < countPerProducer; i++)
+                {
+                    Integer value;
+                    while (null == (value = queue.poll()))
+                    {
+                        Thread.yield();
+                    }
+
+                    taken.incrementAndGet(value);
+                }
+            });
+        }
+
+        for (final Thread thread : threads)
+        {
+            thread.start();
+        }
+
+        for (final Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.size());
+        assertEquals(total, queue.addedCount());
+        assertEquals(total, queue.removedCount());
+        for (int i = 0; i < total; i++)
+        {
+            assertEquals(1, taken.get(i), "element=" + i);
+        }
+    }
+}
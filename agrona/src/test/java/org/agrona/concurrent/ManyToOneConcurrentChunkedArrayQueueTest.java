@@ -0,0 +1,260 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ManyToOneConcurrentChunkedArrayQueueTest
+{
+    private static final int CHUNK_SIZE = 4;
+
+    private final ManyToOneConcurrentChunkedArrayQueue<Integer> queue =
+        new ManyToOneConcurrentChunkedArrayQueue<>(CHUNK_SIZE, 2);
+
+    @Test
+    void shouldRejectInvalidConfiguration()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new ManyToOneConcurrentChunkedArrayQueue<>(1));
+        assertThrows(IllegalArgumentException.class, () -> new ManyToOneConcurrentChunkedArrayQueue<>(4, -1));
+        assertThrows(NullPointerException.class, () -> queue.offer(null));
+    }
+
+    @Test
+    void shouldBeEmptyInitially()
+    {
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.size());
+        assertNull(queue.poll());
+        assertNull(queue.peek());
+        assertThrows(NoSuchElementException.class, queue::remove);
+        assertThrows(NoSuchElementException.class, queue::element);
+        assertEquals(CHUNK_SIZE, queue.chunkSize());
+    }
+
+    @Test
+    void shouldNeverRejectOfferAndPollInOrderAcrossChunks()
+    {
+        final int count = CHUNK_SIZE * 10 + 1;
+        for (int i = 0; i < count; i++)
+        {
+            assertTrue(queue.offer(i));
+        }
+
+        assertEquals(count, queue.size());
+        assertEquals(count, queue.addedCount());
+        assertEquals(0, queue.peek());
+
+        for (int i = 0; i < count; i++)
+        {
+            assertEquals(i, queue.poll());
+        }
+
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+        assertEquals(count, queue.removedCount());
+        assertEquals(2, queue.pooledChunkCount());
+    }
+
+    @Test
+    void shouldReuseDrainedChunks()
+    {
+        for (int round = 0; round < 10; round++)
+        {
+            for (int i = 0; i < CHUNK_SIZE * 2; i++)
+            {
+                assertTrue(queue.offer(i));
+            }
+
+            final List<Integer> values = new ArrayList<>();
+            assertEquals(CHUNK_SIZE * 2, queue.drainTo(values, Integer.MAX_VALUE));
+            for (int i = 0; i < CHUNK_SIZE * 2; i++)
+            {
+                assertEquals(i, values.get(i));
+            }
+
+            assertTrue(queue.pooledChunkCount() <= 2);
+        }
+
+        assertEquals(CHUNK_SIZE * 20, queue.removedCount());
+    }
+
+    @Test
+    void shouldDrainUpToLimit()
+    {
+        for (int i = 0; i < CHUNK_SIZE * 3; i++)
+        {
+            assertTrue(queue.offer(i));
+        }
+
+        final List<Integer> values = new ArrayList<>();
+        assertEquals(CHUNK_SIZE + 1, queue.drain(values::add, CHUNK_SIZE + 1));
+        assertEquals(CHUNK_SIZE * 2 - 1, queue.drain(values::add));
+        assertEquals(0, queue.drain(values::add));
+
+        assertEquals(CHUNK_SIZE * 3, values.size());
+        for (int i = 0; i < values.size(); i++)
+        {
+            assertEquals(i, values.get(i));
+        }
+    }
+
+    @Test
+    void shouldFillAndOfferAllAcrossChunks()
+    {
+        final int[] next = { 0 };
+        assertEquals(CHUNK_SIZE * 2 + 1, queue.fill(() -> next[0]++, CHUNK_SIZE * 2 + 1));
+
+        final Integer[] elements = new Integer[CHUNK_SIZE * 3];
+        for (int i = 0; i < elements.length; i++)
+        {
+            elements[i] = next[0] + i;
+        }
+        assertEquals(elements.length, queue.offerAll(elements, 0, elements.length));
+        assertThrows(NullPointerException.class, () -> queue.offerAll(new Integer[1], 0, 1));
+
+        final int count = CHUNK_SIZE * 5 + 1;
+        assertEquals(count, queue.size());
+        for (int i = 0; i < count; i++)
+        {
+            assertEquals(i, queue.poll());
+        }
+        assertNull(queue.poll());
+    }
+
+    @Test
+    @Timeout(10)
+    void shouldNotHoldProducerIndexWhenSupplierFailsForNewChunk()
+    {
+        final int[] next = { 0 };
+        assertEquals(CHUNK_SIZE, queue.fill(() -> next[0]++, CHUNK_SIZE));
+
+        assertThrows(NullPointerException.class, () -> queue.fill(() -> null, 1));
+        assertThrows(IllegalStateException.class, () -> queue.fill(
+            () ->
+            {
+                throw new IllegalStateException();
+            },
+            1));
+
+        assertTrue(queue.offer(CHUNK_SIZE));
+        assertEquals(1, queue.fill(() -> CHUNK_SIZE + 1, 1));
+        for (int i = 0; i < CHUNK_SIZE + 2; i++)
+        {
+            assertEquals(i, queue.poll());
+        }
+        assertNull(queue.poll());
+    }
+
+    @Test
+    @Timeout(30)
+    void shouldFillFromManyProducersInProducerOrder() throws InterruptedException
+    {
+        final int producerCount = 3;
+        final int batchCount = 2_000;
+        final int batchSize = 7;
+        final int countPerProducer = batchCount * batchSize;
+        final Thread[] producers = new Thread[producerCount];
+
+        for (int p = 0; p < producerCount; p++)
+        {
+            final int producerId = p;
+            producers[p] = new Thread(() ->
+            {
+                final int[] next = { producerId * countPerProducer };
+                for (int i = 0; i < batchCount; i++)
+                {
+                    queue.fill(() -> next[0]++, batchSize);
+                }
+            });
+            producers[p].start();
+        }
+
+        final int[] nextExpected = new int[producerCount];
+        int received = 0;
+        while (received < producerCount * countPerProducer)
+        {
+            final Integer value = queue.poll();
+            if (null == value)
+            {
+                Thread.yield();
+                continue;
+            }
+
+            final int producerId = value / countPerProducer;
+            assertEquals(nextExpected[producerId]++, value % countPerProducer);
+            received++;
+        }
+
+        for (final Thread producer : producers)
+        {
+            producer.join();
+        }
+
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    @Timeout(30)
+    void shouldExchangeElementsFromManyProducersInProducerOrder() throws InterruptedException
+    {
+        final int producerCount = 3;
+        final int countPerProducer = 20_000;
+        final Thread[] producers = new Thread[producerCount];
+
+        for (int p = 0; p < producerCount; p++)
+        {
+            final int producerId = p;
+            producers[p] = new Thread(() ->
+            {
+                for (int i = 0; i < countPerProducer; i++)
+                {
+                    queue.offer(producerId * countPerProducer + i);
+                }
+            });
+            producers[p].start();
+        }
+
+        final int[] nextExpected = new int[producerCount];
+        int received = 0;
+        while (received < producerCount * countPerProducer)
+        {
+            final Integer value = queue.poll();
+            if (null == value)
+            {
+                Thread.yield();
+                continue;
+            }
+
+            final int producerId = value / countPerProducer;
+            assertEquals(nextExpected[producerId]++, value % countPerProducer);
+            received++;
+        }
+
+        for (final Thread producer : producers)
+        {
+            producer.join();
+        }
+
+        assertTrue(queue.isEmpty());
+    }
+}
@@ -15,16 +15,22 @@
  */
 package org.agrona.concurrent;
 
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -37,7 +43,26 @@ class QueuedPipeTest
         return Stream.of(
             new OneToOneConcurrentArrayQueue<>(QUEUE_CAPACITY),
             new ManyToOneConcurrentArrayQueue<>(QUEUE_CAPACITY),
-            new ManyToManyConcurrentArrayQueue<>(QUEUE_CAPACITY));
+            new ManyToManyConcurrentArrayQueue<>(QUEUE_CAPACITY),
+            new ShardedManyToManyConcurrentArrayQueue<>(2, QUEUE_CAPACITY / 2),
+            new ManyToManyConcurrentFetchAndAddArrayQueue<>(QUEUE_CAPACITY));
+    }
+
+    private static Stream<QueuedPipe<Integer>> reservingData()
+    {
+        return Stream.of(
+            new ManyToOneConcurrentArrayQueue<>(QUEUE_CAPACITY),
+            new ManyToManyConcurrentArrayQueue<>(QUEUE_CAPACITY),
+            new ManyToManyConcurrentFetchAndAddArrayQueue<>(QUEUE_CAPACITY),
+            new ManyToOneConcurrentChunkedArrayQueue<>(QUEUE_CAPACITY / 2));
+    }
+
+    private static Stream<QueuedPipe<Integer>> manyProducerData()
+    {
+        return Stream.of(
+            new ManyToOneConcurrentArrayQueue<>(QUEUE_CAPACITY),
+            new ManyToManyConcurrentArrayQueue<>(QUEUE_CAPACITY),
+            new ManyToManyConcurrentFetchAndAddArrayQueue<>(QUEUE_CAPACITY));
     }
 
     @ParameterizedTest
@@ -270,6 +295,212 @@ class QueuedPipeTest
         assertThat(queue.size(), is(queue.capacity() - count));
     }
 
+    @ParameterizedTest
+    @MethodSource("data")
+    void shouldFillUpToRemainingCapacityInOrder(final QueuedPipe<Integer> queue)
+    {
+        assertTrue(queue.offer(0));
+        assertThat(queue.poll(), is(0));
+        assertTrue(queue.offer(1));
+
+        final int[] next = { 2 };
+        final int added = queue.fill(() -> next[0]++, Integer.MAX_VALUE);
+
+        assertThat(added, is(queue.capacity() - 1));
+        assertThat(queue.size(), is(queue.capacity()));
+        assertThat(queue.fill(() -> next[0]++, 1), is(0));
+        assertThat(queue.fill(() -> next[0]++, 0), is(0));
+
+        for (int i = 1; i <= queue.capacity(); i++)
+        {
+            assertThat(queue.poll(), is(i));
+        }
+        assertNull(queue.poll());
+    }
+
+    @ParameterizedTest
+    @MethodSource("data")
+    void shouldOfferAllFromArrayRangeUpToRemainingCapacity(final QueuedPipe<Integer> queue)
+    {
+        final Integer[] elements = new Integer[QUEUE_CAPACITY + 2];
+        for (int i = 0; i < elements.length; i++)
+        {
+            elements[i] = i;
+        }
+
+        assertThat(queue.offerAll(elements, 1, 3), is(3));
+        assertThat(queue.offerAll(elements, 4, elements.length - 4), is(queue.capacity() - 3));
+        assertThat(queue.offerAll(elements, 0, 1), is(0));
+
+        for (int i = 1; i <= queue.capacity(); i++)
+        {
+            assertThat(queue.poll(), is(i));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("data")
+    void shouldRejectInvalidRangeForOfferAll(final QueuedPipe<Integer> queue)
+    {
+        final Integer[] elements = { 1, null, 3 };
+
+        assertThrows(NullPointerException.class, () -> queue.offerAll(elements, 0, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.offerAll(elements, 2, 2));
+        assertThat(queue.size(), is(0));
+
+        assertThat(queue.offerAll(elements, 2, 1), is(1));
+        assertThat(queue.poll(), is(3));
+    }
+
+    @ParameterizedTest
+    @MethodSource("manyProducerData")
+    @Timeout(30)
+    void shouldFillFromManyProducersInProducerOrder(final QueuedPipe<Integer> queue) throws InterruptedException
+    {
+        final int producerCount = 3;
+        final int countPerProducer = 10_000;
+        final Thread[] producers = new Thread[producerCount];
+
+        for (int p = 0; p < producerCount; p++)
+        {
+            final int producerId = p;
+            producers[p] = new Thread(() ->
+            {
+                final int[] next = { producerId * countPerProducer };
+                final int end = next[0] + countPerProducer;
+                while (next[0] < end)
+                {
+                    if (0 == queue.fill(() -> next[0]++, Math.min(5, end - next[0])))
+                    {
+                        Thread.yield();
+                    }
+                }
+            });
+            producers[p].start();
+        }
+
+        final int[] nextExpected = new int[producerCount];
+        int received = 0;
+        while (received < producerCount * countPerProducer)
+        {
+            final Integer value = queue.poll();
+            if (null == value)
+            {
+                Thread.yield();
+                continue;
+            }
+
+            final int producerId = value / countPerProducer;
+            assertEquals(nextExpected[producerId]++, value % countPerProducer);
+            received++;
+        }
+
+        for (final Thread producer : producers)
+        {
+            producer.join();
+        }
+
+        assertNull(queue.poll());
+    }
+
+    @Test
+    void shouldPublishElementsTakenBeforeSupplierFails()
+    {
+        final OneToOneConcurrentArrayQueue<Integer> queue = new OneToOneConcurrentArrayQueue<>(QUEUE_CAPACITY);
+        final int[] next = { 0 };
+
+        assertThrows(NullPointerException.class, () -> queue.fill(() -> next[0] < 2 ? next[0]++ : null, 4));
+        assertThat(queue.size(), is(2));
+        assertTrue(queue.offer(2));
+
+        for (int i = 0; i < 3; i++)
+        {
+            assertThat(queue.poll(), is(i));
+        }
+        assertNull(queue.poll());
+    }
+
+    @ParameterizedTest
+    @MethodSource("reservingData")
+    void shouldSkipSlotsReservedWhenSupplierFails(final QueuedPipe<Integer> queue)
+    {
+        final int[] next = { 0 };
+
+        assertThrows(IllegalStateException.class, () -> queue.fill(
+            () ->
+            {
+                if (next[0] == 2)
+                {
+                    throw new IllegalStateException();
+                }
+
+                return next[0]++;
+            },
+            4));
+        assertTrue(queue.offer(2));
+
+        for (int i = 0; i < 3; i++)
+        {
+            assertThat(queue.poll(), is(i));
+        }
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @ParameterizedTest
+    @MethodSource("reservingData")
+    void shouldDeliverLaterOffersWhenSupplierReturnsNull(final QueuedPipe<Integer> queue)
+    {
+        final int[] next = { 0 };
+
+        assertThrows(NullPointerException.class, () -> queue.fill(() -> 1 == next[0]++ ? null : 7, 3));
+        assertTrue(queue.offer(42));
+
+        assertThat(queue.poll(), is(7));
+        assertThat(queue.element(), is(42));
+        assertThat(queue.poll(), is(42));
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @ParameterizedTest
+    @MethodSource("reservingData")
+    void shouldDrainPastSlotsReservedWhenSupplierFails(final QueuedPipe<Integer> queue)
+    {
+        assertThrows(IllegalStateException.class, () -> queue.fill(
+            () ->
+            {
+                throw new IllegalStateException();
+            },
+            2));
+        assertTrue(queue.offer(1));
+        assertTrue(queue.offer(2));
+
+        final ArrayList<Integer> drained = new ArrayList<>();
+        assertThat(queue.drain(drained::add, 2), is(2));
+        assertThat(drained, contains(1, 2));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void shouldFillAndOfferAllByDefaultUpToRemainingCapacity()
+    {
+        final QueuedPipe<Integer> queue = new BoundedDequePipe<>(4);
+        final int[] next = { 0 };
+
+        assertThat(queue.fill(() -> next[0]++, 3), is(3));
+        assertThrows(NullPointerException.class, () -> queue.offerAll(new Integer[]{ 3, null }, 0, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.offerAll(new Integer[]{ 3 }, 1, 1));
+        assertThat(queue.offerAll(new Integer[]{ 3, 4 }, 0, 2), is(1));
+        assertThat(queue.fill(() -> next[0]++, 1), is(0));
+
+        for (int i = 0; i < 4; i++)
+        {
+            assertThat(queue.poll(), is(i));
+        }
+        assertNull(queue.poll());
+    }
+
     private void fillQueue(final QueuedPipe<Integer> queue)
     {
         for (int i = 0, size = queue.capacity(); i < size; i++)
@@ -278,4 +509,97 @@ class QueuedPipeTest
             assertTrue(success);
         }
     }
+
+    static final class BoundedDequePipe<E> extends AbstractQueue<E> implements QueuedPipe<E>
+    {
+        private final int capacity;
+        private final ArrayDeque<E> deque = new ArrayDeque<>();
+        private long addedCount;
+        private long removedCount;
+
+        BoundedDequePipe(final int capacity)
+        {
+            this.capacity = capacity;
+        }
+
+        public boolean offer(final E e)
+        {
+            if (deque.size() == capacity)
+            {
+                return false;
+            }
+
+            addedCount++;
+            return deque.offer(e);
+        }
+
+        public E poll()
+        {
+            final E e = deque.poll();
+            if (null != e)
+            {
+                removedCount++;
+            }
+
+            return e;
+        }
+
+        public E peek()
+        {
+            return deque.peek();
+        }
+
+        public Iterator<E> iterator()
+        {
+            return deque.iterator();
+        }
+
+        public int size()
+        {
+            return deque.size();
+        }
+
+        public long addedCount()
+        {
+            return addedCount;
+        }
+
+        public long removedCount()
+        {
+            return removedCount;
+        }
+
+        public int capacity()
+        {
+            return capacity;
+        }
+
+        public int remainingCapacity()
+        {
+            return capacity - deque.size();
+        }
+
+        public int drain(final Consumer<E> elementConsumer)
+        {
+            return drain(elementConsumer, size());
+        }
+
+        public int drain(final Consumer<E> elementConsumer, final int limit)
+        {
+            int count = 0;
+            E e;
+            while (count < limit && null != (e = poll()))
+            {
+                elementConsumer.accept(e);
+                count++;
+            }
+
+            return count;
+        }
+
+        public int drainTo(final Collection<? super E> target, final int limit)
+        {
+            return drain(target::add, limit);
+        }
+    }
 }
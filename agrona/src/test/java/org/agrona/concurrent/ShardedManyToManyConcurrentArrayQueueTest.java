@@ -0,0 +1,145 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedManyToManyConcurrentArrayQueueTest
+{
+    @Test
+    void shouldRejectInvalidConfiguration()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new ShardedManyToManyConcurrentArrayQueue<>(0, 8));
+        assertThrows(IllegalArgumentException.class, () -> new ShardedManyToManyConcurrentArrayQueue<>(2, 1));
+    }
+
+    @Test
+    void shouldRoundShardCountAndCapacityToPowerOfTwo()
+    {
+        final ShardedManyToManyConcurrentArrayQueue<Integer> queue = new ShardedManyToManyConcurrentArrayQueue<>(3, 5);
+
+        assertEquals(4, queue.shardCount());
+        assertEquals(32, queue.capacity());
+        assertEquals(32, queue.remainingCapacity());
+    }
+
+    @Test
+    void shouldOverflowToOtherShardsWhenOwnShardIsFull()
+    {
+        final ShardedManyToManyConcurrentArrayQueue<Integer> queue = new ShardedManyToManyConcurrentArrayQueue<>(4, 2);
+
+        for (int i = 0; i < queue.capacity(); i++)
+        {
+            assertTrue(queue.offer(i));
+        }
+
+        assertFalse(queue.offer(-1));
+        assertThrows(IllegalStateException.class, () -> queue.add(-1));
+        for (int i = 0; i < queue.shardCount(); i++)
+        {
+            assertEquals(2, queue.shard(i).size());
+        }
+
+        assertTrue(queue.contains(7));
+        assertEquals(8, queue.addedCount());
+        assertEquals(8, queue.drain((e) -> {}));
+        assertTrue(queue.isEmpty());
+        assertEquals(8, queue.removedCount());
+    }
+
+    @Test
+    void shouldPollFromOtherShardsWhenOwnShardIsEmpty()
+    {
+        final ShardedManyToManyConcurrentArrayQueue<Integer> queue = new ShardedManyToManyConcurrentArrayQueue<>(4, 2);
+
+        for (int i = 0; i < queue.shardCount(); i++)
+        {
+            assertTrue(queue.shard(i).offer(i));
+        }
+
+        int sum = 0;
+        Integer value;
+        while (null != (value = queue.poll()))
+        {
+            sum += value;
+        }
+
+        assertEquals(6, sum);
+        assertNull(queue.peek());
+    }
+
+    @Test
+    @Timeout(30)
+    void shouldExchangeEachElementExactlyOnceBetweenManyProducersAndConsumers() throws InterruptedException
+    {
+        final ShardedManyToManyConcurrentArrayQueue<Integer> queue = new ShardedManyToManyConcurrentArrayQueue<>(4, 16);
+        final int threadCount = 3;
+        final int countPerProducer = 10_000;
+        final int total = threadCount * countPerProducer;
+        final AtomicIntegerArray taken = new AtomicIntegerArray(total);
+        final Thread[] threads = new Thread[threadCount * 2];
+
+        for (int t = 0; t < threadCount; t++)
+        {
+            final int base = t * countPerProducer;
+            threads[t] = new Thread(() ->
+            {
+                for (int i = 0; i < countPerProducer; i++)
+                {
+                    while (!queue.offer(base + i))
+                    {
+                        Thread.yield();
+                    }
+                }
+            });
+
+            threads[threadCount + t] = new Thread(() ->
+            {
+                for (int i = 0; i < countPerProducer; i++)
+                {
+                    Integer value;
+                    while (null == (value = queue.poll()))
+                    {
+                        Thread.yield();
+                    }
+
+                    taken.incrementAndGet(value);
+                }
+            });
+        }
+
+        for (final Thread thread : threads)
+        {
+            thread.start();
+        }
+
+        for (final Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        assertTrue(queue.isEmpty());
+        for (int i = 0; i < total; i++)
+        {
+            assertEquals(1, taken.get(i), "element=" + i);
+        }
+    }
+}
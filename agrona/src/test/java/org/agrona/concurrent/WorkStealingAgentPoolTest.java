@@ -0,0 +1,151 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkStealingAgentPoolTest
+{
+    private final AtomicReference<Throwable> error = new AtomicReference<>();
+    private WorkStealingAgentPool pool;
+
+    @AfterEach
+    void after()
+    {
+        if (null != pool)
+        {
+            pool.close();
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidConfiguration()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new WorkStealingAgentPool(
+            0, 8, 8, YieldingIdleStrategy::new, error::set, null));
+        assertThrows(IllegalArgumentException.class, () -> new WorkStealingAgentPool(
+            1, 8, 8, YieldingIdleStrategy::new, error::set, null).worker(0).taskLimit(0));
+    }
+
+    @Test
+    void shouldRunTasksInWorkerDutyCycle()
+    {
+        final WorkStealingAgentPool workerPool = new WorkStealingAgentPool(
+            2, 4, 4, YieldingIdleStrategy::new, error::set, null);
+        final WorkStealingAgentPool.Worker worker = workerPool.worker(0).taskLimit(2);
+        final AtomicInteger counter = new AtomicInteger();
+
+        for (int i = 0; i < 4; i++)
+        {
+            assertTrue(worker.offer(counter::incrementAndGet));
+        }
+        assertFalse(worker.offer(counter::incrementAndGet));
+
+        assertEquals(2 + 4, worker.doWork());
+        assertEquals(2, counter.get());
+
+        assertEquals(1, workerPool.worker(1).taskLimit(1).doWork());
+        assertEquals(3, counter.get());
+        assertEquals(1, workerPool.worker(1).tasksStolen());
+
+        assertEquals(1, worker.doWork());
+        assertEquals(0, worker.doWork());
+        assertEquals(4, counter.get());
+        assertEquals(3, worker.tasksRun());
+        assertEquals("work-stealing-worker-0", worker.roleName());
+    }
+
+    @Test
+    void shouldStealFromInboxOfWorker()
+    {
+        final WorkStealingAgentPool workerPool = new WorkStealingAgentPool(
+            2, 4, 4, YieldingIdleStrategy::new, error::set, null);
+        final AtomicInteger counter = new AtomicInteger();
+
+        assertTrue(workerPool.worker(0).offer(counter::incrementAndGet));
+        assertEquals(1, workerPool.worker(1).doWork());
+        assertEquals(1, counter.get());
+        assertEquals(0, workerPool.worker(0).doWork());
+    }
+
+    @Test
+    @Timeout(30)
+    void shouldRunTasksOfBlockedWorkerOnOtherWorkers() throws InterruptedException
+    {
+        pool = new WorkStealingAgentPool(3, 64, 64, YieldingIdleStrategy::new, error::set, null);
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final int taskCount = 50;
+        final CountDownLatch completed = new CountDownLatch(taskCount);
+
+        assertTrue(pool.worker(0).offer(() ->
+        {
+            blocked.countDown();
+            try
+            {
+                release.await();
+            }
+            catch (final InterruptedException ex)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        pool.start();
+        blocked.await();
+
+        for (int i = 0; i < taskCount; i++)
+        {
+            assertTrue(pool.worker(0).offer(completed::countDown));
+        }
+
+        assertTrue(completed.await(20, TimeUnit.SECONDS));
+        release.countDown();
+        assertNull(error.get());
+    }
+
+    @Test
+    @Timeout(30)
+    void shouldReportTaskErrorsAndCarryOn() throws InterruptedException
+    {
+        pool = new WorkStealingAgentPool(2, 8, 8, YieldingIdleStrategy::new, error::set, null);
+        final CountDownLatch completed = new CountDownLatch(1);
+        final IllegalStateException ex = new IllegalStateException("test");
+
+        assertTrue(pool.offer(() ->
+        {
+            throw ex;
+        }));
+        pool.start();
+
+        while (null == error.get())
+        {
+            Thread.yield();
+        }
+
+        assertTrue(pool.offer(completed::countDown));
+        assertTrue(completed.await(20, TimeUnit.SECONDS));
+        assertSame(ex, error.get());
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkStealingDequeTest
+{
+    private static final int CAPACITY = 8;
+
+    private final WorkStealingDeque<Integer> deque = new WorkStealingDeque<>(CAPACITY);
+
+    @Test
+    void shouldBeEmptyInitially()
+    {
+        assertTrue(deque.isEmpty());
+        assertEquals(0, deque.size());
+        assertEquals(CAPACITY, deque.capacity());
+        assertNull(deque.pop());
+        assertNull(deque.steal());
+        assertThrows(NullPointerException.class, () -> deque.push(null));
+    }
+
+    @Test
+    void shouldPopNewestAndStealOldest()
+    {
+        for (int i = 0; i < CAPACITY; i++)
+        {
+            assertTrue(deque.push(i));
+        }
+
+        assertFalse(deque.push(CAPACITY));
+        assertEquals(CAPACITY, deque.size());
+
+        assertEquals(CAPACITY - 1, deque.pop());
+        assertEquals(0, deque.steal());
+        assertEquals(1, deque.steal());
+        assertEquals(CAPACITY - 2, deque.pop());
+        assertEquals(CAPACITY - 4, deque.size());
+
+        assertTrue(deque.push(CAPACITY));
+        assertTrue(deque.push(CAPACITY + 1));
+        assertTrue(deque.push(CAPACITY + 2));
+        assertEquals(CAPACITY + 2, deque.pop());
+        assertEquals(2, deque.steal());
+    }
+
+    @Test
+    void shouldTakeLastElementOnceWhenPopped()
+    {
+        assertTrue(deque.push(7));
+
+        assertEquals(7, deque.pop());
+        assertNull(deque.steal());
+        assertNull(deque.pop());
+        assertTrue(deque.isEmpty());
+    }
+
+    @Test
+    @Timeout(30)
+    void shouldTakeEachElementExactlyOnceWithConcurrentThieves() throws InterruptedException
+    {
+        final int count = 50_000;
+        final AtomicIntegerArray taken = new AtomicIntegerArray(count);
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final Thread[] thieves = new Thread[2];
+
+        for (int t = 0; t < thieves.length; t++)
+        {
+            thieves[t] = new Thread(() ->
+            {
+                while (running.get() || !deque.isEmpty())
+                {
+                    final Integer value = deque.steal();
+                    if (null == value)
+                    {
+                        Thread.yield();
+                    }
+                    else
+                    {
+                        taken.incrementAndGet(value);
+                    }
+                }
+            });
+            thieves[t].start();
+        }
+
+        for (int i = 0; i < count; i++)
+        {
+            while (!deque.push(i))
+            {
+                final Integer value = deque.pop();
+                if (null != value)
+                {
+                    taken.incrementAndGet(value);
+                }
+            }
+
+            if (0 == (i & 3))
+            {
+                final Integer value = deque.pop();
+                if (null != value)
+                {
+                    taken.incrementAndGet(value);
+                }
+            }
+        }
+
+        Integer value;
+        while (null != (value = deque.pop()))
+        {
+            taken.incrementAndGet(value);
+        }
+
+        running.set(false);
+        for (final Thread thief : thieves)
+        {
+            thief.join();
+        }
+
+        for (int i = 0; i < count; i++)
+        {
+            assertEquals(1, taken.get(i), "element=" + i);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.broadcast;
+
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.ByteBuffer.allocateDirect;
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveBroadcastReceiverTest
+{
+    private static final int MSG_TYPE_ID = 7;
+    private static final int CAPACITY = 1024;
+    private static final int COPY_THRESHOLD = 32;
+
+    private final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[CAPACITY]);
+    private final UnsafeBuffer scratchBuffer = new UnsafeBuffer(new byte[CAPACITY]);
+    private final UnsafeBuffer buffer =
+        new UnsafeBuffer(allocateDirect(CAPACITY + BroadcastBufferDescriptor.TRAILER_LENGTH));
+    private final BroadcastTransmitter transmitter = new BroadcastTransmitter(buffer);
+    private final AdaptiveBroadcastReceiver receiver =
+        new AdaptiveBroadcastReceiver(new BroadcastReceiver(buffer), COPY_THRESHOLD, scratchBuffer);
+
+    @Test
+    void shouldRejectNegativeCopyThreshold()
+    {
+        assertThrows(IllegalArgumentException.class,
+            () -> new AdaptiveBroadcastReceiver(new BroadcastReceiver(buffer), -1, scratchBuffer));
+    }
+
+    @Test
+    void shouldHandleSmallMessagesInPlaceAndCopyLargeMessages()
+    {
+        final RecordingHandler handler = new RecordingHandler();
+        assertEquals(0, receiver.receive(handler));
+
+        transmit(1, SIZE_OF_LONG);
+        transmit(2, COPY_THRESHOLD + 1);
+
+        assertEquals(1, receiver.receive(handler));
+        assertEquals(1, receiver.receive(handler));
+        assertEquals(0, receiver.receive(handler));
+
+        assertEquals(List.of(1L, 2L), handler.values);
+        assertSame(buffer, handler.buffers.get(0));
+        assertSame(scratchBuffer, handler.buffers.get(1));
+        assertEquals(0, handler.discardCount);
+    }
+
+    @Test
+    void shouldDiscardMessageOverwrittenWhileHandledInPlace()
+    {
+        transmit(1, SIZE_OF_LONG);
+
+        final RecordingHandler handler = new RecordingHandler()
+        {
+            public void onMessage(
+                final int msgTypeId, final MutableDirectBuffer buffer, final int index, final int length)
+            {
+                super.onMessage(msgTypeId, buffer, index, length);
+                for (int i = 0; i < CAPACITY / COPY_THRESHOLD; i++)
+                {
+                    transmit(i, COPY_THRESHOLD);
+                }
+            }
+        };
+
+        assertThrows(IllegalStateException.class, () -> receiver.receive(handler));
+        assertEquals(List.of(1L), handler.values);
+        assertEquals(1, handler.discardCount);
+    }
+
+    @Test
+    void shouldThrowWhenLappedBeforeReceiving()
+    {
+        transmit(1, SIZE_OF_LONG);
+        assertEquals(1, receiver.receive(new RecordingHandler()));
+
+        for (int i = 0; i < CAPACITY / COPY_THRESHOLD; i++)
+        {
+            transmit(i, COPY_THRESHOLD);
+        }
+
+        final RecordingHandler handler = new RecordingHandler();
+        assertThrows(IllegalStateException.class, () -> receiver.receive(handler));
+        assertEquals(List.of(), handler.values);
+    }
+
+    private void transmit(final long value, final int length)
+    {
+        srcBuffer.putLong(0, value);
+        transmitter.transmit(MSG_TYPE_ID, srcBuffer, 0, length);
+    }
+
+    static class RecordingHandler implements DiscardableMessageHandler
+    {
+        final List<Long> values = new ArrayList<>();
+        final List<MutableDirectBuffer> buffers = new ArrayList<>();
+        int discardCount;
+
+        public void onMessage(
+            final int msgTypeId, final MutableDirectBuffer buffer, final int index, final int length)
+        {
+            values.add(buffer.getLong(index));
+            buffers.add(buffer);
+        }
+
+        public void onDiscard()
+        {
+            discardCount++;
+        }
+    }
+}
@@ -20,6 +20,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InOrder;
 
+import static java.nio.ByteBuffer.allocateDirect;
+import static org.agrona.BitUtil.SIZE_OF_LONG;
 import static org.agrona.BitUtil.align;
 import static org.agrona.concurrent.broadcast.RecordDescriptor.*;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -245,4 +247,63 @@ class BroadcastReceiverTest
 
         verify(buffer).getLongVolatile(TAIL_COUNTER_INDEX);
     }
+
+    @Test
+    void shouldReceiveFromOldestIntactRecordWhenJoiningLate()
+    {
+        final UnsafeBuffer buffer = new UnsafeBuffer(allocateDirect(TOTAL_BUFFER_LENGTH));
+        final BroadcastTransmitter transmitter = new BroadcastTransmitter(buffer);
+        final int messageCount = 200;
+        transmitSequence(transmitter, 0, messageCount);
+
+        final BroadcastReceiver receiver = new BroadcastReceiver(buffer);
+        receiver.seekToOldest();
+
+        final int recordLengthAligned = align(HEADER_LENGTH + SIZE_OF_LONG, RECORD_ALIGNMENT);
+        long expectedValue = (((long)messageCount * recordLengthAligned) - CAPACITY) / recordLengthAligned + 1;
+        while (receiver.receiveNext())
+        {
+            assertEquals(expectedValue++, buffer.getLong(receiver.offset()));
+            assertTrue(receiver.validate());
+        }
+
+        assertEquals(messageCount, expectedValue);
+        assertEquals(0, receiver.lappedCount());
+    }
+
+    @Test
+    void shouldDetectLapWhileCatchingUpFromOldest()
+    {
+        final UnsafeBuffer buffer = new UnsafeBuffer(allocateDirect(TOTAL_BUFFER_LENGTH));
+        final BroadcastTransmitter transmitter = new BroadcastTransmitter(buffer);
+        transmitSequence(transmitter, 0, 200);
+
+        final BroadcastReceiver receiver = new BroadcastReceiver(buffer);
+        receiver.seekToOldest();
+        assertTrue(receiver.receiveNext());
+        assertTrue(receiver.validate());
+
+        final long oldestValue = buffer.getLong(receiver.offset());
+        assertTrue(receiver.receiveNext());
+        assertEquals(oldestValue + 1, buffer.getLong(receiver.offset()));
+
+        transmitSequence(transmitter, 200, 64);
+        assertFalse(receiver.validate());
+
+        assertTrue(receiver.receiveNext());
+        assertEquals(1, receiver.lappedCount());
+        assertEquals(263, buffer.getLong(receiver.offset()));
+        assertTrue(receiver.validate());
+        assertFalse(receiver.receiveNext());
+    }
+
+    private static void transmitSequence(final BroadcastTransmitter transmitter, final long from, final int count)
+    {
+        final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[SIZE_OF_LONG]);
+        for (long value = from; value < from + count; value++)
+        {
+            srcBuffer.putLong(0, value);
+            transmitter.transmit(MSG_TYPE_ID, srcBuffer, 0, SIZE_OF_LONG);
+        }
+    }
 }
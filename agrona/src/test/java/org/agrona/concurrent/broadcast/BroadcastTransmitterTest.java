@@ -201,4 +201,49 @@ class BroadcastTransmitterTest
         inOrder.verify(buffer).putLongRelease(LATEST_COUNTER_INDEX, tail);
         inOrder.verify(buffer).putLongRelease(TAIL_COUNTER_INDEX, tail + recordLengthAligned);
     }
+
+    @Test
+    void shouldCommitBatchWithSinglePublicationOfTailCounters()
+    {
+        final int length = 8;
+        final int recordLength = length + HEADER_LENGTH;
+        final int recordLengthAligned = align(recordLength, RECORD_ALIGNMENT);
+
+        assertThat(broadcastTransmitter.claim(MSG_TYPE_ID, length), is(msgOffset(0)));
+        assertThat(broadcastTransmitter.claim(MSG_TYPE_ID, length), is(msgOffset(recordLengthAligned)));
+        broadcastTransmitter.commit();
+        broadcastTransmitter.commit();
+
+        final InOrder inOrder = inOrder(buffer);
+        inOrder.verify(buffer).getLong(TAIL_COUNTER_INDEX);
+        inOrder.verify(buffer).putLongRelease(TAIL_INTENT_COUNTER_OFFSET, recordLengthAligned);
+        inOrder.verify(buffer).putInt(lengthOffset(0), recordLength);
+        inOrder.verify(buffer).putInt(typeOffset(0), MSG_TYPE_ID);
+        inOrder.verify(buffer).putLongRelease(TAIL_INTENT_COUNTER_OFFSET, recordLengthAligned * 2L);
+        inOrder.verify(buffer).putInt(lengthOffset(recordLengthAligned), recordLength);
+        inOrder.verify(buffer).putInt(typeOffset(recordLengthAligned), MSG_TYPE_ID);
+
+        inOrder.verify(buffer).putLongRelease(LATEST_COUNTER_INDEX, recordLengthAligned);
+        inOrder.verify(buffer).putLongRelease(TAIL_COUNTER_INDEX, recordLengthAligned * 2L);
+        verify(buffer, times(1)).getLong(TAIL_COUNTER_INDEX);
+        verify(buffer, times(1)).putLongRelease(eq(TAIL_COUNTER_INDEX), anyLong());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenBatchExceedsCapacity()
+    {
+        final int length = broadcastTransmitter.maxMsgLength();
+        final int recordLengthAligned = align(length + HEADER_LENGTH, RECORD_ALIGNMENT);
+
+        for (int i = 0, count = CAPACITY / recordLengthAligned; i < count; i++)
+        {
+            broadcastTransmitter.claim(MSG_TYPE_ID, length);
+        }
+
+        assertThrows(IllegalStateException.class, () -> broadcastTransmitter.claim(MSG_TYPE_ID, length));
+
+        broadcastTransmitter.commit();
+        verify(buffer).putLongRelease(
+            TAIL_COUNTER_INDEX, (long)(CAPACITY / recordLengthAligned) * recordLengthAligned);
+    }
 }
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.broadcast;
+
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.ByteBuffer.allocateDirect;
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConflatingBroadcastReceiverTest
+{
+    private static final int MSG_TYPE_ID = 7;
+    private static final int CAPACITY = 128;
+    private static final int KEY_CAPACITY = 4;
+    private static final int MAX_VALUE_LENGTH = 16;
+
+    private final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[MAX_VALUE_LENGTH]);
+    private final UnsafeBuffer buffer = new UnsafeBuffer(
+        allocateDirect(ConflationTableDescriptor.bufferLength(CAPACITY, KEY_CAPACITY, MAX_VALUE_LENGTH)));
+    private final ConflatingBroadcastTransmitter transmitter =
+        new ConflatingBroadcastTransmitter(buffer, KEY_CAPACITY, MAX_VALUE_LENGTH);
+    private final ConflatingBroadcastReceiver receiver =
+        new ConflatingBroadcastReceiver(buffer, KEY_CAPACITY, MAX_VALUE_LENGTH);
+    private final List<String> received = new ArrayList<>();
+    private final KeyedMessageHandler handler = (key, msgTypeId, buffer, index, length) ->
+    {
+        assertEquals(MSG_TYPE_ID, msgTypeId);
+        assertEquals(SIZE_OF_LONG, length);
+        received.add(key + "=" + buffer.getLong(index));
+    };
+
+    @Test
+    void shouldRejectInvalidConfiguration()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new ConflatingBroadcastTransmitter(buffer, 3, 8));
+        assertThrows(IllegalArgumentException.class, () -> new ConflatingBroadcastReceiver(buffer, 4, -1));
+        assertThrows(IllegalArgumentException.class, () -> new ConflatingBroadcastReceiver(buffer, 1024, 8));
+        assertThrows(IllegalArgumentException.class, () -> new ConflatingBroadcastReceiver(buffer, 4, 8, 0));
+        assertThrows(IllegalStateException.class, () -> new ConflatingBroadcastTransmitter(buffer, 1, 8));
+        assertThrows(IllegalArgumentException.class,
+            () -> transmitter.transmit(1, MSG_TYPE_ID, srcBuffer, 0, MAX_VALUE_LENGTH + 1));
+    }
+
+    @Test
+    void shouldReceiveLatestValueForEachUpdate()
+    {
+        assertEquals(0, receiver.receive(handler));
+        assertFalse(receiver.latest(1, handler));
+
+        transmit(1, 10);
+        transmit(2, 20);
+
+        assertEquals(1, receiver.receive(handler));
+        assertEquals(1, receiver.receive(handler));
+        assertEquals(0, receiver.receive(handler));
+        assertEquals(List.of("1=10", "2=20"), received);
+
+        assertTrue(receiver.latest(2, handler));
+        assertEquals("2=20", received.get(2));
+    }
+
+    @Test
+    void shouldConflateUpdatesToSameKey()
+    {
+        transmit(1, 10);
+        transmit(1, 11);
+
+        assertEquals(1, receiver.receive(handler));
+        assertEquals(1, receiver.receive(handler));
+        assertEquals(List.of("1=11", "1=11"), received);
+    }
+
+    @Test
+    void shouldRecoverLatestValueOfEveryKeyWhenLapped()
+    {
+        transmit(1, 10);
+        transmit(2, 20);
+        assertEquals(1, receiver.receive(handler));
+        received.clear();
+
+        for (int i = 0; i < CAPACITY; i++)
+        {
+            transmit(i % 3, 100 + i);
+        }
+
+        assertEquals(3, receiver.receive(handler));
+        assertEquals(1, receiver.broadcastReceiver().lappedCount());
+        assertTrue(received.contains("0=226"));
+        assertTrue(received.contains("1=227"));
+        assertTrue(received.contains("2=225"));
+    }
+
+    @Test
+    void shouldThrowWhenKeyTableIsFull()
+    {
+        for (int i = 0; i < KEY_CAPACITY; i++)
+        {
+            transmit(i, i);
+        }
+
+        transmit(0, 1);
+        assertThrows(IllegalStateException.class, () -> transmit(KEY_CAPACITY, 1));
+        assertEquals(KEY_CAPACITY, receiver.forEachLatest(handler));
+    }
+
+    @Test
+    void shouldGiveUpOnValueLeftMidUpdateByTransmitter()
+    {
+        transmit(1, 10);
+        transmit(2, 20);
+
+        final int slotOffset = slotOffset(1);
+        final long version = buffer.getLong(slotOffset + ConflationTableDescriptor.VERSION_OFFSET);
+        buffer.putLong(slotOffset + ConflationTableDescriptor.VERSION_OFFSET, version + 1);
+
+        assertEquals(0, receiver.receive(handler));
+        assertEquals(1, receiver.failedReadCount());
+        assertFalse(receiver.latest(1, handler));
+        assertEquals(1, receiver.forEachLatest(handler));
+        assertEquals(3, receiver.failedReadCount());
+        assertEquals(List.of("2=20"), received);
+
+        buffer.putLong(slotOffset + ConflationTableDescriptor.VERSION_OFFSET, version + 2);
+        assertTrue(receiver.latest(1, handler));
+        assertEquals("1=10", received.get(1));
+    }
+
+    private int slotOffset(final long key)
+    {
+        final int slotLength = ConflationTableDescriptor.slotLength(MAX_VALUE_LENGTH);
+        final int tableOffset =
+            buffer.capacity() - ConflationTableDescriptor.tableLength(KEY_CAPACITY, MAX_VALUE_LENGTH);
+
+        for (int i = 0; i < KEY_CAPACITY; i++)
+        {
+            final int slotOffset = tableOffset + (i * slotLength);
+            if (key == buffer.getLong(slotOffset + ConflationTableDescriptor.KEY_OFFSET))
+            {
+                return slotOffset;
+            }
+        }
+
+        throw new IllegalStateException("key not found: " + key);
+    }
+
+    private void transmit(final long key, final long value)
+    {
+        srcBuffer.putLong(0, value);
+        transmitter.transmit(key, MSG_TYPE_ID, srcBuffer, 0, SIZE_OF_LONG);
+    }
+}
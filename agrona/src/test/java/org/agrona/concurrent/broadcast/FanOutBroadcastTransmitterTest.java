@@ -0,0 +1,96 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.broadcast;
+
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+
+import static java.nio.ByteBuffer.allocateDirect;
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FanOutBroadcastTransmitterTest
+{
+    private static final int MSG_TYPE_ID = 7;
+    private static final int SHORT_CAPACITY = 1024;
+    private static final int LONG_CAPACITY = 4096;
+
+    private final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[SIZE_OF_LONG]);
+    private final UnsafeBuffer shortBuffer =
+        new UnsafeBuffer(allocateDirect(SHORT_CAPACITY + BroadcastBufferDescriptor.TRAILER_LENGTH));
+    private final UnsafeBuffer longBuffer =
+        new UnsafeBuffer(allocateDirect(LONG_CAPACITY + BroadcastBufferDescriptor.TRAILER_LENGTH));
+    private final FanOutBroadcastTransmitter transmitter = new FanOutBroadcastTransmitter(shortBuffer, longBuffer);
+
+    @Test
+    void shouldUseMinimumMaxMsgLength()
+    {
+        assertEquals(2, transmitter.transmitterCount());
+        assertEquals(transmitter.transmitter(0).maxMsgLength(), transmitter.maxMsgLength());
+        assertSame(shortBuffer, transmitter.buffer());
+        assertThrows(IllegalArgumentException.class, FanOutBroadcastTransmitter::new);
+        assertThrows(IllegalArgumentException.class,
+            () -> transmitter.claim(MSG_TYPE_ID, transmitter.maxMsgLength() + 1));
+    }
+
+    @Test
+    void shouldTransmitToAllBuffers()
+    {
+        final BroadcastReceiver shortReceiver = new BroadcastReceiver(shortBuffer);
+        final BroadcastReceiver longReceiver = new BroadcastReceiver(longBuffer);
+
+        srcBuffer.putLong(0, 42);
+        transmitter.transmit(MSG_TYPE_ID, srcBuffer, 0, SIZE_OF_LONG);
+
+        final int offset = transmitter.claim(MSG_TYPE_ID, SIZE_OF_LONG);
+        transmitter.buffer().putLong(offset, 43);
+        assertThrows(IllegalStateException.class, () -> transmitter.claim(MSG_TYPE_ID, SIZE_OF_LONG));
+        transmitter.commit();
+        transmitter.commit();
+
+        for (final BroadcastReceiver receiver : new BroadcastReceiver[]{ shortReceiver, longReceiver })
+        {
+            assertTrue(receiver.receiveNext());
+            assertEquals(MSG_TYPE_ID, receiver.typeId());
+            assertEquals(42, receiver.buffer().getLong(receiver.offset()));
+            assertTrue(receiver.receiveNext());
+            assertEquals(43, receiver.buffer().getLong(receiver.offset()));
+            assertTrue(receiver.validate());
+            assertFalse(receiver.receiveNext());
+        }
+    }
+
+    @Test
+    void shouldRetainMoreHistoryInLongerBuffer()
+    {
+        final BroadcastReceiver shortReceiver = new BroadcastReceiver(shortBuffer);
+        final BroadcastReceiver longReceiver = new BroadcastReceiver(longBuffer);
+
+        for (int i = 0; i < 100; i++)
+        {
+            srcBuffer.putLong(0, i);
+            transmitter.transmit(MSG_TYPE_ID, srcBuffer, 0, SIZE_OF_LONG);
+        }
+
+        assertTrue(shortReceiver.receiveNext());
+        assertEquals(1, shortReceiver.lappedCount());
+        assertEquals(99, shortReceiver.buffer().getLong(shortReceiver.offset()));
+
+        assertTrue(longReceiver.receiveNext());
+        assertEquals(0, longReceiver.lappedCount());
+        assertEquals(0, longReceiver.buffer().getLong(longReceiver.offset()));
+    }
+}
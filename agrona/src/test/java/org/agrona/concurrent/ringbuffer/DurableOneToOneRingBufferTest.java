@@ -0,0 +1,240 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.IoUtil;
+import org.agrona.checksum.Crc32;
+import org.agrona.collections.MutableInteger;
+import org.agrona.concurrent.ControlledMessageHandler;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.MappedByteBuffer;
+
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+import static org.agrona.concurrent.ringbuffer.DurableOneToOneRingBuffer.MESSAGE_PREFIX_LENGTH;
+import static org.agrona.concurrent.ringbuffer.RecordDescriptor.HEADER_LENGTH;
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.TRAILER_LENGTH;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DurableOneToOneRingBufferTest
+{
+    private static final int MSG_TYPE_ID = 7;
+    private static final int CAPACITY = 1024;
+    private static final int RECORD_LENGTH = HEADER_LENGTH + MESSAGE_PREFIX_LENGTH + SIZE_OF_LONG;
+
+    @TempDir
+    File tempDir;
+
+    private final ExpandableArrayBuffer srcBuffer = new ExpandableArrayBuffer();
+    private File file;
+    private MappedByteBuffer mappedByteBuffer;
+    private DurableOneToOneRingBuffer ringBuffer;
+
+    @BeforeEach
+    void before()
+    {
+        file = new File(tempDir, "journal.dat");
+        mappedByteBuffer = IoUtil.mapNewFile(file, CAPACITY + TRAILER_LENGTH);
+        ringBuffer = new DurableOneToOneRingBuffer(new UnsafeBuffer(mappedByteBuffer), Crc32.INSTANCE);
+    }
+
+    @AfterEach
+    void after()
+    {
+        IoUtil.unmap(mappedByteBuffer);
+    }
+
+    @Test
+    void shouldRejectOnHeapBuffer()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new DurableOneToOneRingBuffer(
+            new UnsafeBuffer(new byte[CAPACITY + TRAILER_LENGTH]), Crc32.INSTANCE));
+    }
+
+    @Test
+    void shouldRejectNegativeForceThreshold()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new DurableOneToOneRingBuffer(
+            new UnsafeBuffer(mappedByteBuffer), Crc32.INSTANCE, -1));
+    }
+
+    @Test
+    void shouldReduceMaxMsgLengthByPrefix()
+    {
+        assertEquals(CAPACITY / 8 - MESSAGE_PREFIX_LENGTH, ringBuffer.maxMsgLength());
+        assertThrows(IllegalArgumentException.class,
+            () -> ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, ringBuffer.maxMsgLength() + 1));
+    }
+
+    @Test
+    void shouldWriteAndReadMessagesWithoutPrefix()
+    {
+        writeMessages(3);
+
+        final MutableInteger counter = new MutableInteger();
+        assertEquals(3, ringBuffer.read(
+            (msgTypeId, buffer, index, length) ->
+            {
+                assertEquals(MSG_TYPE_ID, msgTypeId);
+                assertEquals(SIZE_OF_LONG, length);
+                assertEquals(counter.getAndIncrement(), buffer.getLong(index));
+            }));
+
+        assertEquals(RECORD_LENGTH * 3, ringBuffer.consumerPosition());
+    }
+
+    @Test
+    void shouldControlledReadMessagesWithoutPrefix()
+    {
+        writeMessages(2);
+
+        assertEquals(1, ringBuffer.controlledRead(
+            (msgTypeId, buffer, index, length) ->
+            {
+                assertEquals(SIZE_OF_LONG, length);
+                assertEquals(0, buffer.getLong(index));
+                return ControlledMessageHandler.Action.BREAK;
+            }));
+        assertEquals(RECORD_LENGTH, ringBuffer.consumerPosition());
+    }
+
+    @Test
+    void shouldComputeChecksumOnCommitOfClaim()
+    {
+        final int index = ringBuffer.tryClaim(MSG_TYPE_ID, SIZE_OF_LONG);
+        ringBuffer.buffer().putLong(index, 42);
+        ringBuffer.commit(index);
+
+        assertEquals(0, ringBuffer.recover());
+        assertEquals(RECORD_LENGTH, ringBuffer.producerPosition());
+
+        final long[] value = new long[1];
+        assertEquals(1, ringBuffer.read((msgTypeId, buffer, idx, length) -> value[0] = buffer.getLong(idx)));
+        assertEquals(42, value[0]);
+    }
+
+    @Test
+    void shouldKeepAbortedClaimOnRecovery()
+    {
+        ringBuffer.abort(ringBuffer.tryClaim(MSG_TYPE_ID, SIZE_OF_LONG));
+        writeMessages(1);
+
+        assertEquals(0, ringBuffer.recover());
+        assertEquals(1, ringBuffer.read((msgTypeId, buffer, index, length) -> {}));
+    }
+
+    @Test
+    void shouldTruncateCorruptRecordAndThoseFollowing()
+    {
+        writeMessages(3);
+        ringBuffer.buffer().putByte(RECORD_LENGTH + HEADER_LENGTH + MESSAGE_PREFIX_LENGTH, (byte)0xFF);
+
+        assertEquals(RECORD_LENGTH * 2, ringBuffer.recover());
+        assertEquals(RECORD_LENGTH, ringBuffer.producerPosition());
+        assertEquals(0, ringBuffer.buffer().getLong(RECORD_LENGTH));
+
+        assertEquals(1, ringBuffer.read((msgTypeId, buffer, index, length) -> assertEquals(0, buffer.getLong(index))));
+        writeMessages(1);
+        assertEquals(1, ringBuffer.read((msgTypeId, buffer, index, length) -> {}));
+    }
+
+    @Test
+    void shouldTruncatePartiallyWrittenClaim()
+    {
+        writeMessages(1);
+        ringBuffer.tryClaim(MSG_TYPE_ID, SIZE_OF_LONG);
+
+        assertEquals(RECORD_LENGTH, ringBuffer.recover());
+        assertEquals(RECORD_LENGTH, ringBuffer.producerPosition());
+        assertEquals(1, ringBuffer.read((msgTypeId, buffer, index, length) -> {}));
+    }
+
+    @Test
+    void shouldRecoverFromConsumerPosition()
+    {
+        writeMessages(2);
+        assertEquals(1, ringBuffer.read((msgTypeId, buffer, index, length) -> {}, 1));
+        ringBuffer.buffer().putByte(HEADER_LENGTH + MESSAGE_PREFIX_LENGTH, (byte)0xFF);
+
+        assertEquals(0, ringBuffer.recover());
+        assertEquals(RECORD_LENGTH * 2, ringBuffer.producerPosition());
+    }
+
+    @Test
+    void shouldRecoverAcrossWrap()
+    {
+        final int messages = CAPACITY / RECORD_LENGTH - 1;
+        writeMessages(messages);
+        assertEquals(messages, ringBuffer.read((msgTypeId, buffer, index, length) -> {}));
+        writeMessages(2);
+
+        assertEquals(0, ringBuffer.recover());
+        assertEquals(1, ringBuffer.read((msgTypeId, buffer, index, length) -> {}));
+        assertEquals(1, ringBuffer.read((msgTypeId, buffer, index, length) -> {}));
+        assertEquals(ringBuffer.producerPosition(), ringBuffer.consumerPosition());
+    }
+
+    @Test
+    void shouldRecoverAfterRemapping()
+    {
+        writeMessages(3);
+        assertEquals(ringBuffer.producerPosition(), ringBuffer.force());
+        IoUtil.unmap(mappedByteBuffer);
+
+        mappedByteBuffer = IoUtil.mapExistingFile(file, "journal");
+        ringBuffer = new DurableOneToOneRingBuffer(new UnsafeBuffer(mappedByteBuffer), Crc32.INSTANCE);
+
+        assertEquals(0, ringBuffer.recover());
+        final MutableInteger counter = new MutableInteger();
+        assertEquals(3, ringBuffer.read(
+            (msgTypeId, buffer, index, length) -> assertEquals(counter.getAndIncrement(), buffer.getLong(index))));
+    }
+
+    @Test
+    void shouldForceOnceThresholdIsReached()
+    {
+        ringBuffer = new DurableOneToOneRingBuffer(
+            new UnsafeBuffer(mappedByteBuffer), Crc32.INSTANCE, RECORD_LENGTH * 2);
+
+        writeMessages(1);
+        assertEquals(0, ringBuffer.forcedPosition());
+
+        writeMessages(1);
+        assertEquals(RECORD_LENGTH * 2, ringBuffer.forcedPosition());
+
+        final int index = ringBuffer.tryClaim(MSG_TYPE_ID, SIZE_OF_LONG);
+        ringBuffer.commit(index);
+        assertEquals(RECORD_LENGTH * 2, ringBuffer.forcedPosition());
+
+        assertEquals(RECORD_LENGTH * 3, ringBuffer.force());
+        assertEquals(RECORD_LENGTH * 3, ringBuffer.forcedPosition());
+    }
+
+    private void writeMessages(final int count)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            srcBuffer.putLong(0, i);
+            assertTrue(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, SIZE_OF_LONG));
+        }
+    }
+}
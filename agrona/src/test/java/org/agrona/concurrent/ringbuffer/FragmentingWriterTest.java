@@ -0,0 +1,218 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.concurrent.MessageHandler;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.ByteBuffer.allocateDirect;
+import static org.agrona.concurrent.ringbuffer.FragmentDescriptor.*;
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.TRAILER_LENGTH;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FragmentingWriterTest
+{
+    private static final int MSG_TYPE_ID = 7;
+    private static final int CAPACITY = 1024;
+
+    private final ManyToOneRingBuffer ringBuffer =
+        new ManyToOneRingBuffer(new UnsafeBuffer(allocateDirect(CAPACITY + TRAILER_LENGTH)));
+    private final FragmentingWriter writer = new FragmentingWriter(ringBuffer, 1);
+    private final List<byte[]> messages = new ArrayList<>();
+    private final List<Integer> msgTypeIds = new ArrayList<>();
+    private final ReassemblingMessageHandler handler = new ReassemblingMessageHandler(
+        (msgTypeId, buffer, index, length) ->
+        {
+            final byte[] message = new byte[length];
+            buffer.getBytes(index, message);
+            messages.add(message);
+            msgTypeIds.add(msgTypeId);
+        },
+        64);
+
+    @Test
+    void shouldRejectRingBufferWithTooSmallMaxMsgLength()
+    {
+        final ManyToOneRingBuffer ringBuffer =
+            new ManyToOneRingBuffer(new UnsafeBuffer(allocateDirect(64 + TRAILER_LENGTH)));
+
+        assertThrows(IllegalArgumentException.class, () -> new FragmentingWriter(ringBuffer, 1));
+    }
+
+    @Test
+    void shouldRejectMsgTypeIdUsingFlagBits()
+    {
+        final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[8]);
+
+        assertThrows(IllegalArgumentException.class, () -> writer.write(0, srcBuffer, 0, 8));
+        assertThrows(IllegalArgumentException.class, () -> writer.write(FRAGMENT_FLAG | 1, srcBuffer, 0, 8));
+    }
+
+    @Test
+    void shouldWriteSmallMessageWithoutFragmenting()
+    {
+        final UnsafeBuffer srcBuffer = message(ringBuffer.maxMsgLength());
+
+        assertTrue(writer.write(MSG_TYPE_ID, srcBuffer, 0, ringBuffer.maxMsgLength()));
+
+        final int[] recordTypeId = new int[1];
+        assertEquals(1, ringBuffer.read((msgTypeId, buffer, index, length) -> recordTypeId[0] = msgTypeId));
+        assertEquals(MSG_TYPE_ID, recordTypeId[0]);
+    }
+
+    @Test
+    void shouldFragmentAndReassembleLargeMessage()
+    {
+        final int length = writer.maxFragmentLength() * 3 + 5;
+        final UnsafeBuffer srcBuffer = message(length);
+
+        assertTrue(writer.write(MSG_TYPE_ID, srcBuffer, 0, length));
+        assertFalse(writer.hasPendingFragments());
+
+        final List<Integer> recordTypeIds = new ArrayList<>();
+        final MessageHandler recorder = (msgTypeId, buffer, index, len) ->
+        {
+            recordTypeIds.add(msgTypeId);
+            handler.onMessage(msgTypeId, buffer, index, len);
+        };
+        assertEquals(4, ringBuffer.read(recorder));
+
+        assertEquals(FRAGMENT_FLAG | BEGIN_FRAGMENT_FLAG | MSG_TYPE_ID, recordTypeIds.get(0));
+        assertEquals(FRAGMENT_FLAG | MSG_TYPE_ID, recordTypeIds.get(1));
+        assertEquals(FRAGMENT_FLAG | MSG_TYPE_ID, recordTypeIds.get(2));
+        assertEquals(FRAGMENT_FLAG | END_FRAGMENT_FLAG | MSG_TYPE_ID, recordTypeIds.get(3));
+
+        assertEquals(1, messages.size());
+        assertEquals(MSG_TYPE_ID, msgTypeIds.get(0));
+        assertArrayEquals(srcBuffer.byteArray(), messages.get(0));
+        assertEquals(0, handler.pendingStreamCount());
+    }
+
+    @Test
+    void shouldReassembleInterleavedFragmentsFromDifferentStreams()
+    {
+        final int length = writer.maxFragmentLength() + 1;
+        final UnsafeBuffer srcBuffer = message(length);
+        final UnsafeBuffer otherSrcBuffer = message(length);
+        otherSrcBuffer.putByte(0, (byte)-1);
+
+        final UnsafeBuffer fragment = new UnsafeBuffer(new byte[ringBuffer.maxMsgLength()]);
+        writeFragment(fragment, 1, 0, BEGIN_FRAGMENT_FLAG, srcBuffer, 0, writer.maxFragmentLength());
+        writeFragment(fragment, 2, 0, BEGIN_FRAGMENT_FLAG, otherSrcBuffer, 0, writer.maxFragmentLength());
+        writeFragment(fragment, 2, writer.maxFragmentLength(), END_FRAGMENT_FLAG, otherSrcBuffer, 0, 1);
+        writeFragment(fragment, 1, writer.maxFragmentLength(), END_FRAGMENT_FLAG, srcBuffer, 0, 1);
+
+        assertEquals(4, ringBuffer.read(handler));
+        assertEquals(2, messages.size());
+        assertArrayEquals(otherSrcBuffer.byteArray(), messages.get(0));
+        assertArrayEquals(srcBuffer.byteArray(), messages.get(1));
+    }
+
+    @Test
+    void shouldContinueFromNextFragmentWhenRingBufferFills()
+    {
+        final int length = CAPACITY * 2;
+        final UnsafeBuffer srcBuffer = message(length);
+
+        int attempts = 0;
+        while (!writer.write(MSG_TYPE_ID, srcBuffer, 0, length))
+        {
+            assertTrue(writer.hasPendingFragments());
+            assertThrows(IllegalStateException.class, () -> writer.write(MSG_TYPE_ID, srcBuffer, 0, length - 1));
+            drain();
+            attempts++;
+        }
+        drain();
+
+        assertTrue(attempts > 0);
+        assertEquals(1, messages.size());
+        assertArrayEquals(srcBuffer.byteArray(), messages.get(0));
+    }
+
+    @Test
+    void shouldDiscardAbandonedMessage()
+    {
+        final int length = CAPACITY * 2;
+        final UnsafeBuffer srcBuffer = message(length);
+
+        assertFalse(writer.write(MSG_TYPE_ID, srcBuffer, 0, length));
+        writer.abandon();
+        assertFalse(writer.hasPendingFragments());
+
+        drain();
+        assertEquals(1, handler.pendingStreamCount());
+
+        final int nextLength = writer.maxFragmentLength() + 10;
+        assertTrue(writer.write(MSG_TYPE_ID + 1, srcBuffer, 0, nextLength));
+        drain();
+
+        assertEquals(1, messages.size());
+        assertEquals(MSG_TYPE_ID + 1, msgTypeIds.get(0));
+        assertEquals(nextLength, messages.get(0).length);
+        assertEquals(0, handler.pendingStreamCount());
+    }
+
+    @Test
+    void shouldDropFragmentsWithoutBeginning()
+    {
+        final UnsafeBuffer srcBuffer = message(writer.maxFragmentLength() + 10);
+        final UnsafeBuffer fragment = new UnsafeBuffer(new byte[ringBuffer.maxMsgLength()]);
+        writeFragment(fragment, 1, writer.maxFragmentLength(), END_FRAGMENT_FLAG, srcBuffer, 0, 10);
+
+        assertEquals(1, ringBuffer.read(handler));
+        assertTrue(messages.isEmpty());
+    }
+
+    private void drain()
+    {
+        while (ringBuffer.size() > 0)
+        {
+            ringBuffer.read(handler);
+        }
+    }
+
+    private void writeFragment(
+        final UnsafeBuffer fragment,
+        final int streamId,
+        final int fragmentOffset,
+        final int flags,
+        final UnsafeBuffer srcBuffer,
+        final int srcOffset,
+        final int length)
+    {
+        fragment.putInt(STREAM_ID_OFFSET, streamId);
+        fragment.putInt(FRAGMENT_OFFSET_OFFSET, fragmentOffset);
+        fragment.putBytes(FRAGMENT_HEADER_LENGTH, srcBuffer, srcOffset + fragmentOffset, length);
+
+        assertTrue(ringBuffer.write(
+            FRAGMENT_FLAG | flags | MSG_TYPE_ID, fragment, 0, FRAGMENT_HEADER_LENGTH + length));
+    }
+
+    private static UnsafeBuffer message(final int length)
+    {
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[length]);
+        for (int i = 0; i < length; i++)
+        {
+            buffer.putByte(i, (byte)i);
+        }
+
+        return buffer;
+    }
+}
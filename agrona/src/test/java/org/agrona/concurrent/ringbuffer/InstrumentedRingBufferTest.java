@@ -0,0 +1,115 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.concurrent.ControlledMessageHandler;
+import org.agrona.concurrent.MessageHandler;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.status.CountersManager;
+import org.junit.jupiter.api.Test;
+
+import static java.nio.ByteBuffer.allocateDirect;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.agrona.concurrent.ringbuffer.RecordDescriptor.HEADER_LENGTH;
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.TRAILER_LENGTH;
+import static org.agrona.concurrent.status.CountersReader.COUNTER_LENGTH;
+import static org.agrona.concurrent.status.CountersReader.METADATA_LENGTH;
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstrumentedRingBufferTest
+{
+    private static final int MSG_TYPE_ID = 7;
+    private static final int CAPACITY = 1024;
+    private static final int NUMBER_OF_COUNTERS = 4;
+    private static final MessageHandler NO_OP_HANDLER = (msgTypeId, buffer, index, length) -> {};
+
+    private final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[CAPACITY]);
+    private final CountersManager countersManager = new CountersManager(
+        new UnsafeBuffer(allocateDirect(NUMBER_OF_COUNTERS * METADATA_LENGTH)),
+        new UnsafeBuffer(allocateDirect(NUMBER_OF_COUNTERS * COUNTER_LENGTH)),
+        US_ASCII);
+
+    @Test
+    void shouldAllocateLabelledCounters()
+    {
+        final InstrumentedRingBuffer ringBuffer = new InstrumentedRingBuffer(
+            new OneToOneRingBuffer(new UnsafeBuffer(allocateDirect(CAPACITY + TRAILER_LENGTH))), countersManager, "x");
+
+        assertEquals(
+            "ring-buffer insufficient capacity: x",
+            countersManager.getCounterLabel(ringBuffer.insufficientCapacityCounter().id()));
+        assertEquals(
+            "ring-buffer consumer lag: x", countersManager.getCounterLabel(ringBuffer.consumerLagCounter().id()));
+        assertEquals(
+            "ring-buffer peak occupancy: x", countersManager.getCounterLabel(ringBuffer.peakOccupancyCounter().id()));
+
+        ringBuffer.close();
+
+        assertTrue(ringBuffer.insufficientCapacityCounter().isClosed());
+        assertEquals(0, countersManager.newCounter("reused").id());
+    }
+
+    @Test
+    void shouldCountWritesAndClaimsWhenFull()
+    {
+        final InstrumentedRingBuffer ringBuffer = new InstrumentedRingBuffer(
+            new ManyToOneRingBuffer(new UnsafeBuffer(allocateDirect(CAPACITY + TRAILER_LENGTH))), countersManager, "x");
+        final int length = ringBuffer.maxMsgLength() - HEADER_LENGTH;
+
+        for (int i = 0, count = CAPACITY / ringBuffer.maxMsgLength(); i < count; i++)
+        {
+            assertTrue(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, length));
+        }
+        assertEquals(0, ringBuffer.insufficientCapacityCounter().get());
+
+        assertFalse(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, 1));
+        assertEquals(RingBuffer.INSUFFICIENT_CAPACITY, ringBuffer.tryClaim(MSG_TYPE_ID, 1));
+        assertEquals(2, ringBuffer.insufficientCapacityCounter().get());
+    }
+
+    @Test
+    void shouldTrackConsumerLagAndPeakOccupancy()
+    {
+        final InstrumentedRingBuffer ringBuffer = new InstrumentedRingBuffer(
+            new OneToOneRingBuffer(new UnsafeBuffer(allocateDirect(CAPACITY + TRAILER_LENGTH))), countersManager, "x");
+        final int recordLength = 64;
+        final int length = recordLength - HEADER_LENGTH;
+
+        for (int i = 0; i < 3; i++)
+        {
+            assertTrue(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, length));
+        }
+
+        assertEquals(1, ringBuffer.read(NO_OP_HANDLER, 1));
+        assertEquals(3 * recordLength, ringBuffer.consumerLagCounter().get());
+        assertEquals(3 * recordLength, ringBuffer.peakOccupancyCounter().get());
+
+        assertEquals(2, ringBuffer.read(NO_OP_HANDLER));
+        assertEquals(2 * recordLength, ringBuffer.consumerLagCounter().get());
+
+        final int index = ringBuffer.tryClaim(MSG_TYPE_ID, length);
+        ringBuffer.commit(index);
+        assertEquals(1, ringBuffer.controlledRead((msgTypeId, buffer, offset, len) ->
+            ControlledMessageHandler.Action.CONTINUE));
+        assertEquals(recordLength, ringBuffer.consumerLagCounter().get());
+        assertEquals(3 * recordLength, ringBuffer.peakOccupancyCounter().get());
+
+        assertEquals(0, ringBuffer.read(NO_OP_HANDLER));
+        assertEquals(0, ringBuffer.consumerLagCounter().get());
+        assertEquals(3 * recordLength, ringBuffer.peakOccupancyCounter().get());
+        assertEquals(0, ringBuffer.insufficientCapacityCounter().get());
+    }
+}
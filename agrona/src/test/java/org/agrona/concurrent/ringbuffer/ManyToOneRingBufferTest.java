@@ -42,6 +42,7 @@ import static org.agrona.concurrent.ringbuffer.RecordDescriptor.*;
 import static org.agrona.concurrent.ringbuffer.RingBuffer.INSUFFICIENT_CAPACITY;
 import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.*;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -860,6 +861,128 @@ class ManyToOneRingBufferTest
         assertEquals(0, ringBuffer.read((msgTypeId, buffer, index, length) -> fail()));
     }
 
+    @Test
+    void shouldWriteBatchAndPublishOnCommit()
+    {
+        final ManyToOneRingBuffer ringBuffer =
+            new ManyToOneRingBuffer(new UnsafeBuffer(allocateDirect(TOTAL_BUFFER_LENGTH)));
+        final BatchClaim batchClaim = new BatchClaim();
+        final int batchLength = BatchClaim.recordLength(SIZE_OF_LONG) * 3 + BatchClaim.recordLength(0);
+
+        assertTrue(ringBuffer.tryClaimBatch(batchClaim, batchLength));
+        assertTrue(batchClaim.isActive());
+        assertEquals(batchLength, ringBuffer.producerPosition());
+
+        for (int i = 0; i < 3; i++)
+        {
+            final int index = batchClaim.tryClaim(MSG_TYPE_ID + i, SIZE_OF_LONG);
+            assertThat(index, greaterThan(0));
+            batchClaim.buffer().putLong(index, i);
+        }
+        assertEquals(3, batchClaim.recordCount());
+        assertEquals(BatchClaim.recordLength(0), batchClaim.remaining());
+
+        assertEquals(0, ringBuffer.read((msgTypeId, buffer, index, length) -> fail()));
+
+        batchClaim.commit();
+        assertFalse(batchClaim.isActive());
+
+        final MutableInteger counter = new MutableInteger();
+        assertEquals(3, ringBuffer.read(
+            (msgTypeId, buffer, index, length) ->
+            {
+                assertEquals(MSG_TYPE_ID + counter.get(), msgTypeId);
+                assertEquals(SIZE_OF_LONG, length);
+                assertEquals(counter.getAndIncrement(), buffer.getLong(index));
+            }));
+        assertEquals(ringBuffer.producerPosition(), ringBuffer.consumerPosition());
+    }
+
+    @Test
+    void shouldSkipAbortedBatch()
+    {
+        final ManyToOneRingBuffer ringBuffer =
+            new ManyToOneRingBuffer(new UnsafeBuffer(allocateDirect(TOTAL_BUFFER_LENGTH)));
+        final ExpandableArrayBuffer srcBuffer = new ExpandableArrayBuffer();
+        final BatchClaim batchClaim = new BatchClaim();
+
+        assertTrue(ringBuffer.tryClaimBatch(batchClaim, BatchClaim.recordLength(SIZE_OF_LONG) * 2));
+        assertThat(batchClaim.tryClaim(MSG_TYPE_ID, SIZE_OF_LONG), greaterThan(0));
+        assertTrue(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, SIZE_OF_LONG));
+
+        batchClaim.abort();
+        assertFalse(batchClaim.isActive());
+
+        assertEquals(1, ringBuffer.read((msgTypeId, buffer, index, length) -> assertEquals(SIZE_OF_LONG, length)));
+        assertEquals(ringBuffer.producerPosition(), ringBuffer.consumerPosition());
+    }
+
+    @Test
+    void batchTryClaimReturnsInsufficientCapacityWhenBatchIsFull()
+    {
+        final ManyToOneRingBuffer ringBuffer =
+            new ManyToOneRingBuffer(new UnsafeBuffer(allocateDirect(TOTAL_BUFFER_LENGTH)));
+        final BatchClaim batchClaim = new BatchClaim();
+
+        assertTrue(ringBuffer.tryClaimBatch(batchClaim, BatchClaim.recordLength(SIZE_OF_LONG)));
+        assertThat(batchClaim.tryClaim(MSG_TYPE_ID, SIZE_OF_LONG), greaterThan(0));
+        assertEquals(INSUFFICIENT_CAPACITY, batchClaim.tryClaim(MSG_TYPE_ID, 0));
+
+        batchClaim.commit();
+        assertEquals(1, ringBuffer.read((msgTypeId, buffer, index, length) -> {}));
+    }
+
+    @Test
+    void tryClaimBatchReturnsFalseWhenInsufficientCapacity()
+    {
+        final ManyToOneRingBuffer ringBuffer =
+            new ManyToOneRingBuffer(new UnsafeBuffer(allocateDirect(MIN_CAPACITY * 8 + TRAILER_LENGTH)));
+        final BatchClaim batchClaim = new BatchClaim();
+        final int batchLength = ringBuffer.maxBatchLength();
+
+        for (int i = 0; i < MIN_CAPACITY * 8 / batchLength; i++)
+        {
+            assertTrue(ringBuffer.tryClaimBatch(batchClaim, batchLength));
+            batchClaim.commit();
+        }
+
+        assertFalse(ringBuffer.tryClaimBatch(batchClaim, batchLength));
+        assertFalse(batchClaim.isActive());
+    }
+
+    @Test
+    void tryClaimBatchThrowsIllegalArgumentExceptionIfBatchLengthIsInvalid()
+    {
+        final BatchClaim batchClaim = new BatchClaim();
+
+        assertThrows(IllegalArgumentException.class, () -> ringBuffer.tryClaimBatch(batchClaim, HEADER_LENGTH - 1));
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> ringBuffer.tryClaimBatch(batchClaim, ringBuffer.maxBatchLength() + 1));
+    }
+
+    @Test
+    void tryClaimBatchThrowsIllegalStateExceptionIfBatchClaimIsActive()
+    {
+        final ManyToOneRingBuffer ringBuffer =
+            new ManyToOneRingBuffer(new UnsafeBuffer(allocateDirect(TOTAL_BUFFER_LENGTH)));
+        final BatchClaim batchClaim = new BatchClaim();
+
+        assertTrue(ringBuffer.tryClaimBatch(batchClaim, HEADER_LENGTH));
+        assertThrows(IllegalStateException.class, () -> ringBuffer.tryClaimBatch(batchClaim, HEADER_LENGTH));
+        assertEquals(HEADER_LENGTH, ringBuffer.producerPosition());
+    }
+
+    @Test
+    void batchClaimThrowsIllegalStateExceptionIfNotActive()
+    {
+        final BatchClaim batchClaim = new BatchClaim();
+
+        assertThrows(IllegalStateException.class, () -> batchClaim.tryClaim(MSG_TYPE_ID, 0));
+        assertThrows(IllegalStateException.class, batchClaim::commit);
+        assertThrows(IllegalStateException.class, batchClaim::abort);
+    }
+
     private void testAlreadyCommitted(final IntConsumer action)
     {
         final int index = HEADER_LENGTH;
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.collections.MutableInteger;
+import org.agrona.concurrent.ControlledMessageHandler;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.nio.ByteBuffer.allocateDirect;
+import static org.agrona.BitUtil.SIZE_OF_INT;
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+import static org.agrona.concurrent.ringbuffer.RecordDescriptor.HEADER_LENGTH;
+import static org.agrona.concurrent.ringbuffer.RingBuffer.INSUFFICIENT_CAPACITY;
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.TRAILER_LENGTH;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OneToManyRingBufferTest
+{
+    private static final int MSG_TYPE_ID = 7;
+    private static final int CAPACITY = 1024;
+    private static final int RECORD_LENGTH = HEADER_LENGTH + SIZE_OF_LONG;
+
+    private final ExpandableArrayBuffer srcBuffer = new ExpandableArrayBuffer();
+    private final OneToManyRingBuffer ringBuffer =
+        new OneToManyRingBuffer(new UnsafeBuffer(allocateDirect(CAPACITY + TRAILER_LENGTH)));
+
+    @Test
+    void shouldReadNothingFromEmptyBuffer()
+    {
+        assertEquals(0, ringBuffer.read((msgTypeId, buffer, index, length) -> fail()));
+        assertEquals(0, ringBuffer.consumerClaimPosition());
+        assertEquals(0, ringBuffer.consumerPosition());
+        assertFalse(ringBuffer.unblock());
+    }
+
+    @Test
+    void shouldReadMessagesAndLeaveSpaceToBeReclaimedByProducer()
+    {
+        writeMessages(3);
+
+        final MutableInteger counter = new MutableInteger();
+        assertEquals(3, ringBuffer.read(
+            (msgTypeId, buffer, index, length) ->
+            {
+                assertEquals(MSG_TYPE_ID, msgTypeId);
+                assertEquals(SIZE_OF_LONG, length);
+                assertEquals(counter.getAndIncrement(), buffer.getLong(index));
+            }));
+
+        assertEquals(RECORD_LENGTH * 3, ringBuffer.consumerClaimPosition());
+        assertEquals(0, ringBuffer.consumerPosition());
+        assertEquals(0, ringBuffer.read((msgTypeId, buffer, index, length) -> fail()));
+    }
+
+    @Test
+    void shouldLimitReadOfMessages()
+    {
+        writeMessages(3);
+
+        assertEquals(2, ringBuffer.read((msgTypeId, buffer, index, length) -> {}, 2));
+        assertEquals(RECORD_LENGTH * 2, ringBuffer.consumerClaimPosition());
+        assertEquals(1, ringBuffer.read((msgTypeId, buffer, index, length) -> {}, 2));
+    }
+
+    @Test
+    void shouldReclaimConsumedSpaceWhenFull()
+    {
+        final int messages = CAPACITY / RECORD_LENGTH;
+        writeMessages(messages);
+        assertFalse(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, SIZE_OF_LONG));
+
+        assertEquals(1, ringBuffer.read((msgTypeId, buffer, index, length) -> {}, 1));
+        assertEquals(0, ringBuffer.consumerPosition());
+
+        assertTrue(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, SIZE_OF_LONG));
+        assertEquals(RECORD_LENGTH, ringBuffer.consumerPosition());
+        assertEquals(INSUFFICIENT_CAPACITY, ringBuffer.tryClaim(MSG_TYPE_ID, SIZE_OF_LONG));
+    }
+
+    @Test
+    void shouldNotReclaimSpaceUntilEarlierMessageIsConsumed()
+    {
+        final int messages = CAPACITY / RECORD_LENGTH;
+        writeMessages(messages);
+
+        assertEquals(1, ringBuffer.read(
+            (msgTypeId, buffer, index, length) ->
+            {
+                assertEquals(0, buffer.getLong(index));
+                assertEquals(1, ringBuffer.read((msgTypeId2, buffer2, index2, length2) ->
+                    assertEquals(1, buffer2.getLong(index2)), 1));
+
+                assertFalse(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, SIZE_OF_LONG));
+                assertEquals(0, ringBuffer.consumerPosition());
+            }, 1));
+
+        assertTrue(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, SIZE_OF_LONG));
+        assertEquals(RECORD_LENGTH * 2, ringBuffer.consumerPosition());
+    }
+
+    @Test
+    void shouldRedeliverAbortedMessageAfterLaterMessageIsClaimed()
+    {
+        writeMessages(2);
+
+        assertEquals(0, ringBuffer.controlledRead(
+            (msgTypeId, buffer, index, length) ->
+            {
+                assertEquals(1, ringBuffer.read((msgTypeId2, buffer2, index2, length2) ->
+                    assertEquals(1, buffer2.getLong(index2))));
+
+                return ControlledMessageHandler.Action.ABORT;
+            }));
+
+        assertEquals(RECORD_LENGTH * 2, ringBuffer.consumerClaimPosition());
+
+        assertEquals(1, ringBuffer.read(
+            (msgTypeId, buffer, index, length) ->
+            {
+                assertEquals(MSG_TYPE_ID, msgTypeId);
+                assertEquals(0, buffer.getLong(index));
+            }));
+        assertEquals(0, ringBuffer.read((msgTypeId, buffer, index, length) -> fail()));
+    }
+
+    @Test
+    void shouldSkipMessageAbortedByProducer()
+    {
+        final int index = ringBuffer.tryClaim(MSG_TYPE_ID, SIZE_OF_LONG);
+        writeMessages(1);
+
+        assertEquals(0, ringBuffer.read((msgTypeId, buffer, i, length) -> fail()));
+
+        ringBuffer.abort(index);
+        assertThrows(IllegalStateException.class, () -> ringBuffer.commit(index));
+        assertEquals(1, ringBuffer.read((msgTypeId, buffer, i, length) -> assertEquals(0, buffer.getLong(i))));
+    }
+
+    @Test
+    void shouldConsumeMessageWhenHandlerThrows()
+    {
+        writeMessages(1);
+
+        assertThrows(IllegalStateException.class, () -> ringBuffer.read(
+            (msgTypeId, buffer, index, length) ->
+            {
+                throw new IllegalStateException();
+            }));
+
+        assertEquals(0, ringBuffer.read((msgTypeId, buffer, index, length) -> fail()));
+    }
+
+    @Test
+    void shouldReadAcrossWrap()
+    {
+        final int messages = CAPACITY / RECORD_LENGTH - 1;
+        writeMessages(messages);
+        assertEquals(messages, ringBuffer.read((msgTypeId, buffer, index, length) -> {}));
+
+        srcBuffer.putLong(0, Long.MAX_VALUE);
+        assertTrue(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, SIZE_OF_INT * 3));
+
+        final MutableInteger counter = new MutableInteger();
+        assertEquals(1, ringBuffer.read(
+            (msgTypeId, buffer, index, length) ->
+            {
+                assertEquals(Long.MAX_VALUE, buffer.getLong(index));
+                counter.increment();
+            }));
+
+        assertEquals(1, counter.get());
+        assertEquals(ringBuffer.producerPosition(), ringBuffer.consumerClaimPosition());
+    }
+
+    @Test
+    @Timeout(20)
+    void shouldConsumeEachMessageExactlyOnceWithConcurrentConsumers() throws InterruptedException
+    {
+        final int consumers = 4;
+        final int messages = 200_000;
+        final AtomicIntegerArray receivedCounts = new AtomicIntegerArray(messages);
+        final AtomicLong receivedTotal = new AtomicLong();
+        final CountDownLatch latch = new CountDownLatch(consumers);
+
+        for (int c = 0; c < consumers; c++)
+        {
+            new Thread(() ->
+            {
+                while (receivedTotal.get() < messages)
+                {
+                    final int count = ringBuffer.read(
+                        (msgTypeId, buffer, index, length) -> receivedCounts.incrementAndGet(buffer.getInt(index)));
+                    if (0 == count)
+                    {
+                        Thread.yield();
+                    }
+                    receivedTotal.addAndGet(count);
+                }
+                latch.countDown();
+            }).start();
+        }
+
+        final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[SIZE_OF_INT]);
+        for (int i = 0; i < messages; i++)
+        {
+            srcBuffer.putInt(0, i);
+            while (!ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, SIZE_OF_INT))
+            {
+                Thread.yield();
+            }
+        }
+
+        latch.await();
+
+        for (int i = 0; i < receivedCounts.length(); i++)
+        {
+            assertEquals(1, receivedCounts.get(i), "message " + i);
+        }
+        assertEquals(ringBuffer.producerPosition(), ringBuffer.consumerClaimPosition());
+    }
+
+    private void writeMessages(final int count)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            srcBuffer.putLong(0, i);
+            assertTrue(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, SIZE_OF_LONG));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.ByteBuffer.allocateDirect;
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.TRAILER_LENGTH;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParkingIdleStrategyTest
+{
+    private static final int MSG_TYPE_ID = 7;
+    private static final int CAPACITY = 1024;
+
+    private final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[8]);
+    private final OneToOneRingBuffer ringBuffer =
+        new OneToOneRingBuffer(new UnsafeBuffer(allocateDirect(CAPACITY + TRAILER_LENGTH)));
+
+    @Test
+    void shouldRejectInvalidConfiguration()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new ParkingIdleStrategy(ringBuffer, -1, 1000));
+        assertThrows(IllegalArgumentException.class, () -> new ParkingIdleStrategy(ringBuffer, 1, 0));
+    }
+
+    @Test
+    void shouldRejectRingBufferWithoutTrailerAtEndOfBuffer()
+    {
+        final StripedManyToOneRingBuffer stripedRingBuffer = new StripedManyToOneRingBuffer(
+            new UnsafeBuffer(allocateDirect(StripedManyToOneRingBuffer.bufferLength(2, CAPACITY))), 2);
+
+        assertThrows(IllegalArgumentException.class, () -> new ParkingIdleStrategy(stripedRingBuffer));
+    }
+
+    @Test
+    void shouldNotParkWhenMessagesAreAvailable()
+    {
+        final ParkingIdleStrategy idleStrategy = new ParkingIdleStrategy(ringBuffer, 0, TimeUnit.HOURS.toNanos(1));
+        assertTrue(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, srcBuffer.capacity()));
+
+        idleStrategy.idle(0);
+
+        assertFalse(idleStrategy.isConsumerParked());
+    }
+
+    @Test
+    void shouldNotUnparkWhenConsumerIsNotParked()
+    {
+        final ParkingIdleStrategy idleStrategy = new ParkingIdleStrategy(ringBuffer);
+
+        idleStrategy.signal();
+
+        assertFalse(idleStrategy.isConsumerParked());
+        assertEquals(ParkingIdleStrategy.ALIAS, idleStrategy.alias());
+    }
+
+    @Test
+    @Timeout(10)
+    void shouldUnparkConsumerWhenSignalled() throws InterruptedException
+    {
+        final ParkingIdleStrategy idleStrategy = new ParkingIdleStrategy(ringBuffer, 0, TimeUnit.HOURS.toNanos(1));
+        final AtomicInteger received = new AtomicInteger();
+        final Thread consumer = new Thread(() ->
+        {
+            int workCount;
+            do
+            {
+                workCount = ringBuffer.read((msgTypeId, buffer, index, length) -> received.incrementAndGet());
+                idleStrategy.idle(workCount);
+            }
+            while (0 == workCount);
+        });
+        consumer.start();
+
+        while (!idleStrategy.isConsumerParked())
+        {
+            Thread.yield();
+        }
+
+        assertTrue(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, srcBuffer.capacity()));
+        idleStrategy.signal();
+
+        consumer.join();
+        assertEquals(1, received.get());
+        assertFalse(idleStrategy.isConsumerParked());
+    }
+}
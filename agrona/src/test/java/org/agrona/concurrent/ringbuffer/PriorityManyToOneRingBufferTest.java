@@ -0,0 +1,168 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.ControlledMessageHandler;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.ByteBuffer.allocateDirect;
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.TRAILER_LENGTH;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PriorityManyToOneRingBufferTest
+{
+    private static final int MSG_TYPE_ID = 7;
+    private static final int LANE_COUNT = 2;
+    private static final int LANE_CAPACITY = 1024;
+    private static final int STARVATION_LIMIT = 2;
+
+    private final ExpandableArrayBuffer srcBuffer = new ExpandableArrayBuffer();
+    private final UnsafeBuffer buffer = new UnsafeBuffer(
+        allocateDirect(PriorityManyToOneRingBuffer.bufferLength(LANE_COUNT, LANE_CAPACITY)));
+    private final PriorityManyToOneRingBuffer ringBuffer =
+        new PriorityManyToOneRingBuffer(buffer, LANE_COUNT, STARVATION_LIMIT);
+    private final List<Long> values = new ArrayList<>();
+
+    @Test
+    void shouldComputeLayout()
+    {
+        assertEquals(LANE_COUNT * (LANE_CAPACITY + TRAILER_LENGTH), buffer.capacity());
+        assertEquals(LANE_COUNT, ringBuffer.laneCount());
+        assertEquals(STARVATION_LIMIT, ringBuffer.starvationLimit());
+        assertEquals(LANE_COUNT * LANE_CAPACITY, ringBuffer.capacity());
+        assertThrows(IllegalArgumentException.class, () -> ringBuffer.lane(LANE_COUNT));
+        assertThrows(IllegalArgumentException.class, () -> ringBuffer.lane(-1));
+    }
+
+    @Test
+    void shouldRejectInvalidConfiguration()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new PriorityManyToOneRingBuffer(buffer, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new PriorityManyToOneRingBuffer(buffer, 3, 1));
+        assertThrows(IllegalArgumentException.class, () -> new PriorityManyToOneRingBuffer(buffer, 2, 0));
+    }
+
+    @Test
+    void shouldReadHigherPriorityLaneFirst()
+    {
+        write(1, 100);
+        write(1, 101);
+        write(0, 0);
+
+        assertEquals(3, ringBuffer.read((msgTypeId, buffer, index, length) -> values.add(buffer.getLong(index))));
+        assertEquals(List.of(0L, 100L, 101L), values);
+        assertEquals(0, ringBuffer.size());
+    }
+
+    @Test
+    void shouldLetStarvedLaneReadAfterStarvationLimit()
+    {
+        for (int i = 0; i < 6; i++)
+        {
+            write(0, i);
+        }
+
+        for (int i = 0; i < 3; i++)
+        {
+            write(1, 100 + i);
+        }
+
+        assertEquals(9, ringBuffer.read((msgTypeId, buffer, index, length) -> values.add(buffer.getLong(index))));
+        assertEquals(List.of(0L, 1L, 100L, 2L, 3L, 101L, 4L, 5L, 102L), values);
+    }
+
+    @Test
+    void shouldNotLetIdleLaneBuildUpStarvationCredit()
+    {
+        for (int i = 0; i < 4; i++)
+        {
+            write(0, i);
+        }
+
+        assertEquals(4, ringBuffer.read((msgTypeId, buffer, index, length) -> {}));
+
+        write(1, 100);
+        write(0, 10);
+        write(0, 11);
+
+        assertEquals(3, ringBuffer.read((msgTypeId, buffer, index, length) -> values.add(buffer.getLong(index))));
+        assertEquals(List.of(10L, 11L, 100L), values);
+    }
+
+    @Test
+    void shouldRespectMessageCountLimit()
+    {
+        write(0, 0);
+        write(1, 100);
+        write(1, 101);
+
+        assertEquals(2, ringBuffer.read((msgTypeId, buffer, index, length) -> values.add(buffer.getLong(index)), 2));
+        assertEquals(List.of(0L, 100L), values);
+        assertEquals(1, ringBuffer.read((msgTypeId, buffer, index, length) -> values.add(buffer.getLong(index))));
+    }
+
+    @Test
+    void shouldStopControlledReadOnBreak()
+    {
+        write(0, 0);
+        write(1, 100);
+
+        assertEquals(1, ringBuffer.controlledRead((msgTypeId, buffer, index, length) ->
+        {
+            values.add(buffer.getLong(index));
+            return ControlledMessageHandler.Action.BREAK;
+        }));
+        assertEquals(List.of(0L), values);
+
+        assertEquals(0, ringBuffer.controlledRead((msgTypeId, buffer, index, length) ->
+            ControlledMessageHandler.Action.ABORT));
+        assertEquals(1, ringBuffer.controlledRead((msgTypeId, buffer, index, length) ->
+        {
+            values.add(buffer.getLong(index));
+            return ControlledMessageHandler.Action.CONTINUE;
+        }));
+        assertEquals(List.of(0L, 100L), values);
+    }
+
+    @Test
+    void shouldClaimAndCommitInPriorityLane()
+    {
+        final int index = ringBuffer.tryClaim(0, MSG_TYPE_ID, SIZE_OF_LONG);
+        assertTrue(index > 0 && index < LANE_CAPACITY);
+        buffer.putLong(index, 7);
+        ringBuffer.commit(index);
+
+        final int lowIndex = ringBuffer.tryClaim(MSG_TYPE_ID, SIZE_OF_LONG);
+        assertTrue(lowIndex > LANE_CAPACITY + TRAILER_LENGTH);
+        buffer.putLong(lowIndex, 8);
+        ringBuffer.commit(lowIndex);
+
+        assertEquals(2, ringBuffer.read((msgTypeId, buffer, idx, length) -> values.add(buffer.getLong(idx))));
+        assertEquals(List.of(7L, 8L), values);
+    }
+
+    private void write(final int priority, final long value)
+    {
+        srcBuffer.putLong(0, value);
+        assertTrue(ringBuffer.write(priority, MSG_TYPE_ID, srcBuffer, 0, SIZE_OF_LONG));
+    }
+}
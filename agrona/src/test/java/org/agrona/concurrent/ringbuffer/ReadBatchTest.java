@@ -0,0 +1,237 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+
+import static java.nio.ByteBuffer.allocateDirect;
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+import static org.agrona.concurrent.ringbuffer.RecordDescriptor.ALIGNMENT;
+import static org.agrona.concurrent.ringbuffer.RecordDescriptor.HEADER_LENGTH;
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.TRAILER_LENGTH;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadBatchTest
+{
+    private static final int MSG_TYPE_ID = 7;
+    private static final int CAPACITY = 1024;
+    private static final int RECORD_LENGTH = HEADER_LENGTH + SIZE_OF_LONG;
+
+    private final ExpandableArrayBuffer srcBuffer = new ExpandableArrayBuffer();
+    private final ReadBatch readBatch = new ReadBatch();
+
+    @Test
+    void shouldPeekNothingFromEmptyBuffer()
+    {
+        final OneToOneRingBuffer ringBuffer = newOneToOneRingBuffer();
+
+        assertEquals(0, ringBuffer.peekBatch(readBatch));
+        assertEquals(0, readBatch.length());
+        assertFalse(readBatch.nextRecord());
+    }
+
+    @Test
+    void shouldPeekAndReleaseBatchOfOneToOneRingBuffer()
+    {
+        final OneToOneRingBuffer ringBuffer = newOneToOneRingBuffer();
+        writeMessages(ringBuffer, 3);
+
+        shouldPeekAndReleaseBatch(ringBuffer, ringBuffer.peekBatch(readBatch), 3);
+        assertEquals(ringBuffer.producerPosition(), ringBuffer.consumerPosition());
+        assertEquals(0, ringBuffer.read((msgTypeId, buffer, index, length) -> fail()));
+    }
+
+    @Test
+    void shouldPeekAndReleaseBatchOfManyToOneRingBuffer()
+    {
+        final ManyToOneRingBuffer ringBuffer = newManyToOneRingBuffer();
+        writeMessages(ringBuffer, 3);
+
+        shouldPeekAndReleaseBatch(ringBuffer, ringBuffer.peekBatch(readBatch), 3);
+        assertEquals(ringBuffer.producerPosition(), ringBuffer.consumerPosition());
+        assertEquals(0, ringBuffer.buffer().getLong(0));
+    }
+
+    @Test
+    void shouldReleasePrefixOfBatch()
+    {
+        final ManyToOneRingBuffer ringBuffer = newManyToOneRingBuffer();
+        writeMessages(ringBuffer, 3);
+
+        assertEquals(RECORD_LENGTH * 3, ringBuffer.peekBatch(readBatch));
+        assertTrue(readBatch.nextRecord());
+        readBatch.release(readBatch.nextRecordOffset());
+
+        assertEquals(RECORD_LENGTH, readBatch.releasedLength());
+        assertEquals(RECORD_LENGTH, ringBuffer.consumerPosition());
+
+        final long[] values = new long[2];
+        final int[] count = new int[1];
+        assertEquals(2, ringBuffer.read(
+            (msgTypeId, buffer, index, length) -> values[count[0]++] = buffer.getLong(index)));
+        assertArrayEquals(new long[]{ 1, 2 }, values);
+    }
+
+    @Test
+    void shouldLimitBatchToWholeRecords()
+    {
+        final OneToOneRingBuffer ringBuffer = newOneToOneRingBuffer();
+        writeMessages(ringBuffer, 3);
+
+        assertEquals(RECORD_LENGTH * 2, ringBuffer.peekBatch(readBatch, RECORD_LENGTH * 3 - ALIGNMENT));
+        readBatch.release(readBatch.length());
+
+        assertEquals(RECORD_LENGTH, ringBuffer.peekBatch(readBatch));
+        assertTrue(readBatch.nextRecord());
+        assertEquals(2, readBatch.buffer().getLong(readBatch.msgOffset()));
+    }
+
+    @Test
+    void shouldStopAtUncommittedRecord()
+    {
+        final ManyToOneRingBuffer ringBuffer = newManyToOneRingBuffer();
+        writeMessages(ringBuffer, 1);
+        final int index = ringBuffer.tryClaim(MSG_TYPE_ID, SIZE_OF_LONG);
+        writeMessages(ringBuffer, 1);
+
+        assertEquals(RECORD_LENGTH, ringBuffer.peekBatch(readBatch));
+
+        ringBuffer.commit(index);
+
+        assertEquals(RECORD_LENGTH * 3, ringBuffer.peekBatch(readBatch));
+    }
+
+    @Test
+    void shouldSkipPaddingRecords()
+    {
+        final ManyToOneRingBuffer ringBuffer = newManyToOneRingBuffer();
+        writeMessages(ringBuffer, 1);
+        ringBuffer.abort(ringBuffer.tryClaim(MSG_TYPE_ID, SIZE_OF_LONG));
+        writeMessages(ringBuffer, 1);
+
+        assertEquals(RECORD_LENGTH * 3, ringBuffer.peekBatch(readBatch));
+
+        assertTrue(readBatch.nextRecord());
+        assertEquals(0, readBatch.recordOffset());
+        assertTrue(readBatch.nextRecord());
+        assertEquals(RECORD_LENGTH * 2, readBatch.recordOffset());
+        assertFalse(readBatch.nextRecord());
+
+        readBatch.rewind();
+        assertTrue(readBatch.nextRecord());
+        assertEquals(0, readBatch.recordOffset());
+    }
+
+    @Test
+    void shouldPeekUpToWrapThenFromStartOfBuffer()
+    {
+        final OneToOneRingBuffer ringBuffer = newOneToOneRingBuffer();
+        final int messages = CAPACITY / RECORD_LENGTH - 2;
+        writeMessages(ringBuffer, messages);
+        assertEquals(messages, ringBuffer.read((msgTypeId, buffer, index, length) -> {}));
+
+        writeMessages(ringBuffer, 3);
+
+        final int firstLength = ringBuffer.peekBatch(readBatch);
+        assertEquals(CAPACITY - messages * RECORD_LENGTH, firstLength);
+        shouldPeekAndReleaseBatch(ringBuffer, firstLength, 2);
+
+        assertEquals(RECORD_LENGTH, ringBuffer.peekBatch(readBatch));
+        assertEquals(0, readBatch.position() & (CAPACITY - 1));
+        readBatch.release(readBatch.length());
+        assertEquals(ringBuffer.producerPosition(), ringBuffer.consumerPosition());
+    }
+
+    @Test
+    void shouldRejectInvalidReleaseLength()
+    {
+        final OneToOneRingBuffer ringBuffer = newOneToOneRingBuffer();
+        writeMessages(ringBuffer, 2);
+        ringBuffer.peekBatch(readBatch);
+        readBatch.release(RECORD_LENGTH);
+
+        assertThrows(IllegalArgumentException.class, () -> readBatch.release(0));
+        assertThrows(IllegalArgumentException.class, () -> readBatch.release(RECORD_LENGTH + 1));
+        assertThrows(IllegalArgumentException.class, () -> readBatch.release(RECORD_LENGTH * 3));
+    }
+
+    @Test
+    void shouldRejectReleaseWithinRecord()
+    {
+        final ManyToOneRingBuffer ringBuffer = newManyToOneRingBuffer();
+        final int largeRecordLength = 64;
+        assertTrue(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, largeRecordLength - HEADER_LENGTH));
+        writeMessages(ringBuffer, 1);
+        final long position = ringBuffer.consumerPosition();
+
+        assertEquals(largeRecordLength + RECORD_LENGTH, ringBuffer.peekBatch(readBatch));
+        assertThrows(IllegalArgumentException.class, () -> readBatch.release(ALIGNMENT));
+        assertThrows(IllegalArgumentException.class, () -> readBatch.release(largeRecordLength - ALIGNMENT));
+        assertThrows(IllegalArgumentException.class, () -> readBatch.release(largeRecordLength + ALIGNMENT));
+        assertEquals(position, ringBuffer.consumerPosition());
+        assertEquals(0, readBatch.releasedLength());
+
+        readBatch.release(largeRecordLength);
+        assertEquals(position + largeRecordLength, ringBuffer.consumerPosition());
+        assertTrue(readBatch.nextRecord());
+        assertEquals(largeRecordLength, readBatch.recordOffset());
+        assertEquals(SIZE_OF_LONG, readBatch.msgLength());
+    }
+
+    private void shouldPeekAndReleaseBatch(final RingBuffer ringBuffer, final int batchLength, final int messages)
+    {
+        final long position = ringBuffer.consumerPosition();
+        assertEquals(batchLength, readBatch.length());
+        assertEquals(batchLength, readBatch.buffer().capacity());
+        assertEquals(position, readBatch.position());
+
+        int count = 0;
+        long expectedValue = readBatch.buffer().getLong(HEADER_LENGTH);
+        while (readBatch.nextRecord())
+        {
+            assertEquals(MSG_TYPE_ID, readBatch.msgTypeId());
+            assertEquals(SIZE_OF_LONG, readBatch.msgLength());
+            assertEquals(expectedValue++, readBatch.buffer().getLong(readBatch.msgOffset()));
+            count++;
+        }
+        assertEquals(messages, count);
+        assertEquals(position, ringBuffer.consumerPosition());
+
+        readBatch.release(readBatch.length());
+        assertEquals(position + batchLength, ringBuffer.consumerPosition());
+    }
+
+    private void writeMessages(final RingBuffer ringBuffer, final int count)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            srcBuffer.putLong(0, ringBuffer.producerPosition() / RECORD_LENGTH);
+            assertTrue(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, SIZE_OF_LONG));
+        }
+    }
+
+    private static OneToOneRingBuffer newOneToOneRingBuffer()
+    {
+        return new OneToOneRingBuffer(new UnsafeBuffer(allocateDirect(CAPACITY + TRAILER_LENGTH)));
+    }
+
+    private static ManyToOneRingBuffer newManyToOneRingBuffer()
+    {
+        return new ManyToOneRingBuffer(new UnsafeBuffer(allocateDirect(CAPACITY + TRAILER_LENGTH)));
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.concurrent.MessageHandler;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+
+import static java.nio.ByteBuffer.allocateDirect;
+import static org.agrona.concurrent.ringbuffer.RecordDescriptor.HEADER_LENGTH;
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.TRAILER_LENGTH;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferTailerTest
+{
+    private static final int MSG_TYPE_ID = 7;
+    private static final int CAPACITY = 1024;
+    private static final int RECORD_LENGTH = 64;
+    private static final int MSG_LENGTH = RECORD_LENGTH - HEADER_LENGTH;
+    private static final MessageHandler NO_OP_HANDLER = (msgTypeId, buffer, index, length) -> {};
+
+    private final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[CAPACITY]);
+    private final OneToOneRingBuffer ringBuffer =
+        new OneToOneRingBuffer(new UnsafeBuffer(allocateDirect(CAPACITY + TRAILER_LENGTH)));
+
+    @Test
+    void shouldRejectInvalidPosition()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferTailer(ringBuffer, 8));
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferTailer(ringBuffer, -8));
+    }
+
+    @Test
+    void shouldReceiveMessagesWithoutConsumingThem()
+    {
+        final RingBufferTailer tailer = new RingBufferTailer(ringBuffer);
+        assertFalse(tailer.receiveNext());
+
+        write(1);
+        write(2);
+
+        assertTrue(tailer.receiveNext());
+        assertEquals(MSG_TYPE_ID, tailer.typeId());
+        assertEquals(MSG_LENGTH, tailer.length());
+        assertEquals(1, tailer.buffer().getLong(tailer.offset()));
+        assertTrue(tailer.validate());
+
+        assertTrue(tailer.receiveNext());
+        assertEquals(2, tailer.buffer().getLong(tailer.offset()));
+        assertTrue(tailer.validate());
+
+        assertFalse(tailer.receiveNext());
+        assertEquals(ringBuffer.producerPosition(), tailer.position());
+        assertEquals(0, ringBuffer.consumerPosition());
+        assertEquals(2, ringBuffer.read(NO_OP_HANDLER));
+        assertEquals(0, tailer.lappedCount());
+    }
+
+    @Test
+    void shouldNotReceiveUncommittedOrAbortedMessages()
+    {
+        final RingBufferTailer tailer = new RingBufferTailer(ringBuffer);
+
+        final int abortedIndex = ringBuffer.tryClaim(MSG_TYPE_ID, MSG_LENGTH);
+        final int index = ringBuffer.tryClaim(MSG_TYPE_ID, MSG_LENGTH);
+        assertFalse(tailer.receiveNext());
+
+        ringBuffer.abort(abortedIndex);
+        assertFalse(tailer.receiveNext());
+        assertEquals(RECORD_LENGTH, tailer.position());
+
+        ringBuffer.buffer().putLong(index, 3);
+        ringBuffer.commit(index);
+        assertTrue(tailer.receiveNext());
+        assertEquals(3, tailer.buffer().getLong(tailer.offset()));
+    }
+
+    @Test
+    void shouldSkipPaddingWhenWrapping()
+    {
+        final int messagesBeforeWrap = (CAPACITY / RECORD_LENGTH) - 1;
+        for (int i = 0; i < messagesBeforeWrap; i++)
+        {
+            write(i);
+        }
+        assertEquals(messagesBeforeWrap, ringBuffer.read(NO_OP_HANDLER));
+
+        final RingBufferTailer tailer = new RingBufferTailer(ringBuffer);
+        srcBuffer.putLong(0, 42);
+        assertTrue(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, MSG_LENGTH + RECORD_LENGTH));
+
+        assertTrue(tailer.receiveNext());
+        assertEquals(0, tailer.offset() - HEADER_LENGTH);
+        assertEquals(42, tailer.buffer().getLong(tailer.offset()));
+        assertEquals(ringBuffer.producerPosition(), tailer.position());
+    }
+
+    @Test
+    void shouldDetectBeingLappedAndResumeFromConsumerPosition()
+    {
+        final RingBufferTailer tailer = new RingBufferTailer(ringBuffer);
+        write(0);
+        assertTrue(tailer.receiveNext());
+
+        final int messagesPerLap = CAPACITY / RECORD_LENGTH;
+        for (int i = 1; i <= messagesPerLap * 2; i++)
+        {
+            ringBuffer.read(NO_OP_HANDLER);
+            write(i);
+        }
+
+        assertFalse(tailer.validate());
+        assertTrue(tailer.receiveNext());
+        assertEquals(1, tailer.lappedCount());
+        assertEquals(messagesPerLap * 2, tailer.buffer().getLong(tailer.offset()));
+        assertTrue(tailer.validate());
+        assertFalse(tailer.receiveNext());
+    }
+
+    private void write(final long value)
+    {
+        srcBuffer.putLong(0, value);
+        assertTrue(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, MSG_LENGTH));
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.concurrent.AtomicBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static java.nio.ByteBuffer.allocateDirect;
+import static org.agrona.concurrent.ringbuffer.SlotRingBuffer.INSUFFICIENT_CAPACITY;
+import static org.agrona.concurrent.ringbuffer.SlotRingBufferDescriptor.bufferLength;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlotRingBufferTest
+{
+    private static final int SLOT_COUNT = 8;
+    private static final int SLOT_LENGTH = 32;
+
+    private final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[SLOT_LENGTH]);
+    private final List<Long> received = new ArrayList<>();
+    private final SlotHandler handler = (buffer, index) -> received.add(buffer.getLong(index));
+
+    @Test
+    void shouldRejectInvalidLayout()
+    {
+        assertThrows(IllegalArgumentException.class, () -> bufferLength(3, SLOT_LENGTH));
+        assertThrows(IllegalArgumentException.class, () -> bufferLength(1, SLOT_LENGTH));
+        assertThrows(IllegalArgumentException.class, () -> bufferLength(SLOT_COUNT, 12));
+
+        final UnsafeBuffer buffer = new UnsafeBuffer(allocateDirect(bufferLength(SLOT_COUNT, SLOT_LENGTH)));
+        assertThrows(IllegalArgumentException.class, () -> new OneToOneSlotRingBuffer(buffer, SLOT_LENGTH * 2));
+        assertThrows(IllegalArgumentException.class, () -> new ManyToOneSlotRingBuffer(buffer, 24));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = { true, false })
+    void shouldWriteAndReadAcrossTheWrap(final boolean manyToOne)
+    {
+        final SlotRingBuffer ringBuffer = newRingBuffer(manyToOne);
+        long sequence = 0;
+
+        for (int lap = 0; lap < 3; lap++)
+        {
+            for (int i = 0; i < SLOT_COUNT - 3; i++)
+            {
+                srcBuffer.putLong(0, sequence++);
+                assertTrue(ringBuffer.write(srcBuffer, 0));
+            }
+
+            int messagesRead = 0;
+            while (ringBuffer.size() > 0)
+            {
+                messagesRead += ringBuffer.read(handler);
+            }
+            assertEquals(SLOT_COUNT - 3, messagesRead);
+        }
+
+        assertEquals(sequence, received.size());
+        for (int i = 0; i < sequence; i++)
+        {
+            assertEquals(i, received.get(i));
+        }
+        assertEquals(sequence, ringBuffer.producerPosition());
+        assertEquals(sequence, ringBuffer.consumerPosition());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = { true, false })
+    void shouldRejectWriteWhenAllSlotsAreInUse(final boolean manyToOne)
+    {
+        final SlotRingBuffer ringBuffer = newRingBuffer(manyToOne);
+        for (int i = 0; i < SLOT_COUNT; i++)
+        {
+            assertTrue(ringBuffer.write(srcBuffer, 0));
+        }
+
+        assertFalse(ringBuffer.write(srcBuffer, 0));
+        assertEquals(INSUFFICIENT_CAPACITY, ringBuffer.tryClaim());
+        assertEquals(SLOT_COUNT, ringBuffer.size());
+
+        assertEquals(1, ringBuffer.read(handler, 1));
+        assertTrue(ringBuffer.write(srcBuffer, 0));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = { true, false })
+    void shouldNotReadPastClaimUntilCommitted(final boolean manyToOne)
+    {
+        final SlotRingBuffer ringBuffer = newRingBuffer(manyToOne);
+        final int index = ringBuffer.tryClaim();
+        srcBuffer.putLong(0, 2);
+        assertTrue(ringBuffer.write(srcBuffer, 0));
+
+        assertEquals(0, ringBuffer.read(handler));
+        assertEquals(2, ringBuffer.size());
+
+        ringBuffer.buffer().putLong(index, 1);
+        ringBuffer.commit(index);
+        assertThrows(IllegalStateException.class, () -> ringBuffer.commit(index));
+
+        assertEquals(2, ringBuffer.read(handler));
+        assertEquals(List.of(1L, 2L), received);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = { true, false })
+    void shouldSkipAbortedSlot(final boolean manyToOne)
+    {
+        final SlotRingBuffer ringBuffer = newRingBuffer(manyToOne);
+        final int index = ringBuffer.tryClaim();
+        ringBuffer.abort(index);
+        srcBuffer.putLong(0, 7);
+        assertTrue(ringBuffer.write(srcBuffer, 0));
+
+        assertEquals(1, ringBuffer.read(handler));
+        assertEquals(List.of(7L), received);
+        assertEquals(0, ringBuffer.size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = { true, false })
+    void shouldRejectInvalidIndex(final boolean manyToOne)
+    {
+        final SlotRingBuffer ringBuffer = newRingBuffer(manyToOne);
+
+        assertThrows(IllegalArgumentException.class, () -> ringBuffer.commit(SLOT_LENGTH / 2));
+        assertThrows(IllegalArgumentException.class, () -> ringBuffer.abort(SLOT_COUNT * SLOT_LENGTH));
+        assertThrows(IllegalArgumentException.class, () -> ringBuffer.commit(-SLOT_LENGTH));
+    }
+
+    @Test
+    @Timeout(10)
+    void shouldExchangeMessagesFromConcurrentProducers() throws InterruptedException
+    {
+        final int producerCount = 4;
+        final int messagesPerProducer = 20_000;
+        final ManyToOneSlotRingBuffer ringBuffer = new ManyToOneSlotRingBuffer(
+            new UnsafeBuffer(allocateDirect(bufferLength(1024, SLOT_LENGTH))), SLOT_LENGTH);
+        final Thread[] producers = new Thread[producerCount];
+        for (int p = 0; p < producerCount; p++)
+        {
+            final int producerId = p;
+            producers[p] = new Thread(() ->
+            {
+                final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[SLOT_LENGTH]);
+                for (int i = 0; i < messagesPerProducer; i++)
+                {
+                    srcBuffer.putLong(0, ((long)producerId << 32) | i);
+                    while (!ringBuffer.write(srcBuffer, 0))
+                    {
+                        Thread.yield();
+                    }
+                }
+            });
+            producers[p].start();
+        }
+
+        final int[] nextByProducer = new int[producerCount];
+        int count = 0;
+        while (count < producerCount * messagesPerProducer)
+        {
+            final int messagesRead = ringBuffer.read((buffer, index) ->
+            {
+                final long value = buffer.getLong(index);
+                final int producerId = (int)(value >>> 32);
+                assertEquals(nextByProducer[producerId]++, (int)value);
+            });
+
+            if (0 == messagesRead)
+            {
+                Thread.yield();
+            }
+            count += messagesRead;
+        }
+
+        for (final Thread producer : producers)
+        {
+            producer.join();
+        }
+        assertArrayEquals(new int[]{ messagesPerProducer, messagesPerProducer, messagesPerProducer,
+            messagesPerProducer }, nextByProducer);
+    }
+
+    private static SlotRingBuffer newRingBuffer(final boolean manyToOne)
+    {
+        final BiFunction<AtomicBuffer, Integer, SlotRingBuffer> factory =
+            manyToOne ? ManyToOneSlotRingBuffer::new : OneToOneSlotRingBuffer::new;
+
+        return factory.apply(new UnsafeBuffer(allocateDirect(bufferLength(SLOT_COUNT, SLOT_LENGTH))), SLOT_LENGTH);
+    }
+}
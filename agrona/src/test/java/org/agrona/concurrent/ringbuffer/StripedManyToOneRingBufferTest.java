@@ -0,0 +1,232 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.ControlledMessageHandler;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static java.nio.ByteBuffer.allocateDirect;
+import static org.agrona.BitUtil.SIZE_OF_INT;
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+import static org.agrona.concurrent.ringbuffer.RecordDescriptor.HEADER_LENGTH;
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.TRAILER_LENGTH;
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedManyToOneRingBufferTest
+{
+    private static final int MSG_TYPE_ID = 7;
+    private static final int LANE_COUNT = 4;
+    private static final int LANE_CAPACITY = 1024;
+    private static final int RECORD_LENGTH = HEADER_LENGTH + SIZE_OF_LONG;
+
+    private final ExpandableArrayBuffer srcBuffer = new ExpandableArrayBuffer();
+    private final UnsafeBuffer buffer = new UnsafeBuffer(
+        allocateDirect(StripedManyToOneRingBuffer.bufferLength(LANE_COUNT, LANE_CAPACITY)));
+    private final StripedManyToOneRingBuffer ringBuffer = new StripedManyToOneRingBuffer(buffer, LANE_COUNT);
+
+    @Test
+    void shouldComputeLayout()
+    {
+        assertEquals(LANE_COUNT * (LANE_CAPACITY + TRAILER_LENGTH), buffer.capacity());
+        assertEquals(LANE_COUNT, ringBuffer.laneCount());
+        assertEquals(LANE_COUNT * LANE_CAPACITY, ringBuffer.capacity());
+        assertEquals(LANE_CAPACITY / 8, ringBuffer.maxMsgLength());
+        assertSame(ringBuffer.lane(1), ringBuffer.lane(LANE_COUNT + 1));
+    }
+
+    @Test
+    void shouldRejectInvalidLayout()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new StripedManyToOneRingBuffer(buffer, 0));
+        assertThrows(IllegalArgumentException.class, () -> new StripedManyToOneRingBuffer(buffer, 3));
+        assertThrows(IllegalArgumentException.class, () -> new StripedManyToOneRingBuffer(buffer, 2));
+    }
+
+    @Test
+    void shouldReadMessagesFromAllLanesPreservingLaneOrder()
+    {
+        for (int i = 0; i < 3; i++)
+        {
+            for (int lane = 0; lane < LANE_COUNT; lane++)
+            {
+                write(ringBuffer.lane(lane), lane * 100L + i);
+            }
+        }
+
+        assertEquals(RECORD_LENGTH * 3 * LANE_COUNT, ringBuffer.size());
+
+        final List<Long> values = new ArrayList<>();
+        assertEquals(3 * LANE_COUNT, ringBuffer.read((msgTypeId, buffer, index, length) ->
+            values.add(buffer.getLong(index))));
+
+        final int[] nextSequence = new int[LANE_COUNT];
+        for (final long value : values)
+        {
+            assertEquals(nextSequence[(int)(value / 100)]++, value % 100);
+        }
+
+        assertEquals(0, ringBuffer.size());
+        assertEquals(ringBuffer.producerPosition(), ringBuffer.consumerPosition());
+    }
+
+    @Test
+    void shouldShareMessageCountLimitFairlyAcrossLanes()
+    {
+        for (int lane = 0; lane < LANE_COUNT; lane++)
+        {
+            for (int i = 0; i < 4; i++)
+            {
+                write(ringBuffer.lane(lane), lane);
+            }
+        }
+
+        final int[] countsPerLane = new int[LANE_COUNT];
+        assertEquals(LANE_COUNT, ringBuffer.read(
+            (msgTypeId, buffer, index, length) -> countsPerLane[(int)buffer.getLong(index)]++, LANE_COUNT));
+
+        assertArrayEquals(new int[]{ 1, 1, 1, 1 }, countsPerLane);
+    }
+
+    @Test
+    void shouldRotateStartingLane()
+    {
+        for (int lane = 0; lane < LANE_COUNT; lane++)
+        {
+            write(ringBuffer.lane(lane), lane);
+            write(ringBuffer.lane(lane), lane);
+        }
+
+        final long[] firstLane = new long[1];
+        ringBuffer.read((msgTypeId, buffer, index, length) -> firstLane[0] = buffer.getLong(index), 1);
+        assertEquals(0, firstLane[0]);
+
+        ringBuffer.read((msgTypeId, buffer, index, length) -> firstLane[0] = buffer.getLong(index), 1);
+        assertEquals(1, firstLane[0]);
+    }
+
+    @Test
+    void shouldStopControlledReadOnBreak()
+    {
+        for (int lane = 0; lane < LANE_COUNT; lane++)
+        {
+            write(ringBuffer.lane(lane), lane);
+        }
+
+        assertEquals(1, ringBuffer.controlledRead(
+            (msgTypeId, buffer, index, length) -> ControlledMessageHandler.Action.BREAK));
+        assertEquals(RECORD_LENGTH * (LANE_COUNT - 1), ringBuffer.size());
+    }
+
+    @Test
+    void shouldStopControlledReadOnAbort()
+    {
+        for (int lane = 0; lane < LANE_COUNT; lane++)
+        {
+            write(ringBuffer.lane(lane), lane);
+        }
+
+        assertEquals(0, ringBuffer.controlledRead(
+            (msgTypeId, buffer, index, length) -> ControlledMessageHandler.Action.ABORT));
+        assertEquals(RECORD_LENGTH * LANE_COUNT, ringBuffer.size());
+    }
+
+    @Test
+    void shouldClaimAndCommitWithIndexRelativeToBuffer()
+    {
+        final int index = ringBuffer.tryClaim(MSG_TYPE_ID, SIZE_OF_LONG);
+        assertTrue(index > 0);
+        ringBuffer.buffer().putLong(index, 42);
+        ringBuffer.commit(index);
+
+        final long[] value = new long[1];
+        assertEquals(1, ringBuffer.read((msgTypeId, buffer, idx, length) -> value[0] = buffer.getLong(idx)));
+        assertEquals(42, value[0]);
+    }
+
+    @Test
+    void shouldAbortClaim()
+    {
+        final int index = ringBuffer.tryClaim(MSG_TYPE_ID, SIZE_OF_LONG);
+        ringBuffer.abort(index);
+
+        assertEquals(0, ringBuffer.read((msgTypeId, buffer, idx, length) -> fail()));
+        assertEquals(ringBuffer.producerPosition(), ringBuffer.consumerPosition());
+        assertThrows(IllegalArgumentException.class, () -> ringBuffer.commit(buffer.capacity()));
+    }
+
+    @Test
+    @Timeout(20)
+    void shouldPreserveOrderPerProducerWithConcurrentProducers() throws InterruptedException
+    {
+        final int producers = LANE_COUNT * 2;
+        final int messagesPerProducer = 50_000;
+        final CountDownLatch latch = new CountDownLatch(producers);
+
+        for (int p = 0; p < producers; p++)
+        {
+            final int producerId = p;
+            new Thread(() ->
+            {
+                final RingBuffer lane = ringBuffer.lane(producerId);
+                final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[SIZE_OF_INT * 2]);
+                srcBuffer.putInt(0, producerId);
+                for (int i = 0; i < messagesPerProducer; i++)
+                {
+                    srcBuffer.putInt(SIZE_OF_INT, i);
+                    while (!lane.write(MSG_TYPE_ID, srcBuffer, 0, SIZE_OF_INT * 2))
+                    {
+                        Thread.yield();
+                    }
+                }
+                latch.countDown();
+            }).start();
+        }
+
+        final int[] nextSequence = new int[producers];
+        final long total = (long)producers * messagesPerProducer;
+        long received = 0;
+        while (received < total)
+        {
+            final int count = ringBuffer.read((msgTypeId, buffer, index, length) ->
+            {
+                final int producerId = buffer.getInt(index);
+                assertEquals(nextSequence[producerId]++, buffer.getInt(index + SIZE_OF_INT));
+            });
+
+            if (0 == count)
+            {
+                Thread.yield();
+            }
+            received += count;
+        }
+
+        latch.await();
+        assertEquals(ringBuffer.producerPosition(), ringBuffer.consumerPosition());
+    }
+
+    private void write(final RingBuffer ringBuffer, final long value)
+    {
+        srcBuffer.putLong(0, value);
+        assertTrue(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, SIZE_OF_LONG));
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2014-2025 Real Logic Limited.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.agrona.concurrent.ringbuffer;
+
+import org.agrona.LogLinearHistogram;
+import org.agrona.concurrent.CachedNanoClock;
+import org.agrona.concurrent.ControlledMessageHandler;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+
+import static java.nio.ByteBuffer.allocateDirect;
+import static org.agrona.BitUtil.SIZE_OF_LONG;
+import static org.agrona.concurrent.ringbuffer.RingBufferDescriptor.TRAILER_LENGTH;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimedRingBufferTest
+{
+    private static final int MSG_TYPE_ID = 7;
+    private static final int CAPACITY = 1024;
+
+    private final CachedNanoClock clock = new CachedNanoClock();
+    private final LogLinearHistogram histogram = new LogLinearHistogram(1_000_000_000L);
+    private final ManyToOneRingBuffer innerRingBuffer =
+        new ManyToOneRingBuffer(new UnsafeBuffer(allocateDirect(CAPACITY + TRAILER_LENGTH)));
+    private final TimedRingBuffer ringBuffer = new TimedRingBuffer(innerRingBuffer, clock, histogram);
+    private final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[SIZE_OF_LONG]);
+
+    @Test
+    void shouldHidePrefixFromMaxMsgLength()
+    {
+        assertEquals(innerRingBuffer.maxMsgLength() - TimedRingBuffer.MESSAGE_PREFIX_LENGTH, ringBuffer.maxMsgLength());
+        assertThrows(IllegalArgumentException.class, () -> ringBuffer.tryClaim(MSG_TYPE_ID, CAPACITY));
+    }
+
+    @Test
+    void shouldRecordQueueingDelayOfWrittenMessage()
+    {
+        clock.update(1000);
+        srcBuffer.putLong(0, 42);
+        assertTrue(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, SIZE_OF_LONG));
+
+        clock.update(1250);
+        assertEquals(1, ringBuffer.read((msgTypeId, buffer, index, length) ->
+        {
+            assertEquals(MSG_TYPE_ID, msgTypeId);
+            assertEquals(SIZE_OF_LONG, length);
+            assertEquals(42, buffer.getLong(index));
+        }));
+
+        assertEquals(1, histogram.totalCount());
+        assertEquals(250, histogram.maxValue());
+    }
+
+    @Test
+    void shouldTimestampClaimOnCommit()
+    {
+        clock.update(1000);
+        final int index = ringBuffer.tryClaim(MSG_TYPE_ID, SIZE_OF_LONG);
+        ringBuffer.buffer().putLong(index, 7);
+
+        clock.update(2000);
+        ringBuffer.commit(index);
+
+        clock.update(2100);
+        assertEquals(1, ringBuffer.read((msgTypeId, buffer, i, length) -> assertEquals(7, buffer.getLong(i))));
+        assertEquals(100, histogram.maxValue());
+    }
+
+    @Test
+    void shouldNotRecordAbortedClaimOrAbortedRead()
+    {
+        ringBuffer.abort(ringBuffer.tryClaim(MSG_TYPE_ID, SIZE_OF_LONG));
+        clock.update(10);
+        assertTrue(ringBuffer.write(MSG_TYPE_ID, srcBuffer, 0, SIZE_OF_LONG));
+
+        clock.update(30);
+        assertEquals(0, ringBuffer.controlledRead(
+            (msgTypeId, buffer, index, length) -> ControlledMessageHandler.Action.ABORT));
+        assertEquals(0, histogram.totalCount());
+
+        clock.update(50);
+        assertEquals(1, ringBuffer.controlledRead(
+            (msgTypeId, buffer, index, length) -> ControlledMessageHandler.Action.CONTINUE));
+        assertEquals(1, histogram.totalCount());
+        assertEquals(40, histogram.maxValue());
+    }
+}